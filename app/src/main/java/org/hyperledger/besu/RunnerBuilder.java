@@ -637,6 +637,8 @@ public class RunnerBuilder {
       discoveryConfiguration.setDnsDiscoveryURL(ethNetworkConfig.dnsDiscoveryUrl());
       discoveryConfiguration.setDiscoveryV5Enabled(
           networkingConfiguration.getDiscovery().isDiscoveryV5Enabled());
+      discoveryConfiguration.setDiscoveryV5BindPort(
+          networkingConfiguration.getDiscovery().getDiscoveryV5BindPort());
       discoveryConfiguration.setFilterOnEnrForkId(
           networkingConfiguration.getDiscovery().isFilterOnEnrForkIdEnabled());
     } else {
@@ -14,19 +14,19 @@
  */
 package org.hyperledger.besu.chainimport;
 
+import org.hyperledger.besu.chainexport.Era1Accumulator;
+import org.hyperledger.besu.chainexport.Era1AccumulatorFactory;
 import org.hyperledger.besu.controller.BesuController;
-import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
-import org.hyperledger.besu.ethereum.core.BlockImporter;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptDecoder;
-import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
-import org.hyperledger.besu.ethereum.mainnet.BodyValidationMode;
-import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
-import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.BodyValidation;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
@@ -36,33 +36,55 @@ import org.hyperledger.besu.util.era1.Era1ExecutionBlockHeader;
 import org.hyperledger.besu.util.era1.Era1ExecutionBlockReceipts;
 import org.hyperledger.besu.util.era1.Era1Reader;
 import org.hyperledger.besu.util.era1.Era1ReaderListener;
+import org.hyperledger.besu.util.era1.Era1TotalDifficulty;
 import org.hyperledger.besu.util.io.InputStreamFactory;
 import org.hyperledger.besu.util.snappy.SnappyFactory;
 
 import java.io.Closeable;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Tool for importing era1-encoded block data, headers, and transaction receipts from era1 files.
+ *
+ * <p>Blocks are stored without being executed. While the blocks of one file are written, the next
+ * files are read, decompressed, decoded and checked against their accumulator in the background,
+ * and blocks are written in batches to avoid committing a storage transaction per block.
  */
 public class Era1BlockImporter implements Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(Era1BlockImporter.class);
 
   private static final int ERA1_BLOCK_COUNT_MAX = 8192;
-  private static final int IMPORT_COUNT_FOR_LOG_UPDATE = 1000;
+  private static final int READ_AHEAD_FILES = 2;
+  private static final int IMPORT_BATCH_SIZE = 1024;
+
+  private final ExecutorService readExecutor =
+      Executors.newFixedThreadPool(
+          READ_AHEAD_FILES,
+          new ThreadFactoryBuilder().setNameFormat("Era1Reader-%d").setDaemon(true).build());
+  private final Era1AccumulatorFactory era1AccumulatorFactory = new Era1AccumulatorFactory();
 
   /** Default Constructor. */
   public Era1BlockImporter() {}
@@ -75,101 +97,260 @@ public class Era1BlockImporter implements Closeable {
    * @throws IOException IOException
    * @throws ExecutionException ExecutionException
    * @throws InterruptedException InterruptedException
-   * @throws TimeoutException TimeoutException
    */
   public void importBlocks(final BesuController controller, final Path path)
-      throws IOException, ExecutionException, InterruptedException, TimeoutException {
-    final ProtocolSchedule protocolSchedule = controller.getProtocolSchedule();
+      throws IOException, ExecutionException, InterruptedException {
+    importBlocks(controller, List.of(path));
+  }
+
+  /**
+   * Imports the blocks, headers, and transaction receipts from the files found at the supplied
+   * paths, which must be ordered by block number. Blocks already in the blockchain are skipped. A
+   * file that fails to import is logged and the import goes on with the next files, unless it is
+   * the only one.
+   *
+   * @param controller The BesuController
+   * @param paths The paths of the files to import, in order
+   * @throws IOException IOException
+   * @throws ExecutionException ExecutionException
+   * @throws InterruptedException InterruptedException
+   */
+  public void importBlocks(final BesuController controller, final List<Path> paths)
+      throws IOException, ExecutionException, InterruptedException {
     final BlockHeaderFunctions blockHeaderFunctions =
-        ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
-    final ProtocolContext context = controller.getProtocolContext();
+        ScheduleBasedBlockHeaderFunctions.create(controller.getProtocolSchedule());
+    final MutableBlockchain blockchain = controller.getProtocolContext().getBlockchain();
+
+    final Iterator<Path> remainingPaths = paths.iterator();
+    final Deque<PendingFile> readAhead = new ArrayDeque<>();
+    final Stopwatch totalTimer = Stopwatch.createStarted();
+    long totalImported = 0;
+    try {
+      while (readAhead.size() < READ_AHEAD_FILES && remainingPaths.hasNext()) {
+        readAhead.add(readFileAsync(remainingPaths.next(), blockHeaderFunctions));
+      }
+      while (!readAhead.isEmpty()) {
+        final PendingFile file = readAhead.poll();
+        if (remainingPaths.hasNext()) {
+          readAhead.add(readFileAsync(remainingPaths.next(), blockHeaderFunctions));
+        }
+        try {
+          final List<BlockWithReceipts> blocks = awaitRead(file.blocks());
+          final Stopwatch fileTimer = Stopwatch.createStarted();
+          final int imported = importFile(blockchain, blocks);
+          totalImported += imported;
+          LOG.info(
+              "Imported {} blocks in {}, chain head {}, {} blocks/s",
+              imported,
+              fileTimer,
+              blockchain.getChainHeadBlockNumber(),
+              blocksPerSecond(totalImported, totalTimer));
+        } catch (final IOException | ExecutionException | RuntimeException e) {
+          if (paths.size() == 1) {
+            throw e;
+          }
+          // as for the other formats, go on with the next files, which fail too if this one
+          // leaves a gap in the chain
+          LOG.error("Unable to import blocks from " + file.path(), e);
+        }
+      }
+    } finally {
+      readAhead.forEach(file -> file.blocks().cancel(true));
+    }
+    LOG.info("Done importing {} blocks in {}", totalImported, totalTimer);
+  }
 
-    Era1Reader reader = new Era1Reader(new SnappyFactory(), new InputStreamFactory());
+  private PendingFile readFileAsync(
+      final Path path, final BlockHeaderFunctions blockHeaderFunctions) {
+    return new PendingFile(
+        path,
+        CompletableFuture.supplyAsync(() -> readFile(path, blockHeaderFunctions), readExecutor));
+  }
 
-    final List<Future<BlockHeader>> headersFutures = new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
-    final List<Future<BlockBody>> bodiesFutures = new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
-    final List<Future<List<TransactionReceipt>>> receiptsFutures =
+  private List<BlockWithReceipts> awaitRead(
+      final CompletableFuture<List<BlockWithReceipts>> future)
+      throws IOException, ExecutionException, InterruptedException {
+    try {
+      return future.get();
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException ioException) {
+        throw ioException.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private List<BlockWithReceipts> readFile(
+      final Path path, final BlockHeaderFunctions blockHeaderFunctions) {
+    LOG.info("Reading {}", path);
+    final Era1Reader reader = new Era1Reader(new SnappyFactory(), new InputStreamFactory());
+
+    final List<CompletableFuture<BlockHeader>> headersFutures =
         new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
-    reader.read(
-        new FileInputStream(path.toFile()),
-        new Era1ReaderListener() {
-
-          @Override
-          public void handleExecutionBlockHeader(
-              final Era1ExecutionBlockHeader executionBlockHeader) {
-            headersFutures.add(
-                CompletableFuture.supplyAsync(
-                    () ->
-                        BlockHeader.readFrom(
+    final List<CompletableFuture<BlockBody>> bodiesFutures = new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
+    final List<CompletableFuture<List<TransactionReceipt>>> receiptsFutures =
+        new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
+    final List<UInt256> totalDifficulties = new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
+    final List<Bytes32> accumulators = new ArrayList<>(1);
+    try (final InputStream inputStream = new FileInputStream(path.toFile())) {
+      reader.read(
+          inputStream,
+          new Era1ReaderListener() {
+
+            @Override
+            public void handleExecutionBlockHeader(
+                final Era1ExecutionBlockHeader executionBlockHeader) {
+              headersFutures.add(
+                  CompletableFuture.supplyAsync(
+                      () ->
+                          BlockHeader.readFrom(
+                              new BytesValueRLPInput(
+                                  Bytes.wrap(executionBlockHeader.header()), false),
+                              blockHeaderFunctions)));
+            }
+
+            @Override
+            public void handleExecutionBlockBody(final Era1ExecutionBlockBody executionBlockBody) {
+              bodiesFutures.add(
+                  CompletableFuture.supplyAsync(
+                      () ->
+                          BlockBody.readWrappedBodyFrom(
+                              new BytesValueRLPInput(
+                                  Bytes.wrap(executionBlockBody.block()), false),
+                              blockHeaderFunctions,
+                              true)));
+            }
+
+            @Override
+            public void handleExecutionBlockReceipts(
+                final Era1ExecutionBlockReceipts executionBlockReceipts) {
+              receiptsFutures.add(
+                  CompletableFuture.supplyAsync(
+                      () -> {
+                        RLPInput input =
                             new BytesValueRLPInput(
-                                Bytes.wrap(executionBlockHeader.header()), false),
-                            blockHeaderFunctions)));
-          }
+                                Bytes.wrap(executionBlockReceipts.receipts()), false);
+                        final List<TransactionReceipt> receiptsForBlock = new ArrayList<>();
+                        input.readList(
+                            (in) ->
+                                receiptsForBlock.add(
+                                    TransactionReceiptDecoder.readFrom(in, false)));
+                        return receiptsForBlock;
+                      }));
+            }
 
-          @Override
-          public void handleExecutionBlockBody(final Era1ExecutionBlockBody executionBlockBody) {
-            bodiesFutures.add(
-                CompletableFuture.supplyAsync(
-                    () ->
-                        BlockBody.readWrappedBodyFrom(
-                            new BytesValueRLPInput(Bytes.wrap(executionBlockBody.block()), false),
-                            blockHeaderFunctions,
-                            true)));
-          }
+            @Override
+            public void handleTotalDifficulty(final Era1TotalDifficulty era1TotalDifficulty) {
+              totalDifficulties.add(
+                  UInt256.fromBytes(Bytes.wrap(era1TotalDifficulty.totalDifficulty()).reverse()));
+            }
 
-          @Override
-          public void handleExecutionBlockReceipts(
-              final Era1ExecutionBlockReceipts executionBlockReceipts) {
-            receiptsFutures.add(
-                CompletableFuture.supplyAsync(
-                    () -> {
-                      RLPInput input =
-                          new BytesValueRLPInput(
-                              Bytes.wrap(executionBlockReceipts.receipts()), false);
-                      final List<TransactionReceipt> receiptsForBlock = new ArrayList<>();
-                      input.readList(
-                          (in) ->
-                              receiptsForBlock.add(TransactionReceiptDecoder.readFrom(in, false)));
-                      return receiptsForBlock;
-                    }));
-          }
+            @Override
+            public void handleAccumulator(
+                final org.hyperledger.besu.util.era1.Era1Accumulator era1Accumulator) {
+              accumulators.add(Bytes32.wrap(era1Accumulator.accumulator()));
+            }
 
-          @Override
-          public void handleBlockIndex(final Era1BlockIndex blockIndex) {
-            // not really necessary, do nothing
-          }
-        });
-
-    LOG.info("Read {} blocks, now importing", headersFutures.size());
-
-    Block block = null;
-    for (int i = 0; i < headersFutures.size(); i++) {
-      BlockHeader blockHeader = headersFutures.get(i).get(10, TimeUnit.SECONDS);
-      BlockImporter blockImporter =
-          protocolSchedule.getByBlockHeader(blockHeader).getBlockImporter();
-      block = new Block(blockHeader, bodiesFutures.get(i).get(10, TimeUnit.SECONDS));
-
-      BlockImportResult importResult =
-          blockImporter.importBlockForSyncing(
-              context,
-              block,
-              receiptsFutures.get(i).get(10, TimeUnit.SECONDS),
-              HeaderValidationMode.NONE,
-              HeaderValidationMode.NONE,
-              BodyValidationMode.NONE,
-              false);
-      if (importResult.getStatus() != BlockImportResult.BlockImportStatus.IMPORTED) {
-        LOG.warn(
-            "Failed to import block {} due to {}",
-            blockHeader.getNumber(),
-            importResult.getStatus());
-      } else if (i % IMPORT_COUNT_FOR_LOG_UPDATE == 0) {
-        LOG.info("{}/{} blocks imported", i, headersFutures.size());
-      }
+            @Override
+            public void handleBlockIndex(final Era1BlockIndex blockIndex) {
+              // not really necessary, do nothing
+            }
+          });
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    final int blockCount = headersFutures.size();
+    if (bodiesFutures.size() != blockCount || receiptsFutures.size() != blockCount) {
+      throw new IllegalStateException(
+          String.format(
+              "%s has %d headers but %d bodies and %d receipts",
+              path, blockCount, bodiesFutures.size(), receiptsFutures.size()));
+    }
+    final List<CompletableFuture<BlockWithReceipts>> blocksFutures = new ArrayList<>(blockCount);
+    for (int i = 0; i < blockCount; i++) {
+      blocksFutures.add(
+          headersFutures
+              .get(i)
+              .thenCombine(bodiesFutures.get(i), Block::new)
+              .thenCombine(receiptsFutures.get(i), BlockWithReceipts::new)
+              .thenApply(Era1BlockImporter::validateBlock));
+    }
+    final List<BlockWithReceipts> blocks =
+        blocksFutures.stream().map(CompletableFuture::join).toList();
+    accumulators.stream()
+        .findFirst()
+        .ifPresent(
+            accumulator -> validateAccumulator(path, blocks, totalDifficulties, accumulator));
+    return blocks;
+  }
+
+  private static BlockWithReceipts validateBlock(final BlockWithReceipts blockWithReceipts) {
+    final BlockHeader header = blockWithReceipts.getHeader();
+    final BlockBody body = blockWithReceipts.getBlock().getBody();
+    checkRoot(
+        header, "transactions root", header.getTransactionsRoot(), body.getTransactionsRoot());
+    checkRoot(header, "ommers hash", header.getOmmersHash(), body.getOmmersHash());
+    checkRoot(
+        header,
+        "receipts root",
+        header.getReceiptsRoot(),
+        BodyValidation.receiptsRoot(blockWithReceipts.getReceipts()));
+    return blockWithReceipts;
+  }
+
+  private static void checkRoot(
+      final BlockHeader header, final String name, final Hash expected, final Hash actual) {
+    if (!actual.equals(expected)) {
+      throw new IllegalStateException(
+          String.format(
+              "Invalid %s for block %d, expected %s but got %s",
+              name, header.getNumber(), expected, actual));
     }
-    LOG.info("Done importing {} blocks", headersFutures.size());
+  }
+
+  private void validateAccumulator(
+      final Path path,
+      final List<BlockWithReceipts> blocks,
+      final List<UInt256> totalDifficulties,
+      final Bytes32 expectedAccumulator) {
+    if (totalDifficulties.size() != blocks.size()) {
+      throw new IllegalStateException(
+          String.format(
+              "%s has %d blocks but %d total difficulties",
+              path, blocks.size(), totalDifficulties.size()));
+    }
+    final Era1Accumulator accumulator = era1AccumulatorFactory.getEra1Accumulator();
+    for (int i = 0; i < blocks.size(); i++) {
+      accumulator.addBlock(blocks.get(i).getHash(), totalDifficulties.get(i));
+    }
+    final Bytes32 actualAccumulator = accumulator.accumulate();
+    if (!actualAccumulator.equals(expectedAccumulator)) {
+      throw new IllegalStateException(
+          String.format(
+              "Accumulator mismatch for %s, expected %s but blocks accumulate to %s",
+              path, expectedAccumulator, actualAccumulator));
+    }
+  }
+
+  private int importFile(final MutableBlockchain blockchain, final List<BlockWithReceipts> blocks) {
+    final long chainHeadBlockNumber = blockchain.getChainHeadBlockNumber();
+    final List<BlockWithReceipts> newBlocks =
+        blocks.stream().filter(block -> block.getNumber() > chainHeadBlockNumber).toList();
+    for (final List<BlockWithReceipts> batch : Lists.partition(newBlocks, IMPORT_BATCH_SIZE)) {
+      blockchain.appendBlocks(batch, false);
+    }
+    return newBlocks.size();
+  }
+
+  private static long blocksPerSecond(final long blocks, final Stopwatch timer) {
+    return blocks * 1000 / Math.max(1, timer.elapsed(TimeUnit.MILLISECONDS));
   }
 
   @Override
-  public void close() throws IOException {}
+  public void close() throws IOException {
+    readExecutor.shutdownNow();
+  }
+
+  private record PendingFile(Path path, CompletableFuture<List<BlockWithReceipts>> blocks) {}
 }
@@ -142,6 +142,7 @@ import org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfigurati
 import org.hyperledger.besu.evm.precompile.AbstractAltBnPrecompiledContract;
 import org.hyperledger.besu.evm.precompile.AbstractBLS12PrecompiledContract;
 import org.hyperledger.besu.evm.precompile.AbstractPrecompiledContract;
+import org.hyperledger.besu.evm.precompile.AltBN128PairingPrecompiledContract;
 import org.hyperledger.besu.evm.precompile.BigIntegerModularExponentiationPrecompiledContract;
 import org.hyperledger.besu.evm.precompile.KZGPointEvalPrecompiledContract;
 import org.hyperledger.besu.evm.precompile.P256VerifyPrecompiledContract;
@@ -955,10 +956,10 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
   private void configurePrecompileCaching() {
     // enable precompile caching:
     AbstractPrecompiledContract.setPrecompileCaching(enablePrecompileCaching);
-    // separately set KZG precompile caching, it does not extend AbstractPrecompiledContract:
-    KZGPointEvalPrecompiledContract.setPrecompileCaching(enablePrecompileCaching);
-    // separately set BLS precompiles caching, they do not extend AbstractPrecompiledContract:
-    AbstractBLS12PrecompiledContract.setPrecompileCaching(enablePrecompileCaching);
+    // all precompiles share one result cache, bounded in size:
+    AbstractPrecompiledContract.setResultCacheWeight(
+        unstableEvmOptions.getPrecompileCacheWeightKilobytes() * 1024L);
+    AbstractPrecompiledContract.setCachedPrecompiles(unstableEvmOptions.getPrecompileCacheNames());
 
     // set a metric logger
     final var precompileCounter =
@@ -1367,6 +1368,17 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       logger.info("Using the Java implementation of alt bn128");
     }
 
+    unstableEvmOptions
+        .getPrecompileParallelism()
+        .ifPresent(
+            parallelism -> {
+              AltBN128PairingPrecompiledContract.setParallelism(parallelism);
+              if (AbstractBLS12PrecompiledContract.isAvailable()) {
+                AbstractBLS12PrecompiledContract.setMSMParallelism(parallelism);
+              }
+              logger.info("Splitting precompile MSMs and pairings across {} threads", parallelism);
+            });
+
     if (unstableNativeLibraryOptions.getNativeModExp()
         && BigIntegerModularExponentiationPrecompiledContract.maybeEnableNative()) {
       logger.info("Using the native implementation of modexp");
@@ -1374,6 +1386,12 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       BigIntegerModularExponentiationPrecompiledContract.disableNative();
       logger.info("Using the Java implementation of modexp");
     }
+    if (unstableEvmOptions.isModExpMontgomeryEnabled()) {
+      BigIntegerModularExponentiationPrecompiledContract.enableMontgomery();
+      logger.info("Using the Montgomery engine for the Java implementation of modexp");
+    } else {
+      BigIntegerModularExponentiationPrecompiledContract.disableMontgomery();
+    }
 
     if (unstableNativeLibraryOptions.getNativeSecp()
         && SignatureAlgorithmFactory.getInstance().maybeEnableNative()) {
@@ -1840,6 +1858,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .requiredBlocks(requiredBlocks)
             .reorgLoggingThreshold(reorgLoggingThreshold)
             .evmConfiguration(unstableEvmOptions.toDomainObject())
+            .codeAnalysisStoreEnabled(unstableEvmOptions.isCodeAnalysisStoreEnabled())
             .maxPeers(p2PDiscoveryOptions.maxPeers)
             .maxRemotelyInitiatedPeers(maxRemoteInitiatedPeers)
             .randomPeerPriority(p2PDiscoveryOptions.randomPeerPriority)
@@ -2535,6 +2554,9 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         && !dataStorageConfiguration.getHistoryExpiryPruneEnabled()) {
       rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE);
     }
+    if (!unstableEvmOptions.isCodeAnalysisStoreEnabled()) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CODE_ANALYSIS);
+    }
   }
 
   private void validatePostMergeCheckpointBlockRequirements() {
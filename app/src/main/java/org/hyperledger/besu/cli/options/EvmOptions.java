@@ -17,6 +17,8 @@ package org.hyperledger.besu.cli.options;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import picocli.CommandLine;
 
@@ -32,6 +34,27 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
   /** The constant OPTIMIZED_OP_CODES. */
   public static final String OPTIMIZED_OP_CODES = "--Xevm-optimized-opcodes";
 
+  /** The constant BASIC_BLOCKS. */
+  public static final String BASIC_BLOCKS = "--Xevm-basic-blocks";
+
+  /** The constant COMPILATION_THRESHOLD. */
+  public static final String COMPILATION_THRESHOLD = "--Xevm-compilation-threshold";
+
+  /** The constant CODE_ANALYSIS_STORE. */
+  public static final String CODE_ANALYSIS_STORE = "--Xevm-code-analysis-store-enabled";
+
+  /** The constant PRECOMPILE_CACHE_WEIGHT. */
+  public static final String PRECOMPILE_CACHE_WEIGHT = "--Xevm-precompile-cache-weight-kb";
+
+  /** The constant PRECOMPILE_CACHE_NAMES. */
+  public static final String PRECOMPILE_CACHE_NAMES = "--Xevm-precompile-cache-names";
+
+  /** The constant MODEXP_MONTGOMERY. */
+  public static final String MODEXP_MONTGOMERY = "--Xevm-modexp-montgomery-enabled";
+
+  /** The constant PRECOMPILE_PARALLELISM. */
+  public static final String PRECOMPILE_PARALLELISM = "--Xevm-precompile-parallelism";
+
   /** Default constructor. */
   EvmOptions() {}
 
@@ -74,10 +97,123 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
       arity = "1")
   private boolean enableOptimizedOpcodes = true;
 
+  @CommandLine.Option(
+      names = {BASIC_BLOCKS},
+      description = "Turn on/off gas and stack checks per basic block of legacy code",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "1")
+  private boolean enableBasicBlocks = false;
+
+  @CommandLine.Option(
+      names = {COMPILATION_THRESHOLD},
+      description =
+          "Number of executions after which legacy contract code is compiled, 0 to never compile it",
+      hidden = true,
+      arity = "1")
+  private int compilationThreshold = 0;
+
+  @CommandLine.Option(
+      names = {CODE_ANALYSIS_STORE},
+      description =
+          "Keep the jump destination analysis of contract code on disk, keyed by code hash "
+              + "(Bonsai only)",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "1")
+  private boolean codeAnalysisStoreEnabled = false;
+
+  @CommandLine.Option(
+      names = {PRECOMPILE_CACHE_WEIGHT},
+      description =
+          "size in kilobytes to allow the cache of precompile results to grow to, "
+              + "when precompile caching is enabled",
+      hidden = true,
+      arity = "1")
+  private Long precompileCacheWeightKilobytes = 64_000L;
+
+  @CommandLine.Option(
+      names = {PRECOMPILE_CACHE_NAMES},
+      description =
+          "Names of the precompiles whose results are cached, when precompile caching is enabled "
+              + "(default: all precompiles)",
+      split = ",",
+      hidden = true,
+      arity = "1..*")
+  private Set<String> precompileCacheNames = Set.of();
+
+  @CommandLine.Option(
+      names = {MODEXP_MONTGOMERY},
+      description =
+          "Compute the Java implementation of modexp with the Montgomery engine for odd moduli, "
+              + "rather than BigInteger",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "1")
+  private boolean modExpMontgomeryEnabled = false;
+
+  @CommandLine.Option(
+      names = {PRECOMPILE_PARALLELISM},
+      description =
+          "Number of threads a single BLS12-381 multi-scalar multiplication or alt bn128 pairing "
+              + "is split across (default: all available processors)",
+      hidden = true,
+      arity = "1")
+  private Integer precompileParallelism = null;
+
+  /**
+   * Whether the analysis of contract code is kept on disk.
+   *
+   * @return true if the code analysis store is enabled
+   */
+  public boolean isCodeAnalysisStoreEnabled() {
+    return codeAnalysisStoreEnabled;
+  }
+
+  /**
+   * The maximum size of the precompile result cache.
+   *
+   * @return the size of the cache in kilobytes
+   */
+  public long getPrecompileCacheWeightKilobytes() {
+    return precompileCacheWeightKilobytes;
+  }
+
+  /**
+   * The names of the precompiles whose results are cached.
+   *
+   * @return the precompile names, empty to cache the results of all precompiles
+   */
+  public Set<String> getPrecompileCacheNames() {
+    return precompileCacheNames;
+  }
+
+  /**
+   * Whether the Java implementation of modexp uses the Montgomery engine for odd moduli.
+   *
+   * @return true if the Montgomery engine is enabled
+   */
+  public boolean isModExpMontgomeryEnabled() {
+    return modExpMontgomeryEnabled;
+  }
+
+  /**
+   * The number of threads a single multi-scalar multiplication or pairing is split across.
+   *
+   * @return the number of threads, empty to use all available processors
+   */
+  public Optional<Integer> getPrecompileParallelism() {
+    return Optional.ofNullable(precompileParallelism);
+  }
+
   @Override
   public EvmConfiguration toDomainObject() {
     return new EvmConfiguration(
-        jumpDestCacheWeightKilobytes, worldstateUpdateMode, enableOptimizedOpcodes);
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        enableOptimizedOpcodes,
+        enableBasicBlocks,
+        compilationThreshold);
   }
 
   @Override
@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.cli.options;
 
+import org.hyperledger.besu.ethereum.p2p.config.DiscoveryConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 
 import java.util.Arrays;
@@ -30,6 +31,7 @@ public class NetworkingOptions implements CLIOptions<NetworkingConfiguration> {
       "--Xp2p-check-maintained-connections-frequency";
   private final String DNS_DISCOVERY_SERVER_OVERRIDE_FLAG = "--Xp2p-dns-discovery-server";
   private final String DISCOVERY_PROTOCOL_V5_ENABLED = "--Xv5-discovery-enabled";
+  private final String DISCOVERY_PROTOCOL_V5_PORT = "--Xv5-discovery-port";
 
   /** The constant FILTER_ON_ENR_FORK_ID. */
   public static final String FILTER_ON_ENR_FORK_ID = "--filter-on-enr-fork-id";
@@ -65,6 +67,14 @@ public class NetworkingOptions implements CLIOptions<NetworkingConfiguration> {
       description = "Whether to enable P2P Discovery Protocol v5 (default: ${DEFAULT-VALUE})")
   private final Boolean isPeerDiscoveryV5Enabled = false;
 
+  @CommandLine.Option(
+      names = DISCOVERY_PROTOCOL_V5_PORT,
+      hidden = true,
+      paramLabel = "<PORT>",
+      description =
+          "UDP port of P2P Discovery Protocol v5, that runs alongside v4 (default: ${DEFAULT-VALUE})")
+  private final Integer peerDiscoveryV5Port = DiscoveryConfiguration.DEFAULT_DISCOVERY_V5_PORT;
+
   @CommandLine.Option(
       names = FILTER_ON_ENR_FORK_ID,
       hidden = true,
@@ -106,6 +116,7 @@ public class NetworkingOptions implements CLIOptions<NetworkingConfiguration> {
     config.setInitiateConnectionsFrequency(initiateConnectionsFrequencySec);
     config.setDnsDiscoveryServerOverride(dnsDiscoveryServerOverride);
     config.getDiscovery().setDiscoveryV5Enabled(isPeerDiscoveryV5Enabled);
+    config.getDiscovery().setDiscoveryV5BindPort(peerDiscoveryV5Port);
     config.getDiscovery().setFilterOnEnrForkId(filterOnEnrForkId);
     return config;
   }
@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.cli.options.storage;
 
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BLOCK_SEGMENT_STORE_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_RECEIPT_COMPACTION_ENABLED;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
@@ -55,6 +56,14 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
           "Convenience option to enable online history pruning and configure BlobDB garbage collection settings (default: ${DEFAULT-VALUE}). \"--Xhistory-expiry-prune\" is deprecated and will be removed in a future release. Use \"--history-expiry-prune\" instead.")
   private Boolean historyExpiryPrune = false;
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xblock-segment-store-enabled"},
+      description =
+          "Move bodies and receipts of finalized blocks to append-only segment files instead of keeping them in the database (default: ${DEFAULT-VALUE})",
+      fallbackValue = "true")
+  private Boolean blockSegmentStoreEnabled = DEFAULT_BLOCK_SEGMENT_STORE_ENABLED;
+
   /**
    * Options specific to path-based storage modes. Holds the necessary parameters to configure
    * path-based storage, such as the Bonsai mode or Verkle in the future.
@@ -98,6 +107,7 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         PathBasedExtraStorageOptions.fromConfig(
             domainObject.getPathBasedExtraStorageConfiguration());
     dataStorageOptions.historyExpiryPrune = domainObject.getHistoryExpiryPruneEnabled();
+    dataStorageOptions.blockSegmentStoreEnabled = domainObject.getBlockSegmentStoreEnabled();
     return dataStorageOptions;
   }
 
@@ -108,6 +118,7 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
             .dataStorageFormat(dataStorageFormat)
             .receiptCompactionEnabled(receiptCompactionEnabled)
             .historyExpiryPruneEnabled(historyExpiryPrune)
+            .blockSegmentStoreEnabled(blockSegmentStoreEnabled)
             .pathBasedExtraStorageConfiguration(pathBasedExtraStorageOptions.toDomainObject());
     return builder.build();
   }
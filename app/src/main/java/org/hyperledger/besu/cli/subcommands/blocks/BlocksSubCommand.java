@@ -54,7 +54,6 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -224,27 +223,31 @@ public class BlocksSubCommand implements Runnable {
       KZGPointEvalPrecompiledContract.init();
 
       try (final BesuController controller = createController()) {
-        for (final Path path : blockImportFiles) {
-          try {
-            LOG.info("Importing from {}", path);
-            switch (format) {
-              case RLP -> importRlpBlocks(controller, path);
-              case JSON -> importJsonBlocks(controller, path);
-              case ERA1 -> importEra1Blocks(controller, path);
-            }
-          } catch (final FileNotFoundException e) {
-            if (blockImportFiles.size() == 1) {
-              throw new ExecutionException(
-                  spec.commandLine(), "Could not find file to import: " + path);
-            } else {
-              LOG.error("Could not find file to import: {}", path);
-            }
-          } catch (final Exception e) {
-            if (blockImportFiles.size() == 1) {
-              throw new ExecutionException(
-                  spec.commandLine(), "Unable to import blocks from " + path, e);
-            } else {
-              LOG.error("Unable to import blocks from " + path, e);
+        if (format == BlockImportFormat.ERA1) {
+          importEra1Blocks(controller);
+        } else {
+          for (final Path path : blockImportFiles) {
+            try {
+              LOG.info("Importing from {}", path);
+              switch (format) {
+                case RLP -> importRlpBlocks(controller, path);
+                case JSON -> importJsonBlocks(controller, path);
+                case ERA1 -> throw new IllegalStateException("ERA1 files are imported together");
+              }
+            } catch (final FileNotFoundException e) {
+              if (blockImportFiles.size() == 1) {
+                throw new ExecutionException(
+                    spec.commandLine(), "Could not find file to import: " + path);
+              } else {
+                LOG.error("Could not find file to import: {}", path);
+              }
+            } catch (final Exception e) {
+              if (blockImportFiles.size() == 1) {
+                throw new ExecutionException(
+                    spec.commandLine(), "Unable to import blocks from " + path, e);
+              } else {
+                LOG.error("Unable to import blocks from " + path, e);
+              }
             }
           }
         }
@@ -309,12 +312,17 @@ public class BlocksSubCommand implements Runnable {
           .importBlockchain(path, controller, skipPow, startBlock, endBlock);
     }
 
-    private void importEra1Blocks(final BesuController controller, final Path path)
-        throws IOException,
-            java.util.concurrent.ExecutionException,
-            InterruptedException,
-            TimeoutException {
-      parentCommand.era1BlockImporter.get().importBlocks(controller, path);
+    private void importEra1Blocks(final BesuController controller) {
+      // era1 files are read ahead of the import, so they are all handed over at once, the importer
+      // logs the files that fail and goes on with the next ones
+      try {
+        parentCommand.era1BlockImporter.get().importBlocks(controller, blockImportFiles);
+      } catch (final FileNotFoundException e) {
+        throw new ExecutionException(
+            spec.commandLine(), "Could not find file to import: " + e.getMessage());
+      } catch (final Exception e) {
+        throw new ExecutionException(spec.commandLine(), "Unable to import ERA1 blocks", e);
+      }
     }
   }
 
@@ -19,6 +19,7 @@ import org.hyperledger.besu.cli.util.VersionProvider;
 import org.hyperledger.besu.controller.BesuController;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.DefaultBlockchain;
 
 import java.nio.file.Path;
 import java.util.List;
@@ -92,13 +93,11 @@ public class PrunePreMergeBlockDataSubCommand implements Runnable {
 
     try (BesuController besuController = storageSubCommand.besuCommand.buildController()) {
 
-      BlockchainStorage blockchainStorage =
-          besuController
-              .getStorageProvider()
-              .createBlockchainStorage(
-                  besuController.getProtocolSchedule(),
-                  besuController.getStorageProvider().createVariablesStorage(),
-                  besuController.getDataStorageConfiguration());
+      // the storage the controller created through BlockchainStorageFactory, opening another one
+      // would archive to the same block segments concurrently
+      final BlockchainStorage blockchainStorage =
+          ((DefaultBlockchain) besuController.getProtocolContext().getBlockchain())
+              .getBlockchainStorage();
 
       try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
         // cannot prune genesis block so start at 1
@@ -84,18 +84,22 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.keyvalue.BlockchainStorageFactory;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.ethereum.storage.keyvalue.SegmentArchivingBlockchainStorage;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.trie.forest.ForestWorldStateArchive;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiArchiveWorldStateProvider;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiWorldStateProvider;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.BonsaiCachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.CodeAnalysisStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.CodeCache;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiArchiver;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.storage.PathBasedWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogManager;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.trielog.TrieLogPruner;
+import org.hyperledger.besu.ethereum.vm.ExecutionProfiler;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
@@ -197,6 +201,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
   /** Manages a cache of bad blocks globally */
   protected final BadBlockManager badBlockManager = new BadBlockManager();
 
+  /** Profiles the execution of imported blocks, while enabled */
+  protected final ExecutionProfiler executionProfiler = new ExecutionProfiler();
+
   private int maxRemotelyInitiatedPeers;
 
   /** The Chain pruner configuration. */
@@ -230,6 +237,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
   /** The global code cache */
   protected CodeCache codeCache;
 
+  /** Whether the analysis of contract code is kept on disk */
+  protected boolean codeAnalysisStoreEnabled = false;
+
   /** Instantiates a new Besu controller builder. */
   protected BesuControllerBuilder() {}
 
@@ -494,6 +504,17 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     return this;
   }
 
+  /**
+   * Code analysis store enabled besu controller builder.
+   *
+   * @param codeAnalysisStoreEnabled whether the analysis of contract code is kept on disk
+   * @return the besu controller builder
+   */
+  public BesuControllerBuilder codeAnalysisStoreEnabled(final boolean codeAnalysisStoreEnabled) {
+    this.codeAnalysisStoreEnabled = codeAnalysisStoreEnabled;
+    return this;
+  }
+
   /**
    * Sets the number of blocks to cache.
    *
@@ -614,6 +635,11 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
 
     this.codeCache = besuComponent.map(BesuComponent::getCodeCache).orElse(new CodeCache());
     this.codeCache.setupMetricsSystem(metricsSystem);
+    this.executionProfiler.registerMetrics(metricsSystem);
+    if (codeAnalysisStoreEnabled
+        && !DataStorageFormat.FOREST.equals(dataStorageConfiguration.getDataStorageFormat())) {
+      this.codeCache.setAnalysisStore(createCodeAnalysisStorage());
+    }
 
     prepForBuild();
 
@@ -625,8 +651,12 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
         storageProvider.createWorldStateStorageCoordinator(dataStorageConfiguration);
 
     final BlockchainStorage blockchainStorage =
-        storageProvider.createBlockchainStorage(
-            protocolSchedule, variablesStorage, dataStorageConfiguration);
+        BlockchainStorageFactory.create(
+            storageProvider,
+            protocolSchedule,
+            variablesStorage,
+            dataStorageConfiguration,
+            dataDirectory);
 
     final var maybeStoredGenesisBlockHash = blockchainStorage.getBlockHash(0L);
 
@@ -827,7 +857,12 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
 
     final Optional<SnapProtocolManager> maybeSnapProtocolManager =
         createSnapProtocolManager(
-            protocolContext, worldStateStorageCoordinator, ethPeers, snapMessages, synchronizer);
+            protocolContext,
+            worldStateStorageCoordinator,
+            ethPeers,
+            snapMessages,
+            synchronizer,
+            scheduler);
 
     final MiningCoordinator miningCoordinator =
         createMiningCoordinator(
@@ -876,6 +911,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     }
 
     final List<Closeable> closeables = new ArrayList<>();
+    if (blockchainStorage instanceof SegmentArchivingBlockchainStorage segmentArchivingStorage) {
+      closeables.add(segmentArchivingStorage);
+    }
     closeables.add(protocolContext.getWorldStateArchive());
     closeables.add(storageProvider);
 
@@ -1230,6 +1268,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
         .withConsensusContext(consensusContext)
         .withBadBlockManager(badBlockManager)
         .withServiceManager(serviceManager)
+        .withExecutionProfiler(executionProfiler)
         .build();
   }
 
@@ -1238,7 +1277,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
       final WorldStateStorageCoordinator worldStateStorageCoordinator,
       final EthPeers ethPeers,
       final EthMessages snapMessages,
-      final Synchronizer synchronizer) {
+      final Synchronizer synchronizer,
+      final EthScheduler scheduler) {
     return Optional.of(
         new SnapProtocolManager(
             worldStateStorageCoordinator,
@@ -1246,7 +1286,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             ethPeers,
             snapMessages,
             protocolContext,
-            synchronizer));
+            synchronizer,
+            scheduler,
+            metricsSystem));
   }
 
   WorldStateArchive createWorldStateArchive(
@@ -1301,6 +1343,17 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     };
   }
 
+  private CodeAnalysisStorage createCodeAnalysisStorage() {
+    return new CodeAnalysisStorage(
+        storageProvider.getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.CODE_ANALYSIS),
+        MonitoredExecutors.newBoundedThreadPool(
+            CodeAnalysisStorage.class.getSimpleName(),
+            1,
+            CodeAnalysisStorage.MAX_PENDING_WRITES,
+            metricsSystem),
+        metricsSystem);
+  }
+
   private ChainDataPruner createChainPruner(
       final BlockchainStorage blockchainStorage,
       final Runnable unsubscribeRunnable,
@@ -174,7 +174,8 @@ public class ConsensusScheduleBesuControllerBuilder extends BesuControllerBuilde
         worldStateArchive,
         consensusContext.as(MigratingConsensusContext.class),
         badBlockManager,
-        serviceManager);
+        serviceManager,
+        executionProfiler);
   }
 
   @Override
@@ -36,10 +36,12 @@ import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.testutil.BlockTestUtil;
 import org.hyperledger.besu.testutil.TestClock;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
@@ -59,35 +61,58 @@ public class Era1BlockImporterTest {
           InterruptedException,
           TimeoutException,
           URISyntaxException {
-    final Path source =
-        Path.of(
-            BlockTestUtil.class
-                .getClassLoader()
-                .getResource("mainnet-00000-5ec1ffb8.era1")
-                .toURI());
-    final BesuController targetController =
-        new BesuController.Builder()
-            .fromEthNetworkConfig(
-                EthNetworkConfig.getNetworkConfig(NetworkName.MAINNET), SyncMode.FAST)
-            .synchronizerConfiguration(SynchronizerConfiguration.builder().build())
-            .ethProtocolConfiguration(EthProtocolConfiguration.defaultConfig())
-            .storageProvider(new InMemoryKeyValueStorageProvider())
-            .networkId(BigInteger.ONE)
-            .miningParameters(MiningConfiguration.newDefault())
-            .nodeKey(NodeKeyUtils.generate())
-            .metricsSystem(new NoOpMetricsSystem())
-            .clock(TestClock.fixed())
-            .transactionPoolConfiguration(TransactionPoolConfiguration.DEFAULT)
-            .evmConfiguration(EvmConfiguration.DEFAULT)
-            .networkConfiguration(NetworkingConfiguration.create())
-            .besuComponent(mock(BesuComponent.class))
-            .apiConfiguration(ImmutableApiConfiguration.builder().build())
-            .dataDirectory(dataDirectory)
-            .build();
+    final Path source = era1File();
+    final BesuController targetController = createController();
     era1BlockImporter.importBlocks(targetController, source);
 
     Blockchain blockchain = targetController.getProtocolContext().getBlockchain();
     BlockHeader chainHeadHeader = blockchain.getChainHeadHeader();
     Assertions.assertEquals(8191, chainHeadHeader.getNumber());
   }
+
+  @Test
+  public void importContinuesAfterAFileThatFails()
+      throws IOException, ExecutionException, InterruptedException, URISyntaxException {
+    final BesuController targetController = createController();
+    era1BlockImporter.importBlocks(
+        targetController, List.of(dataDirectory.resolve("missing.era1"), era1File()));
+
+    Blockchain blockchain = targetController.getProtocolContext().getBlockchain();
+    Assertions.assertEquals(8191, blockchain.getChainHeadHeader().getNumber());
+  }
+
+  @Test
+  public void importOfASingleFileFailsWithIt() {
+    final BesuController targetController = createController();
+    Assertions.assertThrows(
+        FileNotFoundException.class,
+        () ->
+            era1BlockImporter.importBlocks(
+                targetController, dataDirectory.resolve("missing.era1")));
+  }
+
+  private static Path era1File() throws URISyntaxException {
+    return Path.of(
+        BlockTestUtil.class.getClassLoader().getResource("mainnet-00000-5ec1ffb8.era1").toURI());
+  }
+
+  private BesuController createController() {
+    return new BesuController.Builder()
+        .fromEthNetworkConfig(EthNetworkConfig.getNetworkConfig(NetworkName.MAINNET), SyncMode.FAST)
+        .synchronizerConfiguration(SynchronizerConfiguration.builder().build())
+        .ethProtocolConfiguration(EthProtocolConfiguration.defaultConfig())
+        .storageProvider(new InMemoryKeyValueStorageProvider())
+        .networkId(BigInteger.ONE)
+        .miningParameters(MiningConfiguration.newDefault())
+        .nodeKey(NodeKeyUtils.generate())
+        .metricsSystem(new NoOpMetricsSystem())
+        .clock(TestClock.fixed())
+        .transactionPoolConfiguration(TransactionPoolConfiguration.DEFAULT)
+        .evmConfiguration(EvmConfiguration.DEFAULT)
+        .networkConfiguration(NetworkingConfiguration.create())
+        .besuComponent(mock(BesuComponent.class))
+        .apiConfiguration(ImmutableApiConfiguration.builder().build())
+        .dataDirectory(dataDirectory)
+        .build();
+  }
 }
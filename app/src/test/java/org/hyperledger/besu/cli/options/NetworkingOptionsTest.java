@@ -127,6 +127,19 @@ public class NetworkingOptionsTest
     assertThat(commandOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void checkDiscoveryV5Port_isSet() {
+    final TestBesuCommand cmd =
+        parseCommand("--Xv5-discovery-enabled", "--Xv5-discovery-port", "9001");
+
+    final NetworkingOptions options = cmd.getNetworkingOptions();
+    final NetworkingConfiguration networkingConfig = options.toDomainObject();
+    assertThat(networkingConfig.getDiscovery().getDiscoveryV5BindPort()).isEqualTo(9001);
+
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+  }
+
   @Test
   public void checkFilterByForkIdNotSet() {
     final TestBesuCommand cmd = parseCommand();
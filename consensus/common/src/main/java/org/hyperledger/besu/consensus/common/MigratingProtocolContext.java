@@ -18,6 +18,7 @@ import org.hyperledger.besu.ethereum.ConsensusContext;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.vm.ExecutionProfiler;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.plugin.ServiceManager;
 
@@ -41,8 +42,39 @@ public class MigratingProtocolContext extends ProtocolContext {
       final MigratingConsensusContext migratingConsensusContext,
       final BadBlockManager badBlockManager,
       final ServiceManager serviceManager) {
+    this(
+        blockchain,
+        worldStateArchive,
+        migratingConsensusContext,
+        badBlockManager,
+        serviceManager,
+        new ExecutionProfiler());
+  }
+
+  /**
+   * Instantiates a new Migrating protocol context.
+   *
+   * @param blockchain the blockchain
+   * @param worldStateArchive the world state archive
+   * @param migratingConsensusContext the consensus context
+   * @param badBlockManager the cache to use to keep invalid blocks
+   * @param serviceManager the plugin service manager
+   * @param executionProfiler the profiler of the execution of imported blocks
+   */
+  public MigratingProtocolContext(
+      final MutableBlockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final MigratingConsensusContext migratingConsensusContext,
+      final BadBlockManager badBlockManager,
+      final ServiceManager serviceManager,
+      final ExecutionProfiler executionProfiler) {
     super(
-        blockchain, worldStateArchive, migratingConsensusContext, badBlockManager, serviceManager);
+        blockchain,
+        worldStateArchive,
+        migratingConsensusContext,
+        badBlockManager,
+        serviceManager,
+        executionProfiler);
     this.consensusContextSchedule = migratingConsensusContext.getConsensusContextSchedule();
   }
 
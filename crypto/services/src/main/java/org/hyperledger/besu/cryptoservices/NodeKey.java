@@ -22,7 +22,10 @@ import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.plugin.services.securitymodule.SecurityModule;
 import org.hyperledger.besu.plugin.services.securitymodule.data.Signature;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.math.ec.ECPoint;
 
 /** The Node key. */
 public class NodeKey {
@@ -69,7 +72,37 @@ public class NodeKey {
    * @return the bytes32
    */
   public Bytes32 calculateECDHKeyAgreement(final SECPPublicKey partyKey) {
+    return calculateECDHKeyAgreement(signatureAlgorithm.publicKeyAsEcPoint(partyKey));
+  }
+
+  /**
+   * Calculate the ecdh shared point, compressed, as the discovery v5 handshake uses it.
+   *
+   * <p>The security module only provides the x coordinate of the shared point d*P. The parity of
+   * its y coordinate is found from a second agreement with P + G, since d*(P + G) = d*P + Q, where
+   * Q is the public key: only one of the two points with that x coordinate gives the same sum.
+   *
+   * @param partyKey the party key
+   * @return the 33 bytes compressed shared point
+   */
+  public Bytes calculateECDHKeyAgreementCompressed(final SECPPublicKey partyKey) {
+    final ECDomainParameters curve = signatureAlgorithm.getCurve();
+    final ECPoint partyPoint = signatureAlgorithm.publicKeyAsEcPoint(partyKey);
+    final Bytes32 sharedX = calculateECDHKeyAgreement(partyPoint);
+    final Bytes32 shiftedSharedX =
+        calculateECDHKeyAgreement(partyPoint.add(curve.getG()).normalize());
+
+    final ECPoint evenShared =
+        curve.getCurve().decodePoint(Bytes.concatenate(Bytes.of(0x02), sharedX).toArrayUnsafe());
+    final ECPoint publicPoint = signatureAlgorithm.publicKeyAsEcPoint(getPublicKey());
+    final Bytes32 evenShiftedX =
+        Bytes32.wrap(evenShared.add(publicPoint).normalize().getAffineXCoord().getEncoded());
+    final ECPoint shared = evenShiftedX.equals(shiftedSharedX) ? evenShared : evenShared.negate();
+    return Bytes.wrap(shared.getEncoded(true));
+  }
+
+  private Bytes32 calculateECDHKeyAgreement(final ECPoint partyPoint) {
     return securityModule.calculateECDHKeyAgreement(
-        () -> ECPointUtil.fromBouncyCastleECPoint(signatureAlgorithm.publicKeyAsEcPoint(partyKey)));
+        () -> ECPointUtil.fromBouncyCastleECPoint(partyPoint));
   }
 }
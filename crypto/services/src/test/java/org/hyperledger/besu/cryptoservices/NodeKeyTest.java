@@ -15,6 +15,7 @@
 package org.hyperledger.besu.cryptoservices;
 
 import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SECPPublicKey;
 import org.hyperledger.besu.crypto.SignatureAlgorithm;
 import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 
@@ -51,4 +52,28 @@ public class NodeKeyTest {
     Assertions.assertThat(nodeKey.getPublicKey().getEncodedBytes())
         .isEqualByComparingTo(keyPairPubKey);
   }
+
+  @Test
+  public void compressedECDHKeyAgreementShouldMatchSharedPoint() {
+    final SignatureAlgorithm signatureAlgorithm = SignatureAlgorithmFactory.getInstance();
+    final KeyPair keyPair = signatureAlgorithm.generateKeyPair();
+    final NodeKey nodeKey = new NodeKey(new KeyPairSecurityModule(keyPair));
+
+    // enough party keys to get shared points with both parities of y
+    for (int i = 0; i < 16; i++) {
+      final SECPPublicKey partyKey = signatureAlgorithm.generateKeyPair().getPublicKey();
+      final Bytes expected =
+          Bytes.wrap(
+              signatureAlgorithm
+                  .publicKeyAsEcPoint(partyKey)
+                  .multiply(keyPair.getPrivateKey().getD())
+                  .normalize()
+                  .getEncoded(true));
+
+      final Bytes shared = nodeKey.calculateECDHKeyAgreementCompressed(partyKey);
+
+      Assertions.assertThat(shared).isEqualTo(expected);
+      Assertions.assertThat(shared.slice(1)).isEqualTo(nodeKey.calculateECDHKeyAgreement(partyKey));
+    }
+  }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter.JsonRpcParameterException;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.vm.ExecutionProfiler;
+
+import java.util.Optional;
+
+/**
+ * Controls the execution profiler and returns the profile of the blocks imported while it was
+ * enabled. The optional first parameter is the action to take before returning the profile:
+ * "start" enables the profiler, "stop" disables it and "reset" discards the profile so far. The
+ * optional second parameter is the number of code hashes to return.
+ */
+public class DebugExecutionProfile implements JsonRpcMethod {
+
+  private final ExecutionProfiler executionProfiler;
+
+  public DebugExecutionProfile(final ExecutionProfiler executionProfiler) {
+    this.executionProfiler = executionProfiler;
+  }
+
+  @Override
+  public String getName() {
+    return RpcMethod.DEBUG_EXECUTION_PROFILE.getMethodName();
+  }
+
+  @Override
+  public JsonRpcResponse response(final JsonRpcRequestContext requestContext) {
+    final Optional<String> action;
+    final int topCode;
+    try {
+      action = requestContext.getOptionalParameter(0, String.class);
+      topCode =
+          requestContext
+              .getOptionalParameter(1, Integer.class)
+              .orElse(ExecutionProfiler.DEFAULT_TOP_CODE);
+    } catch (JsonRpcParameterException e) {
+      throw new InvalidJsonRpcParameters(
+          "Invalid execution profile parameters", RpcErrorType.INVALID_PARAMS, e);
+    }
+
+    if (action.isPresent()) {
+      switch (action.get()) {
+        case "start" -> executionProfiler.setEnabled(true);
+        case "stop" -> executionProfiler.setEnabled(false);
+        case "reset" -> executionProfiler.reset();
+        default -> {
+          return new JsonRpcErrorResponse(
+              requestContext.getRequest().getId(), RpcErrorType.INVALID_PARAMS);
+        }
+      }
+    }
+    return new JsonRpcSuccessResponse(
+        requestContext.getRequest().getId(), executionProfiler.profile(topCode));
+  }
+}
@@ -405,24 +405,13 @@ public abstract class AbstractEngineNewPayload extends ExecutionEngineJsonRpcMet
   }
 
   private void precomputeSenders(final List<Transaction> transactions) {
-    transactions.forEach(
-        transaction -> {
-          mergeCoordinator
-              .getEthScheduler()
-              .scheduleComputationTask(
-                  () -> {
-                    final var sender = transaction.getSender();
-                    LOG.atTrace()
-                        .setMessage("The sender for transaction {} is calculated : {}")
-                        .addArgument(transaction::getHash)
-                        .addArgument(sender)
-                        .log();
-                    return sender;
-                  });
-          if (transaction.getType().supportsDelegateCode()) {
-            precomputeAuthorities(transaction);
-          }
-        });
+    if (transactions.isEmpty()) {
+      return;
+    }
+    mergeCoordinator.getEthScheduler().getSenderRecovery().recoverSenders(transactions);
+    transactions.stream()
+        .filter(transaction -> transaction.getType().supportsDelegateCode())
+        .forEach(this::precomputeAuthorities);
   }
 
   private void precomputeAuthorities(final Transaction transaction) {
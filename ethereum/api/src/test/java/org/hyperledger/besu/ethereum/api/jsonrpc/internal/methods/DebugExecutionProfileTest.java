@@ -0,0 +1,76 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.vm.ExecutionProfiler;
+import org.hyperledger.besu.ethereum.vm.ExecutionProfiler.Profile;
+
+import org.junit.jupiter.api.Test;
+
+public class DebugExecutionProfileTest {
+
+  private final ExecutionProfiler executionProfiler = new ExecutionProfiler();
+  private final DebugExecutionProfile method = new DebugExecutionProfile(executionProfiler);
+
+  @Test
+  public void shouldHaveCorrectName() {
+    assertThat(method.getName()).isEqualTo("debug_executionProfile");
+  }
+
+  @Test
+  public void shouldReturnProfileWithoutChangingProfiler() {
+    final JsonRpcResponse response = method.response(request());
+
+    assertThat(executionProfiler.isEnabled()).isFalse();
+    assertThat(profile(response).enabled()).isFalse();
+    assertThat(profile(response).opcodes()).isEmpty();
+  }
+
+  @Test
+  public void shouldStartAndStopProfiler() {
+    assertThat(profile(method.response(request("start"))).enabled()).isTrue();
+    assertThat(executionProfiler.isEnabled()).isTrue();
+
+    assertThat(profile(method.response(request("stop"))).enabled()).isFalse();
+    assertThat(executionProfiler.isEnabled()).isFalse();
+  }
+
+  @Test
+  public void shouldRejectUnknownAction() {
+    final JsonRpcResponse response = method.response(request("pause"));
+
+    assertThat(response).isInstanceOf(JsonRpcErrorResponse.class);
+    assertThat(((JsonRpcErrorResponse) response).getErrorType())
+        .isEqualTo(RpcErrorType.INVALID_PARAMS);
+    assertThat(executionProfiler.isEnabled()).isFalse();
+  }
+
+  private static JsonRpcRequestContext request(final Object... params) {
+    return new JsonRpcRequestContext(new JsonRpcRequest("2.0", "debug_executionProfile", params));
+  }
+
+  private static Profile profile(final JsonRpcResponse response) {
+    assertThat(response).isInstanceOf(JsonRpcSuccessResponse.class);
+    return (Profile) ((JsonRpcSuccessResponse) response).getResult();
+  }
+}
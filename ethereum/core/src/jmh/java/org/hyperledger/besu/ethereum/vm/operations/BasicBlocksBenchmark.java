@@ -0,0 +1,123 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.frame.BlockValues;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares running legacy code one operation at a time, by basic blocks, and compiled. Contract
+ * bytecode, for instance of mainnet contracts, can be benchmarked with {@code -p code=0x...}, and
+ * call data with {@code -p callData=0x...}.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.MICROSECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class BasicBlocksBenchmark {
+
+  @Param({
+    // 10000 iterations of a countdown loop
+    "0x6127105b600190038060035700",
+    // 10000 iterations of a loop of arithmetic and stack operations
+    "0x6127105b600781026003016005900650600190038060035700"
+  })
+  public String code;
+
+  @Param({"0x"})
+  public String callData;
+
+  @Param({"false", "true"})
+  public boolean basicBlocks;
+
+  // 1 compiles the code on first use
+  @Param({"0", "1"})
+  public int compilationThreshold;
+
+  private EVM evm;
+  private Code wrappedCode;
+  private Bytes inputData;
+  private WorldUpdater worldUpdater;
+  private BlockValues blockValues;
+
+  @Setup
+  public void setUp() {
+    evm =
+        MainnetEVMs.osaka(
+            BigInteger.ONE,
+            new EvmConfiguration(
+                32_000L,
+                EvmConfiguration.WorldUpdaterMode.STACKED,
+                true,
+                basicBlocks,
+                compilationThreshold));
+    wrappedCode = evm.wrapCode(Bytes.fromHexString(code));
+    inputData = Bytes.fromHexString(callData);
+    worldUpdater = mock(WorldUpdater.class);
+    blockValues = mock(BlockValues.class);
+  }
+
+  @Benchmark
+  public MessageFrame runToHalt() {
+    final MessageFrame frame =
+        MessageFrame.builder()
+            .type(MessageFrame.Type.MESSAGE_CALL)
+            .worldUpdater(worldUpdater)
+            .initialGas(30_000_000L)
+            .address(Address.ZERO)
+            .originator(Address.ZERO)
+            .contract(Address.ZERO)
+            .gasPrice(Wei.ZERO)
+            .inputData(inputData)
+            .sender(Address.ZERO)
+            .value(Wei.ZERO)
+            .apparentValue(Wei.ZERO)
+            .code(wrappedCode)
+            .blockValues(blockValues)
+            .completer(f -> {})
+            .miningBeneficiary(Address.ZERO)
+            .blockHashLookup((__, ___) -> Hash.EMPTY)
+            .build();
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    return frame;
+  }
+}
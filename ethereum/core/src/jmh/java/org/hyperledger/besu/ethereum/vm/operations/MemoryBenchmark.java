@@ -0,0 +1,89 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.evm.frame.Memory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Memory workloads of the copy operations, each growing a fresh memory to {@code memorySize} bytes
+ * by chunks of {@code chunkSize} bytes, as contracts copying large call data, return data or memory
+ * regions do.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.MICROSECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class MemoryBenchmark {
+
+  @Param({"1024", "32768", "1048576"})
+  public int memorySize;
+
+  @Param({"32", "1024"})
+  public int chunkSize;
+
+  private Bytes data;
+
+  @Setup
+  public void setUp() {
+    data = BenchmarkHelper.createCallData(memorySize, true);
+  }
+
+  /** CALLDATACOPY of the whole call data, chunk by chunk. */
+  @Benchmark
+  public Memory callDataCopy() {
+    final Memory memory = new Memory();
+    for (int offset = 0; offset < memorySize; offset += chunkSize) {
+      memory.setBytes(offset, offset, chunkSize, data);
+    }
+    return memory;
+  }
+
+  /** RETURNDATACOPY of the same return data to consecutive memory regions. */
+  @Benchmark
+  public Memory returnDataCopy() {
+    final Memory memory = new Memory();
+    final Bytes returnData = data.slice(0, Math.min(chunkSize, memorySize));
+    for (int offset = 0; offset < memorySize; offset += chunkSize) {
+      memory.setBytes(offset, chunkSize, returnData);
+    }
+    return memory;
+  }
+
+  /** MCOPY of the first chunk of memory to the following one, until memory is full. */
+  @Benchmark
+  public Memory mcopy() {
+    final Memory memory = new Memory();
+    memory.setBytes(0, chunkSize, data);
+    for (int offset = chunkSize; offset < memorySize; offset += chunkSize) {
+      memory.copy(offset, offset - chunkSize, chunkSize);
+    }
+    return memory;
+  }
+}
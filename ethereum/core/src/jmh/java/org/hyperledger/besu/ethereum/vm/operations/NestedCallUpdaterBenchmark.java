@@ -0,0 +1,117 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.forest.storage.ForestWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.forest.worldview.ForestMutableWorldState;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The world updates of a transaction making a chain of {@code depth} nested calls, each with its
+ * own updater, changing the balance and {@code writesPerCall} storage slots of a contract, and
+ * reverting every other call.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.MICROSECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class NestedCallUpdaterBenchmark {
+  private static final int CONTRACTS = 16;
+
+  @Param({"STACKED", "JOURNALED"})
+  public WorldUpdaterMode mode;
+
+  @Param({"8", "64", "512"})
+  public int depth;
+
+  @Param({"4"})
+  public int writesPerCall;
+
+  private final Address[] contracts = new Address[CONTRACTS];
+  private WorldUpdater blockUpdater;
+
+  @Setup
+  public void setUp() {
+    final MutableWorldState worldState =
+        new ForestMutableWorldState(
+            new ForestWorldStateKeyValueStorage(new InMemoryKeyValueStorage()),
+            new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()),
+            new EvmConfiguration(32_000L, mode, false));
+    final WorldUpdater setUp = worldState.updater();
+    for (int i = 0; i < CONTRACTS; i++) {
+      contracts[i] = Address.fromHexString(String.format("0x%040x", 0x1000 + i));
+      final MutableAccount contract = setUp.createAccount(contracts[i], 1, Wei.of(1_000_000));
+      for (int slot = 0; slot < writesPerCall; slot++) {
+        contract.setStorageValue(UInt256.valueOf(slot), UInt256.ONE);
+      }
+    }
+    setUp.commit();
+    worldState.persist(null);
+
+    // the accounts stay loaded in the block updater, as they are once a block touched them
+    blockUpdater = worldState.updater();
+    for (final Address contract : contracts) {
+      blockUpdater.getAccount(contract);
+    }
+  }
+
+  @Benchmark
+  public WorldUpdater nestedCalls() {
+    final WorldUpdater transaction = blockUpdater.updater();
+    call(transaction, 0);
+    transaction.revert();
+    return transaction;
+  }
+
+  private void call(final WorldUpdater caller, final int level) {
+    final WorldUpdater updater = caller.updater();
+    final MutableAccount contract = updater.getAccount(contracts[level % CONTRACTS]);
+    contract.decrementBalance(Wei.ONE);
+    for (int slot = 0; slot < writesPerCall; slot++) {
+      contract.setStorageValue(UInt256.valueOf(slot), UInt256.valueOf(level + 2));
+    }
+    if (level + 1 < depth) {
+      call(updater, level + 1);
+    }
+    if (level % 2 == 1) {
+      updater.revert();
+    } else {
+      updater.commit();
+    }
+  }
+}
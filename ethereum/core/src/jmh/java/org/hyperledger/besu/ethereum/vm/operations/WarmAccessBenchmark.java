@@ -0,0 +1,99 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.collections.undo.UndoBytesSet;
+import org.hyperledger.besu.collections.undo.UndoTable;
+import org.hyperledger.besu.datatypes.Address;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.HashBasedTable;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The EIP-2929 storage warming of an SLOAD heavy transaction: each slot is warmed up by its first
+ * access, then accessed again {@code accessesPerSlot} times, comparing the table previously used to
+ * track warm storage with the byte set now used.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.MICROSECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class WarmAccessBenchmark {
+
+  @Param({"4", "64", "1024"})
+  public int slots;
+
+  @Param({"4"})
+  public int accessesPerSlot;
+
+  private Address[] addresses;
+  private Bytes32[] keys;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(42);
+    // a few contracts, with small slots as of state variables, and hashed ones as of mappings
+    addresses = new Address[slots];
+    keys = new Bytes32[slots];
+    for (int i = 0; i < slots; i++) {
+      addresses[i] = Address.fromHexString(String.format("0x%040x", 0x1000 + i % 3));
+      keys[i] = i % 2 == 0 ? Bytes32.leftPad(Bytes.ofUnsignedInt(i)) : Bytes32.random(random);
+    }
+  }
+
+  @Benchmark
+  public int table() {
+    final UndoTable<Address, Bytes32, Boolean> warmedUpStorage =
+        UndoTable.of(HashBasedTable.create());
+    int cold = 0;
+    for (int access = 0; access <= accessesPerSlot; access++) {
+      for (int i = 0; i < slots; i++) {
+        if (warmedUpStorage.put(addresses[i], keys[i], Boolean.TRUE) == null) {
+          cold++;
+        }
+      }
+    }
+    return cold;
+  }
+
+  @Benchmark
+  public int bytesSet() {
+    final UndoBytesSet warmedUpStorage = new UndoBytesSet(Address.SIZE + Bytes32.SIZE);
+    int cold = 0;
+    for (int access = 0; access <= accessesPerSlot; access++) {
+      for (int i = 0; i < slots; i++) {
+        if (warmedUpStorage.add(addresses[i], keys[i])) {
+          cold++;
+        }
+      }
+    }
+    return cold;
+  }
+}
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum;
 
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.vm.ExecutionProfiler;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.plugin.ServiceManager;
 
@@ -32,6 +33,7 @@ public class ProtocolContext {
   private final ConsensusContext consensusContext;
   private final BadBlockManager badBlockManager;
   private final ServiceManager serviceManager;
+  private final ExecutionProfiler executionProfiler;
 
   /**
    * Constructs a new ProtocolContext with the given blockchain, world state archive, consensus
@@ -49,11 +51,39 @@ public class ProtocolContext {
       final ConsensusContext consensusContext,
       final BadBlockManager badBlockManager,
       final ServiceManager serviceManager) {
+    this(
+        blockchain,
+        worldStateArchive,
+        consensusContext,
+        badBlockManager,
+        serviceManager,
+        new ExecutionProfiler());
+  }
+
+  /**
+   * Constructs a new ProtocolContext with the given blockchain, world state archive, consensus
+   * context, bad block manager and execution profiler.
+   *
+   * @param blockchain the blockchain of the protocol context
+   * @param worldStateArchive the world state archive of the protocol context
+   * @param consensusContext the consensus context
+   * @param badBlockManager the bad block manager of the protocol context
+   * @param serviceManager plugin service manager
+   * @param executionProfiler the profiler of the execution of imported blocks
+   */
+  protected ProtocolContext(
+      final MutableBlockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final ConsensusContext consensusContext,
+      final BadBlockManager badBlockManager,
+      final ServiceManager serviceManager,
+      final ExecutionProfiler executionProfiler) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.consensusContext = consensusContext;
     this.badBlockManager = badBlockManager;
     this.serviceManager = serviceManager;
+    this.executionProfiler = executionProfiler;
   }
 
   /**
@@ -92,6 +122,15 @@ public class ProtocolContext {
     return serviceManager;
   }
 
+  /**
+   * Gets the profiler of the execution of imported blocks.
+   *
+   * @return the execution profiler of the protocol context
+   */
+  public ExecutionProfiler getExecutionProfiler() {
+    return executionProfiler;
+  }
+
   /**
    * Gets the consensus context of the protocol context.
    *
@@ -152,6 +191,7 @@ public class ProtocolContext {
     private ConsensusContext consensusContext;
     private BadBlockManager badBlockManager = new BadBlockManager();
     private ServiceManager serviceManager = new ServiceManager.SimpleServiceManager();
+    private ExecutionProfiler executionProfiler = new ExecutionProfiler();
 
     /** Default constructor. linter requires javadoc. */
     public Builder() {}
@@ -211,6 +251,17 @@ public class ProtocolContext {
       return this;
     }
 
+    /**
+     * Sets the {@link ExecutionProfiler} for the {@link ProtocolContext}.
+     *
+     * @param executionProfiler the execution profiler to be used in the protocol context.
+     * @return the builder instance for chaining.
+     */
+    public Builder withExecutionProfiler(final ExecutionProfiler executionProfiler) {
+      this.executionProfiler = executionProfiler;
+      return this;
+    }
+
     /**
      * Constructs a new {@link ProtocolContext} using the currently configured properties.
      *
@@ -218,7 +269,12 @@ public class ProtocolContext {
      */
     public ProtocolContext build() {
       return new ProtocolContext(
-          blockchain, worldStateArchive, consensusContext, badBlockManager, serviceManager);
+          blockchain,
+          worldStateArchive,
+          consensusContext,
+          badBlockManager,
+          serviceManager,
+          executionProfiler);
     }
   }
 }
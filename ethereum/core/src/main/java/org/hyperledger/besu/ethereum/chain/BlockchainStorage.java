@@ -20,11 +20,14 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.SyncBlockBody;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.apache.tuweni.bytes.Bytes;
+
 public interface BlockchainStorage {
 
   Optional<Hash> getChainHead();
@@ -39,6 +42,14 @@ public interface BlockchainStorage {
 
   Optional<BlockBody> getBlockBody(Hash blockHash);
 
+  default Optional<Bytes> getBlockHeaderRlp(final Hash blockHash) {
+    return getBlockHeader(blockHash).map(header -> RLP.encode(header::writeTo));
+  }
+
+  default Optional<Bytes> getBlockBodyRlp(final Hash blockHash) {
+    return getBlockBody(blockHash).map(body -> RLP.encode(body::writeWrappedBodyTo));
+  }
+
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
   Optional<Hash> getBlockHash(long blockNumber);
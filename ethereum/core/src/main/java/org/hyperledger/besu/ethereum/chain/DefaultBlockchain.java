@@ -35,6 +35,7 @@ import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.data.AddedBlockContext.EventType;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.util.InvalidConfigurationException;
@@ -58,6 +59,7 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
+import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -401,6 +403,16 @@ public class DefaultBlockchain implements MutableBlockchain {
         .orElseGet(() -> blockchainStorage.getBlockHeader(blockHeaderHash));
   }
 
+  @Override
+  public Optional<Bytes> getBlockHeaderRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockHeaderRlp(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<Bytes> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockBodyRlp(blockHeaderHash);
+  }
+
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHeaderHash) {
     return blockBodiesCache
@@ -514,6 +526,55 @@ public class DefaultBlockchain implements MutableBlockchain {
     appendSyncBlockHelper(block, receipts, false);
   }
 
+  @Override
+  public synchronized void appendBlocks(
+      final List<BlockWithReceipts> blocks, final boolean transactionIndexing) {
+    if (blocks.isEmpty()) {
+      return;
+    }
+    // validate the whole batch before writing anything, so that no block of it is half added
+    Hash parentHash = chainHeader.getHash();
+    for (final BlockWithReceipts blockWithReceipts : blocks) {
+      final Block block = blockWithReceipts.getBlock();
+      checkArgument(
+          block.getBody().getTransactions().size() == blockWithReceipts.getReceipts().size(),
+          "Supplied receipts do not match block transactions.");
+      checkArgument(
+          block.getHeader().getParentHash().equals(parentHash),
+          "Attempt to append non-connected block.");
+      parentHash = block.getHash();
+    }
+
+    final BlockchainStorage.Updater updater = blockchainStorage.updater();
+    final List<BlockAddedEvent> blockAddedEvents = new ArrayList<>(blocks.size());
+    Difficulty td = totalDifficulty;
+    try {
+      for (final BlockWithReceipts blockWithReceipts : blocks) {
+        final Block block = blockWithReceipts.getBlock();
+        final Hash hash = block.getHash();
+        td = td.add(block.getHeader().getDifficulty());
+
+        updater.putBlockHeader(hash, block.getHeader());
+        updater.putBlockBody(hash, block.getBody());
+        updater.putTransactionReceipts(hash, blockWithReceipts.getReceipts());
+        updater.putTotalDifficulty(hash, td);
+        blockAddedEvents.add(handleNewHead(updater, blockWithReceipts, transactionIndexing));
+      }
+    } catch (final RuntimeException e) {
+      updater.rollback();
+      throw e;
+    }
+    updater.commit();
+    blocks.forEach(
+        blockWithReceipts ->
+            updateHeadMetrics(
+                blockWithReceipts.getHeader(),
+                blockWithReceipts.getBlock().getBody().getTransactions().size()));
+    updateCacheForNewCanonicalHead(blocks.getLast().getBlock(), td);
+    blockAddedEvents.forEach(
+        event -> blockAddedObservers.forEach(observer -> observer.onBlockAdded(event)));
+  }
+
   @Override
   public synchronized void storeBlock(
       final Block block,
@@ -597,6 +658,9 @@ public class DefaultBlockchain implements MutableBlockchain {
     }
 
     updater.commit();
+    if (blockAddedEvent.getEventType().equals(EventType.HEAD_ADVANCED)) {
+      updateHeadMetrics(block.getHeader(), block.getBody().getTransactions().size());
+    }
     blockAddedObservers.forEach(observer -> observer.onBlockAdded(blockAddedEvent));
   }
 
@@ -627,6 +691,7 @@ public class DefaultBlockchain implements MutableBlockchain {
     }
 
     updater.commit();
+    updateHeadMetrics(block.getHeader(), block.getBody().getTransactionCount());
     blockAddedObservers.forEach(observer -> observer.onBlockAdded(blockAddedEvent));
   }
 
@@ -746,6 +811,11 @@ public class DefaultBlockchain implements MutableBlockchain {
     }
   }
 
+  private void updateHeadMetrics(final BlockHeader header, final int transactionCount) {
+    gasUsedCounter.inc(header.getGasUsed());
+    numberOfTransactionsCounter.inc(transactionCount);
+  }
+
   private BlockAddedEvent handleStoreOnly(final BlockWithReceipts blockWithReceipts) {
     return BlockAddedEvent.createForStoredOnly(blockWithReceipts.getBlock());
   }
@@ -766,10 +836,6 @@ public class DefaultBlockchain implements MutableBlockchain {
               .toList();
       indexTransactionsForBlock(updater, newBlockHash, listOfTxHashes);
     }
-    gasUsedCounter.inc(blockWithReceipts.getHeader().getGasUsed());
-    numberOfTransactionsCounter.inc(
-        blockWithReceipts.getBlock().getBody().getTransactions().size());
-
     return BlockAddedEvent.createForHeadAdvancement(
         blockWithReceipts.getBlock(),
         LogWithMetadata.generate(
@@ -792,9 +858,6 @@ public class DefaultBlockchain implements MutableBlockchain {
     if (transactionIndexing) {
       indexTransactionsForBlock(updater, newBlockHash, listOfTxHashes);
     }
-    gasUsedCounter.inc(newBlock.getHeader().getGasUsed());
-    numberOfTransactionsCounter.inc(newBlock.getBody().getTransactionCount());
-
     return BlockAddedEvent.createForSyncHeadAdvancement(
         newBlock.getHeader(),
         () -> new Block(newBlock.getHeader(), newBlock.getBody().getBodySupplier().get()),
@@ -987,6 +1050,8 @@ public class DefaultBlockchain implements MutableBlockchain {
       updateCacheForNewCanonicalHead(
           blockWithReceipts.getBlock(), calculateTotalDifficulty(blockHeader));
       updater.commit();
+      updateHeadMetrics(
+          blockHeader, blockWithReceipts.getBlock().getBody().getTransactions().size());
       blockAddedObservers.forEach(observer -> observer.onBlockAdded(newHeadEvent));
       return true;
     } catch (final NoSuchElementException e) {
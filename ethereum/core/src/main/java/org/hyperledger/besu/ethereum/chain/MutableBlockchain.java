@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.chain;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.SyncBlock;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
@@ -89,6 +90,20 @@ public interface MutableBlockchain extends Blockchain {
   void appendSyncBlockWithoutIndexingTransactions(
       SyncBlock syncBlock, List<TransactionReceipt> receipts);
 
+  /**
+   * Adds a contiguous sequence of blocks on top of the current chain head, in a single storage
+   * transaction. Meant for bulk imports of history that is already trusted, such as era1 archives,
+   * where committing each block separately dominates the import time.
+   *
+   * <p>The first block must be a child of the current chain head and each following block a child
+   * of the previous one, otherwise an {@link IllegalArgumentException} is thrown and nothing is
+   * stored.
+   *
+   * @param blocks The blocks to append, with the receipts of their transactions, in order.
+   * @param transactionIndexing whether to index the transactions of the blocks
+   */
+  void appendBlocks(List<BlockWithReceipts> blocks, boolean transactionIndexing);
+
   /**
    * Adds a block to the blockchain, without updating the chain state.
    *
@@ -30,7 +30,9 @@ public interface VariablesStorage {
     FINALIZED_BLOCK_HASH("finalizedBlockHash"),
     SAFE_BLOCK_HASH("safeBlockHash"),
     SEQ_NO_STORE("local-enr-seqno"),
-    GENESIS_STATE_HASH("genesisStateHash");
+    GENESIS_STATE_HASH("genesisStateHash"),
+    KNOWN_PEERS("knownPeers"),
+    BLOCK_SEGMENTS_ARCHIVED("blockSegmentsArchived");
 
     private final String key;
     private final byte[] byteArray;
@@ -68,6 +70,10 @@ public interface VariablesStorage {
 
   Optional<Hash> getGenesisStateHash();
 
+  Optional<Bytes> getKnownPeers();
+
+  boolean hasArchivedBlockSegments();
+
   Updater updater();
 
   interface Updater {
@@ -84,6 +90,10 @@ public interface VariablesStorage {
 
     void setGenesisStateHash(Hash genesisStateHash);
 
+    void setKnownPeers(Bytes knownPeers);
+
+    void setArchivedBlockSegments();
+
     void removeAll();
 
     void commit();
@@ -14,8 +14,10 @@
  */
 package org.hyperledger.besu.ethereum.core;
 
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.encoding.BlockAccessListDecoder;
 import org.hyperledger.besu.ethereum.core.encoding.BlockAccessListEncoder;
+import org.hyperledger.besu.ethereum.mainnet.BodyValidation;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
@@ -24,6 +26,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
 
 public class BlockBody implements org.hyperledger.besu.plugin.data.BlockBody {
 
@@ -43,6 +48,13 @@ public class BlockBody implements org.hyperledger.besu.plugin.data.BlockBody {
 
   private final Optional<BlockAccessList> blockAccessList;
 
+  private final Supplier<Hash> transactionsRoot =
+      Suppliers.memoize(() -> BodyValidation.transactionsRoot(getTransactions()));
+  private final Supplier<Hash> ommersHash =
+      Suppliers.memoize(() -> BodyValidation.ommersHash(getOmmers()));
+  private final Supplier<Optional<Hash>> withdrawalsRoot =
+      Suppliers.memoize(() -> getWithdrawals().map(BodyValidation::withdrawalsRoot));
+
   public BlockBody(final List<Transaction> transactions, final List<BlockHeader> ommers) {
     this.transactions = transactions;
     this.ommers = ommers;
@@ -105,6 +117,33 @@ public class BlockBody implements org.hyperledger.besu.plugin.data.BlockBody {
     return blockAccessList;
   }
 
+  /**
+   * Returns the root of the transactions trie of this body. It is computed on first use only.
+   *
+   * @return the transactions root
+   */
+  public Hash getTransactionsRoot() {
+    return transactionsRoot.get();
+  }
+
+  /**
+   * Returns the hash of the ommers of this body. It is computed on first use only.
+   *
+   * @return the ommers hash
+   */
+  public Hash getOmmersHash() {
+    return ommersHash.get();
+  }
+
+  /**
+   * Returns the root of the withdrawals trie of this body. It is computed on first use only.
+   *
+   * @return the withdrawals root, empty if the body has no withdrawals
+   */
+  public Optional<Hash> getWithdrawalsRoot() {
+    return withdrawalsRoot.get();
+  }
+
   /**
    * Writes Block to {@link RLPOutput}.
    *
@@ -470,6 +470,19 @@ public class Transaction
     return sender;
   }
 
+  /**
+   * Returns whether the sender is already known, because it was provided, already recovered or is
+   * in the recovered senders cache, so that getting it does not require its recovery.
+   *
+   * @return true if the sender is already known
+   */
+  public boolean isSenderKnown() {
+    if (sender == null) {
+      sender = senderCache.getIfPresent(getHash());
+    }
+    return sender != null;
+  }
+
   private Address computeSender() {
     final SECPPublicKey publicKey =
         signatureAlgorithm
@@ -45,6 +45,7 @@ import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.common.StateRootMismatchException;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.vm.ExecutionProfiler;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
 import org.hyperledger.besu.evm.worldstate.StackedUpdater;
 import org.hyperledger.besu.evm.worldstate.WorldState;
@@ -122,6 +123,13 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
                         || "true".equalsIgnoreCase(System.getenv("BESU_TRACE_BLOCKS"))) {
                       return new BlockAwareJsonTracer();
                     }
+                    // the profiler can be enabled at runtime, so it is checked for every block
+                    final Optional<ExecutionProfiler> profiler =
+                        Optional.ofNullable(protocolContext.getExecutionProfiler())
+                            .filter(ExecutionProfiler::isEnabled);
+                    if (profiler.isPresent()) {
+                      return profiler.get().newTracer();
+                    }
                     LOG.trace("Block Import uses NO_TRACING");
                     return BlockAwareOperationTracer.NO_TRACING;
                   });
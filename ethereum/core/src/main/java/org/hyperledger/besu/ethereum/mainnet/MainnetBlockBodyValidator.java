@@ -76,7 +76,7 @@ public class MainnetBlockBodyValidator implements BlockBodyValidator {
     final BlockHeader header = block.getHeader();
     final BlockBody body = block.getBody();
 
-    final Bytes32 transactionsRoot = BodyValidation.transactionsRoot(body.getTransactions());
+    final Bytes32 transactionsRoot = body.getTransactionsRoot();
     if (!validateTransactionsRoot(header, header.getTransactionsRoot(), transactionsRoot)) {
       return false;
     }
@@ -203,7 +203,7 @@ public class MainnetBlockBodyValidator implements BlockBodyValidator {
     final BlockHeader header = block.getHeader();
     final BlockBody body = block.getBody();
 
-    final Bytes32 ommerHash = BodyValidation.ommersHash(body.getOmmers());
+    final Bytes32 ommerHash = body.getOmmersHash();
     if (!validateOmmersHash(header, header.getOmmersHash(), ommerHash)) {
       return false;
     }
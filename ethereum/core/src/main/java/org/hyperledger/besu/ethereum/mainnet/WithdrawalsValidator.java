@@ -83,8 +83,7 @@ public interface WithdrawalsValidator {
         return false;
       }
 
-      final List<Withdrawal> withdrawals = block.getBody().getWithdrawals().get();
-      final Hash expectedWithdrawalsRoot = BodyValidation.withdrawalsRoot(withdrawals);
+      final Hash expectedWithdrawalsRoot = block.getBody().getWithdrawalsRoot().orElseThrow();
       if (!expectedWithdrawalsRoot.equals(withdrawalsRoot.get())) {
         LOG.info(
             "Invalid block: transaction root mismatch (expected={}, actual={})",
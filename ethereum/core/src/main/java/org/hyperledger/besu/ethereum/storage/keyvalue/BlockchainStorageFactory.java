@@ -0,0 +1,106 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.VariablesStorage;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.segment.BlockSegmentStore;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the blockchain storage of a data directory, archiving finalized blocks to a {@link
+ * BlockSegmentStore} when the segment store is enabled. Everything opening the blockchain storage
+ * of a node goes through this factory, so that blocks archived to the segments stay readable.
+ *
+ * <p>Once blocks were archived, the segment store stays in use even if it is disabled, as the
+ * bodies and receipts of these blocks are no longer in the key-value storage.
+ */
+public final class BlockchainStorageFactory {
+  private static final Logger LOG = LoggerFactory.getLogger(BlockchainStorageFactory.class);
+
+  /** Name of the directory holding the block segments, inside the data directory. */
+  public static final String BLOCK_SEGMENTS_DIRECTORY_NAME = "block-segments";
+
+  private BlockchainStorageFactory() {}
+
+  /**
+   * Creates the blockchain storage of a node.
+   *
+   * @param storageProvider the storage provider of the node
+   * @param protocolSchedule the protocol schedule
+   * @param variablesStorage the variables storage
+   * @param dataStorageConfiguration the data storage configuration
+   * @param dataDirectory the data directory of the node
+   * @return the blockchain storage
+   */
+  public static BlockchainStorage create(
+      final StorageProvider storageProvider,
+      final ProtocolSchedule protocolSchedule,
+      final VariablesStorage variablesStorage,
+      final DataStorageConfiguration dataStorageConfiguration,
+      final Path dataDirectory) {
+    return create(
+        storageProvider.createBlockchainStorage(
+            protocolSchedule, variablesStorage, dataStorageConfiguration),
+        variablesStorage,
+        dataStorageConfiguration.getBlockSegmentStoreEnabled(),
+        dataDirectory);
+  }
+
+  /**
+   * Wraps a key-value blockchain storage with the block segment store, if it is enabled or if
+   * blocks were archived to it.
+   *
+   * @param blockchainStorage the key-value blockchain storage
+   * @param variablesStorage the variables storage
+   * @param blockSegmentStoreEnabled whether finalized blocks are archived to the segment store
+   * @param dataDirectory the data directory of the node
+   * @return the blockchain storage
+   */
+  public static BlockchainStorage create(
+      final BlockchainStorage blockchainStorage,
+      final VariablesStorage variablesStorage,
+      final boolean blockSegmentStoreEnabled,
+      final Path dataDirectory) {
+    if (!(blockchainStorage instanceof KeyValueStoragePrefixedKeyBlockchainStorage storage)) {
+      return blockchainStorage;
+    }
+    if (!blockSegmentStoreEnabled) {
+      if (!variablesStorage.hasArchivedBlockSegments()) {
+        return blockchainStorage;
+      }
+      LOG.warn("Block segment store is disabled but holds archived blocks, keeping it in use");
+    }
+    try {
+      return new SegmentArchivingBlockchainStorage(
+          storage,
+          variablesStorage,
+          new BlockSegmentStore(
+              dataDirectory.resolve(BLOCK_SEGMENTS_DIRECTORY_NAME),
+              BlockSegmentStore.DEFAULT_BLOCKS_PER_SEGMENT));
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to open block segment store", e);
+    }
+  }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.chain.VariablesStorage;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.SyncBlockBody;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.storage.segment.BlockSegmentStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Blockchain storage that moves the bodies and receipts of finalized blocks out of the key-value
+ * storage into an append-only {@link BlockSegmentStore}.
+ *
+ * <p>Everything is first written to the key-value storage. Each time the finalized block changes,
+ * the canonical blocks up to it are appended to the segment store in the background and, once the
+ * segments are durable, their bodies and receipts are removed from the key-value storage, so that
+ * immutable data no longer takes part in compactions. Reads look up the key-value storage first
+ * and fall back to the segment store. A canonical block whose body is not available when it is
+ * archived, for example an ancient block not yet downloaded after a snap or checkpoint sync, is
+ * recorded as missing and keeps being served from the key-value storage once it gets there.
+ *
+ * <p>Before the first bodies and receipts are removed from the key-value storage, the variables
+ * storage records that blocks were archived, so that the segment store keeps being read on later
+ * runs even if it is no longer enabled.
+ */
+public class SegmentArchivingBlockchainStorage implements BlockchainStorage, Closeable {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(SegmentArchivingBlockchainStorage.class);
+
+  private static final int ARCHIVE_BATCH_SIZE = 1024;
+
+  private final KeyValueStoragePrefixedKeyBlockchainStorage storage;
+  private final VariablesStorage variablesStorage;
+  private final BlockSegmentStore segmentStore;
+  private final ExecutorService archiver;
+  private final AtomicBoolean archivingScheduled = new AtomicBoolean(false);
+
+  public SegmentArchivingBlockchainStorage(
+      final KeyValueStoragePrefixedKeyBlockchainStorage storage,
+      final VariablesStorage variablesStorage,
+      final BlockSegmentStore segmentStore) {
+    this.storage = storage;
+    this.variablesStorage = variablesStorage;
+    this.segmentStore = segmentStore;
+    this.archiver =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("BlockSegmentArchiver")
+                .setDaemon(true)
+                .build());
+    // a previous run could have stopped between syncing the last batch and removing it
+    archiver.execute(this::removeLastArchivedBatch);
+    scheduleArchiving();
+  }
+
+  @Override
+  public Optional<Hash> getChainHead() {
+    return storage.getChainHead();
+  }
+
+  @Override
+  public Collection<Hash> getForkHeads() {
+    return storage.getForkHeads();
+  }
+
+  @Override
+  public Optional<Hash> getFinalized() {
+    return storage.getFinalized();
+  }
+
+  @Override
+  public Optional<Hash> getSafeBlock() {
+    return storage.getSafeBlock();
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
+    return storage.getBlockHeader(blockHash);
+  }
+
+  @Override
+  public Optional<BlockBody> getBlockBody(final Hash blockHash) {
+    return storage
+        .getBlockBodyRlp(blockHash)
+        .or(() -> getArchived(blockHash).flatMap(BlockSegmentStore.Entry::body))
+        .map(storage::rlpDecodeBlockBody);
+  }
+
+  @Override
+  public Optional<Bytes> getBlockHeaderRlp(final Hash blockHash) {
+    return storage.getBlockHeaderRlp(blockHash);
+  }
+
+  @Override
+  public Optional<Bytes> getBlockBodyRlp(final Hash blockHash) {
+    return storage
+        .getBlockBodyRlp(blockHash)
+        .or(() -> getArchived(blockHash).flatMap(BlockSegmentStore.Entry::body));
+  }
+
+  @Override
+  public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
+    return storage
+        .getTransactionReceiptsRlp(blockHash)
+        .or(() -> getArchived(blockHash).flatMap(BlockSegmentStore.Entry::receipts))
+        .map(storage::rlpDecodeTransactionReceipts);
+  }
+
+  @Override
+  public Optional<Hash> getBlockHash(final long blockNumber) {
+    return storage.getBlockHash(blockNumber);
+  }
+
+  @Override
+  public Optional<Difficulty> getTotalDifficulty(final Hash blockHash) {
+    return storage.getTotalDifficulty(blockHash);
+  }
+
+  @Override
+  public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
+    return storage.getTransactionLocation(transactionHash);
+  }
+
+  @Override
+  public BlockchainStorage.Updater updater() {
+    return new ArchivingUpdater(storage.updater());
+  }
+
+  @Override
+  public void close() throws IOException {
+    archiver.shutdown();
+    try {
+      if (!archiver.awaitTermination(30, TimeUnit.SECONDS)) {
+        LOG.warn("Timed out waiting for the block segment archiver to stop");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    segmentStore.close();
+  }
+
+  private Optional<BlockSegmentStore.Entry> getArchived(final Hash blockHash) {
+    return storage
+        .getBlockHeader(blockHash)
+        .flatMap(header -> segmentStore.get(header.getNumber()))
+        .filter(entry -> entry.blockHash().equals(blockHash));
+  }
+
+  private void scheduleArchiving() {
+    if (archivingScheduled.compareAndSet(false, true)) {
+      archiver.execute(this::archiveFinalizedBlocks);
+    }
+  }
+
+  private void archiveFinalizedBlocks() {
+    archivingScheduled.set(false);
+    try {
+      final long finalizedBlockNumber =
+          storage
+              .getFinalized()
+              .flatMap(storage::getBlockHeader)
+              .map(BlockHeader::getNumber)
+              .orElse(-1L);
+      long nextBlockNumber = segmentStore.nextBlockNumber();
+      while (nextBlockNumber <= finalizedBlockNumber && !archiver.isShutdown()) {
+        final long batchEnd =
+            Math.min(finalizedBlockNumber + 1, nextBlockNumber + ARCHIVE_BATCH_SIZE);
+        final List<Hash> archived = new ArrayList<>();
+        for (long blockNumber = nextBlockNumber; blockNumber < batchEnd; blockNumber++) {
+          final Optional<Hash> blockHash = storage.getBlockHash(blockNumber);
+          final Optional<Bytes> body = blockHash.flatMap(storage::getBlockBodyRlp);
+          if (body.isPresent()) {
+            segmentStore.append(
+                blockNumber,
+                blockHash.get(),
+                body,
+                storage.getTransactionReceiptsRlp(blockHash.get()));
+            archived.add(blockHash.get());
+          } else {
+            segmentStore.appendMissing(blockNumber);
+          }
+        }
+        segmentStore.sync();
+        removeFromKeyValueStorage(archived);
+        LOG.debug("Archived blocks {} to {} to segment store", nextBlockNumber, batchEnd - 1);
+        nextBlockNumber = batchEnd;
+      }
+    } catch (final RuntimeException e) {
+      LOG.warn("Failed to archive finalized blocks to segment store", e);
+    }
+  }
+
+  private void removeLastArchivedBatch() {
+    try {
+      final long nextBlockNumber = segmentStore.nextBlockNumber();
+      final List<Hash> archived = new ArrayList<>();
+      for (long blockNumber = Math.max(0, nextBlockNumber - ARCHIVE_BATCH_SIZE);
+          blockNumber < nextBlockNumber;
+          blockNumber++) {
+        segmentStore.get(blockNumber).ifPresent(entry -> archived.add(entry.blockHash()));
+      }
+      removeFromKeyValueStorage(archived);
+    } catch (final RuntimeException e) {
+      LOG.warn("Failed to remove archived blocks from key-value storage", e);
+    }
+  }
+
+  private void removeFromKeyValueStorage(final List<Hash> blockHashes) {
+    if (blockHashes.isEmpty()) {
+      return;
+    }
+    if (!variablesStorage.hasArchivedBlockSegments()) {
+      final VariablesStorage.Updater variablesUpdater = variablesStorage.updater();
+      variablesUpdater.setArchivedBlockSegments();
+      variablesUpdater.commit();
+    }
+    final BlockchainStorage.Updater updater = storage.updater();
+    blockHashes.forEach(
+        blockHash -> {
+          updater.removeBlockBody(blockHash);
+          updater.removeTransactionReceipts(blockHash);
+        });
+    updater.commit();
+  }
+
+  private class ArchivingUpdater implements BlockchainStorage.Updater {
+
+    private final BlockchainStorage.Updater updater;
+    private boolean finalizedUpdated;
+
+    ArchivingUpdater(final BlockchainStorage.Updater updater) {
+      this.updater = updater;
+    }
+
+    @Override
+    public void putBlockHeader(final Hash blockHash, final BlockHeader blockHeader) {
+      updater.putBlockHeader(blockHash, blockHeader);
+    }
+
+    @Override
+    public void putBlockBody(final Hash blockHash, final BlockBody blockBody) {
+      updater.putBlockBody(blockHash, blockBody);
+    }
+
+    @Override
+    public void putSyncBlockBody(final Hash blockHash, final SyncBlockBody blockBody) {
+      updater.putSyncBlockBody(blockHash, blockBody);
+    }
+
+    @Override
+    public void putTransactionLocation(
+        final Hash transactionHash, final TransactionLocation transactionLocation) {
+      updater.putTransactionLocation(transactionHash, transactionLocation);
+    }
+
+    @Override
+    public void putTransactionReceipts(
+        final Hash blockHash, final List<TransactionReceipt> transactionReceipts) {
+      updater.putTransactionReceipts(blockHash, transactionReceipts);
+    }
+
+    @Override
+    public void putBlockHash(final long blockNumber, final Hash blockHash) {
+      updater.putBlockHash(blockNumber, blockHash);
+    }
+
+    @Override
+    public void putTotalDifficulty(final Hash blockHash, final Difficulty totalDifficulty) {
+      updater.putTotalDifficulty(blockHash, totalDifficulty);
+    }
+
+    @Override
+    public void setChainHead(final Hash blockHash) {
+      updater.setChainHead(blockHash);
+    }
+
+    @Override
+    public void setForkHeads(final Collection<Hash> forkHeadHashes) {
+      updater.setForkHeads(forkHeadHashes);
+    }
+
+    @Override
+    public void setFinalized(final Hash blockHash) {
+      updater.setFinalized(blockHash);
+      finalizedUpdated = true;
+    }
+
+    @Override
+    public void setSafeBlock(final Hash blockHash) {
+      updater.setSafeBlock(blockHash);
+    }
+
+    @Override
+    public void removeBlockHash(final long blockNumber) {
+      updater.removeBlockHash(blockNumber);
+    }
+
+    @Override
+    public void removeBlockHeader(final Hash blockHash) {
+      updater.removeBlockHeader(blockHash);
+    }
+
+    @Override
+    public void removeBlockBody(final Hash blockHash) {
+      updater.removeBlockBody(blockHash);
+    }
+
+    @Override
+    public void removeTransactionReceipts(final Hash blockHash) {
+      updater.removeTransactionReceipts(blockHash);
+    }
+
+    @Override
+    public void removeTransactionLocation(final Hash transactionHash) {
+      updater.removeTransactionLocation(transactionHash);
+    }
+
+    @Override
+    public void removeTotalDifficulty(final Hash blockHash) {
+      updater.removeTotalDifficulty(blockHash);
+    }
+
+    @Override
+    public void commit() {
+      updater.commit();
+      if (finalizedUpdated) {
+        scheduleArchiving();
+      }
+    }
+
+    @Override
+    public void rollback() {
+      updater.rollback();
+    }
+  }
+}
@@ -14,9 +14,11 @@
  */
 package org.hyperledger.besu.ethereum.storage.keyvalue;
 
+import static org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys.BLOCK_SEGMENTS_ARCHIVED;
 import static org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys.CHAIN_HEAD_HASH;
 import static org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys.FINALIZED_BLOCK_HASH;
 import static org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys.FORK_HEADS;
+import static org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys.KNOWN_PEERS;
 import static org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys.SAFE_BLOCK_HASH;
 import static org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys.SEQ_NO_STORE;
 
@@ -72,6 +74,16 @@ public class VariablesKeyValueStorage implements VariablesStorage {
     return getVariable(Keys.GENESIS_STATE_HASH).map(this::bytesToHash);
   }
 
+  @Override
+  public Optional<Bytes> getKnownPeers() {
+    return getVariable(KNOWN_PEERS);
+  }
+
+  @Override
+  public boolean hasArchivedBlockSegments() {
+    return getVariable(BLOCK_SEGMENTS_ARCHIVED).isPresent();
+  }
+
   @Override
   public Updater updater() {
     return new Updater(variables.startTransaction());
@@ -125,6 +137,16 @@ public class VariablesKeyValueStorage implements VariablesStorage {
       setVariable(Keys.GENESIS_STATE_HASH, genesisStateHash);
     }
 
+    @Override
+    public void setKnownPeers(final Bytes knownPeers) {
+      setVariable(KNOWN_PEERS, knownPeers);
+    }
+
+    @Override
+    public void setArchivedBlockSegments() {
+      setVariable(BLOCK_SEGMENTS_ARCHIVED, Bytes.of(1));
+    }
+
     @Override
     public void removeAll() {
       removeVariable(CHAIN_HEAD_HASH);
@@ -132,6 +154,7 @@ public class VariablesKeyValueStorage implements VariablesStorage {
       removeVariable(SAFE_BLOCK_HASH);
       removeVariable(FORK_HEADS);
       removeVariable(SEQ_NO_STORE);
+      removeVariable(KNOWN_PEERS);
     }
 
     @Override
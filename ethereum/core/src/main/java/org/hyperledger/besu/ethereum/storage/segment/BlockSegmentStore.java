@@ -0,0 +1,415 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.segment;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only store of immutable block data, indexed by block number.
+ *
+ * <p>Blocks are appended in strictly increasing block number order into segment files. Each
+ * segment is made of a data file, holding the records back to back, and of an index file holding
+ * the end offset of each record as a big-endian long, so the index entry of a block is found at a
+ * fixed position. A record contains the block hash followed by the length prefixed RLP of the body
+ * and of the receipts, a negative length meaning the item is absent. An empty record marks a block
+ * that is not stored at all.
+ *
+ * <p>Appended blocks become visible to readers once {@link #sync()} has flushed them to disk.
+ * Segments are read through memory-mapped buffers, the segment still being appended to being
+ * remapped on each sync. On open, any data not covered by a durable index entry is discarded.
+ */
+public class BlockSegmentStore implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(BlockSegmentStore.class);
+
+  /** Default number of blocks stored in a segment. */
+  public static final int DEFAULT_BLOCKS_PER_SEGMENT = 2048;
+
+  static final long MAX_SEGMENT_DATA_SIZE = 1L << 30;
+
+  private static final String DATA_SUFFIX = ".seg";
+  private static final String INDEX_SUFFIX = ".idx";
+  private static final int ABSENT = -1;
+
+  private final Path directory;
+  private final int blocksPerSegment;
+  private final ConcurrentSkipListMap<Long, SealedSegment> sealedSegments =
+      new ConcurrentSkipListMap<>();
+  private ActiveSegment activeSegment;
+  private volatile ActiveView activeView;
+
+  /**
+   * Opens or creates a block segment store.
+   *
+   * @param directory the directory holding the segment files
+   * @param blocksPerSegment the maximum number of blocks stored in a single segment
+   * @throws IOException if the segment files cannot be opened
+   */
+  public BlockSegmentStore(final Path directory, final int blocksPerSegment) throws IOException {
+    checkArgument(blocksPerSegment > 0, "blocksPerSegment must be positive");
+    this.directory = directory;
+    this.blocksPerSegment = blocksPerSegment;
+    Files.createDirectories(directory);
+
+    long lastSegmentStart = 0L;
+    try (final Stream<Path> files = Files.list(directory)) {
+      for (final Path file : files.filter(f -> isIndexFile(f.getFileName().toString())).toList()) {
+        final long firstBlock = parseFirstBlock(file.getFileName().toString());
+        sealedSegments.put(firstBlock, new SealedSegment(firstBlock));
+        lastSegmentStart = Math.max(lastSegmentStart, firstBlock);
+      }
+    }
+    sealedSegments.remove(lastSegmentStart);
+    activeSegment = new ActiveSegment(lastSegmentStart);
+    activeView = activeSegment.view();
+    LOG.debug(
+        "Opened block segment store at {}, next block number {}",
+        directory,
+        activeView.nextBlockNumber());
+  }
+
+  /**
+   * Returns the number of the next block to append, which is also the number of blocks covered by
+   * the store including the ones recorded as missing.
+   *
+   * @return the next block number
+   */
+  public long nextBlockNumber() {
+    return activeView.nextBlockNumber();
+  }
+
+  /**
+   * Appends a block to the store.
+   *
+   * @param blockNumber the block number, must be equal to {@link #nextBlockNumber()} taking
+   *     pending appends into account
+   * @param blockHash the block hash
+   * @param body the RLP of the block body, if available
+   * @param receipts the RLP of the block receipts, if available
+   */
+  public synchronized void append(
+      final long blockNumber,
+      final Hash blockHash,
+      final Optional<Bytes> body,
+      final Optional<Bytes> receipts) {
+    final int size =
+        Bytes32.SIZE
+            + 2 * Integer.BYTES
+            + body.map(Bytes::size).orElse(0)
+            + receipts.map(Bytes::size).orElse(0);
+    final ByteBuffer record = ByteBuffer.allocate(size);
+    record.put(blockHash.toArrayUnsafe());
+    putItem(record, body);
+    putItem(record, receipts);
+    appendRecord(blockNumber, record.flip());
+  }
+
+  /**
+   * Records a block as missing, so that the following blocks can be appended.
+   *
+   * @param blockNumber the block number, must be equal to {@link #nextBlockNumber()} taking
+   *     pending appends into account
+   */
+  public synchronized void appendMissing(final long blockNumber) {
+    appendRecord(blockNumber, ByteBuffer.allocate(0));
+  }
+
+  /**
+   * Flushes the pending appends to disk and makes them visible to readers.
+   *
+   * @throws StorageException if the segment files cannot be written
+   */
+  public synchronized void sync() {
+    try {
+      activeSegment.sync();
+      activeView = activeSegment.view();
+    } catch (final IOException e) {
+      throw new StorageException("Failed to sync block segment " + activeSegment.firstBlock, e);
+    }
+  }
+
+  /**
+   * Reads the stored block with the given number.
+   *
+   * @param blockNumber the block number
+   * @return the stored block, or empty if the block is not stored
+   * @throws StorageException if the segment files cannot be read
+   */
+  public Optional<Entry> get(final long blockNumber) {
+    final ActiveView view = activeView;
+    if (blockNumber < 0 || blockNumber >= view.nextBlockNumber()) {
+      return Optional.empty();
+    }
+    if (blockNumber >= view.firstBlock()) {
+      return view.read(blockNumber);
+    }
+    final Map.Entry<Long, SealedSegment> segment = sealedSegments.floorEntry(blockNumber);
+    if (segment == null) {
+      return Optional.empty();
+    }
+    try {
+      return segment.getValue().read(blockNumber);
+    } catch (final IOException e) {
+      throw new StorageException("Failed to read block segment " + segment.getKey(), e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    activeSegment.close();
+  }
+
+  private void appendRecord(final long blockNumber, final ByteBuffer record) {
+    try {
+      if (activeSegment.isFull()) {
+        activeSegment.sync();
+        activeSegment.close();
+        sealedSegments.put(activeSegment.firstBlock, new SealedSegment(activeSegment.firstBlock));
+        activeSegment = new ActiveSegment(activeSegment.firstBlock + activeSegment.count);
+        activeView = activeSegment.view();
+      }
+      final long expected = activeSegment.firstBlock + activeSegment.count;
+      checkArgument(
+          blockNumber == expected, "Expected block number %s but got %s", expected, blockNumber);
+      activeSegment.append(record);
+    } catch (final IOException e) {
+      throw new StorageException("Failed to append block " + blockNumber, e);
+    }
+  }
+
+  private static void putItem(final ByteBuffer record, final Optional<Bytes> item) {
+    if (item.isPresent()) {
+      record.putInt(item.get().size());
+      record.put(item.get().toArrayUnsafe());
+    } else {
+      record.putInt(ABSENT);
+    }
+  }
+
+  private static Optional<Entry> readRecord(
+      final MappedByteBuffer data, final long start, final long end) {
+    if (start == end) {
+      return Optional.empty();
+    }
+    int position = Math.toIntExact(start);
+    final byte[] hash = new byte[Bytes32.SIZE];
+    data.get(position, hash);
+    position += Bytes32.SIZE;
+    final Optional<Bytes> body = readItem(data, position);
+    position += Integer.BYTES + body.map(Bytes::size).orElse(0);
+    final Optional<Bytes> receipts = readItem(data, position);
+    return Optional.of(new Entry(Hash.wrap(Bytes32.wrap(hash)), body, receipts));
+  }
+
+  private static Optional<Bytes> readItem(final MappedByteBuffer data, final int position) {
+    final int length = data.getInt(position);
+    if (length == ABSENT) {
+      return Optional.empty();
+    }
+    final byte[] item = new byte[length];
+    data.get(position + Integer.BYTES, item);
+    return Optional.of(Bytes.wrap(item));
+  }
+
+  private Path dataFile(final long firstBlock) {
+    return directory.resolve(String.format("%012d%s", firstBlock, DATA_SUFFIX));
+  }
+
+  private Path indexFile(final long firstBlock) {
+    return directory.resolve(String.format("%012d%s", firstBlock, INDEX_SUFFIX));
+  }
+
+  private static boolean isIndexFile(final String fileName) {
+    return fileName.endsWith(INDEX_SUFFIX);
+  }
+
+  private static long parseFirstBlock(final String fileName) {
+    return Long.parseLong(fileName.substring(0, fileName.length() - INDEX_SUFFIX.length()));
+  }
+
+  private static MappedByteBuffer map(final Path file, final long size) throws IOException {
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  /**
+   * A stored block.
+   *
+   * @param blockHash the hash of the block
+   * @param body the RLP of the block body, if it was stored
+   * @param receipts the RLP of the block receipts, if they were stored
+   */
+  public record Entry(Hash blockHash, Optional<Bytes> body, Optional<Bytes> receipts) {}
+
+  /** Snapshot of the durable part of the active segment, safe to share between readers. */
+  private record ActiveView(long firstBlock, int count, long[] endOffsets, MappedByteBuffer data) {
+
+    long nextBlockNumber() {
+      return firstBlock + count;
+    }
+
+    Optional<Entry> read(final long blockNumber) {
+      final int i = Math.toIntExact(blockNumber - firstBlock);
+      return readRecord(data, i == 0 ? 0 : endOffsets[i - 1], endOffsets[i]);
+    }
+  }
+
+  private final class SealedSegment {
+    private final long firstBlock;
+    private volatile MappedByteBuffer index;
+    private volatile MappedByteBuffer data;
+
+    SealedSegment(final long firstBlock) {
+      this.firstBlock = firstBlock;
+    }
+
+    Optional<Entry> read(final long blockNumber) throws IOException {
+      if (index == null) {
+        mapFiles();
+      }
+      final int i = Math.toIntExact(blockNumber - firstBlock);
+      if (i >= index.capacity() / Long.BYTES) {
+        return Optional.empty();
+      }
+      final long start = i == 0 ? 0 : index.getLong((i - 1) * Long.BYTES);
+      return readRecord(data, start, index.getLong(i * Long.BYTES));
+    }
+
+    private synchronized void mapFiles() throws IOException {
+      if (index != null) {
+        return;
+      }
+      final Path indexFile = indexFile(firstBlock);
+      final long count = Files.size(indexFile) / Long.BYTES;
+      final MappedByteBuffer mappedIndex = map(indexFile, count * Long.BYTES);
+      final long dataSize = count == 0 ? 0 : mappedIndex.getLong((int) (count - 1) * Long.BYTES);
+      data = map(dataFile(firstBlock), dataSize);
+      index = mappedIndex;
+    }
+  }
+
+  private final class ActiveSegment implements Closeable {
+    private final long firstBlock;
+    private final FileChannel dataChannel;
+    private final FileChannel indexChannel;
+    private final long[] endOffsets = new long[blocksPerSegment];
+    private int count;
+    private int syncedCount;
+    private long dataSize;
+
+    ActiveSegment(final long firstBlock) throws IOException {
+      this.firstBlock = firstBlock;
+      this.dataChannel =
+          FileChannel.open(
+              dataFile(firstBlock),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      this.indexChannel =
+          FileChannel.open(
+              indexFile(firstBlock),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+
+      // discard any partially written index entry and any data not covered by the index
+      count = (int) Math.min(indexChannel.size() / Long.BYTES, blocksPerSegment);
+      indexChannel.truncate((long) count * Long.BYTES);
+      final ByteBuffer entries = ByteBuffer.allocate(count * Long.BYTES);
+      while (entries.hasRemaining()) {
+        if (indexChannel.read(entries, entries.position()) < 0) {
+          throw new IOException("Unexpected end of index file for segment " + firstBlock);
+        }
+      }
+      entries.flip();
+      for (int i = 0; i < count; i++) {
+        endOffsets[i] = entries.getLong();
+      }
+      syncedCount = count;
+      dataSize = count == 0 ? 0 : endOffsets[count - 1];
+      if (dataChannel.size() < dataSize) {
+        throw new IOException("Data file of segment " + firstBlock + " is truncated");
+      }
+      dataChannel.truncate(dataSize);
+    }
+
+    boolean isFull() {
+      return count == blocksPerSegment || dataSize >= MAX_SEGMENT_DATA_SIZE;
+    }
+
+    void append(final ByteBuffer record) throws IOException {
+      long position = dataSize;
+      while (record.hasRemaining()) {
+        position += dataChannel.write(record, position);
+      }
+      dataSize = position;
+      endOffsets[count++] = dataSize;
+    }
+
+    void sync() throws IOException {
+      if (syncedCount == count) {
+        return;
+      }
+      dataChannel.force(false);
+      final ByteBuffer entries = ByteBuffer.allocate((count - syncedCount) * Long.BYTES);
+      for (int i = syncedCount; i < count; i++) {
+        entries.putLong(endOffsets[i]);
+      }
+      entries.flip();
+      long position = (long) syncedCount * Long.BYTES;
+      while (entries.hasRemaining()) {
+        position += indexChannel.write(entries, position);
+      }
+      indexChannel.force(false);
+      syncedCount = count;
+    }
+
+    ActiveView view() throws IOException {
+      final long syncedSize = syncedCount == 0 ? 0 : endOffsets[syncedCount - 1];
+      return new ActiveView(
+          firstBlock,
+          syncedCount,
+          endOffsets,
+          dataChannel.map(FileChannel.MapMode.READ_ONLY, 0, syncedSize));
+    }
+
+    @Override
+    public void close() throws IOException {
+      dataChannel.close();
+      indexChannel.close();
+    }
+  }
+}
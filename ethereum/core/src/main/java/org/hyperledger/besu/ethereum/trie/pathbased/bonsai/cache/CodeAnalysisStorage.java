@@ -0,0 +1,158 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static org.hyperledger.besu.metrics.BesuMetricCategory.BONSAI_CACHE;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.internal.CodeAnalysisStore;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The code analysis store kept on disk, in its own storage segment, so that the analysis of code
+ * outlives the code cache and restarts. Each entry is keyed by code hash, and holds the time the
+ * analysis took, a checksum of the code hash and the bit mask, and the jump destination bit mask of
+ * the code. An entry whose checksum does not match, for instance after a partial write or a
+ * corruption of the storage, is ignored and overwritten by the analysis computed again.
+ *
+ * <p>Analyses are read when code loaded in the code cache first jumps, and written by a background
+ * executor so that block processing does not wait on the disk. A write that cannot be queued is
+ * dropped, and the analysis is computed again the next time the code is loaded.
+ */
+public class CodeAnalysisStorage implements CodeAnalysisStore {
+  private static final Logger LOG = LoggerFactory.getLogger(CodeAnalysisStorage.class);
+
+  /** The size of the smallest code worth storing the analysis of, as it is quick to compute. */
+  public static final int MIN_CODE_SIZE = 1024;
+
+  /** The maximum number of analyses waiting to be written. */
+  public static final int MAX_PENDING_WRITES = 1024;
+
+  // the analysis time and the checksum precede the bit mask
+  private static final int CHECKSUM_OFFSET = Long.BYTES;
+  private static final int BIT_MASK_OFFSET = 2 * Long.BYTES;
+
+  private final KeyValueStorage storage;
+  private final Executor writeExecutor;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter timeSaved;
+
+  /**
+   * Instantiates a new code analysis storage.
+   *
+   * @param storage the storage of the code analysis segment
+   * @param writeExecutor the executor writing analyses to the storage
+   * @param metricsSystem the metrics system
+   */
+  public CodeAnalysisStorage(
+      final KeyValueStorage storage,
+      final Executor writeExecutor,
+      final MetricsSystem metricsSystem) {
+    this.storage = storage;
+    this.writeExecutor = writeExecutor;
+    this.hits =
+        metricsSystem.createCounter(
+            BONSAI_CACHE,
+            "code_analysis_store_hits",
+            "Number of code analyses read from the code analysis store");
+    this.misses =
+        metricsSystem.createCounter(
+            BONSAI_CACHE,
+            "code_analysis_store_misses",
+            "Number of code analyses computed as the code analysis store did not have them");
+    this.timeSaved =
+        metricsSystem.createCounter(
+            BONSAI_CACHE,
+            "code_analysis_store_time_saved_nanoseconds",
+            "Time saved by reading code analyses instead of computing them, in nanoseconds");
+  }
+
+  @Override
+  public long[] getJumpDestBitMask(final Hash codeHash) {
+    final long start = System.nanoTime();
+    final byte[] value;
+    try {
+      value = storage.get(codeHash.toArrayUnsafe()).orElse(null);
+    } catch (final StorageException e) {
+      LOG.debug("Failed to read the analysis of code {}", codeHash, e);
+      misses.inc();
+      return null;
+    }
+    if (value == null || value.length < BIT_MASK_OFFSET || value.length % Long.BYTES != 0) {
+      misses.inc();
+      return null;
+    }
+
+    final ByteBuffer buffer = ByteBuffer.wrap(value);
+    if (buffer.getLong(CHECKSUM_OFFSET) != checksum(codeHash, value)) {
+      LOG.debug("Ignoring the analysis of code {}, its checksum does not match", codeHash);
+      misses.inc();
+      return null;
+    }
+    final long analysisNanos = buffer.getLong();
+    buffer.position(BIT_MASK_OFFSET);
+    final long[] jumpDestBitMask = new long[buffer.remaining() / Long.BYTES];
+    buffer.asLongBuffer().get(jumpDestBitMask);
+    hits.inc();
+    timeSaved.inc(Math.max(0L, analysisNanos - (System.nanoTime() - start)));
+    return jumpDestBitMask;
+  }
+
+  @Override
+  public void putJumpDestBitMask(
+      final Hash codeHash, final long[] jumpDestBitMask, final long analysisNanos) {
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(BIT_MASK_OFFSET + Long.BYTES * jumpDestBitMask.length);
+    buffer.putLong(analysisNanos);
+    buffer.position(BIT_MASK_OFFSET);
+    buffer.asLongBuffer().put(jumpDestBitMask);
+    buffer.putLong(CHECKSUM_OFFSET, checksum(codeHash, buffer.array()));
+    try {
+      writeExecutor.execute(() -> write(codeHash, buffer.array()));
+    } catch (final RejectedExecutionException e) {
+      LOG.trace("Dropped the analysis of code {}, too many analyses waiting", codeHash);
+    }
+  }
+
+  private static long checksum(final Hash codeHash, final byte[] value) {
+    final CRC32C checksum = new CRC32C();
+    checksum.update(codeHash.toArrayUnsafe());
+    checksum.update(value, BIT_MASK_OFFSET, value.length - BIT_MASK_OFFSET);
+    return checksum.getValue();
+  }
+
+  private void write(final Hash codeHash, final byte[] value) {
+    try {
+      final KeyValueStorageTransaction transaction = storage.startTransaction();
+      transaction.put(codeHash.toArrayUnsafe(), value);
+      transaction.commit();
+    } catch (final StorageException e) {
+      LOG.debug("Failed to write the analysis of code {}", codeHash, e);
+    }
+  }
+}
@@ -18,6 +18,8 @@ import static org.hyperledger.besu.metrics.BesuMetricCategory.BONSAI_CACHE;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeV0;
+import org.hyperledger.besu.evm.internal.CodeAnalysisStore;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 import org.hyperledger.besu.util.cache.MemoryBoundCache;
 
@@ -26,6 +28,9 @@ public class CodeCache implements org.hyperledger.besu.evm.internal.CodeCache {
 
   private final MemoryBoundCache<Hash, Code> cache;
 
+  // the store of the analysis of the cached code, if enabled
+  private volatile CodeAnalysisStore analysisStore;
+
   // metrics
   private long lastRequestCount = 0;
   private long lastRequestTimestamp = System.nanoTime();
@@ -84,6 +89,16 @@ public class CodeCache implements org.hyperledger.besu.evm.internal.CodeCache {
         });
   }
 
+  /**
+   * Sets the store the analysis of the code put in the cache is read from and written to, for code
+   * of at least {@link CodeAnalysisStorage#MIN_CODE_SIZE} bytes.
+   *
+   * @param analysisStore the code analysis store
+   */
+  public void setAnalysisStore(final CodeAnalysisStore analysisStore) {
+    this.analysisStore = analysisStore;
+  }
+
   /**
    * Gets the code if present in the cache.
    *
@@ -103,6 +118,12 @@ public class CodeCache implements org.hyperledger.besu.evm.internal.CodeCache {
    */
   @Override
   public void put(final Hash codeHash, final Code code) {
+    final CodeAnalysisStore store = analysisStore;
+    if (store != null
+        && code instanceof CodeV0 codeV0
+        && code.getSize() >= CodeAnalysisStorage.MIN_CODE_SIZE) {
+      codeV0.setAnalysisStore(store);
+    }
     cache.put(codeHash, code);
   }
 }
@@ -0,0 +1,301 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import static org.hyperledger.besu.metrics.BesuMetricCategory.BLOCK_PROCESSING;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Profiles the execution of the blocks imported while it is enabled: the number of executions, the
+ * gas and the time of each opcode, the calls, gas and time of each precompile, and the operations,
+ * gas and time of the code that took the most time.
+ *
+ * <p>The profiler is disabled by default, and can be enabled and disabled at runtime. While it is
+ * enabled, block import runs with a {@link ProfilingOperationTracer}, which counts the execution of
+ * a transaction locally and merges it in the profiler once the transaction ends, so that the
+ * profiler is only locked once per transaction. The time of an opcode does not include the time of
+ * the calls it makes, which is counted against the code called, and the gas of a call includes the
+ * gas given to the callee.
+ */
+public class ExecutionProfiler {
+
+  /** The default number of code hashes a profile reports. */
+  public static final int DEFAULT_TOP_CODE = 20;
+
+  /** The maximum number of code hashes tracked, beyond which the least costly half is dropped. */
+  static final int MAX_TRACKED_CODE = 4096;
+
+  static final int OPCODES = 256;
+  // the statistics of an opcode, precompile or code are its count, gas and time, in this order
+  static final int COUNT = 0;
+  static final int GAS = 1;
+  static final int NANOS = 2;
+
+  private volatile boolean enabled;
+
+  private final String[] opcodeNames = new String[OPCODES];
+  private final long[][] opcodeStats = new long[OPCODES][3];
+  private final Map<Address, long[]> precompileStats = new HashMap<>();
+  private final Map<Hash, long[]> codeStats = new HashMap<>();
+
+  private LabelledSuppliedMetric opcodeExecutions;
+  private LabelledSuppliedMetric opcodeGas;
+  private LabelledSuppliedMetric opcodeTime;
+  private LabelledSuppliedMetric precompileCalls;
+  private LabelledSuppliedMetric precompileGas;
+  private LabelledSuppliedMetric precompileTime;
+  private final boolean[] labelledOpcodes = new boolean[OPCODES];
+  private final Set<Address> labelledPrecompiles = new HashSet<>();
+
+  /** Instantiates a new, disabled, execution profiler. */
+  public ExecutionProfiler() {}
+
+  /**
+   * Exports the opcode and precompile statistics as metrics, labelled by opcode name and precompile
+   * address as they are first executed.
+   *
+   * @param metricsSystem the metrics system
+   */
+  public synchronized void registerMetrics(final MetricsSystem metricsSystem) {
+    opcodeExecutions =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCK_PROCESSING,
+            "evm_opcode_executions",
+            "Number of executions of each opcode, while the execution profiler is enabled",
+            "opcode");
+    opcodeGas =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCK_PROCESSING,
+            "evm_opcode_gas",
+            "Gas used by each opcode, while the execution profiler is enabled",
+            "opcode");
+    opcodeTime =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCK_PROCESSING,
+            "evm_opcode_time_nanoseconds",
+            "Time spent executing each opcode, while the execution profiler is enabled",
+            "opcode");
+    precompileCalls =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCK_PROCESSING,
+            "evm_precompile_calls",
+            "Number of calls to each precompile, while the execution profiler is enabled",
+            "address");
+    precompileGas =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCK_PROCESSING,
+            "evm_precompile_gas",
+            "Gas used by each precompile, while the execution profiler is enabled",
+            "address");
+    precompileTime =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCK_PROCESSING,
+            "evm_precompile_time_nanoseconds",
+            "Time spent executing each precompile, while the execution profiler is enabled",
+            "address");
+  }
+
+  /**
+   * Is the profiler enabled.
+   *
+   * @return true if block import is profiled
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Enables or disables the profiler. The statistics gathered so far are kept.
+   *
+   * @param enabled whether block import is profiled
+   */
+  public void setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Creates the tracer profiling the import of a block.
+   *
+   * @return a new profiling tracer
+   */
+  public BlockAwareOperationTracer newTracer() {
+    return new ProfilingOperationTracer(this);
+  }
+
+  /** Discards the statistics gathered so far. */
+  public synchronized void reset() {
+    for (final long[] stats : opcodeStats) {
+      Arrays.fill(stats, 0);
+    }
+    // precompiles stay labelled in the metrics, so their statistics are zeroed rather than removed
+    precompileStats.values().forEach(stats -> Arrays.fill(stats, 0));
+    codeStats.clear();
+  }
+
+  /**
+   * Merges the statistics of the execution profiled by a tracer. They are dropped if the profiler
+   * was disabled in the meantime.
+   *
+   * @param names the names of the opcodes executed
+   * @param opcodes the count, gas and time of each opcode
+   * @param precompiles the calls, gas and time of each precompile called
+   * @param code the operations, gas and time of each code executed
+   */
+  synchronized void merge(
+      final String[] names,
+      final long[][] opcodes,
+      final Map<Address, long[]> precompiles,
+      final Map<Hash, long[]> code) {
+    if (!enabled) {
+      return;
+    }
+    for (int opcode = 0; opcode < OPCODES; opcode++) {
+      if (opcodes[opcode][COUNT] != 0) {
+        add(opcodeStats[opcode], opcodes[opcode]);
+        if (opcodeNames[opcode] == null) {
+          opcodeNames[opcode] = names[opcode];
+        }
+        labelOpcode(opcode);
+      }
+    }
+    precompiles.forEach(
+        (address, stats) -> {
+          add(precompileStats.computeIfAbsent(address, k -> new long[3]), stats);
+          labelPrecompile(address);
+        });
+    code.forEach((hash, stats) -> add(codeStats.computeIfAbsent(hash, k -> new long[3]), stats));
+    if (codeStats.size() > MAX_TRACKED_CODE) {
+      dropLeastCostlyCode();
+    }
+  }
+
+  /**
+   * Returns the statistics gathered so far, each sorted by decreasing time.
+   *
+   * @param topCode the number of code hashes to report
+   * @return the profile
+   */
+  public synchronized Profile profile(final int topCode) {
+    final List<Entry> opcodes = new ArrayList<>();
+    for (int opcode = 0; opcode < OPCODES; opcode++) {
+      if (opcodeStats[opcode][COUNT] != 0) {
+        opcodes.add(Entry.of(opcodeNames[opcode], opcodeStats[opcode]));
+      }
+    }
+    final List<Entry> precompiles = new ArrayList<>();
+    precompileStats.forEach(
+        (address, stats) -> {
+          if (stats[COUNT] != 0) {
+            precompiles.add(Entry.of(address.toHexString(), stats));
+          }
+        });
+    final List<Entry> code =
+        codeStats.entrySet().stream()
+            .sorted(Comparator.comparingLong(e -> -e.getValue()[NANOS]))
+            .limit(Math.max(topCode, 0))
+            .map(e -> Entry.of(e.getKey().toHexString(), e.getValue()))
+            .toList();
+    opcodes.sort(Entry.BY_DECREASING_TIME);
+    precompiles.sort(Entry.BY_DECREASING_TIME);
+    return new Profile(enabled, opcodes, precompiles, code);
+  }
+
+  private static void add(final long[] total, final long[] stats) {
+    total[COUNT] += stats[COUNT];
+    total[GAS] += stats[GAS];
+    total[NANOS] += stats[NANOS];
+  }
+
+  private void labelOpcode(final int opcode) {
+    if (opcodeExecutions == null || labelledOpcodes[opcode]) {
+      return;
+    }
+    labelledOpcodes[opcode] = true;
+    final String name = opcodeNames[opcode];
+    opcodeExecutions.labels(() -> opcodeStat(opcode, COUNT), name);
+    opcodeGas.labels(() -> opcodeStat(opcode, GAS), name);
+    opcodeTime.labels(() -> opcodeStat(opcode, NANOS), name);
+  }
+
+  private void labelPrecompile(final Address address) {
+    if (precompileCalls == null || !labelledPrecompiles.add(address)) {
+      return;
+    }
+    final String label = address.toHexString();
+    precompileCalls.labels(() -> precompileStat(address, COUNT), label);
+    precompileGas.labels(() -> precompileStat(address, GAS), label);
+    precompileTime.labels(() -> precompileStat(address, NANOS), label);
+  }
+
+  private synchronized double opcodeStat(final int opcode, final int stat) {
+    return opcodeStats[opcode][stat];
+  }
+
+  private synchronized double precompileStat(final Address address, final int stat) {
+    final long[] stats = precompileStats.get(address);
+    return stats == null ? 0 : stats[stat];
+  }
+
+  private void dropLeastCostlyCode() {
+    codeStats.entrySet().stream()
+        .sorted(Comparator.comparingLong(e -> e.getValue()[NANOS]))
+        .limit(codeStats.size() - MAX_TRACKED_CODE / 2)
+        .map(Map.Entry::getKey)
+        .toList()
+        .forEach(codeStats::remove);
+  }
+
+  /**
+   * The statistics gathered by the profiler.
+   *
+   * @param enabled whether the profiler is enabled
+   * @param opcodes the statistics of each opcode executed
+   * @param precompiles the statistics of each precompile called
+   * @param code the statistics of the code that took the most time, by code hash
+   */
+  public record Profile(
+      boolean enabled, List<Entry> opcodes, List<Entry> precompiles, List<Entry> code) {}
+
+  /**
+   * The statistics of an opcode, a precompile or a code.
+   *
+   * @param name the opcode name, precompile address or code hash
+   * @param count the number of executions, calls or operations executed
+   * @param gas the gas used
+   * @param nanos the time spent, in nanoseconds
+   */
+  public record Entry(String name, long count, long gas, long nanos) {
+    private static final Comparator<Entry> BY_DECREASING_TIME =
+        Comparator.comparingLong(Entry::nanos).reversed();
+
+    private static Entry of(final String name, final long[] stats) {
+      return new Entry(name, stats[COUNT], stats[GAS], stats[NANOS]);
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import static org.hyperledger.besu.ethereum.vm.ExecutionProfiler.COUNT;
+import static org.hyperledger.besu.ethereum.vm.ExecutionProfiler.GAS;
+import static org.hyperledger.besu.ethereum.vm.ExecutionProfiler.NANOS;
+import static org.hyperledger.besu.ethereum.vm.ExecutionProfiler.OPCODES;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Transaction;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+import org.hyperledger.besu.plugin.data.BlockBody;
+import org.hyperledger.besu.plugin.data.BlockHeader;
+import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * The tracer of the {@link ExecutionProfiler}. It counts the executions, gas and time of opcodes,
+ * precompiles and code while a block is imported, and merges them in the profiler at the end of
+ * each transaction and of the block. This class is not thread safe.
+ */
+final class ProfilingOperationTracer implements BlockAwareOperationTracer {
+  private final ExecutionProfiler profiler;
+  private final String[] names = new String[OPCODES];
+  private final long[][] opcodes = new long[OPCODES][3];
+  private final Map<Address, long[]> precompiles = new HashMap<>();
+  private final Map<Hash, long[]> code = new HashMap<>();
+
+  private long operationStart;
+  private long contextStart;
+  // the code of the last operation and its statistics, as most operations run the same code
+  private Code currentCode;
+  private long[] currentCodeStats;
+
+  ProfilingOperationTracer(final ExecutionProfiler profiler) {
+    this.profiler = profiler;
+  }
+
+  @Override
+  public void tracePreExecution(final MessageFrame frame) {
+    operationStart = System.nanoTime();
+  }
+
+  @Override
+  public void tracePostExecution(final MessageFrame frame, final OperationResult operationResult) {
+    final long nanos = System.nanoTime() - operationStart;
+    final long gas = operationResult.getGasCost();
+    final Operation operation = frame.getCurrentOperation();
+    final int opcode = operation.getOpcode() & 0xff;
+    if (names[opcode] == null) {
+      names[opcode] = operation.getName();
+    }
+    add(opcodes[opcode], gas, nanos);
+
+    final Code frameCode = frame.getCode();
+    if (frameCode != currentCode) {
+      currentCode = frameCode;
+      currentCodeStats = code.computeIfAbsent(frameCode.getCodeHash(), k -> new long[3]);
+    }
+    add(currentCodeStats, gas, nanos);
+  }
+
+  @Override
+  public void traceContextEnter(final MessageFrame frame) {
+    contextStart = System.nanoTime();
+  }
+
+  @Override
+  public void tracePrecompileCall(
+      final MessageFrame frame, final long gasRequirement, final Bytes output) {
+    // a precompile runs right after its context is entered
+    final long nanos = System.nanoTime() - contextStart;
+    add(
+        precompiles.computeIfAbsent(frame.getContractAddress(), k -> new long[3]),
+        gasRequirement,
+        nanos);
+  }
+
+  @Override
+  public void traceEndTransaction(
+      final WorldView worldView,
+      final Transaction tx,
+      final boolean status,
+      final Bytes output,
+      final List<Log> logs,
+      final long gasUsed,
+      final Set<Address> selfDestructs,
+      final long timeNs) {
+    flush();
+  }
+
+  @Override
+  public void traceEndBlock(final BlockHeader blockHeader, final BlockBody blockBody) {
+    flush();
+  }
+
+  @Override
+  public boolean isExtendedTracing() {
+    return false;
+  }
+
+  private static void add(final long[] stats, final long gas, final long nanos) {
+    stats[COUNT]++;
+    stats[GAS] += gas;
+    stats[NANOS] += nanos;
+  }
+
+  private void flush() {
+    profiler.merge(names, opcodes, precompiles, code);
+    for (final long[] stats : opcodes) {
+      Arrays.fill(stats, 0);
+    }
+    precompiles.clear();
+    code.clear();
+    currentCode = null;
+    currentCodeStats = null;
+  }
+}
@@ -25,6 +25,7 @@ public interface DataStorageConfiguration {
 
   boolean DEFAULT_RECEIPT_COMPACTION_ENABLED = true;
   boolean DEFAULT_HISTORY_EXPIRY_PRUNE_ENABLED = false;
+  boolean DEFAULT_BLOCK_SEGMENT_STORE_ENABLED = false;
 
   DataStorageConfiguration DEFAULT_CONFIG =
       ImmutableDataStorageConfiguration.builder()
@@ -70,4 +71,9 @@ public interface DataStorageConfiguration {
   default boolean getHistoryExpiryPruneEnabled() {
     return DEFAULT_HISTORY_EXPIRY_PRUNE_ENABLED;
   }
+
+  @Value.Default
+  default boolean getBlockSegmentStoreEnabled() {
+    return DEFAULT_BLOCK_SEGMENT_STORE_ENABLED;
+  }
 }
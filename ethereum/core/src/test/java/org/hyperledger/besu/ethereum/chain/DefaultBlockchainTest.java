@@ -16,7 +16,12 @@ package org.hyperledger.besu.ethereum.chain;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Hash;
@@ -24,6 +29,7 @@ import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator.BlockOptions;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -34,6 +40,8 @@ import org.hyperledger.besu.ethereum.storage.keyvalue.VariablesKeyValueStorage;
 import org.hyperledger.besu.metrics.MetricsSystemFactory;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.metrics.prometheus.MetricsConfiguration;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
@@ -281,6 +289,89 @@ public class DefaultBlockchainTest {
         .isInstanceOf(IllegalArgumentException.class);
   }
 
+  @Test
+  public void appendBlocks() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final KeyValueStorage kvStoreVariables = new InMemoryKeyValueStorage();
+    final Block genesisBlock = gen.genesisBlock();
+    final DefaultBlockchain blockchain =
+        createMutableBlockchain(kvStore, kvStoreVariables, genesisBlock);
+
+    final List<BlockWithReceipts> blocks =
+        gen.blockSequence(genesisBlock, 5).stream()
+            .map(block -> new BlockWithReceipts(block, gen.receipts(block)))
+            .toList();
+    final List<Block> addedBlocks = new ArrayList<>();
+    blockchain.observeBlockAdded(event -> addedBlocks.add(event.getBlock()));
+    blockchain.appendBlocks(blocks, true);
+
+    final Block head = blocks.getLast().getBlock();
+    assertBlockIsHead(blockchain, head);
+    assertTotalDifficultiesAreConsistent(blockchain, head);
+    blocks.forEach(
+        block -> assertBlockDataIsStored(blockchain, block.getBlock(), block.getReceipts()));
+    assertThat(addedBlocks)
+        .containsExactlyElementsOf(blocks.stream().map(BlockWithReceipts::getBlock).toList());
+  }
+
+  @Test
+  public void appendBlocksWithGapStoresNothing() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final KeyValueStorage kvStoreVariables = new InMemoryKeyValueStorage();
+    final Block genesisBlock = gen.genesisBlock();
+    final DefaultBlockchain blockchain =
+        createMutableBlockchain(kvStore, kvStoreVariables, genesisBlock);
+
+    final List<BlockWithReceipts> blocks =
+        new ArrayList<>(
+            gen.blockSequence(genesisBlock, 3).stream()
+                .map(block -> new BlockWithReceipts(block, gen.receipts(block)))
+                .toList());
+    blocks.remove(1);
+
+    assertThatThrownBy(() -> blockchain.appendBlocks(blocks, true))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertBlockIsHead(blockchain, genesisBlock);
+    assertThat(blockchain.getBlockHeader(blocks.getFirst().getHash())).isEmpty();
+  }
+
+  @Test
+  public void appendBlocksWithMismatchedReceiptsStoresAndCountsNothing() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final Counter counter = mock(Counter.class);
+    final MetricsSystem metricsSystem = mock(MetricsSystem.class);
+    when(metricsSystem.createCounter(any(), anyString(), anyString())).thenReturn(counter);
+
+    final Block genesisBlock = gen.genesisBlock();
+    final DefaultBlockchain blockchain =
+        (DefaultBlockchain)
+            DefaultBlockchain.createMutable(
+                genesisBlock,
+                createStorage(new InMemoryKeyValueStorage(), new InMemoryKeyValueStorage()),
+                metricsSystem,
+                0);
+
+    final List<BlockWithReceipts> blocks =
+        new ArrayList<>(
+            gen.blockSequence(genesisBlock, 3).stream()
+                .map(block -> new BlockWithReceipts(block, gen.receipts(block)))
+                .toList());
+    final Block lastBlock = blocks.removeLast().getBlock();
+    final List<TransactionReceipt> lastReceipts = new ArrayList<>(gen.receipts(lastBlock));
+    lastReceipts.add(gen.receipt());
+    blocks.add(new BlockWithReceipts(lastBlock, lastReceipts));
+
+    assertThatThrownBy(() -> blockchain.appendBlocks(blocks, true))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertBlockIsHead(blockchain, genesisBlock);
+    assertThat(blockchain.getBlockHeader(blocks.getFirst().getHash())).isEmpty();
+    verify(counter, never()).inc(anyLong());
+  }
+
   @Test
   public void createSmallChain() {
     final BlockDataGenerator gen = new BlockDataGenerator();
@@ -0,0 +1,170 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.VariablesStorage;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SegmentArchivingBlockchainStorageTest {
+
+  @TempDir private Path dataDirectory;
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final Map<Hash, List<TransactionReceipt>> receipts = new HashMap<>();
+  private VariablesStorage variablesStorage;
+  private KeyValueStoragePrefixedKeyBlockchainStorage keyValueStorage;
+  private BlockchainStorage storage;
+
+  @BeforeEach
+  public void setup() {
+    variablesStorage = new VariablesKeyValueStorage(new InMemoryKeyValueStorage());
+    keyValueStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(),
+            variablesStorage,
+            new MainnetBlockHeaderFunctions(),
+            false);
+    storage = open(true);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    if (storage instanceof Closeable closeable) {
+      closeable.close();
+    }
+  }
+
+  @Test
+  public void archivesFinalizedBlocksAndReadsThemBack() {
+    final List<Block> chain = gen.blockSequence(10);
+    chain.forEach(this::appendCanonical);
+
+    setFinalized(chain.get(5));
+    awaitArchived(chain.get(5));
+
+    assertThat(variablesStorage.hasArchivedBlockSegments()).isTrue();
+    for (int i = 0; i < chain.size(); i++) {
+      final Block block = chain.get(i);
+      assertThat(keyValueStorage.getBlockBodyRlp(block.getHash()).isPresent()).isEqualTo(i > 5);
+      assertStored(block);
+    }
+  }
+
+  @Test
+  public void keepsReadingArchivedBlocksWhenSegmentStoreIsDisabled() throws IOException {
+    final List<Block> chain = gen.blockSequence(10);
+    chain.forEach(this::appendCanonical);
+    setFinalized(chain.get(5));
+    awaitArchived(chain.get(5));
+
+    ((Closeable) storage).close();
+    storage = open(false);
+
+    assertThat(storage).isInstanceOf(SegmentArchivingBlockchainStorage.class);
+    chain.forEach(this::assertStored);
+  }
+
+  @Test
+  public void doesNotUseSegmentStoreWhenDisabledAndNothingWasArchived() throws IOException {
+    ((Closeable) storage).close();
+    storage = open(false);
+
+    assertThat(storage).isSameAs(keyValueStorage);
+  }
+
+  @Test
+  public void archivesTheNewCanonicalChainAfterReorgAcrossTheArchivingBoundary() {
+    final List<Block> chain = gen.blockSequence(10);
+    chain.forEach(this::appendCanonical);
+    setFinalized(chain.get(3));
+    awaitArchived(chain.get(3));
+
+    // reorg to a fork of the last archived block, keeping the blocks of the old chain
+    final List<Block> fork = gen.blockSequence(chain.get(3), 6);
+    fork.forEach(this::appendCanonical);
+    setFinalized(fork.get(3));
+    awaitArchived(fork.get(3));
+
+    for (int i = 0; i < fork.size(); i++) {
+      final Block block = fork.get(i);
+      assertThat(keyValueStorage.getBlockBodyRlp(block.getHash()).isPresent()).isEqualTo(i > 3);
+      assertStored(block);
+    }
+    // the blocks of the old chain at archived heights are not in the segments
+    for (int i = 4; i < chain.size(); i++) {
+      final Block block = chain.get(i);
+      assertThat(keyValueStorage.getBlockBodyRlp(block.getHash())).isPresent();
+      assertStored(block);
+    }
+    chain.subList(0, 4).forEach(this::assertStored);
+  }
+
+  private BlockchainStorage open(final boolean blockSegmentStoreEnabled) {
+    return BlockchainStorageFactory.create(
+        keyValueStorage, variablesStorage, blockSegmentStoreEnabled, dataDirectory);
+  }
+
+  private void appendCanonical(final Block block) {
+    final BlockchainStorage.Updater updater = storage.updater();
+    updater.putBlockHeader(block.getHash(), block.getHeader());
+    updater.putBlockBody(block.getHash(), block.getBody());
+    updater.putTransactionReceipts(
+        block.getHash(), receipts.computeIfAbsent(block.getHash(), hash -> gen.receipts(block)));
+    updater.putBlockHash(block.getHeader().getNumber(), block.getHash());
+    updater.setChainHead(block.getHash());
+    updater.commit();
+  }
+
+  private void setFinalized(final Block block) {
+    final BlockchainStorage.Updater updater = storage.updater();
+    updater.setFinalized(block.getHash());
+    updater.commit();
+  }
+
+  private void awaitArchived(final Block block) {
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .untilAsserted(
+            () -> assertThat(keyValueStorage.getBlockBodyRlp(block.getHash())).isEmpty());
+  }
+
+  private void assertStored(final Block block) {
+    assertThat(storage.getBlockBody(block.getHash())).contains(block.getBody());
+    assertThat(storage.getTransactionReceipts(block.getHash()))
+        .contains(receipts.get(block.getHash()));
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.segment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BlockSegmentStoreTest {
+
+  @TempDir private Path directory;
+
+  @Test
+  public void appendedBlocksAreVisibleOnlyAfterSync() throws IOException {
+    try (final BlockSegmentStore store = new BlockSegmentStore(directory, 4)) {
+      store.append(0, hash(0), Optional.of(body(0)), Optional.of(receipts(0)));
+
+      assertThat(store.nextBlockNumber()).isZero();
+      assertThat(store.get(0)).isEmpty();
+
+      store.sync();
+
+      assertThat(store.nextBlockNumber()).isEqualTo(1);
+      assertThat(store.get(0))
+          .contains(
+              new BlockSegmentStore.Entry(
+                  hash(0), Optional.of(body(0)), Optional.of(receipts(0))));
+    }
+  }
+
+  @Test
+  public void readsBlocksAcrossSegments() throws IOException {
+    try (final BlockSegmentStore store = new BlockSegmentStore(directory, 4)) {
+      appendBlocks(store, 0, 10);
+      store.sync();
+
+      assertThat(store.nextBlockNumber()).isEqualTo(10);
+      for (int i = 0; i < 10; i++) {
+        assertThat(store.get(i).map(BlockSegmentStore.Entry::body)).contains(Optional.of(body(i)));
+      }
+      assertThat(store.get(10)).isEmpty();
+    }
+  }
+
+  @Test
+  public void missingItemsAndBlocksAreNotReturned() throws IOException {
+    try (final BlockSegmentStore store = new BlockSegmentStore(directory, 4)) {
+      store.appendMissing(0);
+      store.append(1, hash(1), Optional.of(body(1)), Optional.empty());
+      store.sync();
+
+      assertThat(store.get(0)).isEmpty();
+      assertThat(store.get(1))
+          .contains(new BlockSegmentStore.Entry(hash(1), Optional.of(body(1)), Optional.empty()));
+    }
+  }
+
+  @Test
+  public void rejectsNonContiguousBlocks() throws IOException {
+    try (final BlockSegmentStore store = new BlockSegmentStore(directory, 4)) {
+      assertThatThrownBy(() -> store.appendMissing(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Test
+  public void reopenedStoreKeepsSyncedBlocksOnly() throws IOException {
+    try (final BlockSegmentStore store = new BlockSegmentStore(directory, 4)) {
+      appendBlocks(store, 0, 6);
+      store.sync();
+      appendBlocks(store, 6, 7);
+    }
+
+    try (final BlockSegmentStore store = new BlockSegmentStore(directory, 4)) {
+      assertThat(store.nextBlockNumber()).isEqualTo(6);
+      assertThat(store.get(5).map(BlockSegmentStore.Entry::blockHash)).contains(hash(5));
+
+      appendBlocks(store, 6, 9);
+      store.sync();
+
+      assertThat(store.nextBlockNumber()).isEqualTo(9);
+      assertThat(store.get(8).map(BlockSegmentStore.Entry::blockHash)).contains(hash(8));
+    }
+  }
+
+  @Test
+  public void partialIndexEntryIsDiscardedOnOpen() throws IOException {
+    try (final BlockSegmentStore store = new BlockSegmentStore(directory, 4)) {
+      appendBlocks(store, 0, 2);
+      store.sync();
+    }
+    try (final FileChannel index =
+        FileChannel.open(directory.resolve("000000000000.idx"), StandardOpenOption.WRITE)) {
+      index.write(ByteBuffer.wrap(new byte[] {1, 2, 3}), index.size());
+    }
+
+    try (final BlockSegmentStore store = new BlockSegmentStore(directory, 4)) {
+      assertThat(store.nextBlockNumber()).isEqualTo(2);
+      assertThat(store.get(1).map(BlockSegmentStore.Entry::blockHash)).contains(hash(1));
+    }
+  }
+
+  private static void appendBlocks(final BlockSegmentStore store, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      store.append(i, hash(i), Optional.of(body(i)), Optional.of(receipts(i)));
+    }
+  }
+
+  private static Hash hash(final int blockNumber) {
+    return Hash.hash(Bytes.ofUnsignedInt(blockNumber));
+  }
+
+  private static Bytes body(final int blockNumber) {
+    return Bytes.repeat((byte) blockNumber, blockNumber + 1);
+  }
+
+  private static Bytes receipts(final int blockNumber) {
+    return Bytes.repeat((byte) (blockNumber + 1), 2 * blockNumber);
+  }
+}
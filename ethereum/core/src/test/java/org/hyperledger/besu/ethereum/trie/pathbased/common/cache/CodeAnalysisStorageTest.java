@@ -0,0 +1,98 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.CodeAnalysisStorage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class CodeAnalysisStorageTest {
+  private static final Hash CODE_HASH = Hash.hash(Bytes.of(1, 2, 3));
+
+  private final InMemoryKeyValueStorage storage = new InMemoryKeyValueStorage();
+
+  @Test
+  void shouldReadStoredJumpDestBitMask() {
+    final CodeAnalysisStorage analysisStorage =
+        new CodeAnalysisStorage(storage, Runnable::run, new NoOpMetricsSystem());
+
+    analysisStorage.putJumpDestBitMask(CODE_HASH, new long[] {5L, -1L, 0L}, 1_000L);
+
+    assertThat(analysisStorage.getJumpDestBitMask(CODE_HASH)).containsExactly(5L, -1L, 0L);
+  }
+
+  @Test
+  void shouldNotHaveJumpDestBitMaskOfUnknownCode() {
+    final CodeAnalysisStorage analysisStorage =
+        new CodeAnalysisStorage(storage, Runnable::run, new NoOpMetricsSystem());
+
+    assertThat(analysisStorage.getJumpDestBitMask(CODE_HASH)).isNull();
+  }
+
+  @Test
+  void shouldIgnoreCorruptedJumpDestBitMask() {
+    final CodeAnalysisStorage analysisStorage =
+        new CodeAnalysisStorage(storage, Runnable::run, new NoOpMetricsSystem());
+    analysisStorage.putJumpDestBitMask(CODE_HASH, new long[] {5L, -1L, 0L}, 1_000L);
+
+    final byte[] value = storage.get(CODE_HASH.toArrayUnsafe()).orElseThrow();
+    value[value.length - 1] ^= 1;
+    putValue(CODE_HASH, value);
+
+    assertThat(analysisStorage.getJumpDestBitMask(CODE_HASH)).isNull();
+  }
+
+  @Test
+  void shouldIgnoreJumpDestBitMaskOfOtherCode() {
+    final CodeAnalysisStorage analysisStorage =
+        new CodeAnalysisStorage(storage, Runnable::run, new NoOpMetricsSystem());
+    final Hash otherCodeHash = Hash.hash(Bytes.of(4, 5, 6));
+    analysisStorage.putJumpDestBitMask(otherCodeHash, new long[] {5L, -1L, 0L}, 1_000L);
+
+    putValue(CODE_HASH, storage.get(otherCodeHash.toArrayUnsafe()).orElseThrow());
+
+    assertThat(analysisStorage.getJumpDestBitMask(CODE_HASH)).isNull();
+  }
+
+  @Test
+  void shouldDropJumpDestBitMaskThatCannotBeWritten() {
+    final CodeAnalysisStorage analysisStorage =
+        new CodeAnalysisStorage(
+            storage,
+            command -> {
+              throw new RejectedExecutionException();
+            },
+            new NoOpMetricsSystem());
+
+    analysisStorage.putJumpDestBitMask(CODE_HASH, new long[] {5L}, 1_000L);
+
+    assertThat(analysisStorage.getJumpDestBitMask(CODE_HASH)).isNull();
+  }
+
+  private void putValue(final Hash codeHash, final byte[] value) {
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.put(codeHash.toArrayUnsafe(), value);
+    transaction.commit();
+  }
+}
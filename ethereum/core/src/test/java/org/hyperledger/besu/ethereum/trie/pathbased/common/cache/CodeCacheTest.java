@@ -15,10 +15,14 @@
 package org.hyperledger.besu.ethereum.trie.pathbased.common.cache;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.CodeCache;
 import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeV0;
+import org.hyperledger.besu.evm.internal.CodeAnalysisStore;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.BeforeEach;
@@ -68,4 +72,28 @@ class CodeCacheTest {
 
     assertThat(retrieved).isSameAs(newCode);
   }
+
+  @Test
+  void shouldReadAnalysisOfLargeCodeFromAnalysisStore() {
+    final CodeAnalysisStore store = Mockito.mock(CodeAnalysisStore.class);
+    codeCache.setAnalysisStore(store);
+    final CodeV0 code = new CodeV0(Bytes.wrap(new byte[1024]));
+
+    codeCache.put(code.getCodeHash(), code);
+    code.isJumpDestInvalid(0);
+
+    verify(store).getJumpDestBitMask(code.getCodeHash());
+  }
+
+  @Test
+  void shouldNotUseAnalysisStoreForSmallCode() {
+    final CodeAnalysisStore store = Mockito.mock(CodeAnalysisStore.class);
+    codeCache.setAnalysisStore(store);
+    final CodeV0 code = new CodeV0(Bytes.wrap(new byte[32]));
+
+    codeCache.put(code.getCodeHash(), code);
+    code.isJumpDestInvalid(0);
+
+    verifyNoInteractions(store);
+  }
 }
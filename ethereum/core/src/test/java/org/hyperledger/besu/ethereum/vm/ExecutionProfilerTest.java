@@ -0,0 +1,146 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.vm.ExecutionProfiler.Entry;
+import org.hyperledger.besu.ethereum.vm.ExecutionProfiler.Profile;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExecutionProfilerTest {
+  private static final Hash CODE_HASH = Hash.hash(Bytes.fromHexString("0x6001600101"));
+  private static final Address ECREC = Address.precompiled(1);
+
+  private final ExecutionProfiler profiler = new ExecutionProfiler();
+  private final MessageFrame frame = mock(MessageFrame.class);
+  private final Operation add = mock(Operation.class);
+  private final Operation sload = mock(Operation.class);
+
+  @BeforeEach
+  void setUp() {
+    profiler.registerMetrics(new NoOpMetricsSystem());
+    final Code code = mock(Code.class);
+    when(code.getCodeHash()).thenReturn(CODE_HASH);
+    when(frame.getCode()).thenReturn(code);
+    when(frame.getContractAddress()).thenReturn(ECREC);
+    when(add.getOpcode()).thenReturn(0x01);
+    when(add.getName()).thenReturn("ADD");
+    when(sload.getOpcode()).thenReturn(0x54);
+    when(sload.getName()).thenReturn("SLOAD");
+  }
+
+  @Test
+  void shouldProfileOpcodesPrecompilesAndCodeOfEachTransaction() {
+    profiler.setEnabled(true);
+    final BlockAwareOperationTracer tracer = profiler.newTracer();
+
+    execute(tracer, add, 3);
+    execute(tracer, add, 3);
+    execute(tracer, sload, 2100);
+    tracer.traceContextEnter(frame);
+    tracer.tracePrecompileCall(frame, 3000, Bytes.EMPTY);
+    endTransaction(tracer);
+    execute(tracer, add, 3);
+    endTransaction(tracer);
+
+    final Profile profile = profiler.profile(ExecutionProfiler.DEFAULT_TOP_CODE);
+    assertThat(profile.enabled()).isTrue();
+    assertThat(profile.opcodes())
+        .extracting(Entry::name, Entry::count, Entry::gas)
+        .containsExactlyInAnyOrder(tuple("ADD", 3L, 9L), tuple("SLOAD", 1L, 2100L));
+    assertThat(profile.precompiles())
+        .extracting(Entry::name, Entry::count, Entry::gas)
+        .containsExactly(tuple(ECREC.toHexString(), 1L, 3000L));
+    assertThat(profile.code())
+        .extracting(Entry::name, Entry::count, Entry::gas)
+        .containsExactly(tuple(CODE_HASH.toHexString(), 4L, 2109L));
+  }
+
+  @Test
+  void shouldDropExecutionProfiledAfterBeingDisabled() {
+    profiler.setEnabled(true);
+    final BlockAwareOperationTracer tracer = profiler.newTracer();
+    execute(tracer, add, 3);
+    endTransaction(tracer);
+
+    profiler.setEnabled(false);
+    execute(tracer, add, 3);
+    tracer.traceEndBlock(null, null);
+
+    final Profile profile = profiler.profile(ExecutionProfiler.DEFAULT_TOP_CODE);
+    assertThat(profile.enabled()).isFalse();
+    assertThat(profile.opcodes()).extracting(Entry::count).containsExactly(1L);
+  }
+
+  @Test
+  void shouldDiscardProfileOnReset() {
+    profiler.setEnabled(true);
+    final BlockAwareOperationTracer tracer = profiler.newTracer();
+    execute(tracer, add, 3);
+    tracer.traceContextEnter(frame);
+    tracer.tracePrecompileCall(frame, 3000, Bytes.EMPTY);
+    endTransaction(tracer);
+
+    profiler.reset();
+
+    final Profile profile = profiler.profile(ExecutionProfiler.DEFAULT_TOP_CODE);
+    assertThat(profile.opcodes()).isEmpty();
+    assertThat(profile.precompiles()).isEmpty();
+    assertThat(profile.code()).isEmpty();
+  }
+
+  @Test
+  void shouldKeepTheMostCostlyCode() {
+    profiler.setEnabled(true);
+    final BlockAwareOperationTracer tracer = profiler.newTracer();
+    for (int i = 0; i <= ExecutionProfiler.MAX_TRACKED_CODE; i++) {
+      final Code code = mock(Code.class);
+      when(code.getCodeHash()).thenReturn(Hash.hash(Bytes.ofUnsignedInt(i)));
+      when(frame.getCode()).thenReturn(code);
+      execute(tracer, add, 3);
+      endTransaction(tracer);
+    }
+
+    assertThat(profiler.profile(Integer.MAX_VALUE).code())
+        .hasSize(ExecutionProfiler.MAX_TRACKED_CODE / 2);
+    assertThat(profiler.profile(5).code()).hasSize(5);
+  }
+
+  private void execute(
+      final BlockAwareOperationTracer tracer, final Operation operation, final long gasCost) {
+    when(frame.getCurrentOperation()).thenReturn(operation);
+    tracer.tracePreExecution(frame);
+    tracer.tracePostExecution(frame, new OperationResult(gasCost, null));
+  }
+
+  private static void endTransaction(final BlockAwareOperationTracer tracer) {
+    tracer.traceEndTransaction(null, null, true, Bytes.EMPTY, null, 0, null, 0);
+  }
+}
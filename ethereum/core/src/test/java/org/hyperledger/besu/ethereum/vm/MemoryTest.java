@@ -163,6 +163,52 @@ public class MemoryTest {
     assertThat(memory.getWord(64)).isEqualTo(Bytes32.ZERO);
   }
 
+  @Test
+  public void shouldSetAndGetBytesAcrossPages() {
+    final Bytes value = Bytes.concatenate(WORD1, WORD2, WORD3);
+    memory.setBytes(4096 - 40, value.size(), value);
+
+    assertThat(memory.getBytes(4096 - 40, value.size())).isEqualTo(value);
+    assertThat(memory.getWord(4096 - 8)).isEqualTo(memory.getBytes(4096 - 8, 32));
+    assertThat(memory.getWord(4096 - 40)).isEqualTo(WORD1);
+    assertThat(memory.getActiveWords()).isEqualTo((4096 - 40 + 96 + 31) / 32);
+  }
+
+  @Test
+  public void shouldReadMemoryNeverWrittenAsZeros() {
+    memory.setWord(3 * 4096, WORD1);
+
+    assertThat(memory.getBytes(100, 5000)).isEqualTo(Bytes.wrap(new byte[5000]));
+    assertThat(memory.getBytesWithoutGrowth(4 * 4096, 64)).isEqualTo(Bytes.wrap(new byte[64]));
+    assertThat(memory.getWord(3 * 4096)).isEqualTo(WORD1);
+  }
+
+  @Test
+  public void shouldCopyOverlappingRegionsAcrossPages() {
+    final byte[] expected = new byte[10_000];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = (byte) (i * 7);
+    }
+    memory.setBytes(0, expected.length, Bytes.wrap(expected));
+
+    memory.copy(100, 0, 9000);
+    System.arraycopy(expected, 0, expected, 100, 9000);
+    assertThat(memory.getBytes(0, expected.length)).isEqualTo(Bytes.wrap(expected));
+
+    memory.copy(5, 4000, 6000);
+    System.arraycopy(expected, 4000, expected, 5, 6000);
+    assertThat(memory.getBytes(0, expected.length)).isEqualTo(Bytes.wrap(expected));
+  }
+
+  @Test
+  public void shouldCopyMemoryNeverWrittenAsZeros() {
+    memory.setBytes(4096, 32, WORD1);
+
+    memory.copy(4096, 3 * 4096, 64);
+
+    assertThat(memory.getBytes(4096, 64)).isEqualTo(Bytes.wrap(new byte[64]));
+  }
+
   private static Bytes32 fillBytes32(final long value) {
     return Bytes32.fromHexString(Long.toString(value).repeat(64));
   }
@@ -0,0 +1,144 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.forest.storage.ForestWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.forest.worldview.ForestMutableWorldState;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
+import org.hyperledger.besu.evm.worldstate.JournaledUpdater;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JournaledUpdaterTest {
+  private static final Address ADDRESS =
+      Address.fromHexString("0xa94f5374fce5edbc8e2a8697c15331677e6ebf0b");
+  private static final Address OTHER_ADDRESS =
+      Address.fromHexString("0x095e7baea6a6c7c4c2dfeb977efac326af552d87");
+  private static final Address NEW_ADDRESS =
+      Address.fromHexString("0x2adc25665018aa1fe0e6bc666dac8fc2697ff9ba");
+  private static final Bytes CODE = Bytes.fromHexString("0x6001600101");
+
+  private WorldUpdater transaction;
+
+  @BeforeEach
+  void setUp() {
+    final MutableWorldState worldState =
+        new ForestMutableWorldState(
+            new ForestWorldStateKeyValueStorage(new InMemoryKeyValueStorage()),
+            new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()),
+            new EvmConfiguration(32_000L, WorldUpdaterMode.JOURNALED, false));
+    final WorldUpdater setUp = worldState.updater();
+    final MutableAccount account = setUp.createAccount(ADDRESS, 1, Wei.of(100));
+    account.setStorageValue(UInt256.ONE, UInt256.ONE);
+    setUp.createAccount(OTHER_ADDRESS, 0, Wei.of(10));
+    setUp.commit();
+    worldState.persist(null);
+
+    transaction = worldState.updater().updater();
+    assertThat(transaction).isInstanceOf(JournaledUpdater.class);
+  }
+
+  @Test
+  void shouldRevertChangesOfNestedUpdater() {
+    final MutableAccount account = transaction.getAccount(ADDRESS);
+    account.setBalance(Wei.of(90));
+    account.setStorageValue(UInt256.ONE, UInt256.valueOf(2));
+
+    final WorldUpdater call = transaction.updater();
+    final MutableAccount callAccount = call.getAccount(ADDRESS);
+    callAccount.setNonce(2);
+    callAccount.setBalance(Wei.of(80));
+    callAccount.setCode(CODE);
+    callAccount.setStorageValue(UInt256.ONE, UInt256.valueOf(3));
+    callAccount.setStorageValue(UInt256.valueOf(2), UInt256.valueOf(4));
+    call.createAccount(NEW_ADDRESS, 0, Wei.ONE);
+    call.deleteAccount(OTHER_ADDRESS);
+    call.revert();
+
+    final MutableAccount reverted = transaction.getAccount(ADDRESS);
+    assertThat(reverted.getNonce()).isEqualTo(1);
+    assertThat(reverted.getBalance()).isEqualTo(Wei.of(90));
+    assertThat(reverted.getCode()).isEqualTo(Bytes.EMPTY);
+    assertThat(reverted.getCodeHash()).isEqualTo(Hash.EMPTY);
+    assertThat(reverted.getStorageValue(UInt256.ONE)).isEqualTo(UInt256.valueOf(2));
+    assertThat(reverted.getStorageValue(UInt256.valueOf(2))).isEqualTo(UInt256.ZERO);
+    assertThat(transaction.getTouchedAccounts())
+        .extracting(Account::getAddress)
+        .containsExactly(ADDRESS);
+    assertThat(transaction.get(OTHER_ADDRESS)).isNotNull();
+    assertThat(transaction.getDeletedAccountAddresses()).isEmpty();
+  }
+
+  @Test
+  void shouldRevertCommittedChangesWithTheirParent() {
+    final WorldUpdater call = transaction.updater();
+    final WorldUpdater innerCall = call.updater();
+    innerCall.getAccount(ADDRESS).setBalance(Wei.of(50));
+    innerCall.getAccount(ADDRESS).setStorageValue(UInt256.ONE, UInt256.ZERO);
+    innerCall.commit();
+    assertThat(call.get(ADDRESS).getBalance()).isEqualTo(Wei.of(50));
+
+    call.revert();
+
+    assertThat(transaction.get(ADDRESS).getBalance()).isEqualTo(Wei.of(100));
+    assertThat(transaction.get(ADDRESS).getStorageValue(UInt256.ONE)).isEqualTo(UInt256.ONE);
+  }
+
+  @Test
+  void shouldRevertClearedStorage() {
+    final MutableAccount account = transaction.getAccount(ADDRESS);
+    account.setStorageValue(UInt256.valueOf(2), UInt256.valueOf(2));
+
+    final WorldUpdater call = transaction.updater();
+    call.getAccount(ADDRESS).clearStorage();
+    assertThat(call.getAccount(ADDRESS).getUpdatedStorage()).isEmpty();
+    call.revert();
+
+    assertThat(account.getUpdatedStorage()).containsEntry(UInt256.valueOf(2), UInt256.valueOf(2));
+  }
+
+  @Test
+  void shouldCommitChangesToTheParentWorld() {
+    final WorldUpdater call = transaction.updater();
+    final MutableAccount account = call.getAccount(ADDRESS);
+    account.setNonce(2);
+    account.setCode(CODE);
+    account.setStorageValue(UInt256.valueOf(2), UInt256.valueOf(4));
+    call.commit();
+    transaction.commit();
+
+    final WorldUpdater parent = transaction.parentUpdater().orElseThrow();
+    assertThat(parent.get(ADDRESS).getNonce()).isEqualTo(2);
+    assertThat(parent.get(ADDRESS).getBalance()).isEqualTo(Wei.of(100));
+    assertThat(parent.get(ADDRESS).getCode()).isEqualTo(CODE);
+    assertThat(parent.get(ADDRESS).getStorageValue(UInt256.valueOf(2)))
+        .isEqualTo(UInt256.valueOf(4));
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A cache of the encodings of recently served block data, keyed by block hash, so that the same
+ * ranges requested by many peers are read and encoded only once, and responses are assembled from
+ * the cached encodings.
+ *
+ * <p>The data of a block hash never changes, so entries are never invalidated, and the cache is
+ * bounded by the total size of the cached encodings. Data that is not found is not cached.
+ */
+class EncodedBlockDataCache {
+  // approximate size of the key, the entry and the Bytes wrapper
+  private static final int ENTRY_OVERHEAD = 160;
+
+  enum Kind {
+    HEADER,
+    BODY,
+    RECEIPTS,
+    ETH69_RECEIPTS
+  }
+
+  private record Key(Kind kind, Hash blockHash) {}
+
+  private final Cache<Key, Bytes> cache;
+
+  EncodedBlockDataCache(final long byteBudget) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(byteBudget)
+            .weigher((final Key key, final Bytes encoded) -> encoded.size() + ENTRY_OVERHEAD)
+            .build();
+  }
+
+  Optional<Bytes> get(
+      final Kind kind, final Hash blockHash, final Supplier<Optional<Bytes>> encoder) {
+    final Key key = new Key(kind, blockHash);
+    final Bytes cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    final Optional<Bytes> encoded = encoder.get();
+    encoded.ifPresent(bytes -> cache.put(key, bytes));
+    return encoded;
+  }
+}
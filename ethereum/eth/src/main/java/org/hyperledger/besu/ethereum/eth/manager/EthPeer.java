@@ -20,6 +20,7 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
 import org.hyperledger.besu.ethereum.eth.SnapProtocol;
+import org.hyperledger.besu.ethereum.eth.manager.snap.SnapRequestSizer;
 import org.hyperledger.besu.ethereum.eth.messages.EthProtocolMessages;
 import org.hyperledger.besu.ethereum.eth.messages.GetBlockBodiesMessage;
 import org.hyperledger.besu.ethereum.eth.messages.GetBlockHeadersMessage;
@@ -40,6 +41,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.plugin.services.permissioning.NodeMessagePermissioningProvider;
 
+import java.math.BigInteger;
 import java.time.Clock;
 import java.util.Collections;
 import java.util.HashMap;
@@ -99,6 +101,7 @@ public class EthPeer implements Comparable<EthPeer> {
 
   private final AtomicReference<Consumer<EthPeer>> onStatusesExchanged = new AtomicReference<>();
   private final PeerReputation reputation = new PeerReputation();
+  private final SnapRequestSizer snapRequestSizer = new SnapRequestSizer();
   private final Map<PeerValidator, Boolean> validationStatus = new ConcurrentHashMap<>();
   private final Bytes id;
   private boolean isServingSnap = false;
@@ -208,6 +211,9 @@ public class EthPeer implements Comparable<EthPeer> {
         .addArgument(this::getLoggableId)
         .log();
     LOG.trace("Timed out while waiting for response from peer {}", this);
+    if (SnapProtocol.NAME.equals(protocolName)) {
+      snapRequestSizer.recordTimeout();
+    }
     reputation.recordRequestTimeout(protocolName, requestCode, this).ifPresent(this::disconnect);
   }
 
@@ -352,10 +358,13 @@ public class EthPeer implements Comparable<EthPeer> {
   }
 
   public RequestManager.ResponseStream getSnapAccountRange(
-      final Hash stateRoot, final Bytes32 startKeyHash, final Bytes32 endKeyHash)
+      final Hash stateRoot,
+      final Bytes32 startKeyHash,
+      final Bytes32 endKeyHash,
+      final BigInteger responseBytes)
       throws PeerNotConnected {
     final GetAccountRangeMessage getAccountRangeMessage =
-        GetAccountRangeMessage.create(stateRoot, startKeyHash, endKeyHash);
+        GetAccountRangeMessage.create(stateRoot, startKeyHash, endKeyHash, responseBytes);
     getAccountRangeMessage.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_ACCOUNT_RANGE),
@@ -366,10 +375,12 @@ public class EthPeer implements Comparable<EthPeer> {
       final Hash stateRoot,
       final List<Bytes32> accountHashes,
       final Bytes32 startKeyHash,
-      final Bytes32 endKeyHash)
+      final Bytes32 endKeyHash,
+      final BigInteger responseBytes)
       throws PeerNotConnected {
     final GetStorageRangeMessage getStorageRangeMessage =
-        GetStorageRangeMessage.create(stateRoot, accountHashes, startKeyHash, endKeyHash);
+        GetStorageRangeMessage.create(
+            stateRoot, accountHashes, startKeyHash, endKeyHash, responseBytes);
     getStorageRangeMessage.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_STORAGE_RANGE),
@@ -377,16 +388,19 @@ public class EthPeer implements Comparable<EthPeer> {
   }
 
   public RequestManager.ResponseStream getSnapBytecode(
-      final Hash stateRoot, final List<Bytes32> codeHashes) throws PeerNotConnected {
-    final GetByteCodesMessage getByteCodes = GetByteCodesMessage.create(codeHashes);
+      final Hash stateRoot, final List<Bytes32> codeHashes, final BigInteger responseBytes)
+      throws PeerNotConnected {
+    final GetByteCodesMessage getByteCodes = GetByteCodesMessage.create(codeHashes, responseBytes);
     getByteCodes.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_BYTECODES), getByteCodes);
   }
 
   public RequestManager.ResponseStream getSnapTrieNode(
-      final Hash stateRoot, final List<List<Bytes>> paths) throws PeerNotConnected {
-    final GetTrieNodesMessage getTrieNodes = GetTrieNodesMessage.create(stateRoot, paths);
+      final Hash stateRoot, final List<List<Bytes>> paths, final BigInteger responseBytes)
+      throws PeerNotConnected {
+    final GetTrieNodesMessage getTrieNodes =
+        GetTrieNodesMessage.create(stateRoot, paths, responseBytes);
     getTrieNodes.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_TRIE_NODES), getTrieNodes);
@@ -490,6 +504,20 @@ public class EthPeer implements Comparable<EthPeer> {
     return reputation;
   }
 
+  public SnapRequestSizer getSnapRequestSizer() {
+    return snapRequestSizer;
+  }
+
+  /**
+   * Estimates how long a new snap request to this peer would take to complete.
+   *
+   * @param outstandingRequests the number of requests the peer is currently serving
+   * @return the estimated completion time in milliseconds
+   */
+  public double estimatedSnapCompletionMillis(final int outstandingRequests) {
+    return snapRequestSizer.estimatedCompletionMillis(outstandingRequests);
+  }
+
   void handleDisconnect() {
     LOG.trace("handleDisconnect - EthPeer {}", this);
 
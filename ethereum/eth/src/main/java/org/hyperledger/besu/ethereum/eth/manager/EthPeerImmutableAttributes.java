@@ -28,21 +28,25 @@ public record EthPeerImmutableAttributes(
     boolean isServingSnap,
     boolean hasAvailableRequestCapacity,
     boolean isInboundInitiated,
+    double estimatedSnapCompletionMillis,
     EthPeer ethPeer) {
 
   public static EthPeerImmutableAttributes from(final EthPeer peer) {
+    final int outstandingRequests = peer.outstandingRequests();
     return new EthPeerImmutableAttributes(
         peer.chainState().getEstimatedTotalDifficulty().toUInt256(),
         peer.chainState().hasEstimatedHeight(),
         peer.chainState().getEstimatedHeight(),
         peer.getReputation().getScore(),
-        peer.outstandingRequests(),
+        outstandingRequests,
         peer.getLastRequestTimestamp(),
         peer.isDisconnected(),
         peer.isFullyValidated(),
         peer.isServingSnap(),
         peer.hasAvailableRequestCapacity(),
         peer.getConnection().inboundInitiated(),
+        // snapshot, as the estimate changes with each response and peers are sorted by it
+        peer.estimatedSnapCompletionMillis(outstandingRequests),
         peer);
   }
 }
@@ -85,6 +85,9 @@ public class EthPeers implements PeerSelector {
   public static final Comparator<EthPeerImmutableAttributes> LEAST_TO_MOST_BUSY =
       Comparator.comparing(EthPeerImmutableAttributes::outstandingRequests)
           .thenComparing(EthPeerImmutableAttributes::lastRequestTimestamp);
+
+  public static final Comparator<EthPeerImmutableAttributes> FASTEST_SNAP_RESPONSE =
+      Comparator.comparingDouble(EthPeerImmutableAttributes::estimatedSnapCompletionMillis);
   public static final int NODE_ID_LENGTH = 64;
   public static final int USEFULL_PEER_SCORE_THRESHOLD = 102;
 
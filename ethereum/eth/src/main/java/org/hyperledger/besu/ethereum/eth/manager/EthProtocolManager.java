@@ -309,7 +309,27 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
     // This will handle responses
     ethPeers.dispatchMessage(ethPeer, ethMessage, getSupportedProtocol());
 
-    // This will handle requests
+    // This will handle requests and announcements, off the network thread for those that are
+    // expensive to process
+    final Optional<InboundMessageScheduler.Priority> priority = inboundPriority(code);
+    if (priority.isEmpty()) {
+      handleMessage(capability, ethPeer, ethMessage);
+    } else {
+      scheduler
+          .getInboundMessageScheduler()
+          .schedule(
+              priority.get(),
+              ethPeer,
+              EthProtocol.get().messageName(capability.getVersion(), code),
+              messageData.getSize(),
+              () -> handleMessage(capability, ethPeer, ethMessage));
+    }
+  }
+
+  private void handleMessage(
+      final Capability capability, final EthPeer ethPeer, final EthMessage ethMessage) {
+    final MessageData messageData = ethMessage.getData();
+    final int code = messageData.getCode();
     Optional<MessageData> maybeResponseData = Optional.empty();
     try {
       if (EthProtocol.requestIdCompatible(code)) {
@@ -343,6 +363,22 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
         });
   }
 
+  private static Optional<InboundMessageScheduler.Priority> inboundPriority(final int code) {
+    return switch (code) {
+      case EthProtocolMessages.NEW_BLOCK, EthProtocolMessages.NEW_BLOCK_HASHES ->
+          Optional.of(InboundMessageScheduler.Priority.CONSENSUS);
+      case EthProtocolMessages.GET_BLOCK_HEADERS,
+          EthProtocolMessages.GET_BLOCK_BODIES,
+          EthProtocolMessages.GET_POOLED_TRANSACTIONS ->
+          Optional.of(InboundMessageScheduler.Priority.REQUEST);
+      case EthProtocolMessages.GET_RECEIPTS, EthProtocolMessages.GET_NODE_DATA ->
+          Optional.of(InboundMessageScheduler.Priority.BULK);
+      // transactions are handed over to the transaction workers, responses are matched to
+      // their request
+      default -> Optional.empty();
+    };
+  }
+
   @Override
   public void handleNewConnection(final PeerConnection connection) {
     ethPeers.registerNewConnection(connection, peerValidators);
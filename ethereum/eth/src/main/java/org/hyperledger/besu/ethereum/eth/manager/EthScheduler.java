@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.eth.manager;
 import static org.hyperledger.besu.util.FutureUtils.propagateResult;
 
 import org.hyperledger.besu.ethereum.eth.manager.task.EthTask;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 import org.hyperledger.besu.util.ExceptionUtils;
@@ -50,6 +51,7 @@ public class EthScheduler {
   private final AtomicBoolean stopped = new AtomicBoolean(false);
   private final CountDownLatch shutdown = new CountDownLatch(1);
   private static final int TX_WORKER_CAPACITY = 1_000;
+  private static final int INBOUND_MESSAGE_WORKERS = Runtime.getRuntime().availableProcessors();
 
   protected final ExecutorService syncWorkerExecutor;
   protected final ScheduledExecutorService scheduler;
@@ -57,6 +59,8 @@ public class EthScheduler {
   protected final ExecutorService servicesExecutor;
   protected final ExecutorService computationExecutor;
   protected final ExecutorService blockCreationExecutor;
+  private final SenderRecoveryService senderRecovery;
+  private final InboundMessageScheduler inboundMessageScheduler;
 
   private final Collection<CompletableFuture<?>> pendingFutures = new ConcurrentLinkedDeque<>();
 
@@ -91,7 +95,8 @@ public class EthScheduler {
             computationWorkerCount,
             metricsSystem),
         MonitoredExecutors.newCachedThreadPool(
-            EthScheduler.class.getSimpleName() + "-BlockCreation", metricsSystem));
+            EthScheduler.class.getSimpleName() + "-BlockCreation", metricsSystem),
+        metricsSystem);
   }
 
   protected EthScheduler(
@@ -101,12 +106,34 @@ public class EthScheduler {
       final ExecutorService servicesExecutor,
       final ExecutorService computationExecutor,
       final ExecutorService blockCreationExecutor) {
+    this(
+        syncWorkerExecutor,
+        scheduler,
+        txWorkerExecutor,
+        servicesExecutor,
+        computationExecutor,
+        blockCreationExecutor,
+        new NoOpMetricsSystem());
+  }
+
+  protected EthScheduler(
+      final ExecutorService syncWorkerExecutor,
+      final ScheduledExecutorService scheduler,
+      final ExecutorService txWorkerExecutor,
+      final ExecutorService servicesExecutor,
+      final ExecutorService computationExecutor,
+      final ExecutorService blockCreationExecutor,
+      final MetricsSystem metricsSystem) {
     this.syncWorkerExecutor = syncWorkerExecutor;
     this.scheduler = scheduler;
     this.txWorkerExecutor = txWorkerExecutor;
     this.servicesExecutor = servicesExecutor;
     this.computationExecutor = computationExecutor;
     this.blockCreationExecutor = blockCreationExecutor;
+    this.senderRecovery = new SenderRecoveryService(computationExecutor);
+    this.senderRecovery.createMetrics(metricsSystem);
+    this.inboundMessageScheduler =
+        new InboundMessageScheduler(servicesExecutor, INBOUND_MESSAGE_WORKERS, metricsSystem);
   }
 
   public <T> CompletableFuture<T> scheduleSyncWorkerTask(
@@ -178,6 +205,24 @@ public class EthScheduler {
     return CompletableFuture.supplyAsync(computation, computationExecutor);
   }
 
+  /**
+   * Returns the node wide service recovering transaction senders on the computation executor.
+   *
+   * @return the sender recovery service
+   */
+  public SenderRecoveryService getSenderRecovery() {
+    return senderRecovery;
+  }
+
+  /**
+   * Returns the node wide scheduler of inbound messages, processing them on the services executor.
+   *
+   * @return the inbound message scheduler
+   */
+  public InboundMessageScheduler getInboundMessageScheduler() {
+    return inboundMessageScheduler;
+  }
+
   public CompletableFuture<Void> scheduleFutureTask(
       final Runnable command, final Duration duration) {
     final CompletableFuture<Void> promise = new CompletableFuture<>();
@@ -268,6 +313,7 @@ public class EthScheduler {
       scheduler.shutdownNow();
       servicesExecutor.shutdownNow();
       computationExecutor.shutdownNow();
+      senderRecovery.stop();
       shutdown.countDown();
     } else {
       LOG.atTrace()
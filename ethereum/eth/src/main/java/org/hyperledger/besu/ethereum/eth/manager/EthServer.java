@@ -16,7 +16,6 @@ package org.hyperledger.besu.ethereum.eth.manager;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
-import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
@@ -51,11 +50,15 @@ import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 
 class EthServer {
+  private static final long ENCODED_BLOCK_DATA_CACHE_SIZE = 64L * 1024 * 1024;
+
   private final Blockchain blockchain;
   private final WorldStateArchive worldStateArchive;
   private final TransactionPool transactionPool;
   private final EthMessages ethMessages;
   private final EthProtocolConfiguration ethereumWireProtocolConfiguration;
+  private final EncodedBlockDataCache encodedBlockDataCache =
+      new EncodedBlockDataCache(ENCODED_BLOCK_DATA_CACHE_SIZE);
 
   EthServer(
       final Blockchain blockchain,
@@ -79,6 +82,7 @@ class EthServer {
         (messageData, capability) ->
             constructGetHeadersResponse(
                 blockchain,
+                encodedBlockDataCache,
                 messageData,
                 ethereumWireProtocolConfiguration.getMaxGetBlockHeaders(),
                 maxMessageSize));
@@ -87,6 +91,7 @@ class EthServer {
         (messageData, capability) ->
             constructGetBodiesResponse(
                 blockchain,
+                encodedBlockDataCache,
                 messageData,
                 ethereumWireProtocolConfiguration.getMaxGetBlockBodies(),
                 maxMessageSize));
@@ -95,6 +100,7 @@ class EthServer {
         (messageData, capability) ->
             constructGetReceiptsResponse(
                 blockchain,
+                encodedBlockDataCache,
                 messageData,
                 ethereumWireProtocolConfiguration.getMaxGetReceipts(),
                 maxMessageSize,
@@ -119,6 +125,7 @@ class EthServer {
 
   static MessageData constructGetHeadersResponse(
       final Blockchain blockchain,
+      final EncodedBlockDataCache cache,
       final MessageData message,
       final int requestLimit,
       final int maxMessageSize) {
@@ -147,7 +154,13 @@ class EthServer {
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
     final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
     rlp.startList();
-    final Bytes firstEncodedHeader = RLP.encode(firstHeader::writeTo);
+    final Bytes firstEncodedHeader =
+        cache
+            .get(
+                EncodedBlockDataCache.Kind.HEADER,
+                firstHeader.getHash(),
+                () -> Optional.of(RLP.encode(firstHeader::writeTo)))
+            .orElseThrow();
     if (responseSizeEstimate + firstEncodedHeader.size() > maxMessageSize) {
       return BlockHeadersMessage.create(Collections.emptyList());
     }
@@ -160,18 +173,24 @@ class EthServer {
       if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
         break;
       }
-      final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
+      final Optional<Bytes> maybeHeader =
+          blockchain
+              .getBlockHashByNumber(blockNumber)
+              .flatMap(
+                  blockHash ->
+                      cache.get(
+                          EncodedBlockDataCache.Kind.HEADER,
+                          blockHash,
+                          () -> blockchain.getBlockHeaderRlp(blockHash)));
       if (maybeHeader.isEmpty()) {
         break;
       }
-      final BytesValueRLPOutput headerRlp = new BytesValueRLPOutput();
-      maybeHeader.get().writeTo(headerRlp);
-      final int encodedSize = headerRlp.encodedSize();
+      final int encodedSize = maybeHeader.get().size();
       if (responseSizeEstimate + encodedSize > maxMessageSize) {
         break;
       }
       responseSizeEstimate += encodedSize;
-      rlp.writeRaw(headerRlp.encoded());
+      rlp.writeRaw(maybeHeader.get());
     }
     rlp.endList();
 
@@ -180,6 +199,7 @@ class EthServer {
 
   static MessageData constructGetBodiesResponse(
       final Blockchain blockchain,
+      final EncodedBlockDataCache cache,
       final MessageData message,
       final int requestLimit,
       final int maxMessageSize) {
@@ -195,20 +215,19 @@ class EthServer {
         break;
       }
       count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
+      final Optional<Bytes> maybeBody =
+          cache.get(
+              EncodedBlockDataCache.Kind.BODY, hash, () -> blockchain.getBlockBodyRlp(hash));
       if (maybeBody.isEmpty()) {
         continue;
       }
 
-      final BlockBody body = maybeBody.get();
-      final BytesValueRLPOutput bodyOutput = new BytesValueRLPOutput();
-      body.writeWrappedBodyTo(bodyOutput);
-      final int encodedSize = bodyOutput.encodedSize();
+      final int encodedSize = maybeBody.get().size();
       if (responseSizeEstimate + encodedSize > maxMessageSize) {
         break;
       }
       responseSizeEstimate += encodedSize;
-      rlp.writeRaw(bodyOutput.encoded());
+      rlp.writeRaw(maybeBody.get());
     }
     rlp.endList();
     return BlockBodiesMessage.createUnsafe(rlp.encoded());
@@ -216,12 +235,22 @@ class EthServer {
 
   static MessageData constructGetReceiptsResponse(
       final Blockchain blockchain,
+      final EncodedBlockDataCache cache,
       final MessageData message,
       final int requestLimit,
       final int maxMessageSize,
       final Capability cap) {
     final GetReceiptsMessage getReceipts = GetReceiptsMessage.readFrom(message);
     final Iterable<Hash> hashes = getReceipts.hashes();
+    final boolean eth69Compatible = EthProtocol.isEth69Compatible(cap);
+    final EncodedBlockDataCache.Kind kind =
+        eth69Compatible
+            ? EncodedBlockDataCache.Kind.ETH69_RECEIPTS
+            : EncodedBlockDataCache.Kind.RECEIPTS;
+    final TransactionReceiptEncodingConfiguration encodingConfiguration =
+        eth69Compatible
+            ? TransactionReceiptEncodingConfiguration.ETH69_RECEIPT_CONFIGURATION
+            : TransactionReceiptEncodingConfiguration.DEFAULT_NETWORK_CONFIGURATION;
 
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
     final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
@@ -232,34 +261,41 @@ class EthServer {
         break;
       }
       count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
+      final Optional<Bytes> maybeReceipts =
+          cache.get(
+              kind,
+              hash,
+              () ->
+                  blockchain
+                      .getTxReceipts(hash)
+                      .map(receipts -> encodeReceipts(receipts, encodingConfiguration)));
       if (maybeReceipts.isEmpty()) {
         continue;
       }
-      final BytesValueRLPOutput encodedReceipts = new BytesValueRLPOutput();
-      encodedReceipts.startList();
-      TransactionReceiptEncodingConfiguration encodingConfiguration =
-          EthProtocol.isEth69Compatible(cap)
-              ? TransactionReceiptEncodingConfiguration.ETH69_RECEIPT_CONFIGURATION
-              : TransactionReceiptEncodingConfiguration.DEFAULT_NETWORK_CONFIGURATION;
-      maybeReceipts
-          .get()
-          .forEach(
-              r -> TransactionReceiptEncoder.writeTo(r, encodedReceipts, encodingConfiguration));
-      encodedReceipts.endList();
-      final int encodedSize = encodedReceipts.encodedSize();
+      final int encodedSize = maybeReceipts.get().size();
       if (responseSizeEstimate + encodedSize > maxMessageSize) {
         break;
       }
 
       responseSizeEstimate += encodedSize;
-      rlp.writeRaw(encodedReceipts.encoded());
+      rlp.writeRaw(maybeReceipts.get());
     }
     rlp.endList();
 
     return ReceiptsMessage.createUnsafe(rlp.encoded());
   }
 
+  private static Bytes encodeReceipts(
+      final List<TransactionReceipt> receipts,
+      final TransactionReceiptEncodingConfiguration encodingConfiguration) {
+    final BytesValueRLPOutput encodedReceipts = new BytesValueRLPOutput();
+    encodedReceipts.startList();
+    receipts.forEach(
+        r -> TransactionReceiptEncoder.writeTo(r, encodedReceipts, encodingConfiguration));
+    encodedReceipts.endList();
+    return encodedReceipts.encoded();
+  }
+
   static MessageData constructGetPooledTransactionsResponse(
       final TransactionPool transactionPool,
       final MessageData message,
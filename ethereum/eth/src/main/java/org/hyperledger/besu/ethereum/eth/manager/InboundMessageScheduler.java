@@ -0,0 +1,293 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules the processing of inbound messages off the network threads, with bounded memory and
+ * priorities, so that a flood of expensive requests cannot starve block propagation.
+ *
+ * <p>Messages are queued by {@link Priority}, each with a budget of queued message bytes, beyond
+ * which new messages of that priority are dropped. A single peer can use at most a quarter of a
+ * budget. Queued messages are processed by a bounded number of workers, which pick the next
+ * priority by weighted round-robin and, within a priority, serve the peers in turn.
+ */
+public class InboundMessageScheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(InboundMessageScheduler.class);
+  private static final int PEER_BUDGET_SHARE = 4;
+
+  /** The priorities of inbound messages, with their weight and queued bytes budget. */
+  public enum Priority {
+    /** Messages the node needs to follow the chain, like block announcements. */
+    CONSENSUS(8, 64 * 1024 * 1024),
+    /** Requests for headers, bodies and pooled transactions, that are cheap to serve. */
+    REQUEST(4, 32 * 1024 * 1024),
+    /** Requests for receipts and state, that can be expensive to serve. */
+    BULK(1, 16 * 1024 * 1024);
+
+    private final int weight;
+    private final long byteBudget;
+
+    Priority(final int weight, final long byteBudget) {
+      this.weight = weight;
+      this.byteBudget = byteBudget;
+    }
+  }
+
+  private final Executor executor;
+  private final int maxWorkers;
+  private final Map<Priority, MessageQueue> queues = new EnumMap<>(Priority.class);
+  private int workers;
+
+  private final LabelledMetric<OperationTimer> queueWaitTimer;
+  private final LabelledMetric<Counter> droppedCounter;
+
+  public InboundMessageScheduler(
+      final Executor executor, final int maxWorkers, final MetricsSystem metricsSystem) {
+    this.executor = executor;
+    this.maxWorkers = maxWorkers;
+    for (final Priority priority : Priority.values()) {
+      queues.put(priority, new MessageQueue(priority));
+    }
+
+    queueWaitTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.NETWORK,
+            "inbound_message_queue_wait_seconds",
+            "Time inbound messages wait before being processed",
+            "message");
+    droppedCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.NETWORK,
+            "inbound_messages_dropped_total",
+            "Total number of inbound messages dropped because their queue was full",
+            "message");
+    final LabelledSuppliedMetric queueDepth =
+        metricsSystem.createLabelledSuppliedGauge(
+            BesuMetricCategory.NETWORK,
+            "inbound_message_queue_depth",
+            "Number of inbound messages waiting to be processed",
+            "priority");
+    final LabelledSuppliedMetric queueBytes =
+        metricsSystem.createLabelledSuppliedGauge(
+            BesuMetricCategory.NETWORK,
+            "inbound_message_queue_bytes",
+            "Size of the inbound messages waiting to be processed",
+            "priority");
+    for (final Priority priority : Priority.values()) {
+      final String label = priority.name().toLowerCase(Locale.ROOT);
+      queueDepth.labels(() -> queuedMessages(priority), label);
+      queueBytes.labels(() -> queuedBytes(priority), label);
+    }
+  }
+
+  /**
+   * Schedules the processing of a message, unless the queue of its priority, or the share of it
+   * the peer can use, is full.
+   *
+   * @param priority the priority of the message
+   * @param peer the peer that sent the message
+   * @param messageName the name of the message, used for metrics
+   * @param size the size of the message in bytes
+   * @param handler the processing of the message
+   * @return true if the message was scheduled, false if it was dropped
+   */
+  public boolean schedule(
+      final Priority priority,
+      final EthPeer peer,
+      final String messageName,
+      final int size,
+      final Runnable handler) {
+    final Task task =
+        new Task(peer, size, handler, queueWaitTimer.labels(messageName).startTimer());
+    final boolean startWorker;
+    synchronized (this) {
+      if (!queues.get(priority).offer(task)) {
+        droppedCounter.labels(messageName).inc();
+        LOG.atTrace()
+            .setMessage("Dropping inbound {} message from {}, {} queue is full")
+            .addArgument(messageName)
+            .addArgument(peer::getLoggableId)
+            .addArgument(priority)
+            .log();
+        return false;
+      }
+      startWorker = workers < maxWorkers;
+      if (startWorker) {
+        workers++;
+      }
+    }
+    if (startWorker) {
+      startWorker();
+    }
+    return true;
+  }
+
+  private void startWorker() {
+    try {
+      executor.execute(this::processQueuedMessages);
+    } catch (final RejectedExecutionException e) {
+      LOG.atDebug().setMessage("Cannot process inbound messages: {}").addArgument(e).log();
+      synchronized (this) {
+        workers--;
+      }
+    }
+  }
+
+  private void processQueuedMessages() {
+    while (true) {
+      final Task task;
+      synchronized (this) {
+        task = pollNext();
+        if (task == null) {
+          workers--;
+          return;
+        }
+      }
+      task.queueWait().stopTimer();
+      try {
+        task.handler().run();
+      } catch (final RuntimeException e) {
+        LOG.atDebug()
+            .setMessage("Error processing inbound message from {}")
+            .addArgument(task.peer()::getLoggableId)
+            .setCause(e)
+            .log();
+      }
+    }
+  }
+
+  /** Picks the next message by weighted round-robin between the non-empty priorities. */
+  private Task pollNext() {
+    for (int round = 0; round < 2; round++) {
+      for (final MessageQueue queue : queues.values()) {
+        if (queue.credits > 0 && !queue.isEmpty()) {
+          queue.credits--;
+          return queue.poll();
+        }
+      }
+      // every non-empty priority has used its credits, start a new round
+      queues.values().forEach(queue -> queue.credits = queue.priority.weight);
+    }
+    return null;
+  }
+
+  @VisibleForTesting
+  synchronized int queuedMessages(final Priority priority) {
+    return queues.get(priority).size;
+  }
+
+  @VisibleForTesting
+  synchronized long queuedBytes(final Priority priority) {
+    return queues.get(priority).bytes;
+  }
+
+  private record Task(
+      EthPeer peer, int size, Runnable handler, OperationTimer.TimingContext queueWait) {}
+
+  /** The messages of a priority, queued per peer to serve the peers in turn. */
+  private static final class MessageQueue {
+    private final Priority priority;
+    private final Map<EthPeer, PeerQueue> peerQueues = new HashMap<>();
+    private final Queue<EthPeer> peersInTurn = new ArrayDeque<>();
+    private int credits;
+    private int size;
+    private long bytes;
+
+    private MessageQueue(final Priority priority) {
+      this.priority = priority;
+      this.credits = priority.weight;
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    boolean offer(final Task task) {
+      final PeerQueue peerQueue = peerQueues.get(task.peer());
+      final long peerBytes = peerQueue == null ? 0 : peerQueue.bytes;
+      // always accept a message when nothing is queued, whatever its size
+      if (size > 0
+          && (bytes + task.size() > priority.byteBudget
+              || peerBytes + task.size() > priority.byteBudget / PEER_BUDGET_SHARE)) {
+        return false;
+      }
+      if (peerQueue == null) {
+        final PeerQueue newPeerQueue = new PeerQueue();
+        newPeerQueue.add(task);
+        peerQueues.put(task.peer(), newPeerQueue);
+        peersInTurn.add(task.peer());
+      } else {
+        peerQueue.add(task);
+      }
+      size++;
+      bytes += task.size();
+      return true;
+    }
+
+    Task poll() {
+      final EthPeer peer = peersInTurn.poll();
+      final PeerQueue peerQueue = peerQueues.get(peer);
+      final Task task = peerQueue.poll();
+      if (peerQueue.isEmpty()) {
+        peerQueues.remove(peer);
+      } else {
+        peersInTurn.add(peer);
+      }
+      size--;
+      bytes -= task.size();
+      return task;
+    }
+  }
+
+  private static final class PeerQueue {
+    private final Queue<Task> tasks = new ArrayDeque<>();
+    private long bytes;
+
+    void add(final Task task) {
+      tasks.add(task);
+      bytes += task.size();
+    }
+
+    Task poll() {
+      final Task task = tasks.poll();
+      bytes -= task.size();
+      return task;
+    }
+
+    boolean isEmpty() {
+      return tasks.isEmpty();
+    }
+  }
+}
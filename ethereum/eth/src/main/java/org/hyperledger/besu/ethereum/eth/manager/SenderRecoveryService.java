@@ -0,0 +1,152 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recovers the senders of transactions in parallel, ahead of the code that needs them, for all the
+ * sources of transactions of the node: gossip, block propagation, sync and new payloads.
+ *
+ * <p>Transactions whose sender is already known, including from the recovered senders cache of
+ * {@link Transaction}, are skipped, and a transaction already being recovered for another caller
+ * is recovered only once. The others are split in batches that are recovered on the computation
+ * executor.
+ */
+public class SenderRecoveryService {
+  private static final Logger LOG = LoggerFactory.getLogger(SenderRecoveryService.class);
+  private static final int BATCH_SIZE = 32;
+
+  private final Executor executor;
+  private final Map<Hash, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder recovered = new LongAdder();
+  private final LongAdder alreadyKnown = new LongAdder();
+  private final LongAdder deduplicated = new LongAdder();
+
+  public SenderRecoveryService(final Executor executor) {
+    this.executor = executor;
+  }
+
+  void createMetrics(final MetricsSystem metricsSystem) {
+    metricsSystem.createCounter(
+        BesuMetricCategory.ETHEREUM,
+        "sender_recovery_recovered_total",
+        "Total number of transaction senders recovered",
+        recovered::sum);
+    metricsSystem.createCounter(
+        BesuMetricCategory.ETHEREUM,
+        "sender_recovery_cache_hits_total",
+        "Total number of transactions whose sender was already known",
+        alreadyKnown::sum);
+    metricsSystem.createCounter(
+        BesuMetricCategory.ETHEREUM,
+        "sender_recovery_deduplicated_total",
+        "Total number of transactions whose sender was being recovered for another caller",
+        deduplicated::sum);
+  }
+
+  /**
+   * Recovers the senders of the transactions in parallel. The senders are then available from the
+   * transactions, or from the recovered senders cache for other instances of the same transactions.
+   *
+   * <p>A sender that cannot be recovered is left for the transaction validation to report.
+   *
+   * @param transactions the transactions to recover the senders of
+   * @return a future completed once all the senders have been recovered, or exceptionally if the
+   *     service stops first
+   */
+  public CompletableFuture<Void> recoverSenders(final Collection<Transaction> transactions) {
+    final List<Transaction> toRecover = new ArrayList<>(transactions.size());
+    final List<CompletableFuture<Void>> pending = new ArrayList<>();
+    for (final Transaction transaction : transactions) {
+      if (transaction.isSenderKnown()) {
+        alreadyKnown.increment();
+        continue;
+      }
+      final CompletableFuture<Void> recovery = new CompletableFuture<>();
+      final CompletableFuture<Void> existing =
+          inFlight.putIfAbsent(transaction.getHash(), recovery);
+      if (existing != null) {
+        deduplicated.increment();
+        pending.add(existing);
+      } else {
+        toRecover.add(transaction);
+        pending.add(recovery);
+      }
+    }
+
+    for (final List<Transaction> batch : Lists.partition(toRecover, BATCH_SIZE)) {
+      try {
+        executor.execute(() -> recoverBatch(batch));
+      } catch (final RejectedExecutionException e) {
+        // the scheduler is stopping, callers still expect the senders to be recovered
+        recoverBatch(batch);
+      }
+    }
+    return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new));
+  }
+
+  /**
+   * Completes the pending recoveries exceptionally, since the batches still queued on the
+   * computation executor are dropped when it stops and would otherwise never complete.
+   */
+  void stop() {
+    for (final Hash hash : inFlight.keySet()) {
+      final CompletableFuture<Void> recovery = inFlight.remove(hash);
+      if (recovery != null) {
+        recovery.completeExceptionally(
+            new CancellationException("Sender recovery stopped before recovering " + hash));
+      }
+    }
+  }
+
+  private void recoverBatch(final List<Transaction> batch) {
+    for (final Transaction transaction : batch) {
+      try {
+        transaction.getSender();
+        recovered.increment();
+      } catch (final RuntimeException e) {
+        LOG.atTrace()
+            .setMessage("Cannot recover the sender of transaction {}: {}")
+            .addArgument(transaction::getHash)
+            .addArgument(e::getMessage)
+            .log();
+      } finally {
+        final CompletableFuture<Void> recovery = inFlight.remove(transaction.getHash());
+        if (recovery != null) {
+          recovery.complete(null);
+        }
+      }
+    }
+  }
+}
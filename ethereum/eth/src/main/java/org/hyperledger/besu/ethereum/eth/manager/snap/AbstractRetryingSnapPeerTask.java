@@ -0,0 +1,58 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.snap;
+
+import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeerImmutableAttributes;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
+import org.hyperledger.besu.ethereum.eth.manager.task.AbstractRetryingSwitchingPeerTask;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Retrying task for snap requests, that sends each attempt to the snap peer expected to answer it
+ * first, based on its measured latency and the requests it is already serving. Fast peers thus get
+ * several requests in flight while slow peers are only used when the fast ones are busy.
+ *
+ * @param <T> the result type of the task
+ */
+public abstract class AbstractRetryingSnapPeerTask<T> extends AbstractRetryingSwitchingPeerTask<T> {
+
+  protected AbstractRetryingSnapPeerTask(
+      final EthContext ethContext,
+      final MetricsSystem metricsSystem,
+      final Predicate<T> isEmptyResponse,
+      final int maxRetries) {
+    super(ethContext, metricsSystem, isEmptyResponse, maxRetries);
+  }
+
+  @Override
+  protected Stream<EthPeerImmutableAttributes> streamPeersToTry() {
+    final EthPeers ethPeers = getEthContext().getEthPeers();
+    return ethPeers
+        .streamAvailablePeers()
+        .filter(EthPeerImmutableAttributes::isFullyValidated)
+        .sorted(
+            EthPeers.FASTEST_SNAP_RESPONSE.thenComparing(
+                ethPeers.getBestPeerComparator().reversed()));
+  }
+
+  @Override
+  protected boolean isSuitablePeer(final EthPeerImmutableAttributes peer) {
+    return peer.isServingSnap();
+  }
+}
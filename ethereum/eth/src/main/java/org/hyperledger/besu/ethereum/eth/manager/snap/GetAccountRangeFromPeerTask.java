@@ -43,6 +43,7 @@ public class GetAccountRangeFromPeerTask
   private final Bytes32 startKeyHash;
   private final Bytes32 endKeyHash;
   private final BlockHeader blockHeader;
+  private volatile SnapRequestSizer.PendingRequest pendingRequest;
 
   private GetAccountRangeFromPeerTask(
       final EthContext ethContext,
@@ -90,7 +91,12 @@ public class GetAccountRangeFromPeerTask
                   "EthPeer that is not serving snap called in "
                       + GetAccountRangeFromPeerTask.class);
             }
-            return peer.getSnapAccountRange(blockHeader.getStateRoot(), startKeyHash, endKeyHash);
+            pendingRequest = peer.getSnapRequestSizer().startRequest();
+            return peer.getSnapAccountRange(
+                blockHeader.getStateRoot(),
+                startKeyHash,
+                endKeyHash,
+                pendingRequest.responseBytes());
           }
 
           @Override
@@ -110,6 +116,7 @@ public class GetAccountRangeFromPeerTask
       // the data we're requesting.
       return Optional.empty();
     }
+    pendingRequest.recordResponse(message.getSize());
     final AccountRangeMessage accountRangeMessage = AccountRangeMessage.readFrom(message);
     final AccountRangeMessage.AccountRangeData accountRangeData =
         accountRangeMessage.accountData(true);
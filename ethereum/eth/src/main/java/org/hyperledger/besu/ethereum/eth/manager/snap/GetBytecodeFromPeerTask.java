@@ -49,6 +49,7 @@ public class GetBytecodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes32
 
   private final List<Bytes32> codeHashes;
   private final BlockHeader blockHeader;
+  private volatile SnapRequestSizer.PendingRequest pendingRequest;
 
   private GetBytecodeFromPeerTask(
       final EthContext ethContext,
@@ -90,7 +91,9 @@ public class GetBytecodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes32
                   "EthPeer that is not serving snap called in "
                       + GetAccountRangeFromPeerTask.class);
             }
-            return peer.getSnapBytecode(blockHeader.getStateRoot(), codeHashes);
+            pendingRequest = peer.getSnapRequestSizer().startRequest();
+            return peer.getSnapBytecode(
+                blockHeader.getStateRoot(), codeHashes, pendingRequest.responseBytes());
           }
 
           @Override
@@ -110,6 +113,7 @@ public class GetBytecodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes32
       // the data we're requesting.
       return Optional.of(emptyMap());
     }
+    pendingRequest.recordResponse(message.getSize());
     final ByteCodesMessage byteCodesMessage = ByteCodesMessage.readFrom(message);
     final ArrayDeque<Bytes> bytecodes = byteCodesMessage.bytecodes(true).codes();
     if (bytecodes.size() > codeHashes.size()) {
@@ -45,6 +45,7 @@ public class GetStorageRangeFromPeerTask
   private final Bytes32 startKeyHash;
   private final Bytes32 endKeyHash;
   private final BlockHeader blockHeader;
+  private volatile SnapRequestSizer.PendingRequest pendingRequest;
 
   private GetStorageRangeFromPeerTask(
       final EthContext ethContext,
@@ -95,8 +96,13 @@ public class GetStorageRangeFromPeerTask
                   "EthPeer that is not serving snap called in "
                       + GetAccountRangeFromPeerTask.class);
             }
+            pendingRequest = peer.getSnapRequestSizer().startRequest();
             return peer.getSnapStorageRange(
-                blockHeader.getStateRoot(), accountHashes, startKeyHash, endKeyHash);
+                blockHeader.getStateRoot(),
+                accountHashes,
+                startKeyHash,
+                endKeyHash,
+                pendingRequest.responseBytes());
           }
 
           @Override
@@ -116,7 +122,7 @@ public class GetStorageRangeFromPeerTask
       // the data we're requesting.
       return Optional.empty();
     }
-
+    pendingRequest.recordResponse(message.getSize());
     return Optional.of(StorageRangeMessage.readFrom(message).slotsData(true));
   }
 }
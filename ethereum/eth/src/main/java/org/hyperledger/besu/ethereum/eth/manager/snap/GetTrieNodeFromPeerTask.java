@@ -49,6 +49,7 @@ public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes,
 
   private final List<List<Bytes>> paths;
   private final BlockHeader blockHeader;
+  private volatile SnapRequestSizer.PendingRequest pendingRequest;
 
   private GetTrieNodeFromPeerTask(
       final EthContext ethContext,
@@ -95,7 +96,9 @@ public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes,
                   "EthPeer that is not serving snap called in "
                       + GetAccountRangeFromPeerTask.class);
             }
-            return peer.getSnapTrieNode(blockHeader.getStateRoot(), paths);
+            pendingRequest = peer.getSnapRequestSizer().startRequest();
+            return peer.getSnapTrieNode(
+                blockHeader.getStateRoot(), paths, pendingRequest.responseBytes());
           }
 
           @Override
@@ -114,6 +117,7 @@ public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes,
       // the data we're requesting.
       return Optional.of(emptyMap());
     }
+    pendingRequest.recordResponse(message.getSize());
     final TrieNodesMessage trieNodes = TrieNodesMessage.readFrom(message);
     final ArrayDeque<Bytes> nodes = trieNodes.nodes(true);
     return mapNodeDataByPath(nodes);
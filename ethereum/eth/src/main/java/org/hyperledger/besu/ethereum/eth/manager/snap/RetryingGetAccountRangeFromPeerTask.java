@@ -17,8 +17,6 @@ package org.hyperledger.besu.ethereum.eth.manager.snap;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
-import org.hyperledger.besu.ethereum.eth.manager.EthPeerImmutableAttributes;
-import org.hyperledger.besu.ethereum.eth.manager.task.AbstractRetryingSwitchingPeerTask;
 import org.hyperledger.besu.ethereum.eth.manager.task.EthTask;
 import org.hyperledger.besu.ethereum.eth.messages.snap.AccountRangeMessage;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
@@ -28,7 +26,7 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.tuweni.bytes.Bytes32;
 
 public class RetryingGetAccountRangeFromPeerTask
-    extends AbstractRetryingSwitchingPeerTask<AccountRangeMessage.AccountRangeData> {
+    extends AbstractRetryingSnapPeerTask<AccountRangeMessage.AccountRangeData> {
 
   public static final int MAX_RETRIES = 4;
 
@@ -80,9 +78,4 @@ public class RetryingGetAccountRangeFromPeerTask
               return peerResult.getResult();
             });
   }
-
-  @Override
-  protected boolean isSuitablePeer(final EthPeerImmutableAttributes peer) {
-    return peer.isServingSnap();
-  }
 }
@@ -17,8 +17,6 @@ package org.hyperledger.besu.ethereum.eth.manager.snap;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
-import org.hyperledger.besu.ethereum.eth.manager.EthPeerImmutableAttributes;
-import org.hyperledger.besu.ethereum.eth.manager.task.AbstractRetryingSwitchingPeerTask;
 import org.hyperledger.besu.ethereum.eth.manager.task.EthTask;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
@@ -30,7 +28,7 @@ import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 
 public class RetryingGetBytecodeFromPeerTask
-    extends AbstractRetryingSwitchingPeerTask<Map<Bytes32, Bytes>> {
+    extends AbstractRetryingSnapPeerTask<Map<Bytes32, Bytes>> {
 
   public static final int MAX_RETRIES = 4;
 
@@ -71,9 +69,4 @@ public class RetryingGetBytecodeFromPeerTask
               return peerResult.getResult();
             });
   }
-
-  @Override
-  protected boolean isSuitablePeer(final EthPeerImmutableAttributes peer) {
-    return peer.isServingSnap();
-  }
 }
@@ -17,8 +17,6 @@ package org.hyperledger.besu.ethereum.eth.manager.snap;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
-import org.hyperledger.besu.ethereum.eth.manager.EthPeerImmutableAttributes;
-import org.hyperledger.besu.ethereum.eth.manager.task.AbstractRetryingSwitchingPeerTask;
 import org.hyperledger.besu.ethereum.eth.manager.task.EthTask;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
@@ -29,7 +27,7 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.tuweni.bytes.Bytes;
 
 public class RetryingGetTrieNodeFromPeerTask
-    extends AbstractRetryingSwitchingPeerTask<Map<Bytes, Bytes>> {
+    extends AbstractRetryingSnapPeerTask<Map<Bytes, Bytes>> {
 
   public static final int MAX_RETRIES = 4;
 
@@ -70,9 +68,4 @@ public class RetryingGetTrieNodeFromPeerTask
               return peerResult.getResult();
             });
   }
-
-  @Override
-  protected boolean isSuitablePeer(final EthPeerImmutableAttributes peer) {
-    return peer.isServingSnap();
-  }
 }
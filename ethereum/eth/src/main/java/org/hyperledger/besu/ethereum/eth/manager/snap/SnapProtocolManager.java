@@ -21,6 +21,9 @@ import org.hyperledger.besu.ethereum.eth.manager.EthMessage;
 import org.hyperledger.besu.ethereum.eth.manager.EthMessages;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.manager.InboundMessageScheduler;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncConfiguration;
 import org.hyperledger.besu.ethereum.p2p.network.ProtocolManager;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
@@ -31,6 +34,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.math.BigInteger;
 import java.util.Comparator;
@@ -48,6 +52,7 @@ public class SnapProtocolManager implements ProtocolManager {
   private final List<Capability> supportedCapabilities;
   private final EthPeers ethPeers;
   private final EthMessages snapMessages;
+  private final EthScheduler scheduler;
 
   public SnapProtocolManager(
       final WorldStateStorageCoordinator worldStateStorageCoordinator,
@@ -55,12 +60,20 @@ public class SnapProtocolManager implements ProtocolManager {
       final EthPeers ethPeers,
       final EthMessages snapMessages,
       final ProtocolContext protocolContext,
-      final Synchronizer synchronizer) {
+      final Synchronizer synchronizer,
+      final EthScheduler scheduler,
+      final MetricsSystem metricsSystem) {
     this.ethPeers = ethPeers;
     this.snapMessages = snapMessages;
+    this.scheduler = scheduler;
     this.supportedCapabilities = calculateCapabilities();
     new SnapServer(
-        snapConfig, snapMessages, worldStateStorageCoordinator, protocolContext, synchronizer);
+        snapConfig,
+        snapMessages,
+        worldStateStorageCoordinator,
+        protocolContext,
+        synchronizer,
+        metricsSystem);
   }
 
   private List<Capability> calculateCapabilities() {
@@ -116,7 +129,35 @@ public class SnapProtocolManager implements ProtocolManager {
     // This will handle responses
     ethPeers.dispatchMessage(ethPeer, ethMessage, getSupportedProtocol());
 
-    // This will handle requests
+    // This will handle requests, off the network thread since serving state can be expensive
+    if (isRequest(code)) {
+      scheduler
+          .getInboundMessageScheduler()
+          .schedule(
+              InboundMessageScheduler.Priority.BULK,
+              ethPeer,
+              SnapProtocol.get().messageName(cap.getVersion(), code),
+              messageData.getSize(),
+              () -> handleMessage(cap, ethPeer, ethMessage));
+    } else {
+      handleMessage(cap, ethPeer, ethMessage);
+    }
+  }
+
+  private static boolean isRequest(final int code) {
+    return switch (code) {
+      case SnapV1.GET_ACCOUNT_RANGE,
+          SnapV1.GET_STORAGE_RANGE,
+          SnapV1.GET_BYTECODES,
+          SnapV1.GET_TRIE_NODES ->
+          true;
+      default -> false;
+    };
+  }
+
+  private void handleMessage(
+      final Capability cap, final EthPeer ethPeer, final EthMessage ethMessage) {
+    final MessageData messageData = ethMessage.getData();
     Optional<MessageData> maybeResponseData = Optional.empty();
     try {
       final Map.Entry<BigInteger, MessageData> requestIdAndEthMessage =
@@ -0,0 +1,159 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.snap;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the snap throughput and latency of a single peer and sizes the responses requested from
+ * it accordingly.
+ *
+ * <p>The response size converges towards the amount of data the peer is able to deliver within
+ * {@link #TARGET_RESPONSE_TIME_MILLIS}: it grows while the peer answers quickly with full
+ * responses, and shrinks when it gets slow or times out. Snap servers stop filling a response once
+ * the requested size is reached, so the size also bounds the width of the range actually served.
+ */
+public class SnapRequestSizer {
+
+  public static final int MIN_RESPONSE_BYTES = 64 * 1024;
+  public static final int MAX_RESPONSE_BYTES = 2 * 1024 * 1024;
+  public static final int INITIAL_RESPONSE_BYTES =
+      AbstractSnapMessageData.SIZE_REQUEST.intValueExact();
+
+  static final long TARGET_RESPONSE_TIME_MILLIS = 2000;
+
+  // weight of a new measurement in the moving averages
+  private static final double MEASUREMENT_WEIGHT = 0.2;
+  // a response smaller than this fraction of the request was bounded by the range, not the size
+  private static final double FULL_RESPONSE_RATIO = 0.5;
+
+  private int responseBytes = INITIAL_RESPONSE_BYTES;
+  private double bytesPerMilli = 0;
+  private double latencyMillis = 0;
+
+  /**
+   * Returns the response size to request from this peer.
+   *
+   * @return the response size in bytes
+   */
+  public synchronized int responseBytes() {
+    return responseBytes;
+  }
+
+  /**
+   * Starts measuring a request about to be sent to this peer, sized for it.
+   *
+   * @return the request to record the response of
+   */
+  public PendingRequest startRequest() {
+    return new PendingRequest(responseBytes(), System.nanoTime());
+  }
+
+  /**
+   * Records a response received from this peer.
+   *
+   * @param requestedBytes the response size that was requested
+   * @param receivedBytes the size of the received response
+   * @param elapsedMillis the time between sending the request and receiving the response
+   */
+  public synchronized void recordResponse(
+      final int requestedBytes, final int receivedBytes, final long elapsedMillis) {
+    final long elapsed = Math.max(1, elapsedMillis);
+    bytesPerMilli = average(bytesPerMilli, (double) receivedBytes / elapsed);
+    latencyMillis = average(latencyMillis, elapsed);
+
+    final boolean fullResponse = receivedBytes >= requestedBytes * FULL_RESPONSE_RATIO;
+    final long targetBytes = (long) (bytesPerMilli * TARGET_RESPONSE_TIME_MILLIS);
+    if (targetBytes > responseBytes && !fullResponse) {
+      // the peer did not need the extra room, there is no evidence it can serve more
+      return;
+    }
+    // move at most by a factor of two per response so that a single outlier does not dominate
+    responseBytes = clamp(Math.max(responseBytes / 2, Math.min(2L * responseBytes, targetBytes)));
+  }
+
+  /** Records that a request sent to this peer timed out. */
+  public synchronized void recordTimeout() {
+    bytesPerMilli /= 2;
+    latencyMillis = average(latencyMillis, TARGET_RESPONSE_TIME_MILLIS * 2);
+    responseBytes = clamp(responseBytes / 2);
+  }
+
+  /**
+   * Returns the estimated throughput of this peer, in bytes per second.
+   *
+   * @return the estimated throughput, 0 if nothing was received from this peer yet
+   */
+  public synchronized long throughput() {
+    return (long) (bytesPerMilli * 1000);
+  }
+
+  /**
+   * Estimates when a new request sent to this peer would complete, given the requests it is
+   * already serving. Peers without measurements yet are estimated to complete immediately, so that
+   * they get a chance to be measured.
+   *
+   * @param outstandingRequests the number of requests the peer is currently serving
+   * @return the estimated completion time in milliseconds
+   */
+  public synchronized double estimatedCompletionMillis(final int outstandingRequests) {
+    return latencyMillis * (outstandingRequests + 1);
+  }
+
+  /** A request sent to the peer, sized by this sizer, whose response has not been recorded. */
+  public class PendingRequest {
+    private final int requestedBytes;
+    private final long startNanos;
+
+    private PendingRequest(final int requestedBytes, final long startNanos) {
+      this.requestedBytes = requestedBytes;
+      this.startNanos = startNanos;
+    }
+
+    /**
+     * Returns the response size to put in the request.
+     *
+     * @return the response size in bytes
+     */
+    public BigInteger responseBytes() {
+      return BigInteger.valueOf(requestedBytes);
+    }
+
+    /**
+     * Records the response received for this request.
+     *
+     * @param receivedBytes the size of the received response
+     */
+    public void recordResponse(final int receivedBytes) {
+      SnapRequestSizer.this.recordResponse(
+          requestedBytes,
+          receivedBytes,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+  }
+
+  private static double average(final double average, final double measurement) {
+    return average == 0
+        ? measurement
+        : (1 - MEASUREMENT_WEIGHT) * average + MEASUREMENT_WEIGHT * measurement;
+  }
+
+  private static int clamp(final long responseBytes) {
+    return (int) Math.max(MIN_RESPONSE_BYTES, Math.min(MAX_RESPONSE_BYTES, responseBytes));
+  }
+}
@@ -38,7 +38,13 @@ import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiWorldStateProvi
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.worldstate.FlatDbMode;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.BesuEvents;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -51,9 +57,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import kotlin.Pair;
 import kotlin.collections.ArrayDeque;
 import org.apache.commons.lang3.time.StopWatch;
@@ -71,6 +80,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
   private static final int MAX_RESPONSE_SIZE = 2 * 1024 * 1024;
   private static final int MAX_CODE_LOOKUPS_PER_REQUEST = 1024;
   private static final int MAX_TRIE_LOOKUPS_PER_REQUEST = 1024;
+  private static final long BOUNDARY_PROOF_CACHE_SIZE = 16L * 1024 * 1024;
   private static final AccountRangeMessage EMPTY_ACCOUNT_RANGE =
       AccountRangeMessage.create(new HashMap<>(), new ArrayDeque<>());
   private static final StorageRangeMessage EMPTY_STORAGE_RANGE =
@@ -95,12 +105,25 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
   private Function<Hash, Optional<BonsaiWorldStateKeyValueStorage>> worldStateStorageProvider =
       __ -> Optional.empty();
 
+  // peers syncing to the same root request ranges with the same boundaries
+  private final Cache<ProofKey, List<Bytes>> boundaryProofCache =
+      CacheBuilder.newBuilder()
+          .maximumWeight(BOUNDARY_PROOF_CACHE_SIZE)
+          .weigher(
+              (final ProofKey key, final List<Bytes> proof) ->
+                  proof.stream().mapToInt(Bytes::size).sum() + 3 * Bytes32.SIZE)
+          .build();
+
+  private final LabelledMetric<OperationTimer> requestTimer;
+  private final LabelledMetric<Counter> servedBytesCounter;
+
   SnapServer(
       final SnapSyncConfiguration snapConfig,
       final EthMessages snapMessages,
       final WorldStateStorageCoordinator worldStateStorageCoordinator,
       final ProtocolContext protocolContext,
-      final Synchronizer synchronizer) {
+      final Synchronizer synchronizer,
+      final MetricsSystem metricsSystem) {
     this.snapServerEnabled =
         Optional.ofNullable(snapConfig)
             .map(SnapSyncConfiguration::isSnapServerEnabled)
@@ -108,6 +131,8 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
     this.snapMessages = snapMessages;
     this.worldStateStorageCoordinator = worldStateStorageCoordinator;
     this.protocolContext = Optional.of(protocolContext);
+    this.requestTimer = createRequestTimer(metricsSystem);
+    this.servedBytesCounter = createServedBytesCounter(metricsSystem);
     registerResponseConstructors();
 
     // subscribe to initial sync completed events to start/stop snap server,
@@ -129,6 +154,27 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
     this.worldStateStorageCoordinator = worldStateStorageCoordinator;
     this.worldStateStorageProvider = worldStateStorageProvider;
     this.protocolContext = Optional.empty();
+    final MetricsSystem metricsSystem = new NoOpMetricsSystem();
+    this.requestTimer = createRequestTimer(metricsSystem);
+    this.servedBytesCounter = createServedBytesCounter(metricsSystem);
+  }
+
+  private static LabelledMetric<OperationTimer> createRequestTimer(
+      final MetricsSystem metricsSystem) {
+    return metricsSystem.createLabelledTimer(
+        BesuMetricCategory.SYNCHRONIZER,
+        "snap_server_request_duration_seconds",
+        "Time spent serving snap requests",
+        "request");
+  }
+
+  private static LabelledMetric<Counter> createServedBytesCounter(
+      final MetricsSystem metricsSystem) {
+    return metricsSystem.createLabelledCounter(
+        BesuMetricCategory.SYNCHRONIZER,
+        "snap_server_served_bytes_total",
+        "Total size of the snap responses served",
+        "request");
   }
 
   @Override
@@ -190,22 +236,35 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
 
   public synchronized SnapServer stop() {
     isStarted.set(false);
+    boundaryProofCache.invalidateAll();
     return this;
   }
 
   private void registerResponseConstructors() {
+    registerResponseConstructor(
+        SnapV1.GET_ACCOUNT_RANGE, "account_range", this::constructGetAccountRangeResponse);
+    registerResponseConstructor(
+        SnapV1.GET_STORAGE_RANGE, "storage_range", this::constructGetStorageRangeResponse);
+    registerResponseConstructor(
+        SnapV1.GET_BYTECODES, "bytecodes", this::constructGetBytecodesResponse);
+    registerResponseConstructor(
+        SnapV1.GET_TRIE_NODES, "trie_nodes", this::constructGetTrieNodesResponse);
+  }
+
+  private void registerResponseConstructor(
+      final int code,
+      final String request,
+      final Function<MessageData, MessageData> responseConstructor) {
     snapMessages.registerResponseConstructor(
-        SnapV1.GET_ACCOUNT_RANGE,
-        (messageData, capability) -> constructGetAccountRangeResponse(messageData));
-    snapMessages.registerResponseConstructor(
-        SnapV1.GET_STORAGE_RANGE,
-        (messageData, capability) -> constructGetStorageRangeResponse(messageData));
-    snapMessages.registerResponseConstructor(
-        SnapV1.GET_BYTECODES,
-        (messageData, capability) -> constructGetBytecodesResponse(messageData));
-    snapMessages.registerResponseConstructor(
-        SnapV1.GET_TRIE_NODES,
-        (messageData, capability) -> constructGetTrieNodesResponse(messageData));
+        code,
+        (messageData, capability) -> {
+          try (final OperationTimer.TimingContext ignored =
+              requestTimer.labels(request).startTimer()) {
+            final MessageData response = responseConstructor.apply(messageData);
+            servedBytesCounter.labels(request).inc(response.getSize());
+            return response;
+          }
+        });
   }
 
   MessageData constructGetAccountRangeResponse(final MessageData message) {
@@ -268,13 +327,21 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                 final var worldStateProof =
                     new WorldStateProofProvider(new WorldStateStorageCoordinator(storage));
                 final List<Bytes> proof =
-                    worldStateProof.getAccountProofRelatedNodes(
-                        range.worldStateRootHash(), Hash.wrap(range.startKeyHash()));
+                    new ArrayList<>(
+                        getBoundaryProof(
+                            new ProofKey(range.worldStateRootHash(), range.startKeyHash(), null),
+                            () ->
+                                worldStateProof.getAccountProofRelatedNodes(
+                                    range.worldStateRootHash(), Hash.wrap(range.startKeyHash()))));
 
                 if (!accounts.isEmpty()) {
+                  final Bytes32 lastKey = accounts.lastKey();
                   proof.addAll(
-                      worldStateProof.getAccountProofRelatedNodes(
-                          range.worldStateRootHash(), Hash.wrap(accounts.lastKey())));
+                      getBoundaryProof(
+                          new ProofKey(range.worldStateRootHash(), lastKey, null),
+                          () ->
+                              worldStateProof.getAccountProofRelatedNodes(
+                                  range.worldStateRootHash(), Hash.wrap(lastKey))));
                 }
                 var resp = AccountRangeMessage.create(accounts, proof);
                 if (accounts.isEmpty()) {
@@ -396,18 +463,26 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                   // request limits, send proofs:
                   if (isPartialRange || !predicate.shouldGetMore()) {
                     // send a proof for the left side range origin
+                    final Bytes32 startKey = startKeyBytes;
                     proofNodes.addAll(
-                        worldStateProof.getStorageProofRelatedNodes(
-                            getAccountStorageRoot(forAccountHash, storage),
-                            forAccountHash,
-                            Hash.wrap(startKeyBytes)));
+                        getBoundaryProof(
+                            new ProofKey(range.worldStateRootHash(), forAccountHash, startKey),
+                            () ->
+                                worldStateProof.getStorageProofRelatedNodes(
+                                    getAccountStorageRoot(forAccountHash, storage),
+                                    forAccountHash,
+                                    Hash.wrap(startKey))));
                     if (!accountStorages.isEmpty()) {
                       // send a proof for the last key on the right
+                      final Bytes32 lastKey = accountStorages.lastKey();
                       proofNodes.addAll(
-                          worldStateProof.getStorageProofRelatedNodes(
-                              getAccountStorageRoot(forAccountHash, storage),
-                              forAccountHash,
-                              Hash.wrap(accountStorages.lastKey())));
+                          getBoundaryProof(
+                              new ProofKey(range.worldStateRootHash(), forAccountHash, lastKey),
+                              () ->
+                                  worldStateProof.getStorageProofRelatedNodes(
+                                      getAccountStorageRoot(forAccountHash, storage),
+                                      forAccountHash,
+                                      Hash.wrap(lastKey))));
                     }
                   }
 
@@ -458,6 +533,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
 
     try {
       List<Bytes> codeBytes = new ArrayDeque<>();
+      int codeBytesSize = 0;
       var codeHashList =
           (codeHashes.hashes().size() < MAX_CODE_LOOKUPS_PER_REQUEST)
               ? codeHashes.hashes()
@@ -469,11 +545,12 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
           Optional<Bytes> optCode = worldStateStorageCoordinator.getCode(Hash.wrap(codeHash), null);
           if (optCode.isPresent()) {
             if (!codeBytes.isEmpty()
-                && (sumListBytes(codeBytes) + optCode.get().size() > maxResponseBytes
+                && (withEncodingOverhead(codeBytesSize) + optCode.get().size() > maxResponseBytes
                     || stopWatch.getTime() > ResponseSizePredicate.MAX_MILLIS_PER_REQUEST)) {
               break;
             }
             codeBytes.add(optCode.get());
+            codeBytesSize += optCode.get().size();
           }
         }
       }
@@ -513,6 +590,7 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
               storage -> {
                 LOGGER.trace("obtained worldstate in {}", stopWatch);
                 ArrayList<Bytes> trieNodes = new ArrayList<>();
+                int trieNodesSize = 0;
                 var triePathList =
                     triePaths.paths().size() < MAX_TRIE_LOOKUPS_PER_REQUEST
                         ? triePaths.paths()
@@ -528,12 +606,13 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                     }
                     var trieNode = optStorage.orElse(Bytes.EMPTY);
                     if (!trieNodes.isEmpty()
-                        && (sumListBytes(trieNodes) + trieNode.size() > maxResponseBytes
+                        && (withEncodingOverhead(trieNodesSize) + trieNode.size() > maxResponseBytes
                             || stopWatch.getTime(TimeUnit.MILLISECONDS)
                                 > ResponseSizePredicate.MAX_MILLIS_PER_REQUEST)) {
                       break;
                     }
                     trieNodes.add(trieNode);
+                    trieNodesSize += trieNode.size();
                   } else {
                     // There must be at least one element in the path otherwise it is invalid
                     if (triePath.isEmpty()) {
@@ -560,10 +639,14 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
                       }
                       var trieNode = optStorage.orElse(Bytes.EMPTY);
                       if (!trieNodes.isEmpty()
-                          && sumListBytes(trieNodes) + trieNode.size() > maxResponseBytes) {
+                          && (withEncodingOverhead(trieNodesSize) + trieNode.size()
+                                  > maxResponseBytes
+                              || stopWatch.getTime(TimeUnit.MILLISECONDS)
+                                  > ResponseSizePredicate.MAX_MILLIS_PER_REQUEST)) {
                         break;
                       }
                       trieNodes.add(trieNode);
+                      trieNodesSize += trieNode.size();
                     }
                   }
                 }
@@ -690,9 +773,25 @@ class SnapServer implements BesuEvents.InitialSyncCompletionListener {
         .orElse(Hash.EMPTY_TRIE_HASH);
   }
 
-  private static int sumListBytes(final List<Bytes> listOfBytes) {
+  private List<Bytes> getBoundaryProof(final ProofKey key, final Supplier<List<Bytes>> prover) {
+    final List<Bytes> cached = boundaryProofCache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    final List<Bytes> proof = List.copyOf(prover.get());
+    boundaryProofCache.put(key, proof);
+    return proof;
+  }
+
+  /**
+   * The key of a range boundary proof: the proof of an account when {@code slotHash} is null, or
+   * of a slot of the account storage otherwise.
+   */
+  private record ProofKey(Hash worldStateRootHash, Bytes32 accountHash, Bytes32 slotHash) {}
+
+  private static int withEncodingOverhead(final int size) {
     // TODO: remove hack, 10% is a fudge factor to account for the overhead of rlp encoding
-    return listOfBytes.stream().map(Bytes::size).reduce((a, b) -> a + b).orElse(0) * 11 / 10;
+    return size * 11 / 10;
   }
 
   private static String asLogHash(final Bytes32 hash) {
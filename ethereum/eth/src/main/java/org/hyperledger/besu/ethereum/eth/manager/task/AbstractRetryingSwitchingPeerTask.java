@@ -28,6 +28,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -127,14 +128,21 @@ public abstract class AbstractRetryingSwitchingPeerTask<T> extends AbstractRetry
   }
 
   protected Optional<EthPeer> nextPeerToTry() {
-    return getEthContext()
-        .getEthPeers()
-        .streamBestPeers()
+    return streamPeersToTry()
         .filter((peer) -> isSuitablePeer(peer) && !triedPeers.contains(peer.ethPeer()))
         .map(EthPeerImmutableAttributes::ethPeer)
         .findFirst();
   }
 
+  /**
+   * Streams the peers this task can be executed on, in order of preference.
+   *
+   * @return the candidate peers, best first
+   */
+  protected Stream<EthPeerImmutableAttributes> streamPeersToTry() {
+    return getEthContext().getEthPeers().streamBestPeers();
+  }
+
   private void refreshPeers() {
     final EthPeers peers = getEthContext().getEthPeers();
     // If we are at max connections, then refresh peers disconnecting one of the failed peers,
@@ -56,7 +56,8 @@ public class BodyIdentifier {
   }
 
   public BodyIdentifier(final BlockBody body) {
-    this(body.getTransactions(), body.getOmmers(), body.getWithdrawals());
+    // reuses the roots memoized in the body, so that they are not computed again on import
+    this(body.getTransactionsRoot(), body.getOmmersHash(), body.getWithdrawalsRoot().orElse(null));
   }
 
   public BodyIdentifier(final SyncBlockBody syncBody) {
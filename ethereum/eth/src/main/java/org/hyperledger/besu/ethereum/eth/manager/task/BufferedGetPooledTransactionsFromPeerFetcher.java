@@ -79,8 +79,9 @@ public class BufferedGetPooledTransactionsFromPeerFetcher {
   public void requestTransactions() {
     List<Hash> txHashesAnnounced;
     while (!(txHashesAnnounced = getTxHashesAnnounced()).isEmpty()) {
+      final List<Hash> requestedHashes = txHashesAnnounced;
       final GetPooledTransactionsFromPeerTask task =
-          new GetPooledTransactionsFromPeerTask(txHashesAnnounced);
+          new GetPooledTransactionsFromPeerTask(requestedHashes);
       ethContext
           .getScheduler()
           .scheduleServiceTask(
@@ -105,7 +106,9 @@ public class BufferedGetPooledTransactionsFromPeerFetcher {
                     .log();
 
                 transactionPool.addRemoteTransactions(retrievedTransactions);
-              });
+              })
+          .whenComplete(
+              (unused, error) -> transactionTracker.releaseTransactionRequests(requestedHashes));
     }
   }
 
@@ -115,24 +118,31 @@ public class BufferedGetPooledTransactionsFromPeerFetcher {
 
   private List<Hash> getTxHashesAnnounced() {
     final List<Hash> toRetrieve = new ArrayList<>(MAX_HASHES);
+    final List<Hash> requestedFromOtherPeers = new ArrayList<>();
     int discarded = 0;
     while (toRetrieve.size() < MAX_HASHES && !txAnnounces.isEmpty()) {
       final Hash txHashAnnounced = txAnnounces.poll();
-      if (!transactionTracker.hasSeenTransaction(txHashAnnounced)) {
+      if (transactionTracker.hasSeenTransaction(txHashAnnounced)) {
+        discarded++;
+      } else if (transactionTracker.claimTransactionRequest(txHashAnnounced)) {
         toRetrieve.add(txHashAnnounced);
       } else {
-        discarded++;
+        requestedFromOtherPeers.add(txHashAnnounced);
       }
     }
+    // retry on the next run, in case the pending request to another peer does not deliver them
+    txAnnounces.addAll(requestedFromOtherPeers);
 
     final int alreadySeenCount = discarded;
     metrics.incrementAlreadySeenTransactions(metricLabel, alreadySeenCount);
     LOG.atTrace()
         .setMessage(
-            "Transaction hashes to request from peer {} fresh count {}, already seen count {}")
+            "Transaction hashes to request from peer {} fresh count {}, already seen count {}"
+                + ", requested from other peers count {}")
         .addArgument(peer::getLoggableId)
         .addArgument(toRetrieve::size)
         .addArgument(alreadySeenCount)
+        .addArgument(requestedFromOtherPeers::size)
         .log();
 
     return toRetrieve;
@@ -54,7 +54,22 @@ public final class GetStorageRangeMessage extends AbstractSnapMessageData {
       final List<Bytes32> accountHashes,
       final Bytes32 startKeyHash,
       final Bytes32 endKeyHash) {
-    return create(Optional.empty(), worldStateRootHash, accountHashes, startKeyHash, endKeyHash);
+    return create(worldStateRootHash, accountHashes, startKeyHash, endKeyHash, SIZE_REQUEST);
+  }
+
+  public static GetStorageRangeMessage create(
+      final Hash worldStateRootHash,
+      final List<Bytes32> accountHashes,
+      final Bytes32 startKeyHash,
+      final Bytes32 endKeyHash,
+      final BigInteger responseBytes) {
+    return create(
+        Optional.empty(),
+        worldStateRootHash,
+        accountHashes,
+        startKeyHash,
+        endKeyHash,
+        responseBytes);
   }
 
   public static GetStorageRangeMessage create(
@@ -62,7 +77,8 @@ public final class GetStorageRangeMessage extends AbstractSnapMessageData {
       final Hash worldStateRootHash,
       final List<Bytes32> accountHashes,
       final Bytes32 startKeyHash,
-      final Bytes32 endKeyHash) {
+      final Bytes32 endKeyHash,
+      final BigInteger responseBytes) {
     final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
     tmp.startList();
     requestId.ifPresent(tmp::writeBigIntegerScalar);
@@ -70,7 +86,7 @@ public final class GetStorageRangeMessage extends AbstractSnapMessageData {
     tmp.writeList(accountHashes, (hash, rlpOutput) -> rlpOutput.writeBytes(hash));
     tmp.writeBytes(startKeyHash);
     tmp.writeBytes(endKeyHash);
-    tmp.writeBigIntegerScalar(SIZE_REQUEST);
+    tmp.writeBigIntegerScalar(responseBytes);
     tmp.endList();
     return new GetStorageRangeMessage(tmp.encoded());
   }
@@ -83,7 +99,8 @@ public final class GetStorageRangeMessage extends AbstractSnapMessageData {
             range.worldStateRootHash(),
             range.hashes(),
             range.startKeyHash(),
-            range.endKeyHash())
+            range.endKeyHash(),
+            range.responseBytes())
         .getData();
   }
 
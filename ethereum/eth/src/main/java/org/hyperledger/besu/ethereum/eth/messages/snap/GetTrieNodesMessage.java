@@ -49,13 +49,21 @@ public final class GetTrieNodesMessage extends AbstractSnapMessageData {
 
   public static GetTrieNodesMessage create(
       final Hash worldStateRootHash, final List<List<Bytes>> requests) {
-    return create(Optional.empty(), worldStateRootHash, requests);
+    return create(worldStateRootHash, requests, SIZE_REQUEST);
+  }
+
+  public static GetTrieNodesMessage create(
+      final Hash worldStateRootHash,
+      final List<List<Bytes>> requests,
+      final BigInteger responseBytes) {
+    return create(Optional.empty(), worldStateRootHash, requests, responseBytes);
   }
 
   public static GetTrieNodesMessage create(
       final Optional<BigInteger> requestId,
       final Hash worldStateRootHash,
-      final List<List<Bytes>> paths) {
+      final List<List<Bytes>> paths,
+      final BigInteger responseBytes) {
     final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
     tmp.startList();
     requestId.ifPresent(tmp::writeBigIntegerScalar);
@@ -64,7 +72,7 @@ public final class GetTrieNodesMessage extends AbstractSnapMessageData {
         paths,
         (path, rlpOutput) ->
             rlpOutput.writeList(path, (b, subRlpOutput) -> subRlpOutput.writeBytes(b)));
-    tmp.writeBigIntegerScalar(SIZE_REQUEST);
+    tmp.writeBigIntegerScalar(responseBytes);
     tmp.endList();
     return new GetTrieNodesMessage(tmp.encoded());
   }
@@ -72,7 +80,12 @@ public final class GetTrieNodesMessage extends AbstractSnapMessageData {
   @Override
   protected Bytes wrap(final BigInteger requestId) {
     final TrieNodesPaths paths = paths(false);
-    return create(Optional.of(requestId), paths.worldStateRootHash(), paths.paths()).getData();
+    return create(
+            Optional.of(requestId),
+            paths.worldStateRootHash(),
+            paths.paths(),
+            paths.responseBytes())
+        .getData();
   }
 
   @Override
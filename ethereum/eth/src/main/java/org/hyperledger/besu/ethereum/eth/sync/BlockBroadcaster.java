@@ -17,11 +17,19 @@ package org.hyperledger.besu.ethereum.eth.sync;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeerImmutableAttributes;
+import org.hyperledger.besu.ethereum.eth.messages.NewBlockHashesMessage;
+import org.hyperledger.besu.ethereum.eth.messages.NewBlockHashesMessage.NewBlockHash;
 import org.hyperledger.besu.ethereum.eth.messages.NewBlockMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.util.Subscribers;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +54,12 @@ public class BlockBroadcaster {
     blockPropagatedSubscribers.unsubscribe(id);
   }
 
+  /**
+   * Sends a block produced by this node to all the peers that have not seen it yet.
+   *
+   * @param block the block to send
+   * @param totalDifficulty the total difficulty of the chain ending with the block
+   */
   public void propagate(final Block block, final Difficulty totalDifficulty) {
     blockPropagatedSubscribers.forEach(listener -> listener.accept(block, totalDifficulty));
     final NewBlockMessage newBlockMessage;
@@ -55,20 +69,55 @@ public class BlockBroadcaster {
       LOG.error("Failed to create block", e);
       return;
     }
-    ethContext
+    peersNotHavingSeen(block).forEach(ethPeer -> send(ethPeer, block, newBlockMessage));
+  }
+
+  /**
+   * Relays a block received from the network, once its header is validated. As recommended by the
+   * eth protocol, the full block is sent to the square root of the peers that have not seen it yet,
+   * and only its hash is announced to the others, which request the block if they still need it.
+   *
+   * @param block the block to relay
+   * @param totalDifficulty the total difficulty of the chain ending with the block
+   */
+  public void relay(final Block block, final Difficulty totalDifficulty) {
+    blockPropagatedSubscribers.forEach(listener -> listener.accept(block, totalDifficulty));
+    final NewBlockMessage newBlockMessage;
+    try {
+      newBlockMessage = NewBlockMessage.create(block, totalDifficulty, this.maxMessageSize);
+    } catch (final IllegalArgumentException e) {
+      LOG.error("Failed to create block", e);
+      return;
+    }
+    final NewBlockHashesMessage newBlockHashesMessage =
+        NewBlockHashesMessage.create(
+            List.of(new NewBlockHash(block.getHash(), block.getHeader().getNumber())));
+
+    final List<EthPeer> peers = new ArrayList<>(peersNotHavingSeen(block));
+    // pick the peers receiving the full block at random, not to always load the same ones
+    Collections.shuffle(peers);
+    final int fullBlockPeers = (int) Math.ceil(Math.sqrt(peers.size()));
+    for (int i = 0; i < peers.size(); i++) {
+      send(peers.get(i), block, i < fullBlockPeers ? newBlockMessage : newBlockHashesMessage);
+    }
+  }
+
+  private List<EthPeer> peersNotHavingSeen(final Block block) {
+    return ethContext
         .getEthPeers()
         .streamAvailablePeers()
         .map(EthPeerImmutableAttributes::ethPeer)
         .filter(ethPeer -> !ethPeer.hasSeenBlock(block.getHash()))
-        .forEach(
-            ethPeer -> {
-              ethPeer.registerKnownBlock(block.getHash());
-              try {
-                ethPeer.send(newBlockMessage);
-              } catch (final PeerConnection.PeerNotConnected e) {
-                LOG.trace("Failed to broadcast new block to peer", e);
-              }
-            });
+        .toList();
+  }
+
+  private void send(final EthPeer ethPeer, final Block block, final MessageData message) {
+    ethPeer.registerKnownBlock(block.getHash());
+    try {
+      ethPeer.send(message);
+    } catch (final PeerConnection.PeerNotConnected e) {
+      LOG.trace("Failed to broadcast new block to peer", e);
+    }
   }
 
   @FunctionalInterface
@@ -51,8 +51,11 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.data.AddedBlockContext.EventType;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
 import java.time.Duration;
 import java.util.ArrayList;
@@ -71,6 +74,8 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
 import org.apache.tuweni.bytes.Bytes;
@@ -79,6 +84,10 @@ import org.slf4j.LoggerFactory;
 
 public class BlockPropagationManager implements UnverifiedForkchoiceListener {
   private static final Logger LOG = LoggerFactory.getLogger(BlockPropagationManager.class);
+  private static final int MAX_AHEAD_HEADER_VALIDATIONS = 128;
+  private static final double[] PROPAGATION_LATENCY_BUCKETS = {
+    0.1, 0.25, 0.5, 1, 2, 4, 8, 16, 32, 64
+  };
   private final SynchronizerConfiguration config;
   private final ProtocolSchedule protocolSchedule;
   private final ProtocolContext protocolContext;
@@ -94,6 +103,10 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
   private Optional<Long> onBlockAddedSId = Optional.empty();
   private Optional<Long> newBlockSId;
   private Optional<Long> newBlockHashesSId;
+  // header validations started while the body of their block is downloaded
+  private final Cache<Hash, CompletableFuture<Boolean>> aheadHeaderValidations =
+      CacheBuilder.newBuilder().maximumSize(MAX_AHEAD_HEADER_VALIDATIONS).build();
+  private final LabelledMetric<Histogram> propagationLatency;
 
   BlockPropagationManager(
       final SynchronizerConfiguration config,
@@ -138,6 +151,13 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
     this.getBlockTimeoutMillis =
         Duration.ofMillis(config.getPropagationManagerGetBlockTimeoutMillis());
     this.processingBlocksManager = processingBlocksManager;
+    this.propagationLatency =
+        metricsSystem.createLabelledHistogram(
+            BesuMetricCategory.SYNCHRONIZER,
+            "block_propagation_latency_seconds",
+            "Time from the timestamp of blocks to when they are received, relayed and imported",
+            PROPAGATION_LATENCY_BUCKETS,
+            "stage");
   }
 
   public void start() {
@@ -221,14 +241,10 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
    * @return true if block has any pending child
    */
   private boolean maybeProcessPendingChildrenBlocks(final BlockHeader header) {
-    final List<Block> readyForImport;
-    synchronized (pendingBlocksManager) {
-      // Remove block from pendingBlocks list
-      pendingBlocksManager.deregisterPendingBlock(header);
-
-      // Import any pending blocks that are children of the newly added block
-      readyForImport = pendingBlocksManager.childrenOf(header.getHash());
-    }
+    // Remove block from pendingBlocks list, and import any pending blocks that are children of the
+    // newly added block
+    final List<Block> readyForImport =
+        pendingBlocksManager.deregisterPendingBlockAndGetChildren(header);
 
     if (!readyForImport.isEmpty()) {
 
@@ -340,6 +356,12 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
         return;
       }
 
+      observePropagationLatency("received", block.getHeader());
+      // start recovering the senders while the block is validated and its parent checked
+      ethContext
+          .getScheduler()
+          .getSenderRecovery()
+          .recoverSenders(block.getBody().getTransactions());
       importOrSavePendingBlock(block, message.getPeer().nodeId());
     } catch (final RLPException e) {
       LOG.debug(
@@ -543,12 +565,18 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
     return ethContext
         .getScheduler()
         .scheduleServiceTask(() -> getBlockHeader(maybePreferredPeer, blockNumber, maybeBlockHash))
-        .thenApply((blockHeader) -> getBlock(maybePreferredPeer, blockHeader))
+        .thenApply(
+            (blockHeader) -> {
+              validateHeaderAhead(blockHeader);
+              return getBlock(maybePreferredPeer, blockHeader);
+            })
         .thenCompose(
-            blockExecutorResult ->
-                importOrSavePendingBlock(
-                    blockExecutorResult.result().get().getFirst(),
-                    blockExecutorResult.ethPeers().getLast().nodeId()))
+            blockExecutorResult -> {
+              final Block block = blockExecutorResult.result().get().getFirst();
+              observePropagationLatency("received", block.getHeader());
+              return importOrSavePendingBlock(
+                  block, blockExecutorResult.ethPeers().getLast().nodeId());
+            })
         .orTimeout(getBlockTimeoutMillis.toMillis(), TimeUnit.MILLISECONDS);
   }
 
@@ -585,6 +613,35 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
     }
   }
 
+  /**
+   * Starts the validation of a header, when its parent is known, on the computation executor so
+   * that it runs while the body of the block is downloaded.
+   */
+  private void validateHeaderAhead(final BlockHeader header) {
+    final Optional<BlockHeader> maybeParent =
+        protocolContext.getBlockchain().getBlockHeader(header.getParentHash());
+    if (maybeParent.isEmpty()) {
+      // the header is validated once its parent is imported
+      return;
+    }
+    final BlockHeaderValidator blockHeaderValidator =
+        protocolSchedule.getByBlockHeader(header).getBlockHeaderValidator();
+    aheadHeaderValidations
+        .asMap()
+        .computeIfAbsent(
+            header.getHash(),
+            hash ->
+                ethContext
+                    .getScheduler()
+                    .scheduleComputationTask(
+                        () ->
+                            blockHeaderValidator.validateHeader(
+                                header,
+                                maybeParent.get(),
+                                protocolContext,
+                                HeaderValidationMode.FULL)));
+  }
+
   private PeerTaskExecutorResult<List<Block>> getBlock(
       final Optional<EthPeer> maybePreferredPeer, final BlockHeader blockHeader) {
     GetBodiesFromPeerTask bodiesTask =
@@ -614,7 +671,13 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
             .getTotalDifficultyByHash(parent.getHash())
             .get()
             .add(block.getHeader().getDifficulty());
-    blockBroadcaster.propagate(block, totalDifficulty);
+    blockBroadcaster.relay(block, totalDifficulty);
+    observePropagationLatency("relayed", block.getHeader());
+  }
+
+  private void observePropagationLatency(final String stage, final BlockHeader header) {
+    final double latency = System.currentTimeMillis() / 1000.0 - header.getTimestamp();
+    propagationLatency.labels(stage).observe(Math.max(latency, 0));
   }
 
   @VisibleForTesting
@@ -681,16 +744,14 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
    * @return true if the block was added (was not previously present)
    */
   private boolean savePendingBlock(final Block block, final Bytes nodeId) {
-    synchronized (pendingBlocksManager) {
-      if (pendingBlocksManager.registerPendingBlock(block, nodeId)) {
-        LOG.info(
-            "Saved announced block for future import {} - {} saved block(s)",
-            block.toLogString(),
-            pendingBlocksManager.size());
-        return true;
-      }
-      return false;
+    if (pendingBlocksManager.registerPendingBlock(block, nodeId)) {
+      LOG.info(
+          "Saved announced block for future import {} - {} saved block(s)",
+          block.toLogString(),
+          pendingBlocksManager.size());
+      return true;
     }
+    return false;
   }
 
   /**
@@ -721,19 +782,36 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
       final BlockHeader parent,
       final BadBlockManager badBlockManager) {
     final HeaderValidationMode validationMode = HeaderValidationMode.FULL;
-    if (blockHeaderValidator.validateHeader(
-        block.getHeader(), parent, protocolContext, validationMode)) {
-      ethContext.getScheduler().scheduleSyncWorkerTask(() -> broadcastBlock(block, parent));
-      return runImportTask(block);
-    } else {
-      processingBlocksManager.registerBlockImportDone(block.getHash());
-      final String description = String.format("Failed header validation (%s)", validationMode);
-      badBlockManager.addBadBlock(block, BadBlockCause.fromValidationFailure(description));
-      LOG.warn(
-          "Added to bad block manager for invalid header, failed to import announced block {}",
-          block.toLogString());
-      return CompletableFuture.completedFuture(block);
-    }
+    final Supplier<Boolean> validateHeader =
+        () ->
+            blockHeaderValidator.validateHeader(
+                block.getHeader(), parent, protocolContext, validationMode);
+    // use the validation started while the body was downloaded, if any
+    final CompletableFuture<Boolean> aheadHeaderValidation =
+        aheadHeaderValidations.asMap().remove(block.getHash());
+    final CompletableFuture<Boolean> headerValidation =
+        aheadHeaderValidation == null
+            ? CompletableFuture.completedFuture(validateHeader.get())
+            : aheadHeaderValidation.handle(
+                (valid, throwable) -> throwable == null ? valid : validateHeader.get());
+    return headerValidation.thenCompose(
+        valid -> {
+          if (valid) {
+            // relay the block as soon as its header is valid, without waiting for its import
+            ethContext.getScheduler().scheduleSyncWorkerTask(() -> broadcastBlock(block, parent));
+            return runImportTask(block);
+          } else {
+            processingBlocksManager.registerBlockImportDone(block.getHash());
+            final String description =
+                String.format("Failed header validation (%s)", validationMode);
+            badBlockManager.addBadBlock(block, BadBlockCause.fromValidationFailure(description));
+            LOG.warn(
+                "Added to bad block manager for invalid header, "
+                    + "failed to import announced block {}",
+                block.toLogString());
+            return CompletableFuture.completedFuture(block);
+          }
+        });
   }
 
   private CompletableFuture<Block> runImportTask(final Block block) {
@@ -752,6 +830,8 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
               processingBlocksManager.registerBlockImportDone(block.getHash());
               if (throwable != null) {
                 LOG.warn("Failed to import announced block {}", block.toLogString());
+              } else {
+                observePropagationLatency("imported", block.getHeader());
               }
             });
   }
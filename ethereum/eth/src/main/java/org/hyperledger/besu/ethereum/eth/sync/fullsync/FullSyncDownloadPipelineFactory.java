@@ -33,9 +33,12 @@ import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 
 import org.slf4j.Logger;
@@ -107,10 +110,21 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
     final RangeHeadersValidationStep validateHeadersJoinUpStep = new RangeHeadersValidationStep();
     final DownloadBodiesStep downloadBodiesStep =
         new DownloadBodiesStep(protocolSchedule, ethContext, syncConfig, metricsSystem);
-    final ExtractTxSignaturesStep extractTxSignaturesStep = new ExtractTxSignaturesStep();
+    final LabelledMetric<OperationTimer> blockStepTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.SYNCHRONIZER,
+            "full_sync_block_step_duration_seconds",
+            "Time spent on a single block by each block processing step of the full sync pipeline",
+            "step");
+    final PrepareBlocksStep prepareBlocksStep =
+        new PrepareBlocksStep(ethContext.getScheduler(), blockStepTimer.labels("prepareBlock"));
     final FullImportBlockStep importBlockStep =
         new FullImportBlockStep(
-            protocolSchedule, protocolContext, ethContext, fullSyncTerminationCondition);
+            protocolSchedule,
+            protocolContext,
+            ethContext,
+            fullSyncTerminationCondition,
+            blockStepTimer.labels("importBlock"));
 
     return PipelineBuilder.createPipelineFrom(
             "fetchCheckpoints",
@@ -128,7 +142,8 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
         .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
         .inBatches(headerRequestSize)
         .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
-        .thenFlatMap("extractTxSignatures", extractTxSignaturesStep, singleHeaderBufferSize)
+        .thenProcessAsyncOrdered("prepareBlocks", prepareBlocksStep, downloaderParallelism)
+        .thenFlatMap("flattenBlocks", List::stream, singleHeaderBufferSize)
         .andFinishWith("importBlock", importBlockStep);
   }
 
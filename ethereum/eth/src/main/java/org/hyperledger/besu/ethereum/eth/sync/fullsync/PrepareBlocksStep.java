@@ -0,0 +1,68 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fullsync;
+
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Prepares downloaded blocks for import, ahead of the sequential import step: the body roots
+ * checked on import are computed for each block of the batch, and the transaction senders are
+ * recovered by the sender recovery service, in parallel on the computation executor. Importing a
+ * block is then left with its execution and the checks depending on it.
+ */
+public class PrepareBlocksStep implements Function<List<Block>, CompletableFuture<List<Block>>> {
+
+  private final EthScheduler scheduler;
+  private final OperationTimer prepareTimer;
+
+  public PrepareBlocksStep(final EthScheduler scheduler, final OperationTimer prepareTimer) {
+    this.scheduler = scheduler;
+    this.prepareTimer = prepareTimer;
+  }
+
+  @Override
+  public CompletableFuture<List<Block>> apply(final List<Block> blocks) {
+    final List<CompletableFuture<Block>> preparedBlocks =
+        blocks.stream()
+            .map(block -> scheduler.scheduleComputationTask(() -> prepare(block)))
+            .toList();
+    final List<Transaction> transactions =
+        blocks.stream().flatMap(block -> block.getBody().getTransactions().stream()).toList();
+    final CompletableFuture<Void> senders =
+        scheduler.getSenderRecovery().recoverSenders(transactions);
+    return CompletableFuture.allOf(preparedBlocks.toArray(CompletableFuture[]::new))
+        .thenCombine(senders, (ignored, alsoIgnored) -> null)
+        .thenApply(ignored -> preparedBlocks.stream().map(CompletableFuture::join).toList());
+  }
+
+  private Block prepare(final Block block) {
+    try (final OperationTimer.TimingContext ignored = prepareTimer.startTimer()) {
+      final BlockBody body = block.getBody();
+      body.getTransactions().forEach(Transaction::getHash);
+      body.getTransactionsRoot();
+      body.getOmmersHash();
+      body.getWithdrawalsRoot();
+    }
+    return block;
+  }
+}
@@ -54,6 +54,9 @@ public class PersistDataStep {
 
   public List<Task<SnapDataRequest>> persist(final List<Task<SnapDataRequest>> tasks) {
     try {
+      if (tasks.size() > 1) {
+        prepare(tasks);
+      }
       final WorldStateKeyValueStorage.Updater updater = worldStateStorageCoordinator.updater();
       for (Task<SnapDataRequest> task : tasks) {
         if (task.getData().isResponseReceived()) {
@@ -137,6 +140,31 @@ public class PersistDataStep {
     return tasks;
   }
 
+  /**
+   * Hashes the downloaded ranges of the tasks ahead of their persistence, concurrently on the
+   * common fork join pool, when parallel range commit is enabled.
+   *
+   * @param tasks the tasks to prepare
+   * @return the same tasks
+   */
+  public List<Task<SnapDataRequest>> prepare(final List<Task<SnapDataRequest>> tasks) {
+    if (snapSyncConfiguration.isParallelRangeCommitEnabled()) {
+      tasks.parallelStream()
+          .map(Task::getData)
+          .filter(SnapDataRequest::isResponseReceived)
+          .forEach(SnapDataRequest::prepareForPersist);
+    }
+    return tasks;
+  }
+
+  public Task<SnapDataRequest> prepare(final Task<SnapDataRequest> task) {
+    if (snapSyncConfiguration.isParallelRangeCommitEnabled()
+        && task.getData().isResponseReceived()) {
+      task.getData().prepareForPersist();
+    }
+    return task;
+  }
+
   public Task<SnapDataRequest> persist(final Task<SnapDataRequest> task) {
     return persist(List.of(task)).get(0);
   }
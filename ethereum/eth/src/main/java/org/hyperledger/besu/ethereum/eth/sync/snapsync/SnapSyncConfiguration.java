@@ -41,6 +41,8 @@ public class SnapSyncConfiguration {
   public static final Boolean DEFAULT_SNAP_SYNC_TRANSACTION_INDEXING_ENABLED = Boolean.FALSE;
   public static final Boolean DEFAULT_SNAP_SYNC_SAVE_PRE_MERGE_HEADERS_ONLY_ENABLED = Boolean.TRUE;
 
+  public static final Boolean DEFAULT_PARALLEL_RANGE_COMMIT_ENABLED = Boolean.FALSE;
+
   public static SnapSyncConfiguration getDefault() {
     return ImmutableSnapSyncConfiguration.builder().build();
   }
@@ -89,4 +91,9 @@ public class SnapSyncConfiguration {
   public Boolean isSnapSyncTransactionIndexingEnabled() {
     return DEFAULT_SNAP_SYNC_TRANSACTION_INDEXING_ENABLED;
   }
+
+  @Value.Default
+  public Boolean isParallelRangeCommitEnabled() {
+    return DEFAULT_PARALLEL_RANGE_COMMIT_ENABLED;
+  }
 }
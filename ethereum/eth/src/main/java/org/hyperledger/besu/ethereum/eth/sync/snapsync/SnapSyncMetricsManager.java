@@ -18,6 +18,7 @@ import static io.netty.util.internal.ObjectUtil.checkNonEmpty;
 import static org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncMetricsManager.Step.HEAL_TRIE;
 
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeerImmutableAttributes;
 import org.hyperledger.besu.ethereum.trie.RangeManager;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
@@ -126,6 +127,11 @@ public class SnapSyncMetricsManager {
         "snap_world_state_codes_total",
         "Total number of codes downloaded as part of snap sync world state",
         nbCodes::get);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.SYNCHRONIZER,
+        "snap_world_state_download_throughput_bytes",
+        "Estimated bytes per second snap peers are currently able to serve",
+        this::getPeersThroughput);
   }
 
   public void initRange(final Map<Bytes32, Bytes32> ranges) {
@@ -175,6 +181,23 @@ public class SnapSyncMetricsManager {
     print(HEAL_TRIE);
   }
 
+  /**
+   * Returns the sum of the throughput measured for each connected snap peer.
+   *
+   * @return the estimated throughput in bytes per second
+   */
+  public long getPeersThroughput() {
+    if (ethContext == null) { // ethContext is not available in tests
+      return 0;
+    }
+    return ethContext
+        .getEthPeers()
+        .streamAvailablePeers()
+        .filter(EthPeerImmutableAttributes::isServingSnap)
+        .mapToLong(peer -> peer.ethPeer().getSnapRequestSizer().throughput())
+        .sum();
+  }
+
   private void print(final Step step) {
     final long now = System.currentTimeMillis();
     if (now - lastNotifyTimestamp >= PRINT_DELAY) {
@@ -186,12 +209,14 @@ public class SnapSyncMetricsManager {
       switch (step) {
         case DOWNLOAD -> {
           LOG.debug(
-              "Worldstate {} in progress accounts={}, slots={}, codes={}, nodes={}",
+              "Worldstate {} in progress accounts={}, slots={}, codes={}, nodes={}, "
+                  + "throughput={} bytes/s",
               step.message,
               nbAccountsDownloaded,
               nbSlotsDownloaded,
               nbCodes,
-              nbTrieNodesGenerated);
+              nbTrieNodesGenerated,
+              getPeersThroughput());
           LOG.info(
               "Worldstate {} progress: {}%, Peer count: {}",
               step.message, percentageProgress.get().setScale(2, RoundingMode.HALF_UP), peerCount);
@@ -44,6 +44,8 @@ import org.slf4j.LoggerFactory;
 public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess {
 
   private static final Logger LOG = LoggerFactory.getLogger(SnapWorldStateDownloadProcess.class);
+  private static final int RANGE_PREPARATION_PARALLELISM =
+      Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
   private final Pipeline<Task<SnapDataRequest>> completionPipeline;
   private final Pipeline<Task<SnapDataRequest>> fetchAccountPipeline;
   private final Pipeline<Task<SnapDataRequest>> fetchStorageDataPipeline;
@@ -256,7 +258,7 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
 
       final Pipe<Task<SnapDataRequest>> requestsToComplete = completionPipeline.getInputPipe();
 
-      final Pipeline<Task<SnapDataRequest>> fetchAccountDataPipeline =
+      PipelineBuilder<Task<SnapDataRequest>, Task<SnapDataRequest>> accountDataPipelineBuilder =
           createPipelineFrom(
                   "dequeueAccountRequestBlocking",
                   new TaskQueueIterator<>(
@@ -274,7 +276,16 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
               .thenProcessAsync(
                   "batchDownloadAccountData",
                   requestTask -> requestDataStep.requestAccount(requestTask),
-                  maxOutstandingRequests)
+                  maxOutstandingRequests);
+      if (snapSyncConfiguration.isParallelRangeCommitEnabled()) {
+        accountDataPipelineBuilder =
+            accountDataPipelineBuilder.thenProcessInParallel(
+                "batchPrepareAccountData",
+                task -> persistDataStep.prepare(task),
+                RANGE_PREPARATION_PARALLELISM);
+      }
+      final Pipeline<Task<SnapDataRequest>> fetchAccountDataPipeline =
+          accountDataPipelineBuilder
               .thenProcess("batchPersistAccountData", task -> persistDataStep.persist(task))
               .andFinishWith("batchAccountDataDownloaded", requestsToComplete::put);
 
@@ -305,25 +316,35 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                     tasks.forEach(requestsToComplete::put);
                   });
 
+      PipelineBuilder<Task<SnapDataRequest>, List<Task<SnapDataRequest>>>
+          largeStorageDataPipelineBuilder =
+              createPipelineFrom(
+                      "dequeueLargeStorageRequestBlocking",
+                      new TaskQueueIterator<>(
+                          downloadState, () -> downloadState.dequeueLargeStorageRequestBlocking()),
+                      bufferCapacity,
+                      outputCounter,
+                      true,
+                      "world_state_download")
+                  .thenProcess(
+                      "checkNewPivotBlock-LargeStorage",
+                      tasks -> {
+                        pivotBlockManager.check(doNothingOnPivotChange);
+                        return tasks;
+                      })
+                  .thenProcessAsyncOrdered(
+                      "batchDownloadLargeStorageData",
+                      requestTask -> requestDataStep.requestStorage(List.of(requestTask)),
+                      maxOutstandingRequests);
+      if (snapSyncConfiguration.isParallelRangeCommitEnabled()) {
+        largeStorageDataPipelineBuilder =
+            largeStorageDataPipelineBuilder.thenProcessInParallel(
+                "batchPrepareLargeStorageData",
+                tasks -> persistDataStep.prepare(tasks),
+                RANGE_PREPARATION_PARALLELISM);
+      }
       final Pipeline<Task<SnapDataRequest>> fetchLargeStorageDataPipeline =
-          createPipelineFrom(
-                  "dequeueLargeStorageRequestBlocking",
-                  new TaskQueueIterator<>(
-                      downloadState, () -> downloadState.dequeueLargeStorageRequestBlocking()),
-                  bufferCapacity,
-                  outputCounter,
-                  true,
-                  "world_state_download")
-              .thenProcess(
-                  "checkNewPivotBlock-LargeStorage",
-                  tasks -> {
-                    pivotBlockManager.check(doNothingOnPivotChange);
-                    return tasks;
-                  })
-              .thenProcessAsyncOrdered(
-                  "batchDownloadLargeStorageData",
-                  requestTask -> requestDataStep.requestStorage(List.of(requestTask)),
-                  maxOutstandingRequests)
+          largeStorageDataPipelineBuilder
               .thenProcess(
                   "batchPersistLargeStorageData",
                   task -> {
@@ -54,6 +54,7 @@ public class StackTrie {
   private final Bytes32 startKeyHash;
   private Map<Bytes32, TaskElement> elements;
   private AtomicLong elementsCount;
+  private Optional<PreparedCommit> preparedCommit = Optional.empty();
 
   public StackTrie(final Hash rootHash, final Bytes32 startKeyHash) {
     this(rootHash, 1, 1, startKeyHash);
@@ -82,6 +83,7 @@ public class StackTrie {
   }
 
   public void removeElement(final Bytes32 taskIdentifier) {
+    this.preparedCommit = Optional.empty();
     if (this.elements.containsKey(taskIdentifier)) {
       this.elementsCount.addAndGet(-this.elements.remove(taskIdentifier).keys().size());
     }
@@ -102,66 +104,90 @@ public class StackTrie {
   public void commit(final FlatDatabaseUpdater flatDatabaseUpdater, final NodeUpdater nodeUpdater) {
 
     if (nbSegments.decrementAndGet() <= 0 && !elements.isEmpty()) {
+      if (preparedCommit.isPresent()) {
+        preparedCommit.get().apply(flatDatabaseUpdater, nodeUpdater);
+        preparedCommit = Optional.empty();
+      } else {
+        doCommit(flatDatabaseUpdater, nodeUpdater);
+      }
+    }
+  }
 
-      final List<Bytes> proofs = new ArrayList<>();
-      final TreeMap<Bytes32, Bytes> keys = new TreeMap<>();
+  /**
+   * Builds and hashes the trie of the pending elements if the next call to {@link #commit} is going
+   * to commit them, and keeps the resulting flat entries and nodes in memory so that this commit
+   * only has to write them. This does not touch any storage, so distinct stack tries can be
+   * prepared concurrently.
+   */
+  public void prepareCommit() {
+    if (nbSegments.get() <= 1 && !elements.isEmpty()) {
+      final PreparedCommit prepared = new PreparedCommit();
+      doCommit(prepared::addFlatEntry, prepared::addNode);
+      preparedCommit = Optional.of(prepared);
+    }
+  }
 
-      elements
-          .values()
-          .forEach(
-              taskElement -> {
-                proofs.addAll(taskElement.proofs());
-                keys.putAll(taskElement.keys());
-              });
+  private void doCommit(
+      final FlatDatabaseUpdater flatDatabaseUpdater, final NodeUpdater nodeUpdater) {
+    final List<Bytes> proofs = new ArrayList<>();
+    final TreeMap<Bytes32, Bytes> keys = new TreeMap<>();
+
+    elements
+        .values()
+        .forEach(
+            taskElement -> {
+              proofs.addAll(taskElement.proofs());
+              keys.putAll(taskElement.keys());
+            });
+
+    if (keys.isEmpty()) {
+      return; // empty range we can ignore it
+    }
 
-      if (keys.isEmpty()) {
-        return; // empty range we can ignore it
-      }
+    final Map<Bytes32, Bytes> proofsEntries = new HashMap<>();
+    for (Bytes proof : proofs) {
+      proofsEntries.put(Hash.hash(proof), proof);
+    }
 
-      final Map<Bytes32, Bytes> proofsEntries = new HashMap<>();
-      for (Bytes proof : proofs) {
-        proofsEntries.put(Hash.hash(proof), proof);
+    if (!keys.isEmpty()) {
+      final InnerNodeDiscoveryManager<Bytes> snapStoredNodeFactory =
+          new InnerNodeDiscoveryManager<>(
+              (location, hash) -> Optional.ofNullable(proofsEntries.get(hash)),
+              Function.identity(),
+              Function.identity(),
+              startKeyHash,
+              proofs.isEmpty() ? RangeManager.MAX_RANGE : keys.lastKey(),
+              true);
+
+      final MerkleTrie<Bytes, Bytes> trie =
+          new StoredMerklePatriciaTrie<>(
+              snapStoredNodeFactory,
+              proofs.isEmpty() ? MerkleTrie.EMPTY_TRIE_NODE_HASH : rootHash);
+
+      for (Map.Entry<Bytes32, Bytes> entry : keys.entrySet()) {
+        trie.put(entry.getKey(), entry.getValue());
       }
 
-      if (!keys.isEmpty()) {
-        final InnerNodeDiscoveryManager<Bytes> snapStoredNodeFactory =
-            new InnerNodeDiscoveryManager<>(
-                (location, hash) -> Optional.ofNullable(proofsEntries.get(hash)),
-                Function.identity(),
-                Function.identity(),
-                startKeyHash,
-                proofs.isEmpty() ? RangeManager.MAX_RANGE : keys.lastKey(),
-                true);
-
-        final MerkleTrie<Bytes, Bytes> trie =
-            new StoredMerklePatriciaTrie<>(
-                snapStoredNodeFactory,
-                proofs.isEmpty() ? MerkleTrie.EMPTY_TRIE_NODE_HASH : rootHash);
-
-        for (Map.Entry<Bytes32, Bytes> entry : keys.entrySet()) {
-          trie.put(entry.getKey(), entry.getValue());
-        }
-
-        keys.forEach(flatDatabaseUpdater::update);
-
-        trie.commit(
-            nodeUpdater,
-            (new SnapCommitVisitor<>(
-                nodeUpdater,
-                startKeyHash,
-                proofs.isEmpty() ? RangeManager.MAX_RANGE : keys.lastKey()) {
-              @Override
-              public void maybeStoreNode(final Bytes location, final Node<Bytes> node) {
-                if (!node.isHealNeeded()) {
-                  super.maybeStoreNode(location, node);
-                }
+      keys.forEach(flatDatabaseUpdater::update);
+
+      trie.commit(
+          nodeUpdater,
+          (new SnapCommitVisitor<>(
+              nodeUpdater,
+              startKeyHash,
+              proofs.isEmpty() ? RangeManager.MAX_RANGE : keys.lastKey()) {
+            @Override
+            public void maybeStoreNode(final Bytes location, final Node<Bytes> node) {
+              if (!node.isHealNeeded()) {
+                super.maybeStoreNode(location, node);
               }
-            }));
-      }
+            }
+          }));
     }
   }
 
   public void clear() {
+    this.preparedCommit = Optional.empty();
     this.elements = new LinkedHashMap<>();
     this.elementsCount = new AtomicLong();
   }
@@ -184,6 +210,34 @@ public class StackTrie {
     void update(final Bytes32 key, final Bytes value);
   }
 
+  private static class PreparedCommit {
+    private final List<Bytes32> flatKeys = new ArrayList<>();
+    private final List<Bytes> flatValues = new ArrayList<>();
+    private final List<Bytes> nodeLocations = new ArrayList<>();
+    private final List<Bytes32> nodeHashes = new ArrayList<>();
+    private final List<Bytes> nodeValues = new ArrayList<>();
+
+    void addFlatEntry(final Bytes32 key, final Bytes value) {
+      flatKeys.add(key);
+      flatValues.add(value);
+    }
+
+    void addNode(final Bytes location, final Bytes32 hash, final Bytes value) {
+      nodeLocations.add(location);
+      nodeHashes.add(hash);
+      nodeValues.add(value);
+    }
+
+    void apply(final FlatDatabaseUpdater flatDatabaseUpdater, final NodeUpdater nodeUpdater) {
+      for (int i = 0; i < flatKeys.size(); i++) {
+        flatDatabaseUpdater.update(flatKeys.get(i), flatValues.get(i));
+      }
+      for (int i = 0; i < nodeHashes.size(); i++) {
+        nodeUpdater.store(nodeLocations.get(i), nodeHashes.get(i), nodeValues.get(i));
+      }
+    }
+  }
+
   @Value.Immutable
   public abstract static class TaskElement {
 
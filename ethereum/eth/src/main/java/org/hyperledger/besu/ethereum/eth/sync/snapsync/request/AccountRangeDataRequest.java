@@ -153,6 +153,13 @@ public class AccountRangeDataRequest extends SnapDataRequest {
     return nbNodesSaved.get();
   }
 
+  @Override
+  public void prepareForPersist() {
+    if (startStorageRange.isEmpty() || endStorageRange.isEmpty()) {
+      stackTrie.prepareCommit();
+    }
+  }
+
   public void addResponse(
       final WorldStateProofProvider worldStateProofProvider,
       final NavigableMap<Bytes32, Bytes> accounts,
@@ -125,6 +125,12 @@ public abstract class SnapDataRequest implements TasksPriorityProvider {
         worldStateStorageCoordinator, updater, downloadState, snapSyncState, snapSyncConfiguration);
   }
 
+  /**
+   * Performs ahead of {@link #persist} the part of the work that does not depend on the storage,
+   * such as hashing the downloaded range, so that it can run concurrently for independent requests.
+   */
+  public void prepareForPersist() {}
+
   protected abstract int doPersist(
       final WorldStateStorageCoordinator worldStateStorageCoordinator,
       final WorldStateKeyValueStorage.Updater updater,
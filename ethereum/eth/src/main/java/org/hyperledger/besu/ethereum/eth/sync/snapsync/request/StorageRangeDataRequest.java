@@ -124,6 +124,11 @@ public class StorageRangeDataRequest extends SnapDataRequest {
     return nbNodesSaved.get();
   }
 
+  @Override
+  public void prepareForPersist() {
+    stackTrie.prepareCommit();
+  }
+
   public void addResponse(
       final SnapWorldDownloadState downloadState,
       final WorldStateProofProvider worldStateProofProvider,
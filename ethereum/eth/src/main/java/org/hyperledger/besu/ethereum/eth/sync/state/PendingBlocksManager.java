@@ -31,15 +31,27 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
+import com.google.common.util.concurrent.Striped;
 import org.apache.tuweni.bytes.Bytes;
 
+/**
+ * Tracks the blocks received from the network that cannot be imported yet, because their parent is
+ * not in the local chain.
+ *
+ * <p>The blocks are indexed by parent hash, and the updates of the children of a parent are
+ * serialized by a lock striped by parent hash, so that unrelated chains of pending blocks are
+ * processed concurrently.
+ */
 public class PendingBlocksManager {
+  private static final int LOCK_STRIPES = 64;
 
   private final PendingBlockCache pendingBlocks;
 
   private final Map<Hash, Set<Hash>> pendingBlocksByParentHash = new ConcurrentHashMap<>();
+  private final Striped<Lock> parentHashLocks = Striped.lock(LOCK_STRIPES);
 
   public PendingBlocksManager(final SynchronizerConfiguration synchronizerConfiguration) {
 
@@ -57,7 +69,16 @@ public class PendingBlocksManager {
    * @return true if the block was added (was not previously present)
    */
   public boolean registerPendingBlock(final Block block, final Bytes nodeId) {
+    final Lock lock = parentHashLocks.get(block.getHeader().getParentHash());
+    lock.lock();
+    try {
+      return doRegisterPendingBlock(block, nodeId);
+    } finally {
+      lock.unlock();
+    }
+  }
 
+  private boolean doRegisterPendingBlock(final Block block, final Bytes nodeId) {
     final ImmutablePendingBlock previousValue =
         this.pendingBlocks.putIfAbsent(
             block.getHash(), ImmutablePendingBlock.builder().block(block).nodeId(nodeId).build());
@@ -88,13 +109,37 @@ public class PendingBlocksManager {
    */
   public boolean deregisterPendingBlock(final BlockHeader header) {
     final Hash parentHash = header.getParentHash();
-    final ImmutablePendingBlock removed = pendingBlocks.remove(header.getHash());
-    final Set<Hash> blocksForParent = pendingBlocksByParentHash.get(parentHash);
-    if (blocksForParent != null) {
-      blocksForParent.remove(header.getHash());
-      pendingBlocksByParentHash.remove(parentHash, Collections.emptySet());
+    final Lock lock = parentHashLocks.get(parentHash);
+    lock.lock();
+    try {
+      final ImmutablePendingBlock removed = pendingBlocks.remove(header.getHash());
+      final Set<Hash> blocksForParent = pendingBlocksByParentHash.get(parentHash);
+      if (blocksForParent != null) {
+        blocksForParent.remove(header.getHash());
+        pendingBlocksByParentHash.remove(parentHash, Collections.emptySet());
+      }
+      return removed != null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stop tracking a block that was added to the chain, and return its pending children, which are
+   * now ready for import. No child of the block can be registered concurrently and missed.
+   *
+   * @param header the header of the block added to the chain
+   * @return the pending children of the block
+   */
+  public List<Block> deregisterPendingBlockAndGetChildren(final BlockHeader header) {
+    deregisterPendingBlock(header);
+    final Lock lock = parentHashLocks.get(header.getHash());
+    lock.lock();
+    try {
+      return childrenOf(header.getHash());
+    } finally {
+      lock.unlock();
     }
-    return removed != null;
   }
 
   public void purgeBlocksOlderThan(final long blockNumber) {
@@ -59,6 +59,7 @@ class NewPooledTransactionHashesMessageSender {
         final NewPooledTransactionHashesMessage message =
             NewPooledTransactionHashesMessage.create(txBatch, capability);
         peer.send(message);
+        transactionTracker.recordGossipBytesSent(message.getSize());
       } catch (final PeerNotConnected unused) {
         break;
       }
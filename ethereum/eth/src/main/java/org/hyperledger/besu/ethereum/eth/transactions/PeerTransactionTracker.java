@@ -28,23 +28,48 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.OptionalDouble;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Tracks which transactions each peer is known to have, to avoid sending them again, and the
+ * transactions and hashes queued to be sent to each peer.
+ *
+ * <p>Seen transactions are recorded in a compact {@link SeenTransactionsFilter} per peer, and a
+ * transaction is marked as seen by a peer as it is queued to be sent to it, unless it is evicted
+ * from the queue before being sent. Send queues are updated and claimed atomically per peer,
+ * without a tracker wide lock.
+ *
+ * <p>It also collects what drives the gossip: the rate of already known transactions each peer
+ * sends in full, the pooled transactions currently requested from any peer, so that the same
+ * transaction is not requested from several peers at once, and the bytes sent per unique
+ * transaction broadcast.
+ */
 public class PeerTransactionTracker
     implements EthPeer.DisconnectCallback, PendingTransactionDroppedListener {
   private static final Logger LOG = LoggerFactory.getLogger(PeerTransactionTracker.class);
+  static final long TRANSACTION_REQUEST_TIMEOUT_MILLIS = 10_000;
+  // above this number of claimed requests, the expired claims are pruned
+  private static final int MAX_REQUESTED_TRANSACTIONS = 16_384;
 
   private final EthPeers ethPeers;
   private final int maxTrackedSeenTxsPerPeer;
   private final boolean forgetEvictedTxsEnabled;
-  private final Map<EthPeer, Set<Hash>> seenTransactions = new ConcurrentHashMap<>();
+  private final Map<EthPeer, SeenTransactionsFilter> seenTransactions = new ConcurrentHashMap<>();
   private final Map<EthPeer, Set<Transaction>> transactionsToSend = new ConcurrentHashMap<>();
   private final Map<EthPeer, Set<Transaction>> transactionHashesToSend = new ConcurrentHashMap<>();
+  private final LongAdder duplicateSendsAvoided = new LongAdder();
+  private final Map<EthPeer, DuplicateRate> duplicateRates = new ConcurrentHashMap<>();
+  private final Map<Hash, Long> requestedTransactions = new ConcurrentHashMap<>();
+  private final LongAdder gossipBytesSent = new LongAdder();
+  private final LongAdder transactionsBroadcast = new LongAdder();
 
   public PeerTransactionTracker(
       final TransactionPoolConfiguration txPoolConfig, final EthPeers ethPeers) {
@@ -57,64 +82,157 @@ public class PeerTransactionTracker
     seenTransactions.clear();
     transactionsToSend.clear();
     transactionHashesToSend.clear();
+    duplicateRates.clear();
+    requestedTransactions.clear();
   }
 
-  public synchronized void markTransactionsAsSeen(
+  public void markTransactionsAsSeen(
       final EthPeer peer, final Collection<Transaction> transactions) {
     markTransactionHashesAsSeen(peer, toHashList(transactions));
   }
 
-  public synchronized void markTransactionHashesAsSeen(
-      final EthPeer peer, final Collection<Hash> txHashes) {
-    final Set<Hash> seenTransactionsForPeer = getOrCreateSeenTransactionsForPeer(peer);
-    seenTransactionsForPeer.addAll(txHashes);
+  public void markTransactionHashesAsSeen(final EthPeer peer, final Collection<Hash> txHashes) {
+    final SeenTransactionsFilter seenTransactionsForPeer = getOrCreateSeenTransactionsForPeer(peer);
+    txHashes.forEach(seenTransactionsForPeer::add);
   }
 
-  public synchronized void addToPeerSendQueue(final EthPeer peer, final Transaction transaction) {
-    if (!hasPeerSeenTransaction(peer, transaction)) {
-      transactionsToSend.computeIfAbsent(peer, key -> createTransactionsSet()).add(transaction);
-    }
+  public void addToPeerSendQueue(final EthPeer peer, final Transaction transaction) {
+    addToQueue(transactionsToSend, peer, transaction);
   }
 
-  public synchronized void addToPeerHashSendQueue(
-      final EthPeer peer, final Transaction transaction) {
-    if (!hasPeerSeenTransaction(peer, transaction)) {
-      transactionHashesToSend
-          .computeIfAbsent(peer, key -> createTransactionsSet())
-          .add(transaction);
-    }
+  public void addToPeerHashSendQueue(final EthPeer peer, final Transaction transaction) {
+    addToQueue(transactionHashesToSend, peer, transaction);
   }
 
   public Iterable<EthPeer> getEthPeersWithUnsentTransactions() {
     return transactionsToSend.keySet();
   }
 
-  public synchronized Set<Transaction> claimTransactionsToSendToPeer(final EthPeer peer) {
-    final Set<Transaction> transactionsToSend = this.transactionsToSend.remove(peer);
-    if (transactionsToSend != null) {
-      markTransactionsAsSeen(peer, transactionsToSend);
-      return transactionsToSend;
-    } else {
-      return emptySet();
-    }
+  public Set<Transaction> claimTransactionsToSendToPeer(final EthPeer peer) {
+    return claimQueue(transactionsToSend, peer);
   }
 
-  public synchronized Set<Transaction> claimTransactionHashesToSendToPeer(final EthPeer peer) {
-    final Set<Transaction> transactionHashesToSend = this.transactionHashesToSend.remove(peer);
-    if (transactionHashesToSend != null) {
-      markTransactionHashesAsSeen(peer, toHashList(transactionHashesToSend));
-      return transactionHashesToSend;
-    } else {
-      return emptySet();
-    }
+  public Set<Transaction> claimTransactionHashesToSendToPeer(final EthPeer peer) {
+    return claimQueue(transactionHashesToSend, peer);
   }
 
   public boolean hasSeenTransaction(final Hash txHash) {
     return seenTransactions.values().stream().anyMatch(seen -> seen.contains(txHash));
   }
 
-  private Set<Hash> getOrCreateSeenTransactionsForPeer(final EthPeer peer) {
-    return seenTransactions.computeIfAbsent(peer, key -> createTransactionsSet());
+  /**
+   * Returns an estimate of the memory used to record the transactions seen by all the peers.
+   *
+   * @return the estimated memory usage in bytes
+   */
+  public long getSeenTransactionsMemoryUsage() {
+    return seenTransactions.values().stream().mapToLong(SeenTransactionsFilter::memoryUsage).sum();
+  }
+
+  /**
+   * Returns how many transactions were not queued for a peer because it had already seen them.
+   *
+   * @return the number of duplicate sends avoided
+   */
+  public long getDuplicateSendsAvoided() {
+    return duplicateSendsAvoided.sum();
+  }
+
+  /**
+   * Records the transactions a peer sent in full, and how many of them were already known.
+   *
+   * @param peer the peer that sent the transactions
+   * @param received the number of transactions received
+   * @param duplicates the number of those transactions that were already known
+   */
+  public void recordReceivedTransactions(
+      final EthPeer peer, final int received, final int duplicates) {
+    if (received > 0) {
+      duplicateRates
+          .computeIfAbsent(peer, unused -> new DuplicateRate())
+          .update(received, duplicates);
+    }
+  }
+
+  /**
+   * Returns the rate of already known transactions in the full transactions sent by a peer.
+   *
+   * @param peer the peer
+   * @return the duplicate rate, between 0 and 1, or empty if the peer sent no full transactions
+   */
+  public OptionalDouble getDuplicateRate(final EthPeer peer) {
+    final DuplicateRate duplicateRate = duplicateRates.get(peer);
+    return duplicateRate == null ? OptionalDouble.empty() : OptionalDouble.of(duplicateRate.get());
+  }
+
+  /**
+   * Returns the average rate of already known transactions in the full transactions sent by the
+   * peers.
+   *
+   * @return the average duplicate rate, or empty if no peer sent full transactions
+   */
+  public OptionalDouble getAverageDuplicateRate() {
+    return duplicateRates.values().stream().mapToDouble(DuplicateRate::get).average();
+  }
+
+  /**
+   * Claims the request of a pooled transaction, unless it is already being requested from another
+   * peer. A claim expires after 10 seconds, in case its request never completes.
+   *
+   * @param txHash the hash of the transaction to request
+   * @return true if the transaction can be requested, false if it is already being requested
+   */
+  public boolean claimTransactionRequest(final Hash txHash) {
+    final long now = System.nanoTime();
+    if (requestedTransactions.size() > MAX_REQUESTED_TRANSACTIONS) {
+      requestedTransactions.values().removeIf(existing -> existing - now < 0);
+    }
+    final long expiry = now + TimeUnit.MILLISECONDS.toNanos(TRANSACTION_REQUEST_TIMEOUT_MILLIS);
+    final Long claimedExpiry =
+        requestedTransactions.compute(
+            txHash,
+            (unused, existing) -> existing == null || existing - now < 0 ? expiry : existing);
+    return claimedExpiry == expiry;
+  }
+
+  /**
+   * Releases the claims of requested pooled transactions, once their request completed.
+   *
+   * @param txHashes the hashes of the requested transactions
+   */
+  public void releaseTransactionRequests(final Collection<Hash> txHashes) {
+    txHashes.forEach(requestedTransactions::remove);
+  }
+
+  /**
+   * Records the bytes of a transactions or transaction hashes message sent to a peer.
+   *
+   * @param bytes the size of the message
+   */
+  public void recordGossipBytesSent(final int bytes) {
+    gossipBytesSent.add(bytes);
+  }
+
+  /**
+   * Records the transactions broadcast to the peers once added to the pool.
+   *
+   * @param count the number of transactions
+   */
+  public void recordTransactionsBroadcast(final int count) {
+    transactionsBroadcast.add(count);
+  }
+
+  public long getGossipBytesSent() {
+    return gossipBytesSent.sum();
+  }
+
+  public long getTransactionsBroadcast() {
+    return transactionsBroadcast.sum();
+  }
+
+  private SeenTransactionsFilter getOrCreateSeenTransactionsForPeer(final EthPeer peer) {
+    return seenTransactions.computeIfAbsent(
+        peer, key -> new SeenTransactionsFilter(maxTrackedSeenTxsPerPeer));
   }
 
   boolean hasPeerSeenTransaction(final EthPeer peer, final Transaction transaction) {
@@ -122,19 +240,53 @@ public class PeerTransactionTracker
   }
 
   boolean hasPeerSeenTransaction(final EthPeer peer, final Hash txHash) {
-    final Set<Hash> seenTransactionsForPeer = seenTransactions.get(peer);
+    final SeenTransactionsFilter seenTransactionsForPeer = seenTransactions.get(peer);
     return seenTransactionsForPeer != null && seenTransactionsForPeer.contains(txHash);
   }
 
-  private <T> Set<T> createTransactionsSet() {
-    return Collections.synchronizedSet(
-        Collections.newSetFromMap(
-            new LinkedHashMap<>(16, 0.75f, true) {
-              @Override
-              protected boolean removeEldestEntry(final Map.Entry<T, Boolean> eldest) {
-                return size() > maxTrackedSeenTxsPerPeer;
+  private void addToQueue(
+      final Map<EthPeer, Set<Transaction>> queues,
+      final EthPeer peer,
+      final Transaction transaction) {
+    // checking and marking in a single step ensures the transaction is queued at most once per
+    // peer, even when it is added concurrently
+    if (!getOrCreateSeenTransactionsForPeer(peer).add(transaction.getHash())) {
+      duplicateSendsAvoided.increment();
+      return;
+    }
+    // updating the queue within compute ensures it cannot be claimed concurrently
+    queues.compute(
+        peer,
+        (unused, queue) -> {
+          final Set<Transaction> updatedQueue = queue == null ? createSendQueue(peer) : queue;
+          updatedQueue.add(transaction);
+          return updatedQueue;
+        });
+  }
+
+  private Set<Transaction> claimQueue(
+      final Map<EthPeer, Set<Transaction>> queues, final EthPeer peer) {
+    // the queued transactions were marked as seen when added
+    final Set<Transaction> claimed = queues.remove(peer);
+    return claimed == null ? emptySet() : claimed;
+  }
+
+  private Set<Transaction> createSendQueue(final EthPeer peer) {
+    return Collections.newSetFromMap(
+        new LinkedHashMap<>(16, 0.75f) {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<Transaction, Boolean> eldest) {
+            if (size() > maxTrackedSeenTxsPerPeer) {
+              // the evicted transaction is not sent, so it must be possible to queue it again
+              final SeenTransactionsFilter seenTransactionsForPeer = seenTransactions.get(peer);
+              if (seenTransactionsForPeer != null) {
+                seenTransactionsForPeer.remove(eldest.getKey().getHash());
               }
-            }));
+              return true;
+            }
+            return false;
+          }
+        });
   }
 
   @Override
@@ -147,6 +299,7 @@ public class PeerTransactionTracker
     final Set<EthPeer> trackedPeers = new HashSet<>(seenTransactions.keySet());
     trackedPeers.addAll(transactionsToSend.keySet());
     trackedPeers.addAll(transactionHashesToSend.keySet());
+    trackedPeers.addAll(duplicateRates.keySet());
 
     LOG.atTrace()
         .setMessage("{} tracked peers ({})")
@@ -174,6 +327,7 @@ public class PeerTransactionTracker
               seenTransactions.remove(disconnectedPeer);
               transactionsToSend.remove(disconnectedPeer);
               transactionHashesToSend.remove(disconnectedPeer);
+              duplicateRates.remove(disconnectedPeer);
               LOG.atTrace()
                   .setMessage("Removed transaction trackers for disconnected peer {}")
                   .addArgument(disconnectedPeer::getLoggableId)
@@ -185,10 +339,36 @@ public class PeerTransactionTracker
     return peers.stream().map(EthPeer::getLoggableId).collect(Collectors.joining(","));
   }
 
+  /**
+   * An exponentially weighted moving average of the rate of already known transactions, updated per
+   * received message and weighted by its size, so that recent messages count the most.
+   */
+  private static final class DuplicateRate {
+    // the number of recent transactions that make most of the average
+    private static final double WINDOW = 1024;
+    private double rate;
+    private boolean initialized;
+
+    synchronized void update(final int received, final int duplicates) {
+      final double messageRate = (double) duplicates / received;
+      if (!initialized) {
+        rate = messageRate;
+        initialized = true;
+      } else {
+        final double weight = Math.min(1.0, received / WINDOW);
+        rate += weight * (messageRate - rate);
+      }
+    }
+
+    synchronized double get() {
+      return rate;
+    }
+  }
+
   @Override
   public void onTransactionDropped(final Transaction transaction, final RemovalReason reason) {
     if (reason.stopTracking() && forgetEvictedTxsEnabled) {
-      seenTransactions.values().stream().forEach(st -> st.remove(transaction.getHash()));
+      seenTransactions.values().forEach(st -> st.remove(transaction.getHash()));
     }
   }
 }
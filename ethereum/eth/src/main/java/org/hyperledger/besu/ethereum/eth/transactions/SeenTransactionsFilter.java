@@ -0,0 +1,162 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+/**
+ * A compact and bounded record of the transactions a peer is known to have seen.
+ *
+ * <p>Transactions are recorded by a 64-bit fingerprint of their hash, in two generations of open
+ * addressing tables of primitive longs. When the current generation is full it replaces the
+ * previous one, which is dropped, so at least the most recent half of {@code capacity}
+ * transactions is always remembered, and at most {@code capacity} are. Since transaction hashes are
+ * uniformly distributed, a lookup for a transaction that was never recorded reports it as seen with
+ * a probability of at most {@code capacity / 2^64}.
+ */
+final class SeenTransactionsFilter {
+  private static final int INITIAL_TABLE_SIZE = 16;
+
+  private final int generationCapacity;
+  private FingerprintTable current = new FingerprintTable();
+  private FingerprintTable previous = new FingerprintTable();
+
+  SeenTransactionsFilter(final int capacity) {
+    this.generationCapacity = Math.max(1, (capacity + 1) / 2);
+  }
+
+  static long fingerprint(final Hash txHash) {
+    final long fingerprint = txHash.getLong(0);
+    // 0 marks the empty slots
+    return fingerprint == 0 ? 1 : fingerprint;
+  }
+
+  /**
+   * Records a transaction as seen.
+   *
+   * @param txHash the hash of the transaction
+   * @return true if the transaction was not seen before, false if it was already recorded
+   */
+  synchronized boolean add(final Hash txHash) {
+    final long fingerprint = fingerprint(txHash);
+    if (current.contains(fingerprint)) {
+      return false;
+    }
+    final boolean seenBefore = previous.contains(fingerprint);
+    if (current.size() >= generationCapacity) {
+      previous = current;
+      current = new FingerprintTable();
+    }
+    // refreshing an entry of the previous generation keeps it for another generation
+    current.add(fingerprint);
+    return !seenBefore;
+  }
+
+  synchronized boolean contains(final Hash txHash) {
+    final long fingerprint = fingerprint(txHash);
+    return current.contains(fingerprint) || previous.contains(fingerprint);
+  }
+
+  synchronized void remove(final Hash txHash) {
+    final long fingerprint = fingerprint(txHash);
+    current.remove(fingerprint);
+    previous.remove(fingerprint);
+  }
+
+  synchronized long memoryUsage() {
+    return current.memoryUsage() + previous.memoryUsage();
+  }
+
+  /** A set of non-zero longs, using linear probing with backward shift deletion. */
+  private static final class FingerprintTable {
+    private long[] slots = new long[INITIAL_TABLE_SIZE];
+    private int size;
+
+    int size() {
+      return size;
+    }
+
+    long memoryUsage() {
+      return (long) slots.length * Long.BYTES;
+    }
+
+    boolean contains(final long fingerprint) {
+      return indexOf(fingerprint) >= 0;
+    }
+
+    void add(final long fingerprint) {
+      if ((size + 1) * 4L > slots.length * 3L) {
+        resize(slots.length * 2);
+      }
+      final int mask = slots.length - 1;
+      int index = Long.hashCode(fingerprint) & mask;
+      while (slots[index] != 0) {
+        if (slots[index] == fingerprint) {
+          return;
+        }
+        index = (index + 1) & mask;
+      }
+      slots[index] = fingerprint;
+      size++;
+    }
+
+    void remove(final long fingerprint) {
+      int hole = indexOf(fingerprint);
+      if (hole < 0) {
+        return;
+      }
+      final int mask = slots.length - 1;
+      int index = hole;
+      while (true) {
+        index = (index + 1) & mask;
+        final long candidate = slots[index];
+        if (candidate == 0) {
+          break;
+        }
+        final int home = Long.hashCode(candidate) & mask;
+        // move the candidate into the hole, unless its home slot lies between the hole and it
+        if (((index - home) & mask) >= ((index - hole) & mask)) {
+          slots[hole] = candidate;
+          hole = index;
+        }
+      }
+      slots[hole] = 0;
+      size--;
+    }
+
+    private int indexOf(final long fingerprint) {
+      final int mask = slots.length - 1;
+      int index = Long.hashCode(fingerprint) & mask;
+      while (slots[index] != 0) {
+        if (slots[index] == fingerprint) {
+          return index;
+        }
+        index = (index + 1) & mask;
+      }
+      return -1;
+    }
+
+    private void resize(final int newLength) {
+      final long[] oldSlots = slots;
+      slots = new long[newLength];
+      size = 0;
+      for (final long fingerprint : oldSlots) {
+        if (fingerprint != 0) {
+          add(fingerprint);
+        }
+      }
+    }
+  }
+}
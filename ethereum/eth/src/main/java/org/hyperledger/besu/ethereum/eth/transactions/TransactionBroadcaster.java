@@ -27,16 +27,33 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool.Transactio
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalDouble;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Broadcasts the transactions added to the pool, in full to a subset of the peers, and as hash
+ * announcements to the others, that can then request the transactions they miss.
+ *
+ * <p>The number of peers receiving full transactions starts at the square root of the peer count,
+ * and adapts to the rate of already known transactions received in full from the peers: a high rate
+ * means the transactions already spread well, so fewer peers get them in full, while a low rate
+ * means more of them should. The peers that send the most duplicates, likely well connected
+ * already, are the last picked to receive full transactions.
+ *
+ * <p>Sends are batched per peer: while a send to a peer is pending, the transactions added to the
+ * pool are only queued, and go out in the same messages once the pending send runs.
+ */
 public class TransactionBroadcaster
     implements TransactionBatchAddedListener, PendingTransactionDroppedListener {
   private static final Logger LOG = LoggerFactory.getLogger(TransactionBroadcaster.class);
@@ -46,11 +63,20 @@ public class TransactionBroadcaster
   private static final Boolean HASH_ONLY_BROADCAST = Boolean.TRUE;
   private static final Boolean FULL_BROADCAST = Boolean.FALSE;
 
+  // the duplicate rate at which the full broadcast fan-out is the square root of the peer count
+  private static final double TARGET_DUPLICATE_RATE = 0.5;
+  private static final double MIN_FAN_OUT_FACTOR = 0.5;
+  private static final double MAX_FAN_OUT_FACTOR = 1.5;
+  // peers sending more duplicates than this are the last picked for full broadcast
+  private static final double REDUNDANT_PEER_DUPLICATE_RATE = 0.9;
+
   private final PeerTransactionTracker transactionTracker;
   private final TransactionsMessageSender transactionsMessageSender;
   private final NewPooledTransactionHashesMessageSender newPooledTransactionHashesMessageSender;
   private final EthContext ethContext;
   private final Random random;
+  private final Set<EthPeer> pendingFullSends = ConcurrentHashMap.newKeySet();
+  private final Set<EthPeer> pendingHashSends = ConcurrentHashMap.newKeySet();
 
   public TransactionBroadcaster(
       final EthContext ethContext,
@@ -93,7 +119,7 @@ public class TransactionBroadcaster
       return;
     }
 
-    final int numPeersToSendFullTransactions = (int) Math.round(Math.sqrt(currPeerCount));
+    transactionTracker.recordTransactionsBroadcast(transactions.size());
 
     final Map<Boolean, List<Transaction>> transactionByBroadcastMode =
         transactions.stream()
@@ -109,6 +135,11 @@ public class TransactionBroadcaster
             .collect(Collectors.toCollection(ArrayList::new));
 
     Collections.shuffle(peers, random);
+    // stable sort, so the shuffle order is kept among the peers that are not redundant
+    peers.sort(Comparator.comparing(this::isRedundantPeer));
+
+    final int numPeersToSendFullTransactions =
+        Math.min(fullBroadcastFanOut(currPeerCount), peers.size());
 
     final List<EthPeer> sendFullTransactionsPeers =
         peers.subList(0, numPeersToSendFullTransactions);
@@ -125,6 +156,22 @@ public class TransactionBroadcaster
     sendToFullTransactionsPeers(transactionByBroadcastMode, sendFullTransactionsPeers);
   }
 
+  private int fullBroadcastFanOut(final int peerCount) {
+    final OptionalDouble duplicateRate = transactionTracker.getAverageDuplicateRate();
+    final double fanOutFactor =
+        duplicateRate.isPresent()
+            ? Math.clamp(
+                1 + TARGET_DUPLICATE_RATE - duplicateRate.getAsDouble(),
+                MIN_FAN_OUT_FACTOR,
+                MAX_FAN_OUT_FACTOR)
+            : 1;
+    return (int) Math.max(1, Math.round(Math.sqrt(peerCount) * fanOutFactor));
+  }
+
+  private boolean isRedundantPeer(final EthPeer peer) {
+    return transactionTracker.getDuplicateRate(peer).orElse(0) > REDUNDANT_PEER_DUPLICATE_RATE;
+  }
+
   private void sendToOnlyHashPeers(
       final Map<Boolean, List<Transaction>> txsByHashOnlyBroadcast,
       final List<EthPeer> hashOnlyPeers) {
@@ -148,10 +195,16 @@ public class TransactionBroadcaster
           peer -> {
             transactions.forEach(
                 transaction -> transactionTracker.addToPeerSendQueue(peer, transaction));
-            ethContext
-                .getScheduler()
-                .scheduleSyncWorkerTask(
-                    () -> transactionsMessageSender.sendTransactionsToPeer(peer));
+            if (pendingFullSends.add(peer)) {
+              ethContext
+                  .getScheduler()
+                  .scheduleSyncWorkerTask(
+                      () -> {
+                        // transactions queued from now on need another send
+                        pendingFullSends.remove(peer);
+                        transactionsMessageSender.sendTransactionsToPeer(peer);
+                      });
+            }
           });
     }
   }
@@ -164,12 +217,16 @@ public class TransactionBroadcaster
               peer -> {
                 transactions.forEach(
                     transaction -> transactionTracker.addToPeerHashSendQueue(peer, transaction));
-                ethContext
-                    .getScheduler()
-                    .scheduleSyncWorkerTask(
-                        () ->
+                if (pendingHashSends.add(peer)) {
+                  ethContext
+                      .getScheduler()
+                      .scheduleSyncWorkerTask(
+                          () -> {
+                            pendingHashSends.remove(peer);
                             newPooledTransactionHashesMessageSender.sendTransactionHashesToPeer(
-                                peer));
+                                peer);
+                          });
+                }
               });
     }
   }
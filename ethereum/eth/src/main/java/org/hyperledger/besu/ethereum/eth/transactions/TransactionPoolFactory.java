@@ -62,6 +62,7 @@ public class TransactionPoolFactory {
 
     final PeerTransactionTracker transactionTracker =
         new PeerTransactionTracker(transactionPoolConfiguration, ethContext.getEthPeers());
+    metrics.createPeerTransactionTrackerMetrics(transactionTracker);
     final TransactionsMessageSender transactionsMessageSender =
         new TransactionsMessageSender(transactionTracker);
 
@@ -124,7 +125,12 @@ public class TransactionPoolFactory {
     final TransactionsMessageHandler transactionsMessageHandler =
         new TransactionsMessageHandler(
             ethContext.getScheduler(),
-            new TransactionsMessageProcessor(transactionTracker, transactionPool, metrics),
+            new TransactionsMessageProcessor(
+                transactionTracker,
+                transactionPool,
+                ethContext.getScheduler().getSenderRecovery(),
+                ethContext.getScheduler()::scheduleTxWorkerTask,
+                metrics),
             transactionPoolConfiguration.getUnstable().getTxMessageKeepAliveSeconds());
 
     final NewPooledTransactionHashesMessageHandler pooledTransactionsMessageHandler =
@@ -302,4 +302,39 @@ public class TransactionPoolMetrics {
         "Current size of the blob map",
         sizeSupplier);
   }
+
+  public void createPeerTransactionTrackerMetrics(final PeerTransactionTracker tracker) {
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.TRANSACTION_POOL,
+        "peer_tracker_seen_transactions_memory_used",
+        "Estimated bytes used to track the transactions seen by peers",
+        tracker::getSeenTransactionsMemoryUsage);
+
+    metricsSystem.createCounter(
+        BesuMetricCategory.TRANSACTION_POOL,
+        "peer_tracker_duplicate_sends_avoided_total",
+        "Total number of transactions not sent to peers that had already seen them",
+        tracker::getDuplicateSendsAvoided);
+
+    metricsSystem.createCounter(
+        BesuMetricCategory.TRANSACTION_POOL,
+        "peer_tracker_gossip_bytes_sent_total",
+        "Total size of the transactions and transaction hashes messages sent to peers",
+        tracker::getGossipBytesSent);
+
+    metricsSystem.createCounter(
+        BesuMetricCategory.TRANSACTION_POOL,
+        "peer_tracker_transactions_broadcast_total",
+        "Total number of unique transactions broadcast to peers",
+        tracker::getTransactionsBroadcast);
+
+    metricsSystem.createGauge(
+        BesuMetricCategory.TRANSACTION_POOL,
+        "peer_tracker_gossip_bytes_per_transaction",
+        "Average size of the messages sent to peers per unique transaction broadcast",
+        () -> {
+          final long broadcast = tracker.getTransactionsBroadcast();
+          return broadcast == 0 ? 0 : (double) tracker.getGossipBytesSent() / broadcast;
+        });
+  }
 }
@@ -19,6 +19,7 @@ import static org.hyperledger.besu.ethereum.core.Transaction.toHashList;
 
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.SenderRecoveryService;
 import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
@@ -27,6 +28,10 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -37,15 +42,22 @@ class TransactionsMessageProcessor {
   static final String METRIC_LABEL = "transactions";
   private final PeerTransactionTracker transactionTracker;
   private final TransactionPool transactionPool;
+  private final SenderRecoveryService senderRecovery;
+  private final Executor txWorkerExecutor;
+  private final Map<EthPeer, CompletableFuture<Void>> pendingAdditions = new ConcurrentHashMap<>();
 
   private final TransactionPoolMetrics metrics;
 
   public TransactionsMessageProcessor(
       final PeerTransactionTracker transactionTracker,
       final TransactionPool transactionPool,
+      final SenderRecoveryService senderRecovery,
+      final Executor txWorkerExecutor,
       final TransactionPoolMetrics metrics) {
     this.transactionTracker = transactionTracker;
     this.transactionPool = transactionPool;
+    this.senderRecovery = senderRecovery;
+    this.txWorkerExecutor = txWorkerExecutor;
     this.metrics = metrics;
     metrics.initExpiredMessagesCounter(METRIC_LABEL);
   }
@@ -71,8 +83,10 @@ class TransactionsMessageProcessor {
 
       transactionTracker.markTransactionsAsSeen(peer, incomingTransactions);
 
-      metrics.incrementAlreadySeenTransactions(
-          METRIC_LABEL, incomingTransactions.size() - freshTransactions.size());
+      final int alreadySeenCount = incomingTransactions.size() - freshTransactions.size();
+      transactionTracker.recordReceivedTransactions(
+          peer, incomingTransactions.size(), alreadySeenCount);
+      metrics.incrementAlreadySeenTransactions(METRIC_LABEL, alreadySeenCount);
       LOG.atTrace()
           .setMessage(
               "Received transactions message from {}, incoming transactions {}, incoming list {}"
@@ -84,7 +98,7 @@ class TransactionsMessageProcessor {
           .addArgument(() -> toHashList(freshTransactions))
           .log();
 
-      transactionPool.addRemoteTransactions(freshTransactions);
+      addToPoolOnceSendersRecovered(peer, freshTransactions);
 
     } catch (final RLPException ex) {
       if (peer != null) {
@@ -97,6 +111,43 @@ class TransactionsMessageProcessor {
     }
   }
 
+  /**
+   * Recovers the senders in parallel, instead of one by one during the validation, without holding
+   * this worker while the batches are queued, then adds the transactions from a transaction worker.
+   * The transactions of successive messages of a peer are added in the order they were received.
+   */
+  private void addToPoolOnceSendersRecovered(
+      final EthPeer peer, final Collection<Transaction> transactions) {
+    final CompletableFuture<Void> recovery =
+        senderRecovery
+            .recoverSenders(transactions)
+            .exceptionally(
+                error -> {
+                  // the validation recovers the senders that are still unknown
+                  LOG.debug(
+                      "Unable to recover the senders of transactions received from {}: {}",
+                      peer,
+                      error.getMessage());
+                  return null;
+                });
+    final CompletableFuture<Void> added =
+        pendingAdditions.compute(
+            peer,
+            (unused, previous) ->
+                (previous == null ? recovery : CompletableFuture.allOf(previous, recovery))
+                    .thenRunAsync(
+                        () -> transactionPool.addRemoteTransactions(transactions), txWorkerExecutor)
+                    .exceptionally(
+                        error -> {
+                          LOG.debug(
+                              "Transactions received from {} not added to the pool: {}",
+                              peer,
+                              error.getMessage());
+                          return null;
+                        }));
+    added.whenComplete((unused, error) -> pendingAdditions.remove(peer, added));
+  }
+
   private Collection<Transaction> skipSeenTransactions(final List<Transaction> inTransactions) {
     return inTransactions.stream()
         .filter(tx -> !transactionTracker.hasSeenTransaction(tx.getHash()))
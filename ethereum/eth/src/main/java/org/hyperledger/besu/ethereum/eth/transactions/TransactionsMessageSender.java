@@ -63,6 +63,8 @@ class TransactionsMessageSender {
       allTxToSend.removeAll(limitedTransactionsMessages.getIncludedTransactions());
       try {
         peer.send(limitedTransactionsMessages.getTransactionsMessage());
+        transactionTracker.recordGossipBytesSent(
+            limitedTransactionsMessages.getTransactionsMessage().getSize());
       } catch (final PeerNotConnected e) {
         return;
       }
@@ -95,6 +95,27 @@ public class EthPeersTest {
         .contains(peerB.ethPeer());
   }
 
+  @Test
+  public void comparesPeersWithSnapshotOfSnapResponseEstimate() {
+    final EthPeer fastPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, Difficulty.of(50), 20)
+            .getEthPeer();
+    final EthPeer slowPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, Difficulty.of(50), 20)
+            .getEthPeer();
+    fastPeer.getSnapRequestSizer().recordResponse(1000, 1000, 100);
+    slowPeer.getSnapRequestSizer().recordResponse(1000, 1000, 1000);
+    final EthPeerImmutableAttributes fast = EthPeerImmutableAttributes.from(fastPeer);
+    final EthPeerImmutableAttributes slow = EthPeerImmutableAttributes.from(slowPeer);
+
+    // responses received while sorting do not change the order of the attributes
+    fastPeer.getSnapRequestSizer().recordTimeout();
+    fastPeer.getSnapRequestSizer().recordResponse(1000, 1000, 100_000);
+
+    assertThat(EthPeers.FASTEST_SNAP_RESPONSE.compare(fast, slow)).isLessThan(0);
+    assertThat(EthPeers.FASTEST_SNAP_RESPONSE.compare(slow, fast)).isGreaterThan(0);
+  }
+
   @Test
   public void comparesPeersWithTdAndNoHeight() {
     final EthPeerImmutableAttributes peerA =
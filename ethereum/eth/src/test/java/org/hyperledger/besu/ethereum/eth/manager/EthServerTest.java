@@ -18,6 +18,8 @@ import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Hash;
@@ -234,6 +236,22 @@ public class EthServerTest {
     assertThat(result).contains(expectedMsg);
   }
 
+  @Test
+  public void shouldServeCachedBlockBodiesToLaterRequests() {
+    final List<Block> blocks = setupBlocks(5);
+    final List<BlockBody> expectedBodies =
+        blocks.stream().map(Block::getBody).collect(Collectors.toList());
+    setupEthServer();
+
+    final List<Hash> blockHashes = blocks.stream().map(Block::getHash).collect(Collectors.toList());
+    final EthMessage ethMsg = new EthMessage(ethPeer, GetBlockBodiesMessage.create(blockHashes));
+    ethMessages.dispatch(ethMsg, EthProtocol.LATEST);
+    final Optional<MessageData> result = ethMessages.dispatch(ethMsg, EthProtocol.LATEST);
+
+    assertThat(result).contains(BlockBodiesMessage.create(expectedBodies));
+    blocks.forEach(block -> verify(blockchain, times(1)).getBlockBodyRlp(block.getHash()));
+  }
+
   @Test
   public void shouldLimitTxReceiptsByMessageSize() {
     final Map<Hash, List<TransactionReceipt>> receiptsByHash = setupBlockReceipts(10);
@@ -365,6 +383,12 @@ public class EthServerTest {
       when(blockchain.getBlockHeader(block.getHash())).thenReturn(Optional.of(block.getHeader()));
       when(blockchain.getBlockHeader(block.getHeader().getNumber()))
           .thenReturn(Optional.of(block.getHeader()));
+      when(blockchain.getBlockHashByNumber(block.getHeader().getNumber()))
+          .thenReturn(Optional.of(block.getHash()));
+      when(blockchain.getBlockHeaderRlp(block.getHash()))
+          .thenReturn(Optional.of(RLP.encode(block.getHeader()::writeTo)));
+      when(blockchain.getBlockBodyRlp(block.getHash()))
+          .thenReturn(Optional.of(RLP.encode(block.getBody()::writeWrappedBodyTo)));
     }
 
     return blocks;
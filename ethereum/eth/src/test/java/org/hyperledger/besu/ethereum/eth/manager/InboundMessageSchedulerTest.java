@@ -0,0 +1,123 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.ethereum.eth.manager.InboundMessageScheduler.Priority;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class InboundMessageSchedulerTest {
+
+  private final List<Runnable> workers = new ArrayList<>();
+  private final List<String> processed = new ArrayList<>();
+  private final InboundMessageScheduler scheduler =
+      new InboundMessageScheduler(workers::add, 1, new NoOpMetricsSystem());
+  private final EthPeer peerA = mock(EthPeer.class);
+  private final EthPeer peerB = mock(EthPeer.class);
+
+  @Test
+  public void shouldStartAtMostMaxWorkers() {
+    schedule(Priority.REQUEST, peerA, "a1", 10);
+    schedule(Priority.REQUEST, peerA, "a2", 10);
+
+    assertThat(workers).hasSize(1);
+    workers.get(0).run();
+    assertThat(processed).containsExactly("a1", "a2");
+    assertThat(scheduler.queuedMessages(Priority.REQUEST)).isZero();
+    assertThat(scheduler.queuedBytes(Priority.REQUEST)).isZero();
+  }
+
+  @Test
+  public void shouldServePeersInTurn() {
+    schedule(Priority.REQUEST, peerA, "a1", 10);
+    schedule(Priority.REQUEST, peerA, "a2", 10);
+    schedule(Priority.REQUEST, peerB, "b1", 10);
+    schedule(Priority.REQUEST, peerB, "b2", 10);
+
+    workers.get(0).run();
+
+    assertThat(processed).containsExactly("a1", "b1", "a2", "b2");
+  }
+
+  @Test
+  public void shouldFavorHigherPriorities() {
+    for (int i = 0; i < 10; i++) {
+      schedule(Priority.BULK, peerA, "bulk" + i, 10);
+      schedule(Priority.CONSENSUS, peerA, "consensus" + i, 10);
+    }
+
+    workers.get(0).run();
+
+    assertThat(processed.subList(0, 9))
+        .containsExactly(
+            "consensus0",
+            "consensus1",
+            "consensus2",
+            "consensus3",
+            "consensus4",
+            "consensus5",
+            "consensus6",
+            "consensus7",
+            "bulk0");
+    assertThat(processed).hasSize(20);
+  }
+
+  @Test
+  public void shouldDropMessagesBeyondThePeerShareOfTheBudget() {
+    final int peerShare = 16 * 1024 * 1024 / 4;
+    assertThat(schedule(Priority.BULK, peerA, "a1", peerShare)).isTrue();
+    assertThat(schedule(Priority.BULK, peerA, "a2", 1)).isFalse();
+    assertThat(schedule(Priority.BULK, peerB, "b1", 1)).isTrue();
+
+    workers.get(0).run();
+
+    assertThat(processed).containsExactly("a1", "b1");
+  }
+
+  @Test
+  public void shouldAcceptOversizedMessageWhenNothingIsQueued() {
+    assertThat(schedule(Priority.BULK, peerA, "a1", 64 * 1024 * 1024)).isTrue();
+    assertThat(schedule(Priority.BULK, peerB, "b1", 1)).isFalse();
+  }
+
+  @Test
+  public void shouldKeepProcessingAfterHandlerFailure() {
+    scheduler.schedule(
+        Priority.REQUEST,
+        peerA,
+        "failing",
+        10,
+        () -> {
+          throw new IllegalStateException("boom");
+        });
+    schedule(Priority.REQUEST, peerA, "a1", 10);
+
+    workers.get(0).run();
+
+    assertThat(processed).containsExactly("a1");
+  }
+
+  private boolean schedule(
+      final Priority priority, final EthPeer peer, final String name, final int size) {
+    return scheduler.schedule(priority, peer, "test", size, () -> processed.add(name));
+  }
+}
@@ -307,17 +307,21 @@ public class RespondingEthPeer {
       final WorldStateArchive worldStateArchive,
       final TransactionPool transactionPool) {
     final int maxMsgSize = EthProtocolConfiguration.DEFAULT_MAX_MESSAGE_SIZE;
+    final EncodedBlockDataCache cache = new EncodedBlockDataCache(maxMsgSize);
     return (cap, msg) -> {
       MessageData response = null;
       switch (msg.getCode()) {
         case EthProtocolMessages.GET_BLOCK_HEADERS:
-          response = EthServer.constructGetHeadersResponse(blockchain, msg, 200, maxMsgSize);
+          response =
+              EthServer.constructGetHeadersResponse(blockchain, cache, msg, 200, maxMsgSize);
           break;
         case EthProtocolMessages.GET_BLOCK_BODIES:
-          response = EthServer.constructGetBodiesResponse(blockchain, msg, 200, maxMsgSize);
+          response = EthServer.constructGetBodiesResponse(blockchain, cache, msg, 200, maxMsgSize);
           break;
         case EthProtocolMessages.GET_RECEIPTS:
-          response = EthServer.constructGetReceiptsResponse(blockchain, msg, 200, maxMsgSize, cap);
+          response =
+              EthServer.constructGetReceiptsResponse(
+                  blockchain, cache, msg, 200, maxMsgSize, cap);
           break;
         case EthProtocolMessages.GET_NODE_DATA:
           response =
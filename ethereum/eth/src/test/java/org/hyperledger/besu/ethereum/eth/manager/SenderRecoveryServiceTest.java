@@ -0,0 +1,96 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class SenderRecoveryServiceTest {
+
+  private final BlockDataGenerator generator = new BlockDataGenerator();
+  private final List<Runnable> scheduledBatches = new ArrayList<>();
+  private final SenderRecoveryService senderRecovery =
+      new SenderRecoveryService(scheduledBatches::add);
+
+  @Test
+  public void shouldRecoverSendersInBatches() {
+    final List<Transaction> transactions = transactions(100);
+
+    final CompletableFuture<Void> result = senderRecovery.recoverSenders(transactions);
+
+    assertThat(scheduledBatches).hasSize(4);
+    assertThat(result).isNotDone();
+    scheduledBatches.forEach(Runnable::run);
+    assertThat(result).isDone();
+    assertThat(transactions).allMatch(Transaction::isSenderKnown);
+  }
+
+  @Test
+  public void shouldRecoverSameTransactionOnlyOnce() {
+    final List<Transaction> transactions = transactions(10);
+    final List<Transaction> sameTransactions =
+        transactions.stream().map(SenderRecoveryServiceTest::decoded).toList();
+
+    final CompletableFuture<Void> first = senderRecovery.recoverSenders(transactions);
+    final CompletableFuture<Void> second = senderRecovery.recoverSenders(sameTransactions);
+
+    assertThat(scheduledBatches).hasSize(1);
+    assertThat(second).isNotDone();
+    scheduledBatches.forEach(Runnable::run);
+    assertThat(first).isDone();
+    assertThat(second).isDone();
+    assertThat(sameTransactions).allMatch(Transaction::isSenderKnown);
+  }
+
+  @Test
+  public void shouldSkipTransactionsWithKnownSender() {
+    final List<Transaction> transactions = transactions(10);
+    transactions.forEach(Transaction::getSender);
+
+    final CompletableFuture<Void> result = senderRecovery.recoverSenders(transactions);
+
+    assertThat(scheduledBatches).isEmpty();
+    assertThat(result).isDone();
+  }
+
+  @Test
+  public void shouldCompletePendingRecoveriesExceptionallyOnStop() {
+    final CompletableFuture<Void> result = senderRecovery.recoverSenders(transactions(10));
+
+    senderRecovery.stop();
+
+    assertThat(result).isCompletedExceptionally();
+    // a batch still run after the stop has nothing left to complete
+    scheduledBatches.forEach(Runnable::run);
+  }
+
+  private List<Transaction> transactions(final int count) {
+    // decoded transactions, since generated ones are built with their sender
+    return IntStream.range(0, count).mapToObj(i -> decoded(generator.transaction())).toList();
+  }
+
+  private static Transaction decoded(final Transaction transaction) {
+    return Transaction.readFrom(transaction.encoded());
+  }
+}
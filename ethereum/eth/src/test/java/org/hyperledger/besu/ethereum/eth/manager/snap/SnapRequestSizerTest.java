@@ -0,0 +1,77 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.snap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.eth.manager.snap.SnapRequestSizer.INITIAL_RESPONSE_BYTES;
+import static org.hyperledger.besu.ethereum.eth.manager.snap.SnapRequestSizer.MAX_RESPONSE_BYTES;
+import static org.hyperledger.besu.ethereum.eth.manager.snap.SnapRequestSizer.MIN_RESPONSE_BYTES;
+
+import org.junit.jupiter.api.Test;
+
+public class SnapRequestSizerTest {
+
+  private final SnapRequestSizer sizer = new SnapRequestSizer();
+
+  @Test
+  public void shouldStartWithDefaultResponseSize() {
+    assertThat(sizer.responseBytes()).isEqualTo(INITIAL_RESPONSE_BYTES);
+    assertThat(sizer.throughput()).isZero();
+    assertThat(sizer.estimatedCompletionMillis(3)).isZero();
+  }
+
+  @Test
+  public void shouldGrowResponseSizeForFastPeerUpToMaximum() {
+    for (int i = 0; i < 10; i++) {
+      final int requested = sizer.responseBytes();
+      sizer.recordResponse(requested, requested, 100);
+    }
+
+    assertThat(sizer.responseBytes()).isEqualTo(MAX_RESPONSE_BYTES);
+  }
+
+  @Test
+  public void shouldNotGrowResponseSizeWhenResponsesAreNotFull() {
+    sizer.recordResponse(INITIAL_RESPONSE_BYTES, INITIAL_RESPONSE_BYTES / 4, 10);
+
+    assertThat(sizer.responseBytes()).isEqualTo(INITIAL_RESPONSE_BYTES);
+  }
+
+  @Test
+  public void shouldShrinkResponseSizeForSlowPeerDownToMinimum() {
+    for (int i = 0; i < 20; i++) {
+      final int requested = sizer.responseBytes();
+      sizer.recordResponse(requested, requested, 4000);
+    }
+
+    assertThat(sizer.responseBytes()).isEqualTo(MIN_RESPONSE_BYTES);
+  }
+
+  @Test
+  public void shouldHalveResponseSizeOnTimeout() {
+    sizer.recordTimeout();
+
+    assertThat(sizer.responseBytes()).isEqualTo(INITIAL_RESPONSE_BYTES / 2);
+  }
+
+  @Test
+  public void shouldEstimateCompletionFromLatencyAndOutstandingRequests() {
+    sizer.recordResponse(INITIAL_RESPONSE_BYTES, INITIAL_RESPONSE_BYTES, 512);
+
+    assertThat(sizer.estimatedCompletionMillis(0)).isEqualTo(512);
+    assertThat(sizer.estimatedCompletionMillis(2)).isEqualTo(1536);
+    assertThat(sizer.throughput()).isEqualTo(INITIAL_RESPONSE_BYTES * 1000L / 512);
+  }
+}
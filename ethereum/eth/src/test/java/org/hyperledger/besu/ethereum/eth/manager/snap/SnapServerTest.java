@@ -226,6 +226,21 @@ public class SnapServerTest {
     assertThat(assertIsValidAccountRangeProof(acct2.addressHash, rangeData)).isTrue();
   }
 
+  @ParameterizedTest
+  @MethodSource("flatDbMode")
+  public void assertRepeatedRangeRequestServesSameProofs(final FlatDbMode flatDbMode) {
+    setup(flatDbMode);
+    insertTestAccounts(acct1, acct2, acct3, acct4);
+
+    var firstRangeData =
+        getAndVerifyAccountRangeData(requestAccountRange(acct1.addressHash, acct4.addressHash), 4);
+    var secondRangeData =
+        getAndVerifyAccountRangeData(requestAccountRange(acct1.addressHash, acct4.addressHash), 4);
+
+    assertThat(secondRangeData.proofs()).containsExactlyElementsOf(firstRangeData.proofs());
+    assertThat(assertIsValidAccountRangeProof(acct1.addressHash, secondRangeData)).isTrue();
+  }
+
   @ParameterizedTest
   @MethodSource("flatDbMode")
   public void assertAccountLimitRangeResponse(final FlatDbMode flatDbMode) {
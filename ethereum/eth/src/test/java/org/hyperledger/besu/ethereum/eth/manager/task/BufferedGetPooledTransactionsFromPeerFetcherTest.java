@@ -181,4 +181,34 @@ public class BufferedGetPooledTransactionsFromPeerFetcherTest {
                 "remote_transactions_already_seen_total", "new_pooled_transaction_hashes"))
         .isEqualTo(1);
   }
+
+  @Test
+  public void requestTransactionShouldNotStartTaskWhenTransactionRequestedFromAnotherPeer() {
+    final Transaction transaction = generator.transaction();
+    final Hash hash = transaction.getHash();
+    transactionTracker.claimTransactionRequest(hash);
+
+    fetcher.addHashes(List.of(hash));
+    fetcher.requestTransactions();
+
+    verifyNoInteractions(peerTaskExecutor);
+
+    // the other request completed without delivering the transaction
+    transactionTracker.releaseTransactionRequests(List.of(hash));
+    when(peerTaskExecutor.executeAgainstPeer(
+            any(
+                org.hyperledger.besu.ethereum.eth.manager.peertask.task
+                    .GetPooledTransactionsFromPeerTask.class),
+            eq(ethPeer)))
+        .thenReturn(
+            new PeerTaskExecutorResult<List<Transaction>>(
+                Optional.of(List.of(transaction)),
+                PeerTaskExecutorResponseCode.SUCCESS,
+                List.of(ethPeer)));
+
+    fetcher.requestTransactions();
+
+    verify(transactionPool).addRemoteTransactions(List.of(transaction));
+    assertThat(transactionTracker.claimTransactionRequest(hash)).isTrue();
+  }
 }
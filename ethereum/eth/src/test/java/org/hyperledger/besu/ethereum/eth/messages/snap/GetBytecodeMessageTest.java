@@ -18,6 +18,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -48,4 +49,18 @@ public final class GetBytecodeMessageTest {
     Assertions.assertThat(codeHashes.responseBytes())
         .isEqualTo(AbstractSnapMessageData.SIZE_REQUEST);
   }
+
+  @Test
+  public void wrappingKeepsResponseBytes() {
+    final List<Bytes32> hashes = List.of(Bytes32.random(), Bytes32.random());
+    final BigInteger responseBytes = BigInteger.valueOf(65536);
+
+    final MessageData wrapped =
+        GetByteCodesMessage.create(hashes, responseBytes).wrapMessageData(BigInteger.ONE);
+
+    final GetByteCodesMessage.CodeHashes codeHashes =
+        GetByteCodesMessage.readFrom(wrapped).codeHashes(true);
+    Assertions.assertThat(codeHashes.hashes()).isEqualTo(hashes);
+    Assertions.assertThat(codeHashes.responseBytes()).isEqualTo(responseBytes);
+  }
 }
@@ -799,7 +799,7 @@ public abstract class AbstractBlockPropagationManagerTest {
     final Responder responder = RespondingEthPeer.blockchainResponder(getFullBlockchain());
     peer.respondWhile(responder, peer::hasOutstandingRequests);
 
-    verify(blockBroadcaster, times(1)).propagate(block, totalDifficulty);
+    verify(blockBroadcaster, times(1)).relay(block, totalDifficulty);
   }
 
   @SuppressWarnings("unchecked")
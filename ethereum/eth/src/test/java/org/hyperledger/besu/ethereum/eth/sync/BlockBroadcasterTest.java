@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.eth.sync;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -29,11 +30,16 @@ import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeerImmutableAttributes;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
+import org.hyperledger.besu.ethereum.eth.messages.EthProtocolMessages;
 import org.hyperledger.besu.ethereum.eth.messages.NewBlockMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.util.number.ByteUnits;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -95,6 +101,53 @@ public class BlockBroadcasterTest {
     verify(ethPeer1, times(1)).send(newBlockMessage);
   }
 
+  @Test
+  public void relaySendsFullBlockToSquareRootOfPeersAndHashToOthers() {
+    final List<MessageData> sentMessages = new ArrayList<>();
+    final List<EthPeerImmutableAttributes> peers =
+        IntStream.range(0, 9)
+            .mapToObj(
+                i -> {
+                  final EthPeer ethPeer = mock(EthPeer.class);
+                  try {
+                    when(ethPeer.send(any()))
+                        .thenAnswer(
+                            invocation -> {
+                              sentMessages.add(invocation.getArgument(0));
+                              return null;
+                            });
+                  } catch (final PeerConnection.PeerNotConnected e) {
+                    throw new IllegalStateException(e);
+                  }
+                  final EthPeerImmutableAttributes attributes =
+                      mock(EthPeerImmutableAttributes.class);
+                  when(attributes.ethPeer()).thenReturn(ethPeer);
+                  return attributes;
+                })
+            .toList();
+    final EthPeers ethPeers = mock(EthPeers.class);
+    when(ethPeers.streamAvailablePeers()).thenReturn(peers.stream());
+
+    final EthContext ethContext = mock(EthContext.class);
+    when(ethContext.getEthPeers()).thenReturn(ethPeers);
+
+    final BlockBroadcaster blockBroadcaster = new BlockBroadcaster(ethContext, maxMessageSize);
+    final Block block = generateBlock();
+
+    blockBroadcaster.relay(block, Difficulty.ZERO);
+
+    assertThat(sentMessages).hasSize(9);
+    assertThat(sentMessages)
+        .filteredOn(message -> message.getCode() == EthProtocolMessages.NEW_BLOCK)
+        .hasSize(3);
+    assertThat(sentMessages)
+        .filteredOn(message -> message.getCode() == EthProtocolMessages.NEW_BLOCK_HASHES)
+        .hasSize(6);
+    for (final EthPeerImmutableAttributes peer : peers) {
+      verify(peer.ethPeer()).registerKnownBlock(block.getHash());
+    }
+  }
+
   private Block generateBlock() {
     final BlockBody body = new BlockBody(Collections.emptyList(), Collections.emptyList());
     return new Block(new BlockHeaderTestFixture().buildHeader(), body);
@@ -0,0 +1,59 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fullsync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.mainnet.BodyValidation;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.testutil.DeterministicEthScheduler;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+public class PrepareBlocksStepTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final PrepareBlocksStep prepareBlocksStep =
+      new PrepareBlocksStep(
+          new DeterministicEthScheduler(), NoOpMetricsSystem.NO_OP_OPERATION_TIMER);
+
+  @Test
+  public void shouldReturnBlocksInOrder() {
+    final List<Block> blocks = gen.blockSequence(10);
+
+    final CompletableFuture<List<Block>> result = prepareBlocksStep.apply(blocks);
+
+    assertThat(result).isCompletedWithValue(blocks);
+  }
+
+  @Test
+  public void shouldComputeBodyRootsMatchingHeader() {
+    final List<Block> blocks = gen.blockSequence(3);
+
+    prepareBlocksStep.apply(blocks).join();
+
+    for (final Block block : blocks) {
+      assertThat(block.getBody().getTransactionsRoot())
+          .isEqualTo(block.getHeader().getTransactionsRoot())
+          .isEqualTo(BodyValidation.transactionsRoot(block.getBody().getTransactions()));
+      assertThat(block.getBody().getOmmersHash()).isEqualTo(block.getHeader().getOmmersHash());
+    }
+  }
+}
@@ -269,4 +269,43 @@ public class StackTrieTest {
     Assertions.assertThat(recreatedWorldStateStorage.getAccountStateTrieNode(trie.getRootHash()))
         .isPresent();
   }
+
+  @Test
+  public void shouldCommitPreparedTrieLikeDirectCommit() {
+    final ForestWorldStateKeyValueStorage worldStateStorage =
+        new ForestWorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+
+    final MerkleTrie<Bytes, Bytes> trie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) -> worldStateStorage.getAccountStateTrieNode(hash).map(Bytes::wrap),
+            b -> b,
+            b -> b);
+
+    trie.put(Bytes32.rightPad(Bytes.of(0x10)), Bytes.of(0x01));
+    trie.put(Bytes32.rightPad(Bytes.of(0x11)), Bytes.of(0x01));
+    trie.put(Bytes32.rightPad(Bytes.of(0x20)), Bytes.of(0x01));
+    trie.put(Bytes32.rightPad(Bytes.of(0x01)), Bytes.of(0x02));
+
+    final TreeMap<Bytes32, Bytes> entries = new TreeMap<>();
+    trie.entriesFrom(Bytes32.ZERO, Integer.MAX_VALUE).forEach(entries::put);
+
+    final List<Bytes32> directNodes = new ArrayList<>();
+    final TreeMap<Bytes32, Bytes> directFlatEntries = new TreeMap<>();
+    final StackTrie directStackTrie = new StackTrie(Hash.wrap(trie.getRootHash()), Bytes32.ZERO);
+    directStackTrie.addElement(Bytes32.ZERO, new ArrayList<>(), entries);
+    directStackTrie.commit(
+        directFlatEntries::put, (location, hash, value) -> directNodes.add(hash));
+
+    final List<Bytes32> preparedNodes = new ArrayList<>();
+    final TreeMap<Bytes32, Bytes> preparedFlatEntries = new TreeMap<>();
+    final StackTrie preparedStackTrie = new StackTrie(Hash.wrap(trie.getRootHash()), Bytes32.ZERO);
+    preparedStackTrie.addElement(Bytes32.ZERO, new ArrayList<>(), entries);
+    preparedStackTrie.prepareCommit();
+    Assertions.assertThat(preparedNodes).isEmpty();
+    preparedStackTrie.commit(
+        preparedFlatEntries::put, (location, hash, value) -> preparedNodes.add(hash));
+
+    Assertions.assertThat(preparedNodes).contains(trie.getRootHash()).isEqualTo(directNodes);
+    Assertions.assertThat(preparedFlatEntries).isEqualTo(entries).isEqualTo(directFlatEntries);
+  }
 }
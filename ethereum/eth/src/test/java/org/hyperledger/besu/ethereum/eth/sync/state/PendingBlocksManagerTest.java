@@ -74,6 +74,21 @@ public class PendingBlocksManagerTest {
     assertThat(pendingBlocksForParent).isEqualTo(Collections.emptyList());
   }
 
+  @Test
+  public void deregisterPendingBlockAndGetChildren() {
+    final Block parentBlock = gen.block();
+    final Block childBlock = gen.nextBlock(parentBlock);
+    pendingBlocksManager.registerPendingBlock(parentBlock, NODE_ID_1);
+    pendingBlocksManager.registerPendingBlock(childBlock, NODE_ID_2);
+
+    final List<Block> readyForImport =
+        pendingBlocksManager.deregisterPendingBlockAndGetChildren(parentBlock.getHeader());
+
+    assertThat(readyForImport).containsExactly(childBlock);
+    assertThat(pendingBlocksManager.contains(parentBlock.getHash())).isFalse();
+    assertThat(pendingBlocksManager.contains(childBlock.getHash())).isTrue();
+  }
+
   @Test
   public void registerSiblingBlocks() {
     final BlockDataGenerator gen = new BlockDataGenerator();
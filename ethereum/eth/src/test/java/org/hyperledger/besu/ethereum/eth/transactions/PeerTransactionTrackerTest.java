@@ -30,6 +30,12 @@ import org.hyperledger.besu.ethereum.eth.manager.PeerReputation;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableSet;
@@ -89,6 +95,89 @@ public class PeerTransactionTrackerTest {
     assertThat(tracker.claimTransactionsToSendToPeer(ethPeer2)).containsOnly(transaction3);
   }
 
+  @Test
+  public void shouldCountDuplicateSendsAvoided() {
+    tracker.markTransactionsAsSeen(ethPeer1, ImmutableSet.of(transaction1, transaction2));
+
+    tracker.addToPeerSendQueue(ethPeer1, transaction1);
+    tracker.addToPeerHashSendQueue(ethPeer1, transaction2);
+    tracker.addToPeerSendQueue(ethPeer1, transaction3);
+
+    assertThat(tracker.getDuplicateSendsAvoided()).isEqualTo(2);
+    assertThat(tracker.getSeenTransactionsMemoryUsage()).isPositive();
+  }
+
+  @Test
+  public void shouldQueueTransactionOncePerPeer() {
+    tracker.addToPeerSendQueue(ethPeer1, transaction1);
+    tracker.addToPeerHashSendQueue(ethPeer1, transaction1);
+    tracker.addToPeerSendQueue(ethPeer1, transaction1);
+
+    assertThat(tracker.hasPeerSeenTransaction(ethPeer1, transaction1)).isTrue();
+    assertThat(tracker.getDuplicateSendsAvoided()).isEqualTo(2);
+    assertThat(tracker.claimTransactionsToSendToPeer(ethPeer1)).containsOnly(transaction1);
+    assertThat(tracker.claimTransactionHashesToSendToPeer(ethPeer1)).isEmpty();
+  }
+
+  @Test
+  public void shouldQueueAgainTransactionEvictedFromTheSendQueue() {
+    final PeerTransactionTracker smallQueueTracker =
+        new PeerTransactionTracker(
+            ImmutableTransactionPoolConfiguration.builder()
+                .unstable(
+                    ImmutableTransactionPoolConfiguration.Unstable.builder()
+                        .maxTrackedSeenTxsPerPeer(3)
+                        .build())
+                .build(),
+            ethPeers);
+    final Transaction transaction4 = generator.transaction();
+
+    smallQueueTracker.addToPeerSendQueue(ethPeer1, transaction1);
+    smallQueueTracker.addToPeerSendQueue(ethPeer1, transaction2);
+    smallQueueTracker.addToPeerSendQueue(ethPeer1, transaction3);
+    // evicts transaction1, that was never sent
+    smallQueueTracker.addToPeerSendQueue(ethPeer1, transaction4);
+
+    assertThat(smallQueueTracker.hasPeerSeenTransaction(ethPeer1, transaction1)).isFalse();
+    assertThat(smallQueueTracker.claimTransactionsToSendToPeer(ethPeer1))
+        .containsExactly(transaction2, transaction3, transaction4);
+
+    smallQueueTracker.addToPeerSendQueue(ethPeer1, transaction1);
+
+    assertThat(smallQueueTracker.claimTransactionsToSendToPeer(ethPeer1))
+        .containsExactly(transaction1);
+    assertThat(smallQueueTracker.getDuplicateSendsAvoided()).isZero();
+  }
+
+  @Test
+  public void shouldQueueTransactionOncePerPeerWhenAddedConcurrently() throws Exception {
+    final int threads = 8;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final CountDownLatch start = new CountDownLatch(1);
+      final List<Future<?>> futures =
+          IntStream.range(0, threads)
+              .<Future<?>>mapToObj(
+                  i ->
+                      executor.submit(
+                          () -> {
+                            start.await();
+                            tracker.addToPeerSendQueue(ethPeer1, transaction1);
+                            return null;
+                          }))
+              .toList();
+      start.countDown();
+      for (final Future<?> future : futures) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(tracker.getDuplicateSendsAvoided()).isEqualTo(threads - 1);
+    assertThat(tracker.claimTransactionsToSendToPeer(ethPeer1)).containsOnly(transaction1);
+  }
+
   @Test
   public void shouldStopTrackingSeenTransactionsWhenRemovalReasonSaysSo() {
     forgetfulTracker.markTransactionsAsSeen(ethPeer1, ImmutableSet.of(transaction2));
@@ -152,6 +241,35 @@ public class PeerTransactionTrackerTest {
     assertThat(tracker.claimTransactionsToSendToPeer(ethPeer2)).containsOnly(transaction3);
   }
 
+  @Test
+  public void shouldRequestTransactionFromOnePeerAtATime() {
+    final Hash hash = transaction1.getHash();
+
+    assertThat(tracker.claimTransactionRequest(hash)).isTrue();
+    assertThat(tracker.claimTransactionRequest(hash)).isFalse();
+
+    tracker.releaseTransactionRequests(List.of(hash));
+
+    assertThat(tracker.claimTransactionRequest(hash)).isTrue();
+  }
+
+  @Test
+  public void shouldTrackDuplicateRatePerPeer() {
+    assertThat(tracker.getDuplicateRate(ethPeer1)).isEmpty();
+    assertThat(tracker.getAverageDuplicateRate()).isEmpty();
+
+    tracker.recordReceivedTransactions(ethPeer1, 10, 10);
+    tracker.recordReceivedTransactions(ethPeer2, 10, 0);
+
+    assertThat(tracker.getDuplicateRate(ethPeer1)).hasValue(1.0);
+    assertThat(tracker.getDuplicateRate(ethPeer2)).hasValue(0.0);
+    assertThat(tracker.getAverageDuplicateRate()).hasValue(0.5);
+
+    tracker.recordReceivedTransactions(ethPeer2, 1024, 1024);
+
+    assertThat(tracker.getDuplicateRate(ethPeer2)).hasValue(1.0);
+  }
+
   @Test
   public void shouldClearDataWhenPeerDisconnects() {
     tracker.markTransactionsAsSeen(ethPeer1, ImmutableSet.of(transaction1));
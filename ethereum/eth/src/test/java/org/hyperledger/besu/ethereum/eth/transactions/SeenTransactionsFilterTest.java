@@ -0,0 +1,104 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class SeenTransactionsFilterTest {
+
+  @Test
+  public void shouldRememberAddedTransactions() {
+    final SeenTransactionsFilter filter = new SeenTransactionsFilter(1000);
+    final List<Hash> hashes = hashes(500);
+
+    hashes.forEach(filter::add);
+
+    assertThat(hashes).allMatch(filter::contains);
+    assertThat(hashes(1000).subList(500, 1000)).noneMatch(filter::contains);
+  }
+
+  @Test
+  public void shouldForgetOldestGenerationWhenFull() {
+    final SeenTransactionsFilter filter = new SeenTransactionsFilter(100);
+    final List<Hash> hashes = hashes(150);
+
+    hashes.forEach(filter::add);
+
+    assertThat(hashes.subList(0, 50)).noneMatch(filter::contains);
+    assertThat(hashes.subList(50, 150)).allMatch(filter::contains);
+  }
+
+  @Test
+  public void shouldKeepRefreshedTransactions() {
+    final SeenTransactionsFilter filter = new SeenTransactionsFilter(100);
+    final List<Hash> hashes = hashes(150);
+
+    hashes.subList(0, 100).forEach(filter::add);
+    // refresh the first one, that is in the previous generation now
+    filter.add(hashes.get(0));
+    hashes.subList(100, 150).forEach(filter::add);
+
+    assertThat(filter.contains(hashes.get(0))).isTrue();
+    assertThat(filter.contains(hashes.get(1))).isFalse();
+  }
+
+  @Test
+  public void shouldReportWhetherAddedTransactionWasAlreadySeen() {
+    final SeenTransactionsFilter filter = new SeenTransactionsFilter(100);
+    final List<Hash> hashes = hashes(100);
+
+    assertThat(filter.add(hashes.get(0))).isTrue();
+    assertThat(filter.add(hashes.get(0))).isFalse();
+
+    // the first one is in the previous generation now, and still reported as seen
+    hashes.subList(1, 100).forEach(filter::add);
+    assertThat(filter.add(hashes.get(0))).isFalse();
+  }
+
+  @Test
+  public void shouldRemoveTransactionsKeepingTheOthers() {
+    final SeenTransactionsFilter filter = new SeenTransactionsFilter(10_000);
+    final List<Hash> hashes = hashes(1000);
+    hashes.forEach(filter::add);
+
+    IntStream.range(0, 1000).filter(i -> i % 3 == 0).forEach(i -> filter.remove(hashes.get(i)));
+
+    IntStream.range(0, 1000)
+        .forEach(i -> assertThat(filter.contains(hashes.get(i))).isEqualTo(i % 3 != 0));
+  }
+
+  @Test
+  public void shouldHandleZeroFingerprint() {
+    final SeenTransactionsFilter filter = new SeenTransactionsFilter(10);
+
+    filter.add(Hash.ZERO);
+
+    assertThat(filter.contains(Hash.ZERO)).isTrue();
+    filter.remove(Hash.ZERO);
+    assertThat(filter.contains(Hash.ZERO)).isFalse();
+  }
+
+  private static List<Hash> hashes(final int count) {
+    return IntStream.range(0, count).mapToObj(i -> Hash.hash(Bytes.ofUnsignedInt(i))).toList();
+  }
+}
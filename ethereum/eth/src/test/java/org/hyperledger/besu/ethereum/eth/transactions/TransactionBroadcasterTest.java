@@ -42,6 +42,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.OptionalDouble;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -208,6 +209,70 @@ public class TransactionBroadcasterTest {
     assertThat(fullTransactionPeers).hasSameElementsAs(List.of(ethPeer2, ethPeer3));
   }
 
+  @Test
+  public void onTransactionsAddedSendsFullTransactionsToFewerPeersWhenDuplicateRateIsHigh() {
+    final List<EthPeer> peers = List.of(ethPeer, ethPeer2, ethPeer3, mockPeer());
+    when(ethPeers.peerCount()).thenReturn(4);
+    when(ethPeers.streamAvailablePeers())
+        .thenReturn(peers.stream().map(EthPeerImmutableAttributes::from));
+    when(transactionTracker.getAverageDuplicateRate()).thenReturn(OptionalDouble.of(1.0));
+
+    final List<Transaction> txs = toTransactionList(setupTransactionPool(1, 0));
+    txBroadcaster.onTransactionsAdded(txs);
+
+    verify(transactionTracker, times(1)).addToPeerSendQueue(any(EthPeer.class), eq(txs.get(0)));
+    verify(transactionTracker, times(3)).addToPeerHashSendQueue(any(EthPeer.class), eq(txs.get(0)));
+  }
+
+  @Test
+  public void onTransactionsAddedSendsFullTransactionsToMorePeersWhenDuplicateRateIsLow() {
+    final List<EthPeer> peers = List.of(ethPeer, ethPeer2, ethPeer3, mockPeer());
+    when(ethPeers.peerCount()).thenReturn(4);
+    when(ethPeers.streamAvailablePeers())
+        .thenReturn(peers.stream().map(EthPeerImmutableAttributes::from));
+    when(transactionTracker.getAverageDuplicateRate()).thenReturn(OptionalDouble.of(0.0));
+
+    final List<Transaction> txs = toTransactionList(setupTransactionPool(1, 0));
+    txBroadcaster.onTransactionsAdded(txs);
+
+    verify(transactionTracker, times(3)).addToPeerSendQueue(any(EthPeer.class), eq(txs.get(0)));
+    verify(transactionTracker, times(1)).addToPeerHashSendQueue(any(EthPeer.class), eq(txs.get(0)));
+  }
+
+  @Test
+  public void onTransactionsAddedDoesNotSendFullTransactionsToRedundantPeers() {
+    when(ethPeers.peerCount()).thenReturn(2);
+    when(ethPeers.streamAvailablePeers())
+        .thenReturn(Stream.of(ethPeer, ethPeer2).map(EthPeerImmutableAttributes::from));
+    // ethPeer would be the full transaction peer, but it mostly sends already known transactions
+    when(transactionTracker.getDuplicateRate(ethPeer)).thenReturn(OptionalDouble.of(1.0));
+
+    final List<Transaction> txs = toTransactionList(setupTransactionPool(1, 0));
+    txBroadcaster.onTransactionsAdded(txs);
+
+    verifyTransactionAddedToPeerSendingQueue(ethPeer2, txs);
+    verifyTransactionAddedToPeerHashSendingQueue(ethPeer, txs);
+  }
+
+  @Test
+  public void onTransactionsAddedBatchesSendsWhileOneIsPending() {
+    when(ethPeers.peerCount()).thenReturn(1);
+    when(ethPeers.streamAvailablePeers())
+        .thenAnswer(unused -> Stream.of(ethPeer).map(EthPeerImmutableAttributes::from));
+
+    txBroadcaster.onTransactionsAdded(toTransactionList(setupTransactionPool(1, 0)));
+    txBroadcaster.onTransactionsAdded(toTransactionList(setupTransactionPool(1, 0)));
+
+    verify(ethScheduler, times(1)).scheduleSyncWorkerTask(any(Runnable.class));
+    verify(transactionTracker, times(2)).addToPeerSendQueue(eq(ethPeer), any(Transaction.class));
+
+    sendTaskCapture.getValue().run();
+    txBroadcaster.onTransactionsAdded(toTransactionList(setupTransactionPool(1, 0)));
+
+    verify(ethScheduler, times(2)).scheduleSyncWorkerTask(any(Runnable.class));
+    verify(transactionsMessageSender).sendTransactionsToPeer(ethPeer);
+  }
+
   private void verifyNothingSent() {
     verifyNoInteractions(
         transactionTracker, transactionsMessageSender, newPooledTransactionHashesMessageSender);
@@ -19,18 +19,29 @@ import static java.time.Duration.ofMinutes;
 import static java.time.Instant.now;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.SenderRecoveryService;
 import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage;
 import org.hyperledger.besu.metrics.StubMetricsSystem;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -55,7 +66,11 @@ public class TransactionsMessageProcessorTest {
 
     messageHandler =
         new TransactionsMessageProcessor(
-            transactionTracker, transactionPool, new TransactionPoolMetrics(metricsSystem));
+            transactionTracker,
+            transactionPool,
+            new SenderRecoveryService(Runnable::run),
+            Runnable::run,
+            new TransactionPoolMetrics(metricsSystem));
   }
 
   @Test
@@ -80,6 +95,94 @@ public class TransactionsMessageProcessorTest {
     verify(transactionPool).addRemoteTransactions(asList(transaction1, transaction2, transaction3));
   }
 
+  @Test
+  public void shouldAddTransactionsOnceTheirSendersAreRecoveredWithoutBlocking() {
+    final List<Runnable> scheduledBatches = new ArrayList<>();
+    final TransactionsMessageProcessor processor =
+        new TransactionsMessageProcessor(
+            transactionTracker,
+            transactionPool,
+            new SenderRecoveryService(scheduledBatches::add),
+            Runnable::run,
+            new TransactionPoolMetrics(metricsSystem));
+    // decoded transactions, since generated ones are built with their sender
+    final List<Transaction> transactions = List.of(Transaction.readFrom(transaction1.encoded()));
+
+    processor.processTransactionsMessage(
+        peer1, TransactionsMessage.create(transactions), now(), ofMinutes(1));
+
+    verifyNoInteractions(transactionPool);
+    scheduledBatches.forEach(Runnable::run);
+    verify(transactionPool).addRemoteTransactions(transactions);
+  }
+
+  @Test
+  public void shouldAddTransactionsFromTransactionWorker() {
+    final List<Runnable> txWorkerTasks = new ArrayList<>();
+    final TransactionsMessageProcessor processor =
+        new TransactionsMessageProcessor(
+            transactionTracker,
+            transactionPool,
+            new SenderRecoveryService(Runnable::run),
+            txWorkerTasks::add,
+            new TransactionPoolMetrics(metricsSystem));
+
+    processor.processTransactionsMessage(
+        peer1, TransactionsMessage.create(List.of(transaction1)), now(), ofMinutes(1));
+
+    verifyNoInteractions(transactionPool);
+    assertThat(txWorkerTasks).hasSize(1);
+    txWorkerTasks.forEach(Runnable::run);
+    verify(transactionPool).addRemoteTransactions(List.of(transaction1));
+  }
+
+  @Test
+  public void shouldAddTransactionsOfAPeerInTheOrderTheyWereReceived() {
+    final List<Runnable> scheduledBatches = new ArrayList<>();
+    final TransactionsMessageProcessor processor =
+        new TransactionsMessageProcessor(
+            transactionTracker,
+            transactionPool,
+            new SenderRecoveryService(scheduledBatches::add),
+            Runnable::run,
+            new TransactionPoolMetrics(metricsSystem));
+    final List<Transaction> first = List.of(Transaction.readFrom(transaction1.encoded()));
+    final List<Transaction> second = List.of(Transaction.readFrom(transaction2.encoded()));
+
+    processor.processTransactionsMessage(
+        peer1, TransactionsMessage.create(first), now(), ofMinutes(1));
+    processor.processTransactionsMessage(
+        peer1, TransactionsMessage.create(second), now(), ofMinutes(1));
+
+    // the senders of the second message are recovered first
+    scheduledBatches.get(1).run();
+    verifyNoInteractions(transactionPool);
+    scheduledBatches.get(0).run();
+
+    final InOrder inOrder = inOrder(transactionPool);
+    inOrder.verify(transactionPool).addRemoteTransactions(first);
+    inOrder.verify(transactionPool).addRemoteTransactions(second);
+  }
+
+  @Test
+  public void shouldAddTransactionsWhenTheirSendersCannotBeRecovered() {
+    final SenderRecoveryService senderRecovery = mock(SenderRecoveryService.class);
+    when(senderRecovery.recoverSenders(any()))
+        .thenReturn(CompletableFuture.failedFuture(new CancellationException("stopped")));
+    final TransactionsMessageProcessor processor =
+        new TransactionsMessageProcessor(
+            transactionTracker,
+            transactionPool,
+            senderRecovery,
+            Runnable::run,
+            new TransactionPoolMetrics(metricsSystem));
+
+    processor.processTransactionsMessage(
+        peer1, TransactionsMessage.create(List.of(transaction1)), now(), ofMinutes(1));
+
+    verify(transactionPool).addRemoteTransactions(List.of(transaction1));
+  }
+
   @Test
   public void shouldNotMarkReceivedExpiredTransactionsAsSeen() {
     messageHandler.processTransactionsMessage(
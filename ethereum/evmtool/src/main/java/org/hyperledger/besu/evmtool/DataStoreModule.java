@@ -15,7 +15,9 @@
 package org.hyperledger.besu.evmtool;
 
 import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.VariablesStorage;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.storage.keyvalue.BlockchainStorageFactory;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
 import org.hyperledger.besu.ethereum.storage.keyvalue.VariablesKeyValueStorage;
@@ -150,11 +152,16 @@ public class DataStoreModule {
   static BlockchainStorage provideBlockchainStorage(
       @Named("blockchain") final KeyValueStorage keyValueStorage,
       @Named("variables") final KeyValueStorage variablesKeyValueStorage,
-      final BlockHeaderFunctions blockHashFunction) {
-    return new KeyValueStoragePrefixedKeyBlockchainStorage(
-        keyValueStorage,
-        new VariablesKeyValueStorage(variablesKeyValueStorage),
-        blockHashFunction,
-        false);
+      final BlockHeaderFunctions blockHashFunction,
+      final BesuConfiguration commonConfiguration) {
+    final VariablesStorage variablesStorage =
+        new VariablesKeyValueStorage(variablesKeyValueStorage);
+    // evmtool does not archive blocks itself, but reads the blocks a node archived
+    return BlockchainStorageFactory.create(
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            keyValueStorage, variablesStorage, blockHashFunction, false),
+        variablesStorage,
+        false,
+        commonConfiguration.getDataPath());
   }
 }
@@ -146,11 +146,31 @@ public class EvmToolCommandOptionsModule {
       arity = "1")
   private boolean enableOptimizedOpcodes = true;
 
+  @CommandLine.Option(
+      names = {"--Xevm-basic-blocks"},
+      description = "Turn on/off gas and stack checks per basic block of legacy code",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "1")
+  private boolean enableBasicBlocks = false;
+
+  @CommandLine.Option(
+      names = {"--Xevm-compilation-threshold"},
+      description =
+          "Number of executions after which legacy contract code is compiled, 0 to never compile it",
+      hidden = true,
+      arity = "1")
+  private int compilationThreshold = 0;
+
   @Provides
   @Singleton
   EvmConfiguration provideEvmConfiguration() {
     return new EvmConfiguration(
-        jumpDestCacheWeightKilobytes, worldstateUpdateMode, enableOptimizedOpcodes);
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        enableOptimizedOpcodes,
+        enableBasicBlocks,
+        compilationThreshold);
   }
 
   /** Default constructor for the EvmToolCommandOptionsModule class. */
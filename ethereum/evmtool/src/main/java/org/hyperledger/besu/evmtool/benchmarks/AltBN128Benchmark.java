@@ -18,9 +18,11 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.evm.EvmSpecVersion;
 import org.hyperledger.besu.evm.fluent.EvmSpec;
 import org.hyperledger.besu.evm.precompile.AbstractAltBnPrecompiledContract;
+import org.hyperledger.besu.evm.precompile.AltBN128PairingPrecompiledContract;
 import org.hyperledger.besu.evm.precompile.PrecompiledContract;
 
 import java.io.PrintStream;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.SequencedMap;
 
@@ -167,7 +169,28 @@ public class AltBN128Benchmark extends BenchmarkExecutor {
     final PrecompiledContract contract =
         EvmSpec.evmSpec(forkVersion).getPrecompileContractRegistry().get(Address.ALTBN128_PAIRING);
 
-    precompile(testCases, contract, forkVersion);
+    // add test cases for 12, 24 and 48 pairings, repeating the 6 pairings
+    final Bytes sixPairings = testCases.get("6 pairings");
+    for (int copies = 2; copies <= 8; copies <<= 1) {
+      final Bytes[] pairings = new Bytes[copies];
+      Arrays.fill(pairings, sixPairings);
+      testCases.put(6 * copies + " pairings", Bytes.concatenate(pairings));
+    }
+
+    if (AbstractAltBnPrecompiledContract.isNative()) {
+      precompile(testCases, contract, forkVersion);
+      return;
+    }
+
+    // measure how each input size scales with the number of threads running the Miller loops
+    final int defaultParallelism = AltBN128PairingPrecompiledContract.getParallelism();
+    for (final int threads : threadCounts()) {
+      final SequencedMap<String, Bytes> threadTestCases = new LinkedHashMap<>();
+      testCases.forEach((name, input) -> threadTestCases.put(name + " " + threads + " thr", input));
+      AltBN128PairingPrecompiledContract.setParallelism(threads);
+      precompile(threadTestCases, contract, forkVersion);
+    }
+    AltBN128PairingPrecompiledContract.setParallelism(defaultParallelism);
   }
 
   @Override
@@ -39,6 +39,8 @@ public class BLS12Benchmark extends BenchmarkExecutor {
     super(MATH_WARMUP, MATH_ITERATIONS, output, benchmarkConfig);
   }
 
+  private static final int MAX_MSM_PAIRS_LOG2 = 8;
+
   static final String[] scalars = {
     "4e826175762bd086135d18ae935fb085ab3e12b0f5aa4ea3aac99a1c41afae34",
     "7257faefdb84241d947a02c5d19daee65333d6277dfe7212849528eb7812bede",
@@ -163,10 +165,10 @@ public class BLS12Benchmark extends BenchmarkExecutor {
     output.println("Native BLS12");
 
     benchmarkG1Add(forkVersion);
-    benchmarkG1MultiExp32Pairs(forkVersion);
+    benchmarkG1MultiExp(forkVersion);
     benchmarkMapFpToG1(forkVersion);
     benchmarkG2Add(forkVersion);
-    benchmarkG2MultiExp32Pairs(forkVersion);
+    benchmarkG2MultiExp(forkVersion);
     benchmarkMapFp2ToG2(forkVersion);
     benchmarkBlsPairing(forkVersion);
   }
@@ -183,22 +185,31 @@ public class BLS12Benchmark extends BenchmarkExecutor {
     precompile(testCases, g1addContract, forkVersion);
   }
 
-  private void benchmarkG1MultiExp32Pairs(final EvmSpecVersion forkVersion) {
-    final SequencedMap<String, Bytes> testCases = new LinkedHashMap<>();
-
-    // add test cases for 2, 4, 8, 16, and 32 point/scalar pairs
-    for (int i = 1; i <= 5; i++) {
-      StringBuilder g1msmPairs = new StringBuilder();
-      for (int j = 0; j < 1 << i; j++) {
-        g1msmPairs.append(g1PointPairs[j]).append(scalars[j]);
-      }
-      testCases.put("G1 MSM " + (1 << i) + " pairs", Bytes.fromHexString(g1msmPairs.toString()));
-    }
-
+  private void benchmarkG1MultiExp(final EvmSpecVersion forkVersion) {
     PrecompiledContract g1msmContract =
         EvmSpec.evmSpec(forkVersion).getPrecompileContractRegistry().get(Address.BLS12_G1MULTIEXP);
 
-    precompile(testCases, g1msmContract, forkVersion);
+    // measure how each input size scales with the number of threads the MSM is split across
+    for (final int threads : threadCounts()) {
+      final SequencedMap<String, Bytes> testCases = new LinkedHashMap<>();
+
+      // add test cases for 2, 4, 8... 256 point/scalar pairs, repeating the 32 distinct ones
+      for (int i = 1; i <= MAX_MSM_PAIRS_LOG2; i++) {
+        StringBuilder g1msmPairs = new StringBuilder();
+        for (int j = 0; j < 1 << i; j++) {
+          g1msmPairs
+              .append(g1PointPairs[j % g1PointPairs.length])
+              .append(scalars[j % scalars.length]);
+        }
+        testCases.put(
+            "G1 MSM " + (1 << i) + " pairs " + threads + " thr",
+            Bytes.fromHexString(g1msmPairs.toString()));
+      }
+
+      AbstractBLS12PrecompiledContract.setMSMParallelism(threads);
+      precompile(testCases, g1msmContract, forkVersion);
+    }
+    AbstractBLS12PrecompiledContract.setMSMParallelism(Runtime.getRuntime().availableProcessors());
   }
 
   private void benchmarkMapFpToG1(final EvmSpecVersion forkVersion) {
@@ -227,22 +238,31 @@ public class BLS12Benchmark extends BenchmarkExecutor {
     precompile(testCases, g1addContract, forkVersion);
   }
 
-  private void benchmarkG2MultiExp32Pairs(final EvmSpecVersion forkVersion) {
-    final SequencedMap<String, Bytes> testCases = new LinkedHashMap<>();
-
-    // add test cases for 2, 4, 8, 16, and 32 point/scalar pairs
-    for (int i = 1; i <= 5; i++) {
-      StringBuilder g2msmPairs = new StringBuilder();
-      for (int j = 0; j < 1 << i; j++) {
-        g2msmPairs.append(g2PointPairs[j]).append(scalars[j]);
-      }
-      testCases.put("G2 MSM " + (1 << i) + " pairs", Bytes.fromHexString(g2msmPairs.toString()));
-    }
-
+  private void benchmarkG2MultiExp(final EvmSpecVersion forkVersion) {
     PrecompiledContract g2msmContract =
         EvmSpec.evmSpec(forkVersion).getPrecompileContractRegistry().get(Address.BLS12_G2MULTIEXP);
 
-    precompile(testCases, g2msmContract, forkVersion);
+    // measure how each input size scales with the number of threads the MSM is split across
+    for (final int threads : threadCounts()) {
+      final SequencedMap<String, Bytes> testCases = new LinkedHashMap<>();
+
+      // add test cases for 2, 4, 8... 256 point/scalar pairs, repeating the 32 distinct ones
+      for (int i = 1; i <= MAX_MSM_PAIRS_LOG2; i++) {
+        StringBuilder g2msmPairs = new StringBuilder();
+        for (int j = 0; j < 1 << i; j++) {
+          g2msmPairs
+              .append(g2PointPairs[j % g2PointPairs.length])
+              .append(scalars[j % scalars.length]);
+        }
+        testCases.put(
+            "G2 MSM " + (1 << i) + " pairs " + threads + " thr",
+            Bytes.fromHexString(g2msmPairs.toString()));
+      }
+
+      AbstractBLS12PrecompiledContract.setMSMParallelism(threads);
+      precompile(testCases, g2msmContract, forkVersion);
+    }
+    AbstractBLS12PrecompiledContract.setMSMParallelism(Runtime.getRuntime().availableProcessors());
   }
 
   private void benchmarkMapFp2ToG2(final EvmSpecVersion forkVersion) {
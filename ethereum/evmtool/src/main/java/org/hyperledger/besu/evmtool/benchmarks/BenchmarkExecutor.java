@@ -38,8 +38,10 @@ import org.hyperledger.besu.evm.gascalculator.ShanghaiGasCalculator;
 import org.hyperledger.besu.evm.precompile.PrecompiledContract;
 
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -318,6 +320,22 @@ public abstract class BenchmarkExecutor {
     precompileTableHeader = () -> {};
   }
 
+  /**
+   * The thread counts to measure the scaling of a parallel precompile across: the powers of two
+   * below the number of available processors, and that number itself.
+   *
+   * @return the thread counts, in increasing order
+   */
+  protected static List<Integer> threadCounts() {
+    final int processors = Runtime.getRuntime().availableProcessors();
+    final List<Integer> threadCounts = new ArrayList<>();
+    for (int threads = 1; threads < processors; threads <<= 1) {
+      threadCounts.add(threads);
+    }
+    threadCounts.add(processors);
+    return threadCounts;
+  }
+
   /**
    * Return the gas calculator at a given fork. Some forks don't have a specific gas calculator and
    * will return the prior one
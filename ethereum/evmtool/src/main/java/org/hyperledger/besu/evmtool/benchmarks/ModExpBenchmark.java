@@ -422,12 +422,19 @@ public class ModExpBenchmark extends BenchmarkExecutor {
       BigIntegerModularExponentiationPrecompiledContract.disableNative();
     }
 
-    output.println(
-        BigIntegerModularExponentiationPrecompiledContract.isNative()
-            ? "Native ModExp"
-            : "Java ModExp");
+    if (BigIntegerModularExponentiationPrecompiledContract.isNative()) {
+      output.println("Native ModExp");
+      precompile(testCases, contract, EvmSpecVersion.fromName(fork));
+    } else {
+      BigIntegerModularExponentiationPrecompiledContract.disableMontgomery();
+      output.println("Java ModExp");
+      precompile(testCases, contract, EvmSpecVersion.fromName(fork));
 
-    precompile(testCases, contract, EvmSpecVersion.fromName(fork));
+      BigIntegerModularExponentiationPrecompiledContract.enableMontgomery();
+      output.println("Java Montgomery ModExp");
+      precompile(testCases, contract, EvmSpecVersion.fromName(fork));
+      BigIntegerModularExponentiationPrecompiledContract.disableMontgomery();
+    }
   }
 
   @Override
@@ -24,6 +24,8 @@ import java.util.stream.Collectors;
 
 public class DiscoveryConfiguration {
 
+  public static final int DEFAULT_DISCOVERY_V5_PORT = 30304;
+
   private boolean enabled = true;
   private String bindHost = NetworkUtility.INADDR_ANY;
   private int bindPort = 30303;
@@ -32,6 +34,7 @@ public class DiscoveryConfiguration {
   private List<EnodeURL> bootnodes = new ArrayList<>();
   private String dnsDiscoveryURL;
   private boolean discoveryV5Enabled = false;
+  private int discoveryV5BindPort = DEFAULT_DISCOVERY_V5_PORT;
   private boolean filterOnEnrForkId = NetworkingConfiguration.DEFAULT_FILTER_ON_ENR_FORK_ID;
   private boolean includeBootnodesOnPeerRefresh = true;
 
@@ -134,6 +137,14 @@ public class DiscoveryConfiguration {
     return discoveryV5Enabled;
   }
 
+  public void setDiscoveryV5BindPort(final int discoveryV5BindPort) {
+    this.discoveryV5BindPort = discoveryV5BindPort;
+  }
+
+  public int getDiscoveryV5BindPort() {
+    return discoveryV5BindPort;
+  }
+
   public void setFilterOnEnrForkId(final boolean filterOnEnrForkId) {
     this.filterOnEnrForkId = filterOnEnrForkId;
   }
@@ -187,6 +198,8 @@ public class DiscoveryConfiguration {
         + dnsDiscoveryURL
         + ", isDiscoveryV5Enabled="
         + discoveryV5Enabled
+        + ", discoveryV5BindPort="
+        + discoveryV5BindPort
         + ", isFilterOnEnrForkIdEnabled="
         + filterOnEnrForkId
         + '}';
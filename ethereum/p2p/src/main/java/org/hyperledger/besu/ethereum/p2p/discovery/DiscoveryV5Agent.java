@@ -0,0 +1,196 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery;
+
+import org.hyperledger.besu.cryptoservices.NodeKey;
+import org.hyperledger.besu.ethereum.forkid.ForkIdManager;
+import org.hyperledger.besu.ethereum.p2p.config.DiscoveryConfiguration;
+import org.hyperledger.besu.ethereum.p2p.peers.EnodeURLImpl;
+import org.hyperledger.besu.plugin.data.EnodeURL;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt64;
+import org.ethereum.beacon.discovery.DiscoverySystem;
+import org.ethereum.beacon.discovery.DiscoverySystemBuilder;
+import org.ethereum.beacon.discovery.schema.EnrField;
+import org.ethereum.beacon.discovery.schema.NodeRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Discovers peers with the discovery v5 protocol, alongside the v4 {@link PeerDiscoveryAgent}, on
+ * its own UDP port.
+ *
+ * <p>The protocol itself, the WHOAREYOU handshake, the sessions cached with the node records of
+ * the nodes, and the FINDNODE requests by distance of the lookups, comes from the discovery
+ * library. The handshakes and the local node record are signed with the node key, through {@link
+ * NodeKeySigner}.
+ *
+ * <p>The routing table is seeded with the nodes whose record was learned through v4, as most
+ * clients serve both protocols, and is then grown by periodic lookups. Only the nodes advertising
+ * an RLPx port and the fork id of an execution chain are connected to, since the consensus layer
+ * clients share the same discovery network.
+ */
+public class DiscoveryV5Agent {
+  private static final Logger LOG = LoggerFactory.getLogger(DiscoveryV5Agent.class);
+
+  /** The interval between two lookups of new nodes. */
+  public static final int LOOKUP_INTERVAL_SEC = 30;
+
+  private static final String FORK_ID_ENR_FIELD = "eth";
+  private static final int MIN_LIVE_NODES = 16;
+  private static final int MAX_SEEDED_NODES = 1024;
+
+  private final NodeKey nodeKey;
+  private final DiscoveryConfiguration config;
+  private final ForkIdManager forkIdManager;
+  private final PeerDiscoveryAgent v4Agent;
+  private final Set<Bytes> seededNodeIds = ConcurrentHashMap.newKeySet();
+  private volatile Optional<DiscoverySystem> discoverySystem = Optional.empty();
+
+  public DiscoveryV5Agent(
+      final NodeKey nodeKey,
+      final DiscoveryConfiguration config,
+      final ForkIdManager forkIdManager,
+      final PeerDiscoveryAgent v4Agent) {
+    this.nodeKey = nodeKey;
+    this.config = config;
+    this.forkIdManager = forkIdManager;
+    this.v4Agent = v4Agent;
+  }
+
+  /**
+   * Starts the discovery, advertising the address and RLPx port of the local node.
+   *
+   * <p>The fork id of the node record is the one of the chain head at start.
+   *
+   * @param localEnode the enode of the local node
+   * @return a future completed once the discovery listens
+   */
+  public CompletableFuture<Void> start(final EnodeURL localEnode) {
+    // the records of both protocols describe the same node, so they share the sequence number
+    final UInt64 sequenceNumber =
+        v4Agent
+            .getLocalNode()
+            .flatMap(DiscoveryPeer::getNodeRecord)
+            .map(NodeRecord::getSeq)
+            .orElse(UInt64.ONE);
+    final NodeRecord localNodeRecord =
+        PeerDiscoveryAgent.createNodeRecord(
+            nodeKey,
+            sequenceNumber,
+            Bytes.of(localEnode.getIp().getAddress()),
+            localEnode.getListeningPortOrZero(),
+            config.getDiscoveryV5BindPort(),
+            forkIdManager.getForkIdForChainHead().getForkIdAsBytesList());
+
+    final DiscoverySystem system =
+        new DiscoverySystemBuilder()
+            .listen(config.getBindHost(), config.getDiscoveryV5BindPort())
+            .signer(new NodeKeySigner(nodeKey))
+            .localNodeRecord(localNodeRecord)
+            .build();
+    discoverySystem = Optional.of(system);
+    LOG.info(
+        "Starting discovery v5 on port {} with node record {}",
+        config.getDiscoveryV5BindPort(),
+        localNodeRecord);
+    return system.start();
+  }
+
+  public void stop() {
+    discoverySystem.ifPresent(DiscoverySystem::stop);
+    discoverySystem = Optional.empty();
+  }
+
+  /** Seeds the routing table while it is small, and looks up new nodes. */
+  public void lookupPeers() {
+    discoverySystem.ifPresent(
+        system -> {
+          if (system.streamLiveNodes().count() < MIN_LIVE_NODES) {
+            seed(system);
+          }
+          system
+              .searchForNewPeers()
+              .exceptionally(
+                  error -> {
+                    LOG.debug("Discovery v5 lookup failed", error);
+                    return null;
+                  });
+        });
+  }
+
+  /**
+   * Streams the live nodes of the routing table that can be connected to, as bonded peers.
+   *
+   * @return the discovered peers
+   */
+  public Stream<DiscoveryPeer> streamDiscoveredPeers() {
+    return discoverySystem.stream()
+        .flatMap(DiscoverySystem::streamLiveNodes)
+        .map(DiscoveryV5Agent::toDiscoveryPeer)
+        .flatMap(Optional::stream);
+  }
+
+  private void seed(final DiscoverySystem system) {
+    v4Agent
+        .streamDiscoveredPeers()
+        .map(DiscoveryPeer::getNodeRecord)
+        .flatMap(Optional::stream)
+        .filter(nodeRecord -> seededNodeIds.size() < MAX_SEEDED_NODES)
+        .filter(nodeRecord -> seededNodeIds.add(nodeRecord.getNodeId()))
+        .forEach(
+            nodeRecord ->
+                system
+                    .ping(nodeRecord)
+                    .exceptionally(
+                        error -> {
+                          LOG.trace("Discovery v5 ping of {} failed", nodeRecord, error);
+                          return null;
+                        }));
+  }
+
+  static Optional<DiscoveryPeer> toDiscoveryPeer(final NodeRecord nodeRecord) {
+    final Optional<InetSocketAddress> tcpAddress = nodeRecord.getTcpAddress();
+    final Optional<InetSocketAddress> udpAddress = nodeRecord.getUdpAddress();
+    if (tcpAddress.isEmpty() || udpAddress.isEmpty() || nodeRecord.get(FORK_ID_ENR_FIELD) == null) {
+      return Optional.empty();
+    }
+    try {
+      final Bytes publicKey = (Bytes) nodeRecord.get(EnrField.PKEY_SECP256K1);
+      final EnodeURL enode =
+          EnodeURLImpl.builder()
+              .nodeId(NodeKeySigner.decodePublicKey(publicKey).getEncodedBytes())
+              .ipAddress(tcpAddress.get().getAddress())
+              .listeningPort(tcpAddress.get().getPort())
+              .discoveryPort(udpAddress.get().getPort())
+              .build();
+      final DiscoveryPeer peer = DiscoveryPeer.fromEnode(enode);
+      peer.setNodeRecord(nodeRecord);
+      peer.setStatus(PeerDiscoveryStatus.BONDED);
+      return Optional.of(peer);
+    } catch (final RuntimeException e) {
+      LOG.trace("Ignoring invalid node record {}", nodeRecord, e);
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery;
+
+import org.hyperledger.besu.crypto.SECPPublicKey;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.cryptoservices.NodeKey;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.ethereum.beacon.discovery.crypto.Signer;
+
+/**
+ * Signs the handshakes of the discovery v5 protocol with the node key, so that the private key
+ * never leaves the security module.
+ */
+public class NodeKeySigner implements Signer {
+  private final NodeKey nodeKey;
+  private final SignatureAlgorithm signatureAlgorithm = SignatureAlgorithmFactory.getInstance();
+
+  public NodeKeySigner(final NodeKey nodeKey) {
+    this.nodeKey = nodeKey;
+  }
+
+  @Override
+  public Bytes deriveECDHKeyAgreement(final Bytes remotePublicKey) {
+    return nodeKey.calculateECDHKeyAgreementCompressed(decodePublicKey(remotePublicKey));
+  }
+
+  @Override
+  public Bytes sign(final Bytes32 messageHash) {
+    return nodeKey.sign(messageHash).encodedBytes().slice(0, 64);
+  }
+
+  @Override
+  public Bytes deriveCompressedPublicKeyFromPrivate() {
+    return signatureAlgorithm.compressPublicKey(nodeKey.getPublicKey());
+  }
+
+  /**
+   * Decodes a public key of a node record, in its compressed form.
+   *
+   * @param compressedPublicKey the 33 bytes compressed public key
+   * @return the public key
+   */
+  static SECPPublicKey decodePublicKey(final Bytes compressedPublicKey) {
+    final SignatureAlgorithm signatureAlgorithm = SignatureAlgorithmFactory.getInstance();
+    final byte[] uncompressed =
+        signatureAlgorithm
+            .getCurve()
+            .getCurve()
+            .decodePoint(compressedPublicKey.toArrayUnsafe())
+            .getEncoded(false);
+    return signatureAlgorithm.createPublicKey(Bytes.wrap(uncompressed).slice(1));
+  }
+}
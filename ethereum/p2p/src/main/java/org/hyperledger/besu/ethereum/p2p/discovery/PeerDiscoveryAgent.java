@@ -216,25 +216,13 @@ public abstract class PeerDiscoveryAgent {
                   final UInt64 sequenceNumber =
                       existingNodeRecord.map(NodeRecord::getSeq).orElse(UInt64.ZERO).add(1);
                   final NodeRecord nodeRecord =
-                      nodeRecordFactory.createFromValues(
+                      createNodeRecord(
+                          nodeKey,
                           sequenceNumber,
-                          new EnrField(EnrField.ID, IdentitySchema.V4),
-                          new EnrField(
-                              SIGNATURE_ALGORITHM.get().getCurveName(),
-                              SIGNATURE_ALGORITHM
-                                  .get()
-                                  .compressPublicKey(
-                                      SIGNATURE_ALGORITHM.get().createPublicKey(id))),
-                          new EnrField(EnrField.IP_V4, addressBytes),
-                          new EnrField(EnrField.TCP, listeningPort),
-                          new EnrField(EnrField.UDP, discoveryPort),
-                          new EnrField(
-                              forkIdEnrField, Collections.singletonList(forkIdSupplier.get())));
-                  nodeRecord.setSignature(
-                      nodeKey
-                          .sign(Hash.keccak256(nodeRecord.serializeNoSignature()))
-                          .encodedBytes()
-                          .slice(0, 64));
+                          addressBytes,
+                          listeningPort,
+                          discoveryPort,
+                          forkIdSupplier.get());
 
                   LOG.info("Writing node record to disk. {}", nodeRecord);
                   final var variablesUpdater = variablesStorage.updater();
@@ -248,6 +236,43 @@ public abstract class PeerDiscoveryAgent {
         .setNodeRecord(newNodeRecord);
   }
 
+  /**
+   * Creates a node record of the local node, signed with its node key.
+   *
+   * @param nodeKey the node key
+   * @param sequenceNumber the sequence number of the record
+   * @param addressBytes the advertised IPv4 address
+   * @param listeningPort the RLPx port
+   * @param discoveryPort the UDP port of the discovery protocol
+   * @param forkId the fork id of the chain head
+   * @return the signed node record
+   */
+  static NodeRecord createNodeRecord(
+      final NodeKey nodeKey,
+      final UInt64 sequenceNumber,
+      final Bytes addressBytes,
+      final int listeningPort,
+      final int discoveryPort,
+      final List<Bytes> forkId) {
+    final NodeRecord nodeRecord =
+        NodeRecordFactory.DEFAULT.createFromValues(
+            sequenceNumber,
+            new EnrField(EnrField.ID, IdentitySchema.V4),
+            new EnrField(
+                SIGNATURE_ALGORITHM.get().getCurveName(),
+                SIGNATURE_ALGORITHM.get().compressPublicKey(nodeKey.getPublicKey())),
+            new EnrField(EnrField.IP_V4, addressBytes),
+            new EnrField(EnrField.TCP, listeningPort),
+            new EnrField(EnrField.UDP, discoveryPort),
+            new EnrField("eth", Collections.singletonList(forkId)));
+    nodeRecord.setSignature(
+        nodeKey
+            .sign(Hash.keccak256(nodeRecord.serializeNoSignature()))
+            .encodedBytes()
+            .slice(0, 64));
+    return nodeRecord;
+  }
+
   public void addPeerRequirement(final PeerRequirement peerRequirement) {
     this.peerRequirements.add(peerRequirement);
   }
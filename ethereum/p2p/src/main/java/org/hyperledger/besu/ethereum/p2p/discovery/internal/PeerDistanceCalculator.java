@@ -14,8 +14,6 @@
  */
 package org.hyperledger.besu.ethereum.p2p.discovery.internal;
 
-import java.util.Arrays;
-
 import org.apache.tuweni.bytes.Bytes;
 
 public class PeerDistanceCalculator {
@@ -29,24 +27,15 @@ public class PeerDistanceCalculator {
    */
   static int distance(final Bytes v1, final Bytes v2) {
     assert (v1.size() == v2.size());
-    final byte[] v1b = v1.toArray();
-    final byte[] v2b = v2.toArray();
-    if (Arrays.equals(v1b, v2b)) {
-      return 0;
-    }
-    int distance = v1b.length * 8;
-    for (int i = 0; i < v1b.length; i++) {
-      final byte xor = (byte) (0xff & (v1b[i] ^ v2b[i]));
-      if (xor == 0) {
-        distance -= 8;
-      } else {
-        int p = 7;
-        while (((xor >> p--) & 0x01) == 0) {
-          distance--;
-        }
-        break;
+    // read the bytes in place, distances are computed for every peer of every lookup
+    final int size = v1.size();
+    for (int i = 0; i < size; i++) {
+      final int xor = (v1.get(i) ^ v2.get(i)) & 0xff;
+      if (xor != 0) {
+        // the bits from the first differing one to the end of the values
+        return (size - i) * 8 - (Integer.numberOfLeadingZeros(xor) - 24);
       }
     }
-    return distance;
+    return 0;
   }
 }
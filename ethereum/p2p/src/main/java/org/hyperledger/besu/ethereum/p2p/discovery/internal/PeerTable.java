@@ -32,6 +32,8 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import com.google.common.cache.Cache;
@@ -42,6 +44,10 @@ import org.apache.tuweni.bytes.Bytes;
 /**
  * Implements a Kademlia routing table based on k-buckets with a keccak-256 XOR-based distance
  * metric.
+ *
+ * <p>The table is safe for concurrent use, so that lookups can run in parallel with the handling of
+ * incoming packets: each k-bucket is synchronized, and the bloom filter of the known peer IDs is
+ * rebuilt off the caller thread without losing the peers added meanwhile.
  */
 public class PeerTable {
   private static final int N_BUCKETS = 256;
@@ -53,8 +59,9 @@ public class PeerTable {
   private final int maxEntriesCnt;
 
   private final Map<Bytes, Integer> distanceCache;
-  private BloomFilter<Bytes> idBloom;
-  private int evictionCnt = 0;
+  private volatile BloomFilter<Bytes> idBloom;
+  private final AtomicInteger evictionCnt = new AtomicInteger();
+  private final AtomicBoolean bloomFilterRebuildScheduled = new AtomicBoolean();
   private final Cache<String, Integer> unresponsiveIPs;
 
   /**
@@ -170,14 +177,13 @@ public class PeerTable {
     }
 
     final boolean evicted = table[distance].evict(peer);
-    if (evicted) {
-      evictionCnt++;
-    } else {
+    if (!evicted) {
       return EvictResult.absent();
     }
 
     // Trigger the bloom filter regeneration if needed.
-    if (evictionCnt >= BLOOM_FILTER_REGENERATION_THRESHOLD) {
+    if (evictionCnt.incrementAndGet() >= BLOOM_FILTER_REGENERATION_THRESHOLD
+        && bloomFilterRebuildScheduled.compareAndSet(false, true)) {
       ForkJoinPool.commonPool().execute(this::buildBloomFilter);
     }
 
@@ -188,8 +194,11 @@ public class PeerTable {
     final BloomFilter<Bytes> bf =
         BloomFilter.create((id, val) -> val.putBytes(id.toArray()), maxEntriesCnt, 0.001);
     streamAllPeers().map(Peer::getId).forEach(bf::put);
-    this.evictionCnt = 0;
+    this.evictionCnt.set(0);
     this.idBloom = bf;
+    // peers added while the filter was built may have been put in the previous one only
+    streamAllPeers().map(Peer::getId).forEach(bf::put);
+    bloomFilterRebuildScheduled.set(false);
   }
 
   /**
@@ -202,14 +211,21 @@ public class PeerTable {
    */
   public List<DiscoveryPeer> nearestBondedPeers(final Bytes target, final int limit) {
     final Bytes keccak256 = Hash.keccak256(target);
+    // compute the distance of each peer once rather than on every comparison
     return streamAllPeers()
         .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
-        .sorted(
-            comparingInt((peer) -> PeerDistanceCalculator.distance(peer.keccak256(), keccak256)))
+        .map(
+            peer ->
+                new PeerDistance(
+                    peer, PeerDistanceCalculator.distance(peer.keccak256(), keccak256)))
+        .sorted(comparingInt(PeerDistance::distance))
         .limit(limit)
+        .map(PeerDistance::peer)
         .collect(toList());
   }
 
+  private record PeerDistance(DiscoveryPeer peer, int distance) {}
+
   public Stream<DiscoveryPeer> streamAllPeers() {
     return Arrays.stream(table).flatMap(e -> e.getPeers().stream());
   }
@@ -279,9 +279,11 @@ public class RecursivePeerRefreshState {
   }
 
   private List<MetadataPeer> neighboursRoundCandidates() {
+    // query the candidates closest to the target, for the search to converge
     return oneTrueMap.values().stream()
         .filter(MetadataPeer::isNeighboursRoundCandidate)
         .filter(p -> peerPermissions.allowOutboundNeighborsRequest(p.getPeer()))
+        .sorted()
         .limit(MAX_CONCURRENT_REQUESTS)
         .collect(Collectors.toList());
   }
@@ -348,10 +350,7 @@ public class RecursivePeerRefreshState {
 
     @Override
     public int compareTo(final MetadataPeer o) {
-      if (this.distance > o.distance) {
-        return 1;
-      }
-      return -1;
+      return Integer.compare(this.distance, o.distance);
     }
 
     @Override
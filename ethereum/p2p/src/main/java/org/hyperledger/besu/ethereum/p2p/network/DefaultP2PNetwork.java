@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.core.Util;
 import org.hyperledger.besu.ethereum.forkid.ForkIdManager;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryV5Agent;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryAgent;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
 import org.hyperledger.besu.ethereum.p2p.discovery.VertxPeerDiscoveryAgent;
@@ -33,6 +34,8 @@ import org.hyperledger.besu.ethereum.p2p.discovery.dns.EthereumNodeRecord;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable;
 import org.hyperledger.besu.ethereum.p2p.peers.DefaultPeerPrivileges;
 import org.hyperledger.besu.ethereum.p2p.peers.EnodeURLImpl;
+import org.hyperledger.besu.ethereum.p2p.peers.KnownPeers;
+import org.hyperledger.besu.ethereum.p2p.peers.KnownPeers.KnownPeer;
 import org.hyperledger.besu.ethereum.p2p.peers.LocalNode;
 import org.hyperledger.besu.ethereum.p2p.peers.MaintainedPeers;
 import org.hyperledger.besu.ethereum.p2p.peers.MutableLocalNode;
@@ -49,6 +52,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.ShouldConnectCallback;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.nat.NatMethod;
 import org.hyperledger.besu.nat.NatService;
 import org.hyperledger.besu.nat.core.NatManager;
@@ -57,7 +61,9 @@ import org.hyperledger.besu.nat.core.domain.NetworkProtocol;
 import org.hyperledger.besu.nat.upnp.UpnpNatManager;
 import org.hyperledger.besu.plugin.data.EnodeURL;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -65,7 +71,9 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -129,10 +137,13 @@ import org.slf4j.LoggerFactory;
 public class DefaultP2PNetwork implements P2PNetwork {
 
   private static final Logger LOG = LoggerFactory.getLogger(DefaultP2PNetwork.class);
+  private static final int SAVE_KNOWN_PEERS_FREQUENCY_MIN = 5;
+  private static final List<Integer> PEER_COUNT_MILESTONES = List.of(1, 5, 10, 25, 50);
 
   private final ScheduledExecutorService peerConnectionScheduler =
       Executors.newSingleThreadScheduledExecutor();
   private final PeerDiscoveryAgent peerDiscoveryAgent;
+  private final Optional<DiscoveryV5Agent> discoveryV5Agent;
   private final RlpxAgent rlpxAgent;
 
   private final NetworkingConfiguration config;
@@ -142,6 +153,7 @@ public class DefaultP2PNetwork implements P2PNetwork {
 
   private final PeerPermissions peerPermissions;
   private final MaintainedPeers maintainedPeers;
+  private final KnownPeers knownPeers;
 
   private final NatService natService;
 
@@ -153,6 +165,10 @@ public class DefaultP2PNetwork implements P2PNetwork {
   private final AtomicReference<Optional<DNSDaemon>> dnsDaemonRef =
       new AtomicReference<>(Optional.empty());
 
+  private final LabelledSuppliedMetric peerCountReachedGauge;
+  private final Set<Integer> reachedPeerCounts = ConcurrentHashMap.newKeySet();
+  private volatile long startedAtNanos;
+
   /**
    * Creates a peer networking service for production purposes.
    *
@@ -162,32 +178,40 @@ public class DefaultP2PNetwork implements P2PNetwork {
    *
    * @param localNode A representation of the local node
    * @param peerDiscoveryAgent The agent responsible for discovering peers on the network.
+   * @param discoveryV5Agent The agent discovering peers with the v5 protocol, when enabled.
    * @param nodeKey The node key through which cryptographic operations can be performed
    * @param config The network configuration to use.
    * @param peerPermissions An object that determines whether peers are allowed to connect
    * @param natService The NAT environment manager.
    * @param maintainedPeers A collection of peers for which we are expected to maintain connections
+   * @param knownPeers The peers this node had useful sessions with, persisted across restarts
    * @param reputationManager An object that inspect disconnections for misbehaving peers that can
    *     then be blacklisted.
    * @param vertx the Vert.x instance managing network resources
+   * @param metricsSystem The metrics system
    */
   DefaultP2PNetwork(
       final MutableLocalNode localNode,
       final PeerDiscoveryAgent peerDiscoveryAgent,
+      final Optional<DiscoveryV5Agent> discoveryV5Agent,
       final RlpxAgent rlpxAgent,
       final NodeKey nodeKey,
       final NetworkingConfiguration config,
       final PeerPermissions peerPermissions,
       final NatService natService,
       final MaintainedPeers maintainedPeers,
+      final KnownPeers knownPeers,
       final PeerDenylistManager reputationManager,
-      final Vertx vertx) {
+      final Vertx vertx,
+      final MetricsSystem metricsSystem) {
     this.localNode = localNode;
     this.peerDiscoveryAgent = peerDiscoveryAgent;
+    this.discoveryV5Agent = discoveryV5Agent;
     this.rlpxAgent = rlpxAgent;
     this.config = config;
     this.natService = natService;
     this.maintainedPeers = maintainedPeers;
+    this.knownPeers = knownPeers;
 
     this.nodeId = nodeKey.getPublicKey().getEncodedBytes();
     this.peerPermissions = peerPermissions;
@@ -197,6 +221,15 @@ public class DefaultP2PNetwork implements P2PNetwork {
     LOG.debug("setting maxPeers {}", maxPeers);
     peerDiscoveryAgent.addPeerRequirement(() -> rlpxAgent.getConnectionCount() >= maxPeers);
     subscribeDisconnect(reputationManager);
+    subscribeDisconnect(knownPeers);
+
+    peerCountReachedGauge =
+        metricsSystem.createLabelledSuppliedGauge(
+            BesuMetricCategory.NETWORK,
+            "peer_count_reached_seconds",
+            "Time it took after startup to reach a number of connected peers",
+            "peers");
+    subscribeConnect(connection -> recordPeerCountReached());
   }
 
   public static Builder builder() {
@@ -209,10 +242,7 @@ public class DefaultP2PNetwork implements P2PNetwork {
       LOG.warn("Attempted to start an already started " + getClass().getSimpleName());
       return;
     }
-
-    if (config.getDiscovery().isDiscoveryV5Enabled()) {
-      LOG.warn("Discovery Protocol v5 is not available");
-    }
+    startedAtNanos = System.nanoTime();
 
     final String address = config.getDiscovery().getAdvertisedHost();
     final int configuredDiscoveryPort = config.getDiscovery().getBindPort();
@@ -275,9 +305,22 @@ public class DefaultP2PNetwork implements P2PNetwork {
 
     setLocalNode(address, listeningPort, discoveryPort);
 
+    if (peerDiscoveryAgent.isEnabled()) {
+      discoveryV5Agent.ifPresent(
+          agent -> {
+            agent.start(localNode.getPeer().getEnodeURL()).join();
+            // Periodically look up new nodes, the peers found are connected to with the others
+            peerConnectionScheduler.scheduleWithFixedDelay(
+                agent::lookupPeers, 0, DiscoveryV5Agent.LOOKUP_INTERVAL_SEC, TimeUnit.SECONDS);
+          });
+    }
+
     // Call checkMaintainedConnectionPeers() now that the local node is up, for immediate peer
     // additions
     checkMaintainedConnectionPeers();
+    // Dial the peers known from previous runs, without waiting for discovery to find peers
+    knownPeers.load();
+    connectToKnownPeers();
 
     // Periodically check maintained connections
     final int checkMaintainedConnectionsSec = config.getCheckMaintainedConnectionsFrequencySec();
@@ -287,6 +330,12 @@ public class DefaultP2PNetwork implements P2PNetwork {
     final int checkConnectionsSec = config.getInitiateConnectionsFrequencySec();
     peerConnectionScheduler.scheduleWithFixedDelay(
         this::attemptPeerConnections, checkConnectionsSec, checkConnectionsSec, TimeUnit.SECONDS);
+    // Periodically persist the known peers, so that they survive a crash
+    peerConnectionScheduler.scheduleWithFixedDelay(
+        this::saveKnownPeers,
+        SAVE_KNOWN_PEERS_FREQUENCY_MIN,
+        SAVE_KNOWN_PEERS_FREQUENCY_MIN,
+        TimeUnit.MINUTES);
   }
 
   @Override
@@ -301,6 +350,8 @@ public class DefaultP2PNetwork implements P2PNetwork {
     dnsDaemonRef.get().ifPresent(DNSDaemon::stop);
 
     peerConnectionScheduler.shutdownNow();
+    saveKnownPeers();
+    discoveryV5Agent.ifPresent(DiscoveryV5Agent::stop);
     peerDiscoveryAgent.stop().whenComplete((res, err) -> shutdownLatch.countDown());
     rlpxAgent.stop().whenComplete((res, err) -> shutdownLatch.countDown());
     peerPermissions.close();
@@ -412,6 +463,47 @@ public class DefaultP2PNetwork implements P2PNetwork {
     toTry.forEach(rlpxAgent::connect);
   }
 
+  @VisibleForTesting
+  void connectToKnownPeers() {
+    if (!peerDiscoveryAgent.isEnabled()) {
+      // without discovery, only the configured peers are connected to
+      return;
+    }
+    final List<KnownPeer> candidates = knownPeers.best(rlpxAgent.getMaxPeers());
+    if (candidates.isEmpty()) {
+      return;
+    }
+    LOG.info("Connecting to {} peers known from previous runs", candidates.size());
+    for (final KnownPeer candidate : candidates) {
+      final DiscoveryPeer peer = DiscoveryPeer.fromEnode(candidate.enode());
+      // bond too, to seed the discovery peer table
+      peerDiscoveryAgent.bond(peer);
+      rlpxAgent.connect(peer);
+    }
+  }
+
+  private void saveKnownPeers() {
+    try {
+      knownPeers.save(rlpxAgent.streamConnections());
+    } catch (final RuntimeException e) {
+      LOG.atDebug().setMessage("Failed to save known peers").setCause(e).log();
+    }
+  }
+
+  private void recordPeerCountReached() {
+    final int peerCount = rlpxAgent.getConnectionCount();
+    for (final int milestone : PEER_COUNT_MILESTONES) {
+      if (milestone > peerCount) {
+        return;
+      }
+      if (reachedPeerCounts.add(milestone)) {
+        final double seconds = (System.nanoTime() - startedAtNanos) / 1e9;
+        LOG.debug("Reached {} peers {}s after startup", milestone, seconds);
+        peerCountReachedGauge.labels(() -> seconds, String.valueOf(milestone));
+      }
+    }
+  }
+
   @Override
   public Collection<PeerConnection> getPeers() {
     return rlpxAgent.streamConnections().collect(Collectors.toList());
@@ -424,7 +516,9 @@ public class DefaultP2PNetwork implements P2PNetwork {
 
   @Override
   public Stream<DiscoveryPeer> streamDiscoveredPeers() {
-    return peerDiscoveryAgent.streamDiscoveredPeers();
+    return Stream.concat(
+        peerDiscoveryAgent.streamDiscoveredPeers(),
+        discoveryV5Agent.stream().flatMap(DiscoveryV5Agent::streamDiscoveredPeers));
   }
 
   @Override
@@ -556,18 +650,27 @@ public class DefaultP2PNetwork implements P2PNetwork {
       peerTable = new PeerTable(nodeKey.getPublicKey().getEncodedBytes());
       rlpxAgent = rlpxAgent == null ? createRlpxAgent(localNode, peerPrivileges) : rlpxAgent;
       peerDiscoveryAgent = peerDiscoveryAgent == null ? createDiscoveryAgent() : peerDiscoveryAgent;
+      final Optional<DiscoveryV5Agent> discoveryV5Agent =
+          config.getDiscovery().isDiscoveryV5Enabled()
+              ? Optional.of(createDiscoveryV5Agent())
+              : Optional.empty();
+      final KnownPeers knownPeers =
+          new KnownPeers(storageProvider.createVariablesStorage(), Clock.systemUTC());
 
       return new DefaultP2PNetwork(
           localNode,
           peerDiscoveryAgent,
+          discoveryV5Agent,
           rlpxAgent,
           nodeKey,
           config,
           peerPermissions,
           natService,
           maintainedPeers,
+          knownPeers,
           reputationManager,
-          vertx);
+          vertx,
+          metricsSystem);
     }
 
     private void validate() {
@@ -602,6 +705,14 @@ public class DefaultP2PNetwork implements P2PNetwork {
           peerTable);
     }
 
+    private DiscoveryV5Agent createDiscoveryV5Agent() {
+      final ForkIdManager forkIdManager =
+          new ForkIdManager(blockchain, blockNumberForks, timestampForks);
+
+      return new DiscoveryV5Agent(
+          nodeKey, config.getDiscovery(), forkIdManager, peerDiscoveryAgent);
+    }
+
     private RlpxAgent createRlpxAgent(
         final LocalNode localNode, final PeerPrivileges peerPrivileges) {
 
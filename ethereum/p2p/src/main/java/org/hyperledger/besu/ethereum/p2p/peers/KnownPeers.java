@@ -0,0 +1,227 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.peers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.hyperledger.besu.ethereum.chain.VariablesStorage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.DisconnectCallback;
+import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+import org.hyperledger.besu.plugin.data.EnodeURL;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The peers this node had useful sessions with, persisted across restarts so that, on startup, the
+ * node can dial them right away instead of waiting for discovery to find peers again.
+ *
+ * <p>A peer is recorded once it has exchanged status messages with this node, and is ranked by a
+ * score that grows with the number and length of its sessions. Peers disconnected for misbehaving
+ * or being useless are forgotten, as are the peers not seen for a week. Only the best {@link
+ * #MAX_KNOWN_PEERS} peers are persisted.
+ */
+public class KnownPeers implements DisconnectCallback {
+  private static final Logger LOG = LoggerFactory.getLogger(KnownPeers.class);
+
+  static final int MAX_KNOWN_PEERS = 256;
+  static final Duration MAX_AGE = Duration.ofDays(7);
+  private static final int MAX_SCORE = 1000;
+  // a session scores one point, plus one point per minute up to an hour
+  private static final int MAX_SESSION_SCORE = 60;
+
+  private static final Set<DisconnectReason> FORGETTING_DISCONNECT_REASONS =
+      ImmutableSet.of(
+          DisconnectReason.BREACH_OF_PROTOCOL,
+          DisconnectReason.USELESS_PEER,
+          DisconnectReason.INCOMPATIBLE_P2P_PROTOCOL_VERSION,
+          DisconnectReason.SUBPROTOCOL_TRIGGERED);
+
+  private final VariablesStorage variablesStorage;
+  private final Clock clock;
+  private final Map<Bytes, KnownPeer> knownPeers = new ConcurrentHashMap<>();
+
+  /**
+   * A peer this node had useful sessions with.
+   *
+   * @param enode the enode URL of the peer
+   * @param lastSeen the time of the end of the last session with the peer, in epoch milliseconds
+   * @param score the score of the peer, higher is better
+   * @param capabilities the capabilities agreed with the peer in the last session
+   */
+  public record KnownPeer(
+      EnodeURL enode, long lastSeen, int score, List<Capability> capabilities) {}
+
+  public KnownPeers(final VariablesStorage variablesStorage, final Clock clock) {
+    this.variablesStorage = variablesStorage;
+    this.clock = clock;
+  }
+
+  /** Loads the persisted known peers, dropping the ones not seen for too long. */
+  public void load() {
+    final long minLastSeen = clock.millis() - MAX_AGE.toMillis();
+    variablesStorage
+        .getKnownPeers()
+        .ifPresent(
+            encoded -> {
+              try {
+                RLP.input(encoded).readList(KnownPeers::readKnownPeer).stream()
+                    .filter(knownPeer -> knownPeer.lastSeen() >= minLastSeen)
+                    .forEach(
+                        knownPeer -> knownPeers.put(knownPeer.enode().getNodeId(), knownPeer));
+              } catch (final RLPException | IllegalArgumentException e) {
+                LOG.atDebug()
+                    .setMessage("Ignoring invalid persisted known peers: {}")
+                    .addArgument(e::getMessage)
+                    .log();
+              }
+            });
+    LOG.debug("Loaded {} known peers", knownPeers.size());
+  }
+
+  /** Persists the best known peers. */
+  public void save() {
+    save(Stream.empty());
+  }
+
+  /**
+   * Persists the best known peers, counting the sessions still open as if they ended now. A peer is
+   * otherwise only recorded when its session ends, so the peers connected for the longest would be
+   * the ones missing.
+   *
+   * @param liveConnections the connections currently open
+   */
+  public void save(final Stream<PeerConnection> liveConnections) {
+    final long now = clock.millis();
+    final Map<Bytes, KnownPeer> peers = new HashMap<>(knownPeers);
+    liveConnections.forEach(
+        connection -> {
+          if (isRecorded(connection)) {
+            peers.compute(
+                connection.getPeer().getEnodeURL().getNodeId(),
+                (id, knownPeer) -> endSession(knownPeer, connection, now));
+          }
+        });
+    final List<KnownPeer> best = best(peers.values(), MAX_KNOWN_PEERS);
+    final VariablesStorage.Updater updater = variablesStorage.updater();
+    updater.setKnownPeers(RLP.encode(out -> out.writeList(best, KnownPeers::writeKnownPeer)));
+    updater.commit();
+    LOG.debug("Saved {} known peers", best.size());
+  }
+
+  /**
+   * Returns the best known peers, by decreasing score and then most recently seen first.
+   *
+   * @param limit the maximum number of peers to return
+   * @return the best known peers
+   */
+  public List<KnownPeer> best(final int limit) {
+    return best(knownPeers.values(), limit);
+  }
+
+  private static List<KnownPeer> best(final Collection<KnownPeer> peers, final int limit) {
+    return peers.stream()
+        .sorted(
+            Comparator.comparingInt(KnownPeer::score)
+                .thenComparingLong(KnownPeer::lastSeen)
+                .reversed())
+        .limit(limit)
+        .toList();
+  }
+
+  public int size() {
+    return knownPeers.size();
+  }
+
+  /**
+   * Records the end of a session with a peer.
+   *
+   * @param connection the connection to the peer
+   * @param reason the reason of the disconnection
+   * @param initiatedByPeer whether the peer initiated the disconnection
+   */
+  @Override
+  public void onDisconnect(
+      final PeerConnection connection,
+      final DisconnectReason reason,
+      final boolean initiatedByPeer) {
+    final EnodeURL enode = connection.getPeer().getEnodeURL();
+    // the reasons sharing a code differ by their message only, compare the no-message version
+    if (!initiatedByPeer
+        && FORGETTING_DISCONNECT_REASONS.contains(DisconnectReason.forCode(reason.getCode()))) {
+      knownPeers.remove(enode.getNodeId());
+      return;
+    }
+    if (!isRecorded(connection)) {
+      return;
+    }
+    final long now = clock.millis();
+    knownPeers.compute(
+        enode.getNodeId(), (id, knownPeer) -> endSession(knownPeer, connection, now));
+  }
+
+  private static boolean isRecorded(final PeerConnection connection) {
+    return connection.getStatusExchanged() && connection.getPeer().getEnodeURL().isListening();
+  }
+
+  private static KnownPeer endSession(
+      final KnownPeer knownPeer, final PeerConnection connection, final long now) {
+    final long sessionMinutes = Duration.ofMillis(now - connection.getInitiatedAt()).toMinutes();
+    final int sessionScore = 1 + (int) Math.min(Math.max(sessionMinutes, 0), MAX_SESSION_SCORE);
+    return new KnownPeer(
+        connection.getPeer().getEnodeURL(),
+        now,
+        Math.min((knownPeer == null ? 0 : knownPeer.score()) + sessionScore, MAX_SCORE),
+        List.copyOf(connection.getAgreedCapabilities()));
+  }
+
+  private static void writeKnownPeer(final KnownPeer knownPeer, final RLPOutput out) {
+    out.startList();
+    out.writeBytes(Bytes.wrap(knownPeer.enode().toString().getBytes(UTF_8)));
+    out.writeLongScalar(knownPeer.lastSeen());
+    out.writeIntScalar(knownPeer.score());
+    out.writeList(knownPeer.capabilities(), Capability::writeTo);
+    out.endList();
+  }
+
+  private static KnownPeer readKnownPeer(final RLPInput in) {
+    in.enterList();
+    final EnodeURL enode = EnodeURLImpl.fromString(new String(in.readBytes().toArray(), UTF_8));
+    final long lastSeen = in.readLongScalar();
+    final int score = in.readIntScalar();
+    final List<Capability> capabilities = in.readList(Capability::readFrom);
+    in.leaveList();
+    return new KnownPeer(enode, lastSeen, score, capabilities);
+  }
+}
@@ -25,20 +25,23 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
 import java.util.Arrays;
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.FormatMethod;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.MutableBytes;
 import org.bouncycastle.crypto.BlockCipher;
-import org.bouncycastle.crypto.StreamCipher;
 import org.bouncycastle.crypto.engines.AESEngine;
-import org.bouncycastle.crypto.modes.SICBlockCipher;
 import org.bouncycastle.crypto.params.KeyParameter;
-import org.bouncycastle.crypto.params.ParametersWithIV;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +56,10 @@ import org.slf4j.LoggerFactory;
  * fragmented frames, as well as streams of multiple messages within the same incoming buffer, as
  * long as the order of incoming bytes matches the underlying TCP sequence.
  *
+ * <p>Frames are encrypted, decrypted and authenticated in place in the Netty buffers they are read
+ * from or written to, so that a message payload is only copied when it is compressed, decompressed
+ * or handed over to the message handlers.
+ *
  * @see <a href="https://github.com/ethereum/devp2p/blob/master/rlpx.md#framing">RLPx framing</a>
  */
 public class Framer {
@@ -62,6 +69,7 @@ public class Framer {
   private static final int LENGTH_MAC = 16;
   private static final int LENGTH_FULL_HEADER = LENGTH_HEADER_DATA + LENGTH_MAC;
   private static final int LENGTH_MESSAGE_ID = 1;
+  private static final int MAC_CHUNK_SIZE = 4096;
 
   private static final byte[] IV = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
   private static final byte[] PROTOCOL_HEADER =
@@ -76,9 +84,11 @@ public class Framer {
 
   private final HandshakeSecrets secrets;
   private static final SnappyCompressor compressor = new SnappyCompressor();
-  private final StreamCipher encryptor;
-  private final StreamCipher decryptor;
+  private final Cipher encryptor;
+  private final Cipher decryptor;
   private final BlockCipher macEncryptor;
+  // used to feed the MACs from buffers that are not array-backed
+  private final byte[] macChunk = new byte[MAC_CHUNK_SIZE];
   private boolean headerProcessed;
   private int frameSize;
   private boolean compressionEnabled = false;
@@ -100,14 +110,10 @@ public class Framer {
   public Framer(final HandshakeSecrets secrets) {
     this.secrets = secrets;
 
-    final KeyParameter aesKey = new KeyParameter(secrets.getAesSecret());
     final KeyParameter macKey = new KeyParameter(secrets.getMacSecret());
 
-    encryptor = new SICBlockCipher(new AESEngine());
-    encryptor.init(true, new ParametersWithIV(aesKey, IV));
-
-    decryptor = new SICBlockCipher(new AESEngine());
-    decryptor.init(false, new ParametersWithIV(aesKey, IV));
+    encryptor = aesCtr(Cipher.ENCRYPT_MODE, secrets.getAesSecret());
+    decryptor = aesCtr(Cipher.DECRYPT_MODE, secrets.getAesSecret());
 
     macEncryptor = new AESEngine();
     macEncryptor.init(true, macKey);
@@ -212,7 +218,7 @@ public class Framer {
     validateMac(hMac, expectedMac);
 
     // Perform the header decryption.
-    decryptor.processBytes(hCipher, 0, hCipher.length, hCipher, 0);
+    processInPlace(decryptor, hCipher, hCipher.length);
     final ByteBuf h = wrappedBuffer(hCipher);
 
     // Read the frame length.
@@ -261,12 +267,13 @@ public class Framer {
       throw error("Expected %s bytes in header, got %s", expectedSize, f.readableBytes());
     }
 
-    final byte[] frameData = new byte[frameSize + pad];
+    final ByteBuf frameData = f.readSlice(frameSize + pad);
     final byte[] fMac = new byte[LENGTH_MAC];
-    f.readBytes(frameData).readBytes(fMac);
+    f.readBytes(fMac);
 
     // Validate the frame's MAC.
-    final byte[] fMacSeed = secrets.updateIngress(frameData).getIngressMac();
+    updateMac(frameData, secrets::updateIngress);
+    final byte[] fMacSeed = secrets.getIngressMac();
     final byte[] fMacSeedEnc = new byte[16];
     macEncryptor.processBlock(fMacSeed, 0, fMacSeedEnc, 0);
     byte[] expectedMac = secrets.updateIngress(xor(fMacSeedEnc, fMacSeed)).getIngressMac();
@@ -274,24 +281,24 @@ public class Framer {
 
     validateMac(fMac, expectedMac);
 
-    // Decrypt frame data.
-    decryptor.processBytes(frameData, 0, frameData.length, frameData, 0);
+    // Decrypt frame data in place.
+    processInPlace(decryptor, frameData);
 
     // Read the id.
-    final Bytes idbv = RLP.decodeOne(Bytes.of(frameData[0]));
+    final Bytes idbv = RLP.decodeOne(Bytes.of(frameData.readByte()));
     final int id = idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
+    final ByteBuf messageData = frameData.readSlice(frameSize - LENGTH_MESSAGE_ID);
 
-    // Write message data to ByteBuf, decompressing as necessary
+    // Copy message data out of the frame, decompressing as necessary
     final Bytes data;
     if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
+      final int uncompressedLength = compressor.uncompressedLength(messageData);
       if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
         throw error("Message size %s in excess of maximum length.", uncompressedLength);
       }
       Bytes _data;
       try {
-        final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
+        final byte[] decompressedMessageData = compressor.decompress(messageData);
         _data = Bytes.wrap(decompressedMessageData);
         compressionSuccessful = true;
       } catch (final FramingException fe) {
@@ -302,15 +309,12 @@ public class Framer {
           // If failing on the first packet downgrade to uncompressed
           compressionEnabled = false;
           LOG.debug("Snappy decompression failed: downgrading to uncompressed");
-          final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-          _data = Bytes.wrap(frameData, 1, messageLength);
+          _data = Bytes.wrap(ByteBufUtil.getBytes(messageData));
         }
       }
       data = _data;
     } else {
-      // Move data to a ByteBuf
-      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-      data = Bytes.wrap(frameData, 1, messageLength);
+      data = Bytes.wrap(ByteBufUtil.getBytes(messageData));
     }
 
     return new RawMessage(id, data);
@@ -334,25 +338,53 @@ public class Framer {
   public synchronized void frame(final MessageData message, final ByteBuf output) {
     Preconditions.checkArgument(
         message.getSize() < LENGTH_MAX_MESSAGE_FRAME, "Message size in excess of maximum length.");
-    // Compress message
-    if (compressionEnabled) {
-      // Extract data from message
-      // Compress data
-      final byte[] compressed = compressor.compress(message.getData().toArrayUnsafe());
-      // Construct new, compressed message
-      frameMessage(new RawMessage(message.getCode(), Bytes.wrap(compressed)), output);
-    } else {
-      frameMessage(message, output);
-    }
+    frameMessage(message.getCode(), message.getData(), compressionEnabled, output);
   }
 
   @VisibleForTesting
   void frameMessage(final MessageData message, final ByteBuf buf) {
-    final int frameSize = message.getSize() + LENGTH_MESSAGE_ID;
-    final int pad = padding16(frameSize);
+    frameMessage(message.getCode(), message.getData(), false, buf);
+  }
+
+  private void frameMessage(
+      final int code, final Bytes data, final boolean compress, final ByteBuf buf) {
+    // Reserve room for the header, which is written once the frame size is known.
+    final int headerIndex = buf.writerIndex();
+    buf.writeZero(LENGTH_FULL_HEADER);
+
+    // Write the id and the message data, compressed if needed, zero-padded to 16-byte boundary.
+    final int frameIndex = buf.writerIndex();
+    final byte id = (byte) code;
+    final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
+    assert bv.size() == 1;
+    buf.writeByte(bv.get(0));
+    final byte[] messageData = data.toArrayUnsafe();
+    if (compress) {
+      compressor.compress(messageData, 0, messageData.length, buf);
+    } else {
+      buf.writeBytes(messageData);
+    }
+    final int frameSize = buf.writerIndex() - frameIndex;
+    buf.writeZero(padding16(frameSize));
+
+    // The header precedes the payload in the cipher and MAC streams.
+    writeHeader(frameSize, buf, headerIndex);
 
-    final byte id = (byte) message.getCode();
+    // Encrypt payload in place.
+    final ByteBuf frame = buf.slice(frameIndex, buf.writerIndex() - frameIndex);
+    processInPlace(encryptor, frame);
 
+    // Calculate the frame MAC.
+    updateMac(frame, secrets::updateEgress);
+    final byte[] fMacSeed = Arrays.copyOf(secrets.getEgressMac(), LENGTH_MAC);
+    byte[] fMac = new byte[16];
+    macEncryptor.processBlock(fMacSeed, 0, fMac, 0);
+    fMac = Arrays.copyOf(secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac(), LENGTH_MAC);
+
+    buf.writeBytes(fMac);
+  }
+
+  private void writeHeader(final int frameSize, final ByteBuf buf, final int index) {
     // Generate the header data.
     final byte[] h = new byte[LENGTH_HEADER_DATA];
     h[0] = (byte) ((frameSize >> 16) & 0xff);
@@ -360,34 +392,73 @@ public class Framer {
     h[2] = (byte) (frameSize & 0xff);
     System.arraycopy(PROTOCOL_HEADER, 0, h, LENGTH_FRAME_SIZE, PROTOCOL_HEADER.length);
     Arrays.fill(h, LENGTH_FRAME_SIZE + PROTOCOL_HEADER.length, h.length - 1, (byte) 0x00);
-    encryptor.processBytes(h, 0, LENGTH_HEADER_DATA, h, 0);
+    processInPlace(encryptor, h, LENGTH_HEADER_DATA);
 
     // Generate the header MAC.
     byte[] hMac = Arrays.copyOf(secrets.getEgressMac(), LENGTH_MAC);
     macEncryptor.processBlock(hMac, 0, hMac, 0);
     hMac = secrets.updateEgress(xor(h, hMac)).getEgressMac();
     hMac = Arrays.copyOf(hMac, LENGTH_MAC);
-    buf.writeBytes(h).writeBytes(hMac);
+    buf.setBytes(index, h).setBytes(index + LENGTH_HEADER_DATA, hMac);
+  }
 
-    // Encrypt payload.
-    final MutableBytes f = MutableBytes.create(frameSize + pad);
+  /**
+   * Feeds the readable bytes of the buffer to a MAC, straight from the backing array if there is
+   * one, otherwise through a small reusable chunk.
+   */
+  private void updateMac(final ByteBuf region, final MacUpdate update) {
+    if (region.hasArray()) {
+      update.apply(
+          region.array(), region.arrayOffset() + region.readerIndex(), region.readableBytes());
+      return;
+    }
+    for (int index = region.readerIndex(); index < region.writerIndex(); index += MAC_CHUNK_SIZE) {
+      final int length = Math.min(MAC_CHUNK_SIZE, region.writerIndex() - index);
+      region.getBytes(index, macChunk, 0, length);
+      update.apply(macChunk, 0, length);
+    }
+  }
 
-    final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
-    assert bv.size() == 1;
-    f.set(0, bv.get(0));
+  /** Encrypts or decrypts the readable bytes of the buffer, overwriting them. */
+  private static void processInPlace(final Cipher cipher, final ByteBuf region) {
+    if (region.hasArray()) {
+      final int offset = region.arrayOffset() + region.readerIndex();
+      processInPlace(cipher, region.array(), offset, region.readableBytes());
+    } else if (region.nioBufferCount() == 1) {
+      final ByteBuffer nioBuffer = region.nioBuffer();
+      try {
+        cipher.update(nioBuffer, nioBuffer.duplicate());
+      } catch (final ShortBufferException e) {
+        throw new FramingException("Frame cipher failed", e);
+      }
+    } else {
+      final byte[] bytes = ByteBufUtil.getBytes(region);
+      processInPlace(cipher, bytes, bytes.length);
+      region.setBytes(region.readerIndex(), bytes);
+    }
+  }
 
-    // Zero-padded to 16-byte boundary.
-    message.getData().copyTo(f, 1);
-    encryptor.processBytes(f.toArrayUnsafe(), 0, f.size(), f.toArrayUnsafe(), 0);
+  private static void processInPlace(final Cipher cipher, final byte[] bytes, final int length) {
+    processInPlace(cipher, bytes, 0, length);
+  }
 
-    // Calculate the frame MAC.
-    final byte[] fMacSeed =
-        Arrays.copyOf(secrets.updateEgress(f.toArrayUnsafe()).getEgressMac(), LENGTH_MAC);
-    byte[] fMac = new byte[16];
-    macEncryptor.processBlock(fMacSeed, 0, fMac, 0);
-    fMac = Arrays.copyOf(secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac(), LENGTH_MAC);
+  private static void processInPlace(
+      final Cipher cipher, final byte[] bytes, final int offset, final int length) {
+    try {
+      cipher.update(bytes, offset, length, bytes, offset);
+    } catch (final ShortBufferException e) {
+      throw new FramingException("Frame cipher failed", e);
+    }
+  }
 
-    buf.writeBytes(f.toArrayUnsafe()).writeBytes(fMac);
+  private static Cipher aesCtr(final int mode, final byte[] aesSecret) {
+    try {
+      final Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+      cipher.init(mode, new SecretKeySpec(aesSecret, "AES"), new IvParameterSpec(IV));
+      return cipher;
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException("AES/CTR cipher is not available", e);
+    }
   }
 
   private static int padding16(final int size) {
@@ -412,6 +483,11 @@ public class Framer {
     return out;
   }
 
+  @FunctionalInterface
+  private interface MacUpdate {
+    HandshakeSecrets apply(byte[] bytes, int offset, int length);
+  }
+
   @FormatMethod
   private static FramingException error(final String s, final Object... params) {
     return new FramingException(String.format(s, params));
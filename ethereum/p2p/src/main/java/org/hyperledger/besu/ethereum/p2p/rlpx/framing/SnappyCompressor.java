@@ -18,6 +18,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.IOException;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.xerial.snappy.Snappy;
 
 /**
@@ -53,4 +55,99 @@ public class SnappyCompressor {
       throw new FramingException("Snappy uncompressedLength failed", e);
     }
   }
+
+  /**
+   * Compresses a range of bytes straight into the output buffer. When the output buffer is direct,
+   * the input is staged in a pooled direct buffer so that snappy works between native memory
+   * regions, instead of compressing into a temporary array that is then copied.
+   *
+   * @param uncompressed the array holding the data to compress
+   * @param offset the offset of the data in the array
+   * @param length the length of the data
+   * @param output the buffer to write the compressed data to
+   * @return the number of compressed bytes written
+   */
+  public int compress(
+      final byte[] uncompressed, final int offset, final int length, final ByteBuf output) {
+    checkNotNull(uncompressed, "input data must not be null");
+    final int maxCompressedLength = Snappy.maxCompressedLength(length);
+    output.ensureWritable(maxCompressedLength);
+    try {
+      final int written;
+      if (output.hasArray()) {
+        written =
+            Snappy.compress(
+                uncompressed,
+                offset,
+                length,
+                output.array(),
+                output.arrayOffset() + output.writerIndex());
+      } else if (output.isDirect() && output.nioBufferCount() == 1) {
+        final ByteBuf staged = output.alloc().directBuffer(length);
+        try {
+          staged.writeBytes(uncompressed, offset, length);
+          written =
+              Snappy.compress(
+                  staged.nioBuffer(), output.nioBuffer(output.writerIndex(), maxCompressedLength));
+        } finally {
+          staged.release();
+        }
+      } else {
+        final byte[] compressed = new byte[maxCompressedLength];
+        written = Snappy.compress(uncompressed, offset, length, compressed, 0);
+        output.setBytes(output.writerIndex(), compressed, 0, written);
+      }
+      output.writerIndex(output.writerIndex() + written);
+      return written;
+    } catch (final IOException e) {
+      throw new FramingException("Snappy compression failed", e);
+    }
+  }
+
+  /**
+   * Decompresses the readable bytes of the buffer, reading them in place when it is array-backed.
+   *
+   * @param compressed the buffer holding the compressed data
+   * @return the decompressed data
+   */
+  public byte[] decompress(final ByteBuf compressed) {
+    checkNotNull(compressed, "input data must not be null");
+    if (!compressed.hasArray()) {
+      return decompress(ByteBufUtil.getBytes(compressed));
+    }
+    final byte[] array = compressed.array();
+    final int offset = compressed.arrayOffset() + compressed.readerIndex();
+    final int length = compressed.readableBytes();
+    try {
+      final byte[] uncompressed = new byte[Snappy.uncompressedLength(array, offset, length)];
+      Snappy.uncompress(array, offset, length, uncompressed, 0);
+      return uncompressed;
+    } catch (final IOException e) {
+      throw new FramingException("Snappy decompression failed", e);
+    }
+  }
+
+  /**
+   * Reads the uncompressed length of the readable bytes of the buffer, without copying them.
+   *
+   * @param compressed the buffer holding the compressed data
+   * @return the uncompressed length
+   */
+  public int uncompressedLength(final ByteBuf compressed) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      if (compressed.hasArray()) {
+        return Snappy.uncompressedLength(
+            compressed.array(),
+            compressed.arrayOffset() + compressed.readerIndex(),
+            compressed.readableBytes());
+      } else if (compressed.isDirect() && compressed.nioBufferCount() == 1) {
+        return Snappy.uncompressedLength(compressed.nioBuffer());
+      } else {
+        return Snappy.uncompressedLength(ByteBufUtil.getBytes(compressed));
+      }
+    } catch (final IOException e) {
+      throw new FramingException("Snappy uncompressedLength failed", e);
+    }
+  }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.cryptoservices.NodeKey;
+import org.hyperledger.besu.cryptoservices.NodeKeyUtils;
+import org.hyperledger.besu.ethereum.forkid.ForkId;
+
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt64;
+import org.ethereum.beacon.discovery.schema.EnrField;
+import org.ethereum.beacon.discovery.schema.IdentitySchema;
+import org.ethereum.beacon.discovery.schema.NodeRecord;
+import org.ethereum.beacon.discovery.schema.NodeRecordFactory;
+import org.junit.jupiter.api.Test;
+
+public class DiscoveryV5AgentTest {
+  private final NodeKey nodeKey = NodeKeyUtils.generate();
+  private final Bytes address = Bytes.of(127, 0, 0, 1);
+
+  @Test
+  public void shouldConvertNodeRecordOfExecutionClientToBondedPeer() {
+    final ForkId forkId = new ForkId(Bytes.fromHexString("0x9f3d2254"), 0);
+    final NodeRecord nodeRecord =
+        PeerDiscoveryAgent.createNodeRecord(
+            nodeKey, UInt64.ONE, address, 30303, 30304, forkId.getForkIdAsBytesList());
+
+    final Optional<DiscoveryPeer> peer = DiscoveryV5Agent.toDiscoveryPeer(nodeRecord);
+
+    assertThat(peer).isPresent();
+    assertThat(peer.get().getId()).isEqualTo(nodeKey.getPublicKey().getEncodedBytes());
+    assertThat(peer.get().getEnodeURL().getListeningPortOrZero()).isEqualTo(30303);
+    assertThat(peer.get().getStatus()).isEqualTo(PeerDiscoveryStatus.BONDED);
+    assertThat(peer.get().getForkId()).contains(forkId);
+  }
+
+  @Test
+  public void shouldIgnoreNodeRecordWithoutForkId() {
+    final NodeRecord nodeRecord =
+        NodeRecordFactory.DEFAULT.createFromValues(
+            UInt64.ONE,
+            new EnrField(EnrField.ID, IdentitySchema.V4),
+            new EnrField(
+                EnrField.PKEY_SECP256K1,
+                SignatureAlgorithmFactory.getInstance().compressPublicKey(nodeKey.getPublicKey())),
+            new EnrField(EnrField.IP_V4, address),
+            new EnrField(EnrField.TCP, 9000),
+            new EnrField(EnrField.UDP, 9000));
+
+    assertThat(DiscoveryV5Agent.toDiscoveryPeer(nodeRecord)).isEmpty();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SECPSignature;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.cryptoservices.NodeKeyUtils;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+public class NodeKeySignerTest {
+  private final SignatureAlgorithm signatureAlgorithm = SignatureAlgorithmFactory.getInstance();
+  private final KeyPair keyPair = signatureAlgorithm.generateKeyPair();
+  private final NodeKeySigner signer = new NodeKeySigner(NodeKeyUtils.createFrom(keyPair));
+
+  @Test
+  public void shouldDeriveCompressedSharedPoint() {
+    for (int i = 0; i < 8; i++) {
+      final KeyPair remoteKeyPair = signatureAlgorithm.generateKeyPair();
+      final Bytes expected =
+          Bytes.wrap(
+              signatureAlgorithm
+                  .publicKeyAsEcPoint(remoteKeyPair.getPublicKey())
+                  .multiply(keyPair.getPrivateKey().getD())
+                  .normalize()
+                  .getEncoded(true));
+
+      final Bytes remotePublicKey =
+          signatureAlgorithm.compressPublicKey(remoteKeyPair.getPublicKey());
+      assertThat(signer.deriveECDHKeyAgreement(remotePublicKey)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void shouldSignWithRAndSOnly() {
+    final Bytes32 messageHash = Bytes32.random();
+
+    final Bytes signature = signer.sign(messageHash);
+
+    assertThat(signature.size()).isEqualTo(64);
+    final SECPSignature secpSignature =
+        signatureAlgorithm.createSignature(
+            signature.slice(0, 32).toUnsignedBigInteger(),
+            signature.slice(32).toUnsignedBigInteger(),
+            (byte) 0);
+    assertThat(signatureAlgorithm.verify(messageHash, secpSignature, keyPair.getPublicKey()))
+        .isTrue();
+  }
+
+  @Test
+  public void shouldDecodeCompressedPublicKey() {
+    assertThat(NodeKeySigner.decodePublicKey(signer.deriveCompressedPublicKeyFromPrivate()))
+        .isEqualTo(keyPair.getPublicKey());
+  }
+}
@@ -16,10 +16,12 @@ package org.hyperledger.besu.ethereum.p2p.discovery.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.crypto.SignatureAlgorithm;
 import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
 import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryTestHelper;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.AddResult.AddOutcome;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.EvictResult;
@@ -27,11 +29,16 @@ import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.EvictResul
 import org.hyperledger.besu.ethereum.p2p.peers.EnodeURLImpl;
 import org.hyperledger.besu.ethereum.p2p.peers.Peer;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.collect.Lists;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
 
@@ -54,6 +61,54 @@ public class PeerTableTest {
     assertThat(table.streamAllPeers()).hasSize(5);
   }
 
+  @Test
+  public void nearestBondedPeersAreSortedByDistanceToTarget() {
+    final PeerTable table = new PeerTable(Peer.randomId());
+    final List<DiscoveryPeer> peers = helper.createDiscoveryPeers(20);
+    peers.forEach(
+        peer -> {
+          peer.setStatus(PeerDiscoveryStatus.BONDED);
+          table.tryAdd(peer);
+        });
+    final Bytes target = Peer.randomId();
+    final Bytes targetKeccak = Hash.keccak256(target);
+
+    final List<DiscoveryPeer> nearest = table.nearestBondedPeers(target, 5);
+
+    final List<DiscoveryPeer> expected =
+        table
+            .streamAllPeers()
+            .sorted(
+                Comparator.comparingInt(
+                    peer -> PeerDistanceCalculator.distance(peer.keccak256(), targetKeccak)))
+            .limit(5)
+            .toList();
+    assertThat(nearest)
+        .extracting(peer -> PeerDistanceCalculator.distance(peer.keccak256(), targetKeccak))
+        .containsExactlyElementsOf(
+            expected.stream()
+                .map(peer -> PeerDistanceCalculator.distance(peer.keccak256(), targetKeccak))
+                .toList());
+  }
+
+  @Test
+  public void concurrentlyAddedPeersCanBeRetrieved() throws Exception {
+    final PeerTable table = new PeerTable(Peer.randomId());
+    final List<DiscoveryPeer> peers = helper.createDiscoveryPeers(200);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (final List<DiscoveryPeer> partition : Lists.partition(peers, 50)) {
+        executor.submit(() -> partition.forEach(table::tryAdd));
+      }
+    } finally {
+      executor.shutdown();
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    table.streamAllPeers().forEach(peer -> assertThat(table.get(peer)).contains(peer));
+  }
+
   @Test
   public void addSelf() {
     final DiscoveryPeer localPeer =
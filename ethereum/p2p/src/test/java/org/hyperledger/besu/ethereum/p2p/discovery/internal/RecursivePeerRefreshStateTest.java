@@ -259,6 +259,27 @@ public class RecursivePeerRefreshStateTest {
     verify(neighborFinder).findNeighbours(peer4, TARGET);
   }
 
+  @Test
+  public void shouldQueryClosestNeighboursWhateverTheirIdOrder() {
+    final Bytes target = Bytes.concatenate(Bytes.of(0x80), createId(0).slice(1));
+    final DiscoveryPeer farPeer1 = createPeer(createId(1), "0.0.0.1", 1, 1);
+    final DiscoveryPeer farPeer2 = createPeer(createId(2), "0.0.0.2", 1, 1);
+    final DiscoveryPeer farPeer3 = createPeer(createId(3), "0.0.0.3", 1, 1);
+    final DiscoveryPeer closePeer =
+        createPeer(Bytes.concatenate(Bytes.of(0x80), createId(1).slice(1)), "0.0.0.4", 1, 1);
+    farPeer1.setStatus(PeerDiscoveryStatus.BONDED);
+    farPeer2.setStatus(PeerDiscoveryStatus.BONDED);
+    farPeer3.setStatus(PeerDiscoveryStatus.BONDED);
+    closePeer.setStatus(PeerDiscoveryStatus.BONDED);
+
+    recursivePeerRefreshState.start(asList(farPeer1, farPeer2, farPeer3, closePeer), target);
+
+    verify(neighborFinder).findNeighbours(closePeer, target);
+    verify(neighborFinder).findNeighbours(farPeer1, target);
+    verify(neighborFinder).findNeighbours(farPeer2, target);
+    verify(neighborFinder, never()).findNeighbours(farPeer3, target);
+  }
+
   @Test
   public void shouldNotQueryNodeThatIsAlreadyQueried() {
     peer1.setStatus(PeerDiscoveryStatus.KNOWN);
@@ -36,6 +36,7 @@ import org.hyperledger.besu.ethereum.p2p.config.RlpxConfiguration;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryAgent;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
+import org.hyperledger.besu.ethereum.p2p.peers.KnownPeers;
 import org.hyperledger.besu.ethereum.p2p.peers.MaintainedPeers;
 import org.hyperledger.besu.ethereum.p2p.peers.Peer;
 import org.hyperledger.besu.ethereum.p2p.peers.PeerTestHelper;
@@ -50,6 +51,7 @@ import org.hyperledger.besu.nat.core.domain.NetworkProtocol;
 import org.hyperledger.besu.nat.upnp.UpnpNatManager;
 import org.hyperledger.besu.plugin.data.EnodeURL;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -72,6 +74,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 public final class DefaultP2PNetworkTest {
   final MaintainedPeers maintainedPeers = new MaintainedPeers();
+  final InMemoryKeyValueStorageProvider storageProvider = new InMemoryKeyValueStorageProvider();
   final SECP256K1.SecretKey mockKey =
       SECP256K1.SecretKey.fromBytes(
           Bytes32.fromHexString(
@@ -278,6 +281,47 @@ public final class DefaultP2PNetworkTest {
     assertThat(peerCaptor.getValue()).isEqualTo(discoPeer);
   }
 
+  @Test
+  public void shouldConnectToPeersKnownFromPreviousRunsOnStart() {
+    final Peer peer = PeerTestHelper.createPeer();
+    final MockPeerConnection connection = MockPeerConnection.create(peer);
+    connection.setStatusSent();
+    connection.setStatusReceived();
+    final KnownPeers knownPeers =
+        new KnownPeers(storageProvider.createVariablesStorage(), Clock.systemUTC());
+    knownPeers.onDisconnect(connection, DisconnectReason.REQUESTED, true);
+    knownPeers.save();
+    when(discoveryAgent.isEnabled()).thenReturn(true);
+    when(rlpxAgent.getMaxPeers()).thenReturn(25);
+
+    final DefaultP2PNetwork network = network();
+    network.start();
+
+    verify(rlpxAgent).connect(peerCaptor.capture());
+    assertThat(peerCaptor.getValue().getEnodeURL()).isEqualTo(peer.getEnodeURL());
+    verify(discoveryAgent).bond(peerCaptor.getValue());
+  }
+
+  @Test
+  public void shouldSavePeersStillConnectedOnStop() {
+    final Peer peer = PeerTestHelper.createPeer();
+    final MockPeerConnection connection = MockPeerConnection.create(peer);
+    connection.setStatusSent();
+    connection.setStatusReceived();
+    when(rlpxAgent.streamConnections()).thenAnswer(invocation -> Stream.of(connection));
+
+    final DefaultP2PNetwork network = network();
+    network.start();
+    network.stop();
+
+    final KnownPeers knownPeers =
+        new KnownPeers(storageProvider.createVariablesStorage(), Clock.systemUTC());
+    knownPeers.load();
+    assertThat(knownPeers.best(10))
+        .extracting(KnownPeers.KnownPeer::enode)
+        .containsExactly(peer.getEnodeURL());
+  }
+
   @Test
   public void attemptPeerConnections_unbondedPeers() {
     final DiscoveryPeer discoPeer = DiscoveryPeer.fromEnode(PeerTestHelper.enode());
@@ -392,7 +436,7 @@ public final class DefaultP2PNetworkTest {
         .maintainedPeers(maintainedPeers)
         .metricsSystem(new NoOpMetricsSystem())
         .supportedCapabilities(EthProtocolHelper.LATEST)
-        .storageProvider(new InMemoryKeyValueStorageProvider())
+        .storageProvider(storageProvider)
         .blockNumberForks(Collections.emptyList())
         .timestampForks(Collections.emptyList())
         .allConnectionsSupplier(Stream::empty)
@@ -0,0 +1,168 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.peers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.chain.VariablesStorage;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.p2p.peers.KnownPeers.KnownPeer;
+import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class KnownPeersTest {
+  private static final Instant NOW = Instant.ofEpochSecond(1_700_000_000);
+  private static final Capability ETH68 = Capability.create("eth", 68);
+
+  private final VariablesStorage variablesStorage =
+      new InMemoryKeyValueStorageProvider().createVariablesStorage();
+  private final KnownPeers knownPeers =
+      new KnownPeers(variablesStorage, Clock.fixed(NOW, ZoneOffset.UTC));
+
+  @Test
+  public void shouldRankPeersByScore() {
+    final Peer shortSession = PeerTestHelper.createPeer();
+    final Peer longSession = PeerTestHelper.createPeer();
+
+    knownPeers.onDisconnect(connection(shortSession, Duration.ofMinutes(1)), requested(), true);
+    knownPeers.onDisconnect(connection(longSession, Duration.ofMinutes(30)), requested(), true);
+
+    assertThat(knownPeers.best(2))
+        .extracting(KnownPeer::enode)
+        .containsExactly(longSession.getEnodeURL(), shortSession.getEnodeURL());
+    assertThat(knownPeers.best(1).get(0).capabilities()).containsExactly(ETH68);
+  }
+
+  @Test
+  public void shouldAccumulateScoreAcrossSessions() {
+    final Peer peer = PeerTestHelper.createPeer();
+
+    knownPeers.onDisconnect(connection(peer, Duration.ofMinutes(2)), requested(), true);
+    knownPeers.onDisconnect(connection(peer, Duration.ofMinutes(2)), requested(), false);
+
+    assertThat(knownPeers.size()).isEqualTo(1);
+    assertThat(knownPeers.best(1).get(0).score()).isEqualTo(6);
+  }
+
+  @Test
+  public void shouldIgnoreSessionsWithoutStatusExchange() {
+    final PeerConnection connection =
+        connection(PeerTestHelper.createPeer(), Duration.ofMinutes(2));
+    when(connection.getStatusExchanged()).thenReturn(false);
+
+    knownPeers.onDisconnect(connection, requested(), true);
+
+    assertThat(knownPeers.size()).isZero();
+  }
+
+  @Test
+  public void shouldForgetUselessPeers() {
+    final Peer peer = PeerTestHelper.createPeer();
+    knownPeers.onDisconnect(connection(peer, Duration.ofMinutes(2)), requested(), true);
+
+    knownPeers.onDisconnect(
+        connection(peer, Duration.ofMinutes(2)),
+        DisconnectReason.USELESS_PEER_USELESS_RESPONSES,
+        false);
+
+    assertThat(knownPeers.size()).isZero();
+  }
+
+  @Test
+  public void shouldRestoreSavedPeers() {
+    final Peer peer = PeerTestHelper.createPeer();
+    knownPeers.onDisconnect(connection(peer, Duration.ofMinutes(10)), requested(), true);
+    knownPeers.save();
+
+    final KnownPeers restored = new KnownPeers(variablesStorage, Clock.fixed(NOW, ZoneOffset.UTC));
+    restored.load();
+
+    assertThat(restored.best(10)).isEqualTo(knownPeers.best(10));
+  }
+
+  @Test
+  public void shouldSavePeersStillConnected() {
+    final Peer peer = PeerTestHelper.createPeer();
+    knownPeers.onDisconnect(connection(peer, Duration.ofMinutes(2)), requested(), true);
+    final Peer connectedPeer = PeerTestHelper.createPeer();
+
+    knownPeers.save(
+        Stream.of(
+            connection(peer, Duration.ofMinutes(2)),
+            connection(connectedPeer, Duration.ofMinutes(30))));
+
+    final KnownPeers restored = new KnownPeers(variablesStorage, Clock.fixed(NOW, ZoneOffset.UTC));
+    restored.load();
+    assertThat(restored.best(10))
+        .extracting(KnownPeer::enode, KnownPeer::score)
+        .containsExactly(tuple(connectedPeer.getEnodeURL(), 31), tuple(peer.getEnodeURL(), 6));
+    // the open sessions are only counted in what is saved
+    assertThat(knownPeers.size()).isEqualTo(1);
+    assertThat(knownPeers.best(1).get(0).score()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldNotRestorePeersNotSeenForTooLong() {
+    knownPeers.onDisconnect(
+        connection(PeerTestHelper.createPeer(), Duration.ofMinutes(10)), requested(), true);
+    knownPeers.save();
+
+    final KnownPeers restored =
+        new KnownPeers(
+            variablesStorage,
+            Clock.fixed(NOW.plus(KnownPeers.MAX_AGE).plusSeconds(1), ZoneOffset.UTC));
+    restored.load();
+
+    assertThat(restored.size()).isZero();
+  }
+
+  @Test
+  public void shouldIgnoreInvalidSavedPeers() {
+    final VariablesStorage.Updater updater = variablesStorage.updater();
+    updater.setKnownPeers(Bytes.fromHexString("0xc3010203"));
+    updater.commit();
+
+    knownPeers.load();
+
+    assertThat(knownPeers.size()).isZero();
+  }
+
+  private static DisconnectReason requested() {
+    return DisconnectReason.REQUESTED;
+  }
+
+  private static PeerConnection connection(final Peer peer, final Duration sessionLength) {
+    final PeerConnection connection = mock(PeerConnection.class);
+    when(connection.getPeer()).thenReturn(peer);
+    when(connection.getStatusExchanged()).thenReturn(true);
+    when(connection.getInitiatedAt()).thenReturn(NOW.minus(sessionLength).toEpochMilli());
+    when(connection.getAgreedCapabilities()).thenReturn(Set.of(ETH68));
+    return connection;
+  }
+}
@@ -20,6 +20,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.nio.charset.StandardCharsets;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +37,32 @@ public class SnappyCompressorTest {
     assertThat(snappy.decompress(snappy.compress(data))).isEqualTo(data);
   }
 
+  @Test
+  public void roundTripHeapBuffer() {
+    assertBufferRoundTrip(Unpooled.buffer());
+  }
+
+  @Test
+  public void roundTripDirectBuffer() {
+    assertBufferRoundTrip(Unpooled.directBuffer());
+  }
+
+  private void assertBufferRoundTrip(final ByteBuf buf) {
+    final String input = "Uncompressed sample text for buffer compression";
+    final byte[] data = input.repeat(8).getBytes(StandardCharsets.UTF_8);
+    try {
+      buf.writeByte(0x42);
+      final int written = snappy.compress(data, 0, data.length, buf);
+      assertThat(written).isEqualTo(snappy.compress(data).length);
+
+      final ByteBuf compressed = buf.slice(1, written);
+      assertThat(snappy.uncompressedLength(compressed)).isEqualTo(data.length);
+      assertThat(snappy.decompress(compressed)).isEqualTo(data);
+    } finally {
+      buf.release();
+    }
+  }
+
   @Test
   public void roundTripEmptyByteArray() {
     final byte[] data = new byte[0];
@@ -48,12 +76,13 @@ public class SnappyCompressorTest {
 
   @Test
   public void decompressNull() {
-    assertThatThrownBy(() -> snappy.decompress(null)).isInstanceOf(NullPointerException.class);
+    assertThatThrownBy(() -> snappy.decompress((byte[]) null))
+        .isInstanceOf(NullPointerException.class);
   }
 
   @Test
   public void uncompressedLengthNull() {
-    assertThatThrownBy(() -> snappy.uncompressedLength(null))
+    assertThatThrownBy(() -> snappy.uncompressedLength((byte[]) null))
         .isInstanceOf(NullPointerException.class);
   }
 
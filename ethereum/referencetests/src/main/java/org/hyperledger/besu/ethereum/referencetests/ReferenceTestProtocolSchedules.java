@@ -68,7 +68,19 @@ public class ReferenceTestProtocolSchedules {
           "eip158tobyzantiumat5");
 
   public static ReferenceTestProtocolSchedules create() {
-    return create(new StubGenesisConfigOptions(), EvmConfiguration.DEFAULT);
+    // a threshold of 1 runs all the legacy code of the tests compiled
+    final int compilationThreshold =
+        Integer.getInteger("test.ethereum.evm.compilation.threshold", 0);
+    return create(
+        new StubGenesisConfigOptions(),
+        compilationThreshold == 0
+            ? EvmConfiguration.DEFAULT
+            : new EvmConfiguration(
+                32_000L,
+                EvmConfiguration.WorldUpdaterMode.STACKED,
+                true,
+                false,
+                compilationThreshold));
   }
 
   public static ReferenceTestProtocolSchedules create(final EvmConfiguration evmConfiguration) {
@@ -0,0 +1,246 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.collections.undo;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A set of fixed length byte keys that supports rolling back the set to a prior state, such as the
+ * addresses and storage slots warmed up by a transaction.
+ *
+ * <p>The keys are stored in insertion order in one flat array, without boxing them, and are found
+ * by hashing their raw bytes. The first few keys are found by scanning them, and the following ones
+ * through an open addressing table of key indexes. Keys can only be added, and are removed by undo
+ * in the reverse order they were added, which keeps the linear probing of the table valid without
+ * tombstones.
+ *
+ * <p>Keys can be given in two parts, such as an address and a storage slot, so that they are not
+ * concatenated before every lookup. This class is not thread safe.
+ */
+public class UndoBytesSet implements Undoable {
+  private static final int INLINE_KEYS = 8;
+
+  private final int keyLength;
+  private final byte[] key;
+  private byte[] keys;
+  private int[] hashes;
+  private long[] levels;
+  private int size;
+  // the index plus one of the key in each slot, 0 if the slot is empty, null while keys are few
+  private int[] table;
+
+  /**
+   * Create an empty set.
+   *
+   * @param keyLength the length of the keys of the set
+   */
+  public UndoBytesSet(final int keyLength) {
+    this.keyLength = keyLength;
+    this.key = new byte[keyLength];
+    this.keys = new byte[keyLength * INLINE_KEYS];
+    this.hashes = new int[INLINE_KEYS];
+    this.levels = new long[INLINE_KEYS];
+  }
+
+  /**
+   * Adds a key to the set.
+   *
+   * @param value the key, of the length of the keys of the set
+   * @return true if the key was added, false if it was already in the set
+   */
+  public boolean add(final Bytes value) {
+    setKey(value, Bytes.EMPTY);
+    return addKey();
+  }
+
+  /**
+   * Adds a key given in two parts to the set.
+   *
+   * @param prefix the first part of the key
+   * @param suffix the second part of the key, the parts adding up to the length of the keys
+   * @return true if the key was added, false if it was already in the set
+   */
+  public boolean add(final Bytes prefix, final Bytes suffix) {
+    setKey(prefix, suffix);
+    return addKey();
+  }
+
+  /**
+   * Returns whether a key is in the set.
+   *
+   * @param value the key, of the length of the keys of the set
+   * @return true if the key is in the set
+   */
+  public boolean contains(final Bytes value) {
+    setKey(value, Bytes.EMPTY);
+    return indexOf(hash()) >= 0;
+  }
+
+  /**
+   * Returns whether a key given in two parts is in the set.
+   *
+   * @param prefix the first part of the key
+   * @param suffix the second part of the key, the parts adding up to the length of the keys
+   * @return true if the key is in the set
+   */
+  public boolean contains(final Bytes prefix, final Bytes suffix) {
+    setKey(prefix, suffix);
+    return indexOf(hash()) >= 0;
+  }
+
+  /**
+   * Returns the number of keys in the set.
+   *
+   * @return the number of keys
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the set is empty.
+   *
+   * @return true if the set has no keys
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns a key of the set, by order of addition.
+   *
+   * @param index the index of the key, from 0 to {@link #size()} excluded
+   * @return a copy of the key
+   */
+  public Bytes get(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    final int offset = index * keyLength;
+    return Bytes.wrap(Arrays.copyOfRange(keys, offset, offset + keyLength));
+  }
+
+  @Override
+  public void undo(final long mark) {
+    while (size > 0 && levels[size - 1] > mark) {
+      size--;
+      if (table != null) {
+        table[slotOf(size)] = 0;
+      }
+    }
+  }
+
+  @Override
+  public long lastUpdate() {
+    return size == 0 ? 0L : levels[size - 1];
+  }
+
+  private void setKey(final Bytes prefix, final Bytes suffix) {
+    final int prefixLength = prefix.size();
+    if (prefixLength + suffix.size() != keyLength) {
+      throw new IllegalArgumentException(
+          "Key of " + (prefixLength + suffix.size()) + " bytes, expected " + keyLength);
+    }
+    System.arraycopy(prefix.toArrayUnsafe(), 0, key, 0, prefixLength);
+    if (!suffix.isEmpty()) {
+      System.arraycopy(suffix.toArrayUnsafe(), 0, key, prefixLength, keyLength - prefixLength);
+    }
+  }
+
+  private int hash() {
+    int hash = 1;
+    for (int i = 0; i < keyLength; i++) {
+      hash = 31 * hash + key[i];
+    }
+    // spread the bits, as the table index is taken from the low bits
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  private boolean matches(final int index, final int hash) {
+    final int offset = index * keyLength;
+    return hashes[index] == hash
+        && Arrays.equals(keys, offset, offset + keyLength, key, 0, keyLength);
+  }
+
+  private int indexOf(final int hash) {
+    if (table == null) {
+      for (int index = 0; index < size; index++) {
+        if (matches(index, hash)) {
+          return index;
+        }
+      }
+      return -1;
+    }
+    final int mask = table.length - 1;
+    int slot = hash & mask;
+    int entry;
+    while ((entry = table[slot]) != 0) {
+      if (matches(entry - 1, hash)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private boolean addKey() {
+    final int hash = hash();
+    if (indexOf(hash) >= 0) {
+      return false;
+    }
+    if (size == hashes.length) {
+      final int capacity = size * 2;
+      keys = Arrays.copyOf(keys, capacity * keyLength);
+      hashes = Arrays.copyOf(hashes, capacity);
+      levels = Arrays.copyOf(levels, capacity);
+    }
+    System.arraycopy(key, 0, keys, size * keyLength, keyLength);
+    hashes[size] = hash;
+    levels[size] = Undoable.incrementMarkStatic();
+    size++;
+
+    if (table != null && size * 2 <= table.length) {
+      insert(size - 1);
+    } else if (size > INLINE_KEYS) {
+      // keep the table at most half full, re-inserting the keys in the order they were added
+      table = new int[Integer.highestOneBit(size) * 4];
+      for (int index = 0; index < size; index++) {
+        insert(index);
+      }
+    }
+    return true;
+  }
+
+  private void insert(final int index) {
+    final int mask = table.length - 1;
+    int slot = hashes[index] & mask;
+    while (table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = index + 1;
+  }
+
+  private int slotOf(final int index) {
+    final int mask = table.length - 1;
+    int slot = hashes[index] & mask;
+    while (table[slot] != index + 1) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+}
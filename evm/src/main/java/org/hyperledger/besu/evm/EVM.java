@@ -16,10 +16,14 @@ package org.hyperledger.besu.evm;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
+import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_MAX;
 import static org.hyperledger.besu.evm.operation.SwapOperation.SWAP_BASE;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.code.BasicBlocks;
 import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.code.CodeV0;
+import org.hyperledger.besu.evm.code.CompiledCode;
 import org.hyperledger.besu.evm.code.EOFLayout;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -72,7 +76,9 @@ import org.hyperledger.besu.evm.operation.VirtualOperation;
 import org.hyperledger.besu.evm.operation.XorOperation;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
@@ -103,6 +109,14 @@ public class EVM {
 
   private final JumpDestOnlyCodeCache jumpDestOnlyCodeCache;
 
+  // the operations run by basic blocks, null when disabled
+  private final BasicBlocks.StaticOperations staticOperations;
+
+  // legacy code is compiled once hot, 0 when disabled
+  private final int compilationThreshold;
+  private final long jumpGasCost;
+  private final long jumpiGasCost;
+
   /**
    * Instantiates a new Evm.
    *
@@ -130,6 +144,51 @@ public class EVM {
 
     enableShanghai = EvmSpecVersion.SHANGHAI.ordinal() <= evmSpecVersion.ordinal();
     enableOsaka = EvmSpecVersion.OSAKA.ordinal() <= evmSpecVersion.ordinal();
+    compilationThreshold = Math.max(evmConfiguration.compilationThreshold(), 0);
+    staticOperations =
+        evmConfiguration.enableBasicBlocks() || compilationThreshold > 0
+            ? createStaticOperations()
+            : null;
+    // compiled code only runs the standard jumps, without running their operations
+    jumpGasCost =
+        operations.get(0x56) instanceof JumpOperation jump
+            ? jump.getConstantGasCost().orElse(-1)
+            : -1;
+    jumpiGasCost =
+        operations.get(0x57) instanceof JumpiOperation jumpi
+            ? jumpi.getConstantGasCost().orElse(-1)
+            : -1;
+  }
+
+  /**
+   * The operations that runToHalt runs from static methods, with a constant gas cost, and that only
+   * halt on stack underflow or overflow, so they can be grouped in basic blocks.
+   */
+  private BasicBlocks.StaticOperations createStaticOperations() {
+    final long[] gasCosts = new long[256];
+    final int[] stackItemsConsumed = new int[256];
+    final int[] stackItemsProduced = new int[256];
+    Arrays.fill(gasCosts, -1);
+    for (int opcode = 0; opcode < 256; opcode++) {
+      final boolean isStatic =
+          switch (opcode) {
+            case 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0b -> true;
+            case 0x10, 0x11, 0x12, 0x13, 0x15, 0x16, 0x17, 0x18, 0x19, 0x1a -> true;
+            case 0x1e -> enableOsaka;
+            case 0x50, 0x5b -> true;
+            case 0x5f -> enableShanghai;
+            default -> opcode >= 0x60 && opcode <= 0x9f; // PUSH1-32, DUP1-16, SWAP1-16
+          };
+      final Operation operation = operations.get(opcode);
+      final OptionalLong gasCost =
+          operation == null ? OptionalLong.empty() : operation.getConstantGasCost();
+      if (isStatic && gasCost.isPresent() && !(operation instanceof InvalidOperation)) {
+        gasCosts[opcode] = gasCost.getAsLong();
+        stackItemsConsumed[opcode] = operation.getStackItemsConsumed();
+        stackItemsProduced[opcode] = operation.getStackItemsProduced();
+      }
+    }
+    return new BasicBlocks.StaticOperations(gasCosts, stackItemsConsumed, stackItemsProduced);
   }
 
   /**
@@ -215,6 +274,22 @@ public class EVM {
     evmSpecVersion.maybeWarnVersion();
 
     var operationTracer = tracing == OperationTracer.NO_TRACING ? null : tracing;
+    // tracers observe every operation, so they run one operation at a time
+    if (staticOperations != null
+        && operationTracer == null
+        && frame.getCode() instanceof CodeV0 legacyCode) {
+      if (compilationThreshold > 0 && legacyCode.recordExecution() >= compilationThreshold) {
+        runCompiledToHalt(
+            frame,
+            legacyCode,
+            legacyCode.getCompiledCode(staticOperations, jumpGasCost, jumpiGasCost));
+        return;
+      }
+      if (evmConfiguration.enableBasicBlocks()) {
+        runBasicBlocksToHalt(frame, legacyCode);
+        return;
+      }
+    }
     byte[] code = frame.getCode().getBytes().toArrayUnsafe();
     Operation[] operationArray = operations.getOperations();
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
@@ -381,6 +456,179 @@ public class EVM {
     }
   }
 
+  /**
+   * Runs legacy code by basic blocks: when entering a block of static operations, gas and stack
+   * bounds are checked once for the whole block, which then runs without per operation checks. When
+   * the checks fail, the block runs one operation at a time, to halt at the exact operation and for
+   * the exact reason it would otherwise. The other operations run one at a time.
+   */
+  private void runBasicBlocksToHalt(final MessageFrame frame, final CodeV0 legacyCode) {
+    final byte[] code = legacyCode.getBytes().toArrayUnsafe();
+    final BasicBlocks blocks = legacyCode.getBasicBlocks(staticOperations);
+    final Operation[] operationArray = operations.getOperations();
+    final int maxStackSize = frame.getMaxStackSize();
+    while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+      int pc = frame.getPC();
+      final int block = blocks.blockAt(pc);
+      if (block >= 0) {
+        final int stackSize = frame.stackSize();
+        final long gasCost = blocks.gasCost(block);
+        if (frame.getRemainingGas() >= gasCost
+            && stackSize >= blocks.minStackHeight(block)
+            && stackSize + blocks.maxStackGrowth(block) <= maxStackSize) {
+          frame.decrementRemainingGas(gasCost);
+          final int end = blocks.end(block);
+          while (pc < end) {
+            pc += runStaticOperation(frame, code, pc);
+          }
+          frame.setPC(pc);
+          continue;
+        }
+      }
+
+      runOperation(frame, code, pc, operationArray);
+    }
+  }
+
+  /**
+   * Runs hot legacy code from its compiled basic blocks. A block runs as with {@link
+   * #runBasicBlocksToHalt}, but from operations decoded ahead of time, and blocks ending with a
+   * jump to a constant destination jump without validating it, and chain to the next block without
+   * looking it up. The other operations run one at a time.
+   */
+  private void runCompiledToHalt(
+      final MessageFrame frame, final CodeV0 legacyCode, final CompiledCode compiled) {
+    final byte[] code = legacyCode.getBytes().toArrayUnsafe();
+    final Operation[] operationArray = operations.getOperations();
+    final int maxStackSize = frame.getMaxStackSize();
+    int block = compiled.blockAt(frame.getPC());
+    while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+      if (block >= 0) {
+        final int stackSize = frame.stackSize();
+        final long gasCost = compiled.gasCost(block);
+        if (frame.getRemainingGas() >= gasCost
+            && stackSize >= compiled.minStackHeight(block)
+            && stackSize + compiled.maxStackGrowth(block) <= maxStackSize) {
+          frame.decrementRemainingGas(gasCost);
+          final int end = compiled.endOperation(block);
+          for (int operation = compiled.firstOperation(block); operation < end; operation++) {
+            final Bytes pushValue = compiled.pushValue(operation);
+            if (pushValue != null) {
+              frame.pushStackItem(pushValue);
+            } else {
+              runStaticOperation(frame, code, compiled.operationPc(operation));
+            }
+          }
+          final int exit = compiled.exit(block);
+          if (exit == CompiledCode.JUMP
+              || (exit == CompiledCode.JUMPI && !frame.popStackItem().isZero())) {
+            frame.setPC(compiled.jumpTarget(block));
+            block = compiled.jumpTargetBlock(block);
+          } else {
+            frame.setPC(compiled.exitPc(block));
+            block = compiled.exitBlock(block);
+          }
+          continue;
+        }
+      }
+
+      runOperation(frame, code, frame.getPC(), operationArray);
+      block = compiled.blockAt(frame.getPC());
+    }
+  }
+
+  /** Runs one operation of legacy code, halting the frame on failure. */
+  private void runOperation(
+      final MessageFrame frame, final byte[] code, final int pc, final Operation[] operationArray) {
+    Operation currentOperation;
+    try {
+      currentOperation = operationArray[code[pc] & 0xff];
+    } catch (ArrayIndexOutOfBoundsException aiiobe) {
+      currentOperation = endOfScriptStop;
+    }
+    frame.setCurrentOperation(currentOperation);
+    OperationResult result;
+    try {
+      result = currentOperation.execute(frame, this);
+    } catch (final OverflowException oe) {
+      result = OVERFLOW_RESPONSE;
+    } catch (final UnderflowException ue) {
+      result = UNDERFLOW_RESPONSE;
+    }
+    final ExceptionalHaltReason haltReason = result.getHaltReason();
+    if (haltReason != null) {
+      LOG.trace("MessageFrame evaluation halted because of {}", haltReason);
+      frame.setExceptionalHaltReason(Optional.of(haltReason));
+      frame.setState(State.EXCEPTIONAL_HALT);
+    } else if (frame.decrementRemainingGas(result.getGasCost()) < 0) {
+      frame.setExceptionalHaltReason(Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS));
+      frame.setState(State.EXCEPTIONAL_HALT);
+    }
+    if (frame.getState() == State.CODE_EXECUTING) {
+      frame.setPC(frame.getPC() + result.getPcIncrement());
+    }
+  }
+
+  /**
+   * Runs a static operation of a basic block, whose gas and stack bounds were already checked.
+   *
+   * @return the length of the operation, including the data of a push
+   */
+  private int runStaticOperation(final MessageFrame frame, final byte[] code, final int pc) {
+    final int opcode = code[pc] & 0xff;
+    final OperationResult result =
+        switch (opcode) {
+          case 0x01 -> AddOperation.staticOperation(frame);
+          case 0x02 -> MulOperation.staticOperation(frame);
+          case 0x03 -> SubOperation.staticOperation(frame);
+          case 0x04 -> DivOperation.staticOperation(frame);
+          case 0x05 -> SDivOperation.staticOperation(frame);
+          case 0x06 ->
+              evmConfiguration.enableOptimizedOpcodes()
+                  ? ModOperationOptimized.staticOperation(frame)
+                  : ModOperation.staticOperation(frame);
+          case 0x07 ->
+              evmConfiguration.enableOptimizedOpcodes()
+                  ? SModOperationOptimized.staticOperation(frame)
+                  : SModOperation.staticOperation(frame);
+          case 0x08 ->
+              evmConfiguration.enableOptimizedOpcodes()
+                  ? AddModOperationOptimized.staticOperation(frame)
+                  : AddModOperation.staticOperation(frame);
+          case 0x09 ->
+              evmConfiguration.enableOptimizedOpcodes()
+                  ? MulModOperationOptimized.staticOperation(frame)
+                  : MulModOperation.staticOperation(frame);
+          case 0x0b -> SignExtendOperation.staticOperation(frame);
+          case 0x10 -> LtOperation.staticOperation(frame);
+          case 0x11 -> GtOperation.staticOperation(frame);
+          case 0x12 -> SLtOperation.staticOperation(frame);
+          case 0x13 -> SGtOperation.staticOperation(frame);
+          case 0x15 -> IsZeroOperation.staticOperation(frame);
+          case 0x16 -> AndOperation.staticOperation(frame);
+          case 0x17 -> OrOperation.staticOperation(frame);
+          case 0x18 -> XorOperation.staticOperation(frame);
+          case 0x19 -> NotOperation.staticOperation(frame);
+          case 0x1a -> ByteOperation.staticOperation(frame);
+          case 0x1e -> CountLeadingZerosOperation.staticOperation(frame);
+          case 0x50 -> PopOperation.staticOperation(frame);
+          case 0x5b -> JumpDestOperation.JUMPDEST_SUCCESS;
+          case 0x5f -> Push0Operation.staticOperation(frame);
+          default -> {
+            if (opcode < 0x80) {
+              yield PushOperation.staticOperation(frame, code, pc, opcode - PUSH_BASE);
+            } else if (opcode < 0x90) {
+              yield DupOperation.staticOperation(frame, opcode - DupOperation.DUP_BASE);
+            } else {
+              yield SwapOperation.staticOperation(frame, opcode - SWAP_BASE);
+            }
+          }
+        };
+    // a push moves the pc of the frame past its data, and then increments it like the others
+    final int pushSize = opcode > PUSH_BASE && opcode <= PUSH_MAX ? opcode - PUSH_BASE : 0;
+    return pushSize + result.getPcIncrement();
+  }
+
   /**
    * Get Operations (unsafe)
    *
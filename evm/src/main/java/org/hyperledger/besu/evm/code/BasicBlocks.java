@@ -0,0 +1,231 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import org.hyperledger.besu.evm.operation.JumpDestOperation;
+
+import java.util.Arrays;
+
+/**
+ * The basic blocks of legacy code, as runs of static operations: operations with a constant gas
+ * cost, that only act on the stack, and never halt but on stack underflow or overflow.
+ *
+ * <p>For each block, the analysis precomputes the total gas cost, the stack height the block needs
+ * to not underflow, and the most the block grows the stack, so that the interpreter can check gas
+ * and stack bounds once when entering the block, and then run its operations without per operation
+ * checks. A block starts at a JUMPDEST, as it can be jumped to, or after any other operation, and
+ * only runs of at least two static operations are recorded.
+ */
+public final class BasicBlocks {
+  private static final int MIN_BLOCK_OPERATIONS = 2;
+  private static final int PUSH1 = 0x60;
+  private static final int PUSH32 = 0x7f;
+
+  /**
+   * The static operations of an EVM, with their gas cost and stack effect, indexed by opcode.
+   *
+   * @param gasCosts the gas cost of each static operation, or -1 if the opcode is not static
+   * @param stackItemsConsumed the stack items consumed by each static operation
+   * @param stackItemsProduced the stack items produced by each static operation
+   */
+  public record StaticOperations(
+      long[] gasCosts, int[] stackItemsConsumed, int[] stackItemsProduced) {
+
+    boolean isStatic(final int opcode) {
+      return gasCosts[opcode] >= 0;
+    }
+  }
+
+  private final StaticOperations staticOperations;
+  private final long[] blockStartBitMask;
+  private final int[] starts;
+  private final int[] ends;
+  private final long[] gasCosts;
+  private final int[] minStackHeights;
+  private final int[] maxStackGrowths;
+
+  private BasicBlocks(
+      final StaticOperations staticOperations,
+      final long[] blockStartBitMask,
+      final int[] starts,
+      final int[] ends,
+      final long[] gasCosts,
+      final int[] minStackHeights,
+      final int[] maxStackGrowths) {
+    this.staticOperations = staticOperations;
+    this.blockStartBitMask = blockStartBitMask;
+    this.starts = starts;
+    this.ends = ends;
+    this.gasCosts = gasCosts;
+    this.minStackHeights = minStackHeights;
+    this.maxStackGrowths = maxStackGrowths;
+  }
+
+  /**
+   * Splits legacy code into basic blocks.
+   *
+   * @param code the legacy code
+   * @param staticOperations the static operations of the EVM running the code
+   * @return the basic blocks of the code
+   */
+  public static BasicBlocks analyze(final byte[] code, final StaticOperations staticOperations) {
+    final long[] blockStartBitMask = new long[(code.length >> 6) + 1];
+    int blockCount = 0;
+    int[] starts = new int[16];
+    int[] ends = new int[16];
+    long[] gasCosts = new long[16];
+    int[] minStackHeights = new int[16];
+    int[] maxStackGrowths = new int[16];
+
+    int pc = 0;
+    while (pc < code.length) {
+      final int start = pc;
+      int operations = 0;
+      long gasCost = 0;
+      int height = 0;
+      int minHeight = 0;
+      int maxGrowth = 0;
+      while (pc < code.length) {
+        final int opcode = code[pc] & 0xff;
+        if (!staticOperations.isStatic(opcode)
+            || (opcode == JumpDestOperation.OPCODE && pc != start)) {
+          break;
+        }
+        gasCost += staticOperations.gasCosts()[opcode];
+        minHeight = Math.max(minHeight, staticOperations.stackItemsConsumed()[opcode] - height);
+        height +=
+            staticOperations.stackItemsProduced()[opcode]
+                - staticOperations.stackItemsConsumed()[opcode];
+        maxGrowth = Math.max(maxGrowth, height);
+        operations++;
+        pc += opcode >= PUSH1 && opcode <= PUSH32 ? opcode - PUSH1 + 2 : 1;
+      }
+      if (operations >= MIN_BLOCK_OPERATIONS) {
+        if (blockCount == starts.length) {
+          final int capacity = blockCount * 2;
+          starts = Arrays.copyOf(starts, capacity);
+          ends = Arrays.copyOf(ends, capacity);
+          gasCosts = Arrays.copyOf(gasCosts, capacity);
+          minStackHeights = Arrays.copyOf(minStackHeights, capacity);
+          maxStackGrowths = Arrays.copyOf(maxStackGrowths, capacity);
+        }
+        blockStartBitMask[start >>> 6] |= 1L << (start & 0x3F);
+        starts[blockCount] = start;
+        ends[blockCount] = pc;
+        gasCosts[blockCount] = gasCost;
+        minStackHeights[blockCount] = minHeight;
+        maxStackGrowths[blockCount] = maxGrowth;
+        blockCount++;
+      }
+      if (operations == 0) {
+        // skip the non static operation, and its immediate data
+        final int opcode = code[pc] & 0xff;
+        pc += opcode >= PUSH1 && opcode <= PUSH32 ? opcode - PUSH1 + 2 : 1;
+      }
+    }
+
+    return new BasicBlocks(
+        staticOperations,
+        blockStartBitMask,
+        Arrays.copyOf(starts, blockCount),
+        Arrays.copyOf(ends, blockCount),
+        Arrays.copyOf(gasCosts, blockCount),
+        Arrays.copyOf(minStackHeights, blockCount),
+        Arrays.copyOf(maxStackGrowths, blockCount));
+  }
+
+  /**
+   * Returns the static operations the blocks were analyzed for.
+   *
+   * @return the static operations
+   */
+  public StaticOperations staticOperations() {
+    return staticOperations;
+  }
+
+  /**
+   * Returns the block starting at a program counter.
+   *
+   * @param pc the program counter
+   * @return the index of the block, or -1 if no block starts at the program counter
+   */
+  public int blockAt(final int pc) {
+    if (pc < 0
+        || pc >>> 6 >= blockStartBitMask.length
+        || (blockStartBitMask[pc >>> 6] & (1L << (pc & 0x3F))) == 0L) {
+      return -1;
+    }
+    return Arrays.binarySearch(starts, pc);
+  }
+
+  /**
+   * Returns the number of blocks.
+   *
+   * @return the number of blocks
+   */
+  public int size() {
+    return starts.length;
+  }
+
+  /**
+   * Returns the program counter of the first operation of a block.
+   *
+   * @param block the index of the block
+   * @return the start of the block
+   */
+  public int start(final int block) {
+    return starts[block];
+  }
+
+  /**
+   * Returns the program counter following the last operation of a block.
+   *
+   * @param block the index of the block
+   * @return the end of the block
+   */
+  public int end(final int block) {
+    return ends[block];
+  }
+
+  /**
+   * Returns the total gas cost of the operations of a block.
+   *
+   * @param block the index of the block
+   * @return the gas cost of the block
+   */
+  public long gasCost(final int block) {
+    return gasCosts[block];
+  }
+
+  /**
+   * Returns the stack height a block needs to run without stack underflow.
+   *
+   * @param block the index of the block
+   * @return the minimum stack height
+   */
+  public int minStackHeight(final int block) {
+    return minStackHeights[block];
+  }
+
+  /**
+   * Returns the most a block grows the stack while running.
+   *
+   * @param block the index of the block
+   * @return the maximum stack growth
+   */
+  public int maxStackGrowth(final int block) {
+    return maxStackGrowths[block];
+  }
+}
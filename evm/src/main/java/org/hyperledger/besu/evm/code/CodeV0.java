@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.code;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.internal.CodeAnalysisStore;
 import org.hyperledger.besu.evm.internal.Words;
 import org.hyperledger.besu.evm.operation.JumpDestOperation;
 
@@ -49,6 +50,22 @@ public class CodeV0 implements Code {
   /** Bit mask for jump destinations, used to optimize JUMP/JUMPI operations */
   private long[] jumpDestBitMask = null;
 
+  /** Store of the jump destination analysis kept beyond the life of the code, if any */
+  private CodeAnalysisStore analysisStore = null;
+
+  /** Basic blocks of static operations, used to check gas and stack once per block */
+  private BasicBlocks basicBlocks = null;
+
+  /** Compiled basic blocks, used once the code is hot */
+  private CompiledCode compiledCode = null;
+
+  /**
+   * Number of times the code started or resumed running. As the code is cached by hash, this
+   * counts the executions of the code hash. Increments are not synchronized, so the count is
+   * approximate when the code runs on several threads, which is enough to tell hot code.
+   */
+  private int executions = 0;
+
   /**
    * Public constructor.
    *
@@ -142,7 +159,7 @@ public class CodeV0 implements Code {
     }
 
     if (jumpDestBitMask == null) {
-      jumpDestBitMask = calculateJumpDestBitMask();
+      jumpDestBitMask = loadJumpDestBitMask();
     }
 
     // This selects which long in the array holds the bit for the given offset:
@@ -158,6 +175,80 @@ public class CodeV0 implements Code {
     return (targetLong & targetBit) == 0L;
   }
 
+  /**
+   * Sets the store the jump destination analysis of the code is read from, and written to when the
+   * store does not have it yet. The analysis is only looked up when the code first jumps.
+   *
+   * @param analysisStore the code analysis store
+   */
+  public void setAnalysisStore(final CodeAnalysisStore analysisStore) {
+    this.analysisStore = analysisStore;
+  }
+
+  private long[] loadJumpDestBitMask() {
+    final CodeAnalysisStore store = analysisStore;
+    if (store == null) {
+      return calculateJumpDestBitMask();
+    }
+    final long[] stored = store.getJumpDestBitMask(getCodeHash());
+    if (stored != null && stored.length == (getSize() >> 6) + 1) {
+      return stored;
+    }
+    final long start = System.nanoTime();
+    final long[] bitMask = calculateJumpDestBitMask();
+    store.putJumpDestBitMask(getCodeHash(), bitMask, System.nanoTime() - start);
+    return bitMask;
+  }
+
+  /**
+   * Gets the basic blocks of the code, analyzed on first use and cached with the code.
+   *
+   * @param staticOperations the static operations of the EVM running the code
+   * @return the basic blocks of the code
+   */
+  public BasicBlocks getBasicBlocks(final BasicBlocks.StaticOperations staticOperations) {
+    BasicBlocks blocks = basicBlocks;
+    // the code can be shared by EVMs of different forks, with different static operations
+    if (blocks == null || blocks.staticOperations() != staticOperations) {
+      blocks = BasicBlocks.analyze(getBytes().toArrayUnsafe(), staticOperations);
+      basicBlocks = blocks;
+    }
+    return blocks;
+  }
+
+  /**
+   * Records an execution of the code.
+   *
+   * @return the number of executions of the code, including this one
+   */
+  public int recordExecution() {
+    if (executions < Integer.MAX_VALUE) {
+      executions++;
+    }
+    return executions;
+  }
+
+  /**
+   * Gets the compiled code, compiled on first use and cached with the code.
+   *
+   * @param staticOperations the static operations of the EVM running the code
+   * @param jumpGasCost the gas cost of JUMP
+   * @param jumpiGasCost the gas cost of JUMPI
+   * @return the compiled code
+   */
+  public CompiledCode getCompiledCode(
+      final BasicBlocks.StaticOperations staticOperations,
+      final long jumpGasCost,
+      final long jumpiGasCost) {
+    CompiledCode compiled = compiledCode;
+    if (compiled == null || compiled.blocks().staticOperations() != staticOperations) {
+      compiled =
+          CompiledCode.compile(this, getBasicBlocks(staticOperations), jumpGasCost, jumpiGasCost);
+      compiledCode = compiled;
+    }
+    return compiled;
+  }
+
   @Override
   public boolean isValid() {
     return true;
@@ -0,0 +1,367 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import org.hyperledger.besu.evm.operation.JumpDestOperation;
+import org.hyperledger.besu.evm.operation.PushOperation;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Legacy code compiled for the hot code tier of the EVM: the basic blocks of the code, decoded
+ * ahead of time into the operations to run, with the values of the PUSH operations already read
+ * from the code.
+ *
+ * <p>A block followed by a JUMP or JUMPI to the constant pushed by its last operation, when that
+ * constant is a valid jump destination, is compiled with the jump: the PUSH is dropped, the gas of
+ * the jump is added to the gas of the block, and the jump target is resolved to the block it
+ * starts, if any, so that the EVM can chain blocks without validating the jump or looking up the
+ * next block.
+ */
+public final class CompiledCode {
+  /** The block continues with the operation following it. */
+  public static final int FALL_THROUGH = 0;
+
+  /** The block ends with an unconditional jump to a valid destination. */
+  public static final int JUMP = 1;
+
+  /** The block ends with a conditional jump to a valid destination. */
+  public static final int JUMPI = 2;
+
+  private static final int JUMP_OPCODE = 0x56;
+  private static final int JUMPI_OPCODE = 0x57;
+  private static final int PUSH1 = 0x60;
+  private static final int PUSH32 = 0x7f;
+
+  private final BasicBlocks blocks;
+  private final int[] firstOperations;
+  private final int[] operationPcs;
+  private final Bytes[] pushValues;
+  private final long[] gasCosts;
+  private final int[] minStackHeights;
+  private final int[] maxStackGrowths;
+  private final byte[] exits;
+  private final int[] exitPcs;
+  private final int[] exitBlocks;
+  private final int[] jumpTargets;
+  private final int[] jumpTargetBlocks;
+
+  private CompiledCode(
+      final BasicBlocks blocks,
+      final int[] firstOperations,
+      final int[] operationPcs,
+      final Bytes[] pushValues,
+      final long[] gasCosts,
+      final int[] minStackHeights,
+      final int[] maxStackGrowths,
+      final byte[] exits,
+      final int[] exitPcs,
+      final int[] exitBlocks,
+      final int[] jumpTargets,
+      final int[] jumpTargetBlocks) {
+    this.blocks = blocks;
+    this.firstOperations = firstOperations;
+    this.operationPcs = operationPcs;
+    this.pushValues = pushValues;
+    this.gasCosts = gasCosts;
+    this.minStackHeights = minStackHeights;
+    this.maxStackGrowths = maxStackGrowths;
+    this.exits = exits;
+    this.exitPcs = exitPcs;
+    this.exitBlocks = exitBlocks;
+    this.jumpTargets = jumpTargets;
+    this.jumpTargetBlocks = jumpTargetBlocks;
+  }
+
+  /**
+   * Compiles the basic blocks of legacy code.
+   *
+   * @param code the legacy code
+   * @param blocks the basic blocks of the code
+   * @param jumpGasCost the gas cost of JUMP, or -1 to not compile jumps
+   * @param jumpiGasCost the gas cost of JUMPI, or -1 to not compile conditional jumps
+   * @return the compiled code
+   */
+  public static CompiledCode compile(
+      final CodeV0 code,
+      final BasicBlocks blocks,
+      final long jumpGasCost,
+      final long jumpiGasCost) {
+    final byte[] bytes = code.getBytes().toArrayUnsafe();
+    final BasicBlocks.StaticOperations staticOperations = blocks.staticOperations();
+    final int blockCount = blocks.size();
+    final int[] firstOperations = new int[blockCount + 1];
+    int[] operationPcs = new int[64];
+    Bytes[] pushValues = new Bytes[64];
+    final long[] gasCosts = new long[blockCount];
+    final int[] minStackHeights = new int[blockCount];
+    final int[] maxStackGrowths = new int[blockCount];
+    final byte[] exits = new byte[blockCount];
+    final int[] exitPcs = new int[blockCount];
+    final int[] jumpTargets = new int[blockCount];
+
+    int operationCount = 0;
+    for (int block = 0; block < blockCount; block++) {
+      firstOperations[block] = operationCount;
+      final int end = blocks.end(block);
+      int pc = blocks.start(block);
+      while (pc < end) {
+        final int opcode = bytes[pc] & 0xff;
+        // a JUMPDEST only costs gas, which is charged with the block
+        if (opcode != JumpDestOperation.OPCODE) {
+          if (operationCount == operationPcs.length) {
+            operationPcs = Arrays.copyOf(operationPcs, operationCount * 2);
+            pushValues = Arrays.copyOf(pushValues, operationCount * 2);
+          }
+          operationPcs[operationCount] = pc;
+          pushValues[operationCount] =
+              opcode >= PUSH1 && opcode <= PUSH32
+                  ? pushValue(bytes, pc, opcode - PushOperation.PUSH_BASE)
+                  : null;
+          operationCount++;
+        }
+        pc += opcode >= PUSH1 && opcode <= PUSH32 ? opcode - PUSH1 + 2 : 1;
+      }
+
+      long gasCost = blocks.gasCost(block);
+      exitPcs[block] = end;
+      jumpTargets[block] = -1;
+      final int jumpOpcode = end < bytes.length ? bytes[end] & 0xff : -1;
+      final long jumpCost =
+          jumpOpcode == JUMP_OPCODE ? jumpGasCost : jumpOpcode == JUMPI_OPCODE ? jumpiGasCost : -1;
+      final int lastOperation = operationCount - 1;
+      if (jumpCost >= 0
+          && lastOperation >= firstOperations[block]
+          && pushValues[lastOperation] != null) {
+        final int target = jumpTarget(code, pushValues[lastOperation]);
+        if (target >= 0) {
+          operationCount--;
+          gasCost += jumpCost;
+          exits[block] = (byte) (jumpOpcode == JUMP_OPCODE ? JUMP : JUMPI);
+          exitPcs[block] = end + 1;
+          jumpTargets[block] = target;
+        }
+      }
+      gasCosts[block] = gasCost;
+
+      // the stack bounds of the operations kept, and of the condition of a conditional jump
+      int height = 0;
+      int minHeight = 0;
+      int maxGrowth = 0;
+      for (int operation = firstOperations[block]; operation < operationCount; operation++) {
+        final int opcode = bytes[operationPcs[operation]] & 0xff;
+        minHeight = Math.max(minHeight, staticOperations.stackItemsConsumed()[opcode] - height);
+        height +=
+            staticOperations.stackItemsProduced()[opcode]
+                - staticOperations.stackItemsConsumed()[opcode];
+        maxGrowth = Math.max(maxGrowth, height);
+      }
+      if (exits[block] != FALL_THROUGH) {
+        // the PUSH of the destination is not run, but the interpreter would overflow on it
+        maxGrowth = Math.max(maxGrowth, height + 1);
+      }
+      if (exits[block] == JUMPI) {
+        minHeight = Math.max(minHeight, 1 - height);
+      }
+      minStackHeights[block] = minHeight;
+      maxStackGrowths[block] = maxGrowth;
+    }
+    firstOperations[blockCount] = operationCount;
+
+    final int[] exitBlocks = new int[blockCount];
+    final int[] jumpTargetBlocks = new int[blockCount];
+    for (int block = 0; block < blockCount; block++) {
+      exitBlocks[block] = blocks.blockAt(exitPcs[block]);
+      jumpTargetBlocks[block] = jumpTargets[block] < 0 ? -1 : blocks.blockAt(jumpTargets[block]);
+    }
+
+    return new CompiledCode(
+        blocks,
+        firstOperations,
+        Arrays.copyOf(operationPcs, operationCount),
+        Arrays.copyOf(pushValues, operationCount),
+        gasCosts,
+        minStackHeights,
+        maxStackGrowths,
+        exits,
+        exitPcs,
+        exitBlocks,
+        jumpTargets,
+        jumpTargetBlocks);
+  }
+
+  /** Reads the value pushed by a PUSH operation, right padded as when running it. */
+  private static Bytes pushValue(final byte[] bytes, final int pc, final int pushSize) {
+    final int copyStart = pc + 1;
+    if (bytes.length <= copyStart) {
+      return Bytes.EMPTY;
+    }
+    final int copyLength = Math.min(pushSize, bytes.length - copyStart);
+    final byte[] value = new byte[pushSize];
+    System.arraycopy(bytes, copyStart, value, 0, copyLength);
+    return Bytes.wrap(value);
+  }
+
+  /** Returns the jump destination a constant is, or -1 if it is not a valid one. */
+  private static int jumpTarget(final CodeV0 code, final Bytes value) {
+    final Bytes trimmed = value.trimLeadingZeros();
+    if (trimmed.size() > 4) {
+      return -1;
+    }
+    final int target = trimmed.isEmpty() ? 0 : trimmed.toInt();
+    return code.isJumpDestInvalid(target) ? -1 : target;
+  }
+
+  /**
+   * Returns the basic blocks the code was compiled from.
+   *
+   * @return the basic blocks
+   */
+  public BasicBlocks blocks() {
+    return blocks;
+  }
+
+  /**
+   * Returns the block starting at a program counter.
+   *
+   * @param pc the program counter
+   * @return the index of the block, or -1 if no block starts at the program counter
+   */
+  public int blockAt(final int pc) {
+    return blocks.blockAt(pc);
+  }
+
+  /**
+   * Returns the index of the first operation of a block.
+   *
+   * @param block the index of the block
+   * @return the index of the first operation
+   */
+  public int firstOperation(final int block) {
+    return firstOperations[block];
+  }
+
+  /**
+   * Returns the index following the last operation of a block.
+   *
+   * @param block the index of the block
+   * @return the index following the last operation
+   */
+  public int endOperation(final int block) {
+    return firstOperations[block + 1];
+  }
+
+  /**
+   * Returns the program counter of an operation.
+   *
+   * @param operation the index of the operation
+   * @return the program counter of the operation
+   */
+  public int operationPc(final int operation) {
+    return operationPcs[operation];
+  }
+
+  /**
+   * Returns the value pushed by an operation.
+   *
+   * @param operation the index of the operation
+   * @return the value pushed, or null if the operation is not a PUSH with immediate data
+   */
+  public Bytes pushValue(final int operation) {
+    return pushValues[operation];
+  }
+
+  /**
+   * Returns the total gas cost of a block, including its compiled jump.
+   *
+   * @param block the index of the block
+   * @return the gas cost of the block
+   */
+  public long gasCost(final int block) {
+    return gasCosts[block];
+  }
+
+  /**
+   * Returns the stack height a block needs to run without stack underflow.
+   *
+   * @param block the index of the block
+   * @return the minimum stack height
+   */
+  public int minStackHeight(final int block) {
+    return minStackHeights[block];
+  }
+
+  /**
+   * Returns the most a block grows the stack while running.
+   *
+   * @param block the index of the block
+   * @return the maximum stack growth
+   */
+  public int maxStackGrowth(final int block) {
+    return maxStackGrowths[block];
+  }
+
+  /**
+   * Returns how a block ends: {@link #FALL_THROUGH}, {@link #JUMP} or {@link #JUMPI}.
+   *
+   * @param block the index of the block
+   * @return how the block ends
+   */
+  public int exit(final int block) {
+    return exits[block];
+  }
+
+  /**
+   * Returns the program counter following a block, and its compiled jump.
+   *
+   * @param block the index of the block
+   * @return the program counter following the block
+   */
+  public int exitPc(final int block) {
+    return exitPcs[block];
+  }
+
+  /**
+   * Returns the block starting at the program counter following a block.
+   *
+   * @param block the index of the block
+   * @return the index of the following block, or -1 if none
+   */
+  public int exitBlock(final int block) {
+    return exitBlocks[block];
+  }
+
+  /**
+   * Returns the destination of the compiled jump of a block.
+   *
+   * @param block the index of the block
+   * @return the jump destination, or -1 if the block does not end with a compiled jump
+   */
+  public int jumpTarget(final int block) {
+    return jumpTargets[block];
+  }
+
+  /**
+   * Returns the block starting at the destination of the compiled jump of a block.
+   *
+   * @param block the index of the block
+   * @return the index of the block jumped to, or -1 if none
+   */
+  public int jumpTargetBlock(final int block) {
+    return jumpTargetBlocks[block];
+  }
+}
@@ -27,26 +27,35 @@ import org.apache.tuweni.bytes.MutableBytes;
  *
  * <p>Note: this is meant to map to I in Section 9.1 "Basics" and Section 9.4.1 "Machine State" in
  * the Yellow Paper Revision 59dccd.
+ *
+ * <p>The memory is stored in fixed-size pages, allocated when first written, so that growing the
+ * memory never copies its content, and memory expanded but never written does not use any space.
  */
 public class Memory {
 
   // See below.
   private static final long MAX_BYTES = Integer.MAX_VALUE;
 
+  private static final int PAGE_BITS = 12;
+  private static final int PAGE_SIZE = 1 << PAGE_BITS;
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+  private static final byte[][] NO_PAGES = new byte[0][];
+
   /**
-   * The data stored within the memory.
+   * The data stored within the memory, by page of {@link #PAGE_SIZE} bytes. A null page was never
+   * written, and is all zeros.
    *
    * <p>Note that the current Ethereum spec don't put a limit on memory, so we could theoretically
-   * overflow this. A byte array implementation limits us to 2 GiB. But that would cost over 51
-   * trillion gas. So this is likely a reasonable limitation, at least at first.
+   * overflow this. Int indexes limit us to 2 GiB. But that would cost over 51 trillion gas. So this
+   * is likely a reasonable limitation, at least at first.
    */
-  private byte[] memBytes;
+  private byte[][] pages;
 
   private int activeWords;
 
   /** Instantiates a new Memory. */
   public Memory() {
-    memBytes = new byte[0];
+    pages = NO_PAGES;
   }
 
   private static RuntimeException overflow(final long v) {
@@ -132,16 +141,93 @@ public class Memory {
   private void maybeExpandCapacity(final int newActiveWords) {
     if (activeWords >= newActiveWords) return;
 
-    int neededSize = newActiveWords * Bytes32.SIZE;
-    if (neededSize > memBytes.length) {
-      int newSize = Math.max(neededSize, memBytes.length * 2);
-      byte[] newMem = new byte[newSize];
-      System.arraycopy(memBytes, 0, newMem, 0, memBytes.length);
-      memBytes = newMem;
+    // only the page table grows, the pages are allocated when written
+    final int neededPages = (int) (((long) newActiveWords * Bytes32.SIZE + PAGE_MASK) >> PAGE_BITS);
+    if (neededPages > pages.length) {
+      pages = Arrays.copyOf(pages, Math.max(neededPages, pages.length * 2));
     }
     activeWords = newActiveWords;
   }
 
+  /** Returns a page for writing, allocating it if it was never written. */
+  private byte[] writablePage(final int pageIndex) {
+    byte[] page = pages[pageIndex];
+    if (page == null) {
+      page = new byte[PAGE_SIZE];
+      pages[pageIndex] = page;
+    }
+    return page;
+  }
+
+  /**
+   * Reads bytes of memory into a fresh array, the pages never written or beyond the memory being
+   * left as zeros.
+   */
+  private void read(final int start, final byte[] dest, final int destOffset, final int length) {
+    int position = start;
+    int copied = 0;
+    while (copied < length) {
+      final int pageIndex = position >>> PAGE_BITS;
+      final int pageOffset = position & PAGE_MASK;
+      final int chunk = Math.min(length - copied, PAGE_SIZE - pageOffset);
+      final byte[] page = pageIndex < pages.length ? pages[pageIndex] : null;
+      if (page != null) {
+        System.arraycopy(page, pageOffset, dest, destOffset + copied, chunk);
+      }
+      position += chunk;
+      copied += chunk;
+    }
+  }
+
+  /** Writes bytes to memory, whose capacity was already ensured. */
+  private void write(final int start, final byte[] src, final int srcOffset, final int length) {
+    int position = start;
+    int copied = 0;
+    while (copied < length) {
+      final int pageOffset = position & PAGE_MASK;
+      final int chunk = Math.min(length - copied, PAGE_SIZE - pageOffset);
+      System.arraycopy(
+          src, srcOffset + copied, writablePage(position >>> PAGE_BITS), pageOffset, chunk);
+      position += chunk;
+      copied += chunk;
+    }
+  }
+
+  /** Sets bytes of memory, whose capacity was already ensured, to zero. */
+  private void zero(final int start, final int length) {
+    int position = start;
+    final int end = start + length;
+    while (position < end) {
+      final int pageOffset = position & PAGE_MASK;
+      final int chunk = Math.min(end - position, PAGE_SIZE - pageOffset);
+      final byte[] page = pages[position >>> PAGE_BITS];
+      if (page != null) {
+        Arrays.fill(page, pageOffset, pageOffset + chunk, (byte) 0);
+      }
+      position += chunk;
+    }
+  }
+
+  /** Returns a copy of bytes of memory. */
+  private byte[] copyOfRange(final int start, final int length) {
+    final int pageOffset = start & PAGE_MASK;
+    if (pageOffset + length <= PAGE_SIZE) {
+      final int pageIndex = start >>> PAGE_BITS;
+      final byte[] page = pageIndex < pages.length ? pages[pageIndex] : null;
+      return page == null
+          ? new byte[length]
+          : Arrays.copyOfRange(page, pageOffset, pageOffset + length);
+    }
+    final byte[] bytes = new byte[length];
+    read(start, bytes, 0, length);
+    return bytes;
+  }
+
+  /** Returns the active bytes of memory. */
+  private byte[] activeBytes() {
+    return copyOfRange(0, getActiveBytes());
+  }
+
   /**
    * Returns true if the object is equal to this memory instance; otherwise false.
    *
@@ -152,14 +238,14 @@ public class Memory {
   public boolean equals(final Object other) {
     if (other == null) return false;
     if (other == this) return true;
-    if (!(other instanceof Memory)) return false;
+    if (!(other instanceof Memory that)) return false;
 
-    return Arrays.equals(memBytes, ((Memory) other).memBytes);
+    return activeWords == that.activeWords && Arrays.equals(activeBytes(), that.activeBytes());
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(memBytes);
+    return Arrays.hashCode(activeBytes());
   }
 
   /**
@@ -200,7 +286,7 @@ public class Memory {
 
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, length);
-    return Bytes.wrap(Arrays.copyOfRange(memBytes, start, start + length));
+    return Bytes.wrap(copyOfRange(start, length));
   }
 
   /**
@@ -223,23 +309,18 @@ public class Memory {
 
     final int start = asByteIndex(location);
 
-    // Arrays.copyOfRange would throw if start > memBytes.length, so just return the expected
-    // number of zeros without expanding the memory.
-    // Otherwise, just follow the happy path.
-    if (start > memBytes.length) {
-      return Bytes.wrap(new byte[(int) numBytes]);
-    } else {
-      return Bytes.wrap(Arrays.copyOfRange(memBytes, start, start + length));
-    }
+    // bytes beyond the memory read as zeros, without expanding the memory
+    return Bytes.wrap(copyOfRange(start, length));
   }
 
   /**
-   * Returns a copy of bytes from memory.
+   * Returns bytes from memory. The bytes are a view of the memory when they are on a single page,
+   * and a copy otherwise, so they should only be read, and not be considered stable once memory is
+   * written.
    *
    * @param location The location in memory to start with.
    * @param numBytes The number of bytes to get.
-   * @return A fresh copy of the bytes from memory starting at {@code location} and extending {@code
-   *     numBytes}.
+   * @return The bytes from memory starting at {@code location} and extending {@code numBytes}.
    */
   public MutableBytes getMutableBytes(final long location, final long numBytes) {
     // Note: if length == 0, we don't require any memory expansion, whatever location is. So
@@ -254,7 +335,11 @@ public class Memory {
     final int start = asByteIndex(location);
 
     ensureCapacityForBytes(start, length);
-    return MutableBytes.wrap(memBytes, start, length);
+    final int pageOffset = start & PAGE_MASK;
+    if (pageOffset + length <= PAGE_SIZE) {
+      return MutableBytes.wrap(writablePage(start >>> PAGE_BITS), pageOffset, length);
+    }
+    return MutableBytes.wrap(copyOfRange(start, length));
   }
 
   /**
@@ -317,11 +402,11 @@ public class Memory {
 
     ensureCapacityForBytes(start, length);
     if (srcLength >= length) {
-      System.arraycopy(taintedValue.toArrayUnsafe(), 0, memBytes, start, length);
+      write(start, taintedValue.toArrayUnsafe(), 0, length);
     } else {
-      Arrays.fill(memBytes, start + srcLength, end, (byte) 0);
+      zero(start + srcLength, end - start - srcLength);
       if (srcLength > 0) {
-        System.arraycopy(taintedValue.toArrayUnsafe(), 0, memBytes, start, srcLength);
+        write(start, taintedValue.toArrayUnsafe(), 0, srcLength);
       }
     }
   }
@@ -357,12 +442,12 @@ public class Memory {
 
     ensureCapacityForBytes(start, length);
     if (srcLength >= length) {
-      System.arraycopy(value.toArrayUnsafe(), 0, memBytes, start, length);
+      write(start, value.toArrayUnsafe(), 0, length);
     } else {
       int divider = end - srcLength;
-      Arrays.fill(memBytes, start, divider, (byte) 0);
+      zero(start, divider - start);
       if (srcLength > 0) {
-        System.arraycopy(value.toArrayUnsafe(), 0, memBytes, divider, srcLength);
+        write(divider, value.toArrayUnsafe(), 0, srcLength);
       }
     }
   }
@@ -394,7 +479,7 @@ public class Memory {
     }
 
     ensureCapacityForBytes(location, numBytes);
-    Arrays.fill(memBytes, location, location + numBytes, (byte) 0);
+    zero(location, numBytes);
   }
 
   /**
@@ -406,7 +491,7 @@ public class Memory {
   void setByte(final long location, final byte value) {
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, 1);
-    memBytes[start] = value;
+    writablePage(start >>> PAGE_BITS)[start & PAGE_MASK] = value;
   }
 
   /**
@@ -418,7 +503,7 @@ public class Memory {
   public Bytes32 getWord(final long location) {
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
-    return Bytes32.wrap(Arrays.copyOfRange(memBytes, start, start + Bytes32.SIZE));
+    return Bytes32.wrap(copyOfRange(start, Bytes32.SIZE));
   }
 
   /**
@@ -433,7 +518,7 @@ public class Memory {
   public void setWord(final long location, final Bytes32 bytes) {
     final int start = asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
-    System.arraycopy(bytes.toArrayUnsafe(), 0, memBytes, start, Bytes32.SIZE);
+    write(start, bytes.toArrayUnsafe(), 0, Bytes32.SIZE);
   }
 
   /**
@@ -447,11 +532,54 @@ public class Memory {
    */
   public void copy(final long dst, final long src, final long length) {
     ensureCapacityForBytes(Math.max(dst, src), length);
-    System.arraycopy(memBytes, asByteIndex(src), memBytes, asByteIndex(dst), asByteLength(length));
+    final int from = asByteIndex(src);
+    final int to = asByteIndex(dst);
+    final int size = asByteLength(length);
+    // copying page chunks away from the overlap reads each source byte before overwriting it
+    if (to <= from) {
+      int copied = 0;
+      while (copied < size) {
+        final int chunk = copyChunkSize(from + copied, to + copied, size - copied);
+        copyChunk(from + copied, to + copied, chunk);
+        copied += chunk;
+      }
+    } else {
+      int remaining = size;
+      while (remaining > 0) {
+        final int chunk = copyChunkSizeBackwards(from + remaining, to + remaining, remaining);
+        remaining -= chunk;
+        copyChunk(from + remaining, to + remaining, chunk);
+      }
+    }
+  }
+
+  /** Returns the most bytes that can be copied forward without crossing a page. */
+  private static int copyChunkSize(final int from, final int to, final int length) {
+    return Math.min(length, Math.min(PAGE_SIZE - (from & PAGE_MASK), PAGE_SIZE - (to & PAGE_MASK)));
+  }
+
+  /** Returns the most bytes that can be copied backwards from the ends without crossing a page. */
+  private static int copyChunkSizeBackwards(final int fromEnd, final int toEnd, final int length) {
+    return Math.min(
+        length, Math.min(((fromEnd - 1) & PAGE_MASK) + 1, ((toEnd - 1) & PAGE_MASK) + 1));
+  }
+
+  /** Copies bytes within memory, the source and destination each being on a single page. */
+  private void copyChunk(final int from, final int to, final int length) {
+    final byte[] source = pages[from >>> PAGE_BITS];
+    if (source == null) {
+      final byte[] destination = pages[to >>> PAGE_BITS];
+      if (destination != null) {
+        Arrays.fill(destination, to & PAGE_MASK, (to & PAGE_MASK) + length, (byte) 0);
+      }
+    } else {
+      System.arraycopy(
+          source, from & PAGE_MASK, writablePage(to >>> PAGE_BITS), to & PAGE_MASK, length);
+    }
   }
 
   @Override
   public String toString() {
-    return Bytes.wrap(memBytes).toHexString();
+    return Bytes.wrap(activeBytes()).toHexString();
   }
 }
@@ -18,6 +18,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.util.Collections.emptySet;
 
 import org.hyperledger.besu.collections.trie.BytesTrieSet;
+import org.hyperledger.besu.collections.undo.UndoBytesSet;
 import org.hyperledger.besu.collections.undo.UndoScalar;
 import org.hyperledger.besu.collections.undo.UndoSet;
 import org.hyperledger.besu.collections.undo.UndoTable;
@@ -974,7 +975,7 @@ public class MessageFrame {
    * @return true if the storage slot was already warmed up
    */
   public boolean warmUpStorage(final Address address, final Bytes32 slot) {
-    return txValues.warmedUpStorage().put(address, slot, Boolean.TRUE) != null;
+    return !txValues.warmedUpStorage().add(address, slot);
   }
 
   /**
@@ -1253,12 +1254,21 @@ public class MessageFrame {
   }
 
   /**
-   * Gets warmedUp Storage.
+   * Gets a copy of the warmed up storage.
    *
    * @return the warmed up storage
    */
   public Table<Address, Bytes32, Boolean> getWarmedUpStorage() {
-    return txValues.warmedUpStorage();
+    final UndoBytesSet warmedUpStorage = txValues.warmedUpStorage();
+    final Table<Address, Bytes32, Boolean> table = HashBasedTable.create();
+    for (int i = 0; i < warmedUpStorage.size(); i++) {
+      final Bytes key = warmedUpStorage.get(i);
+      table.put(
+          Address.wrap(key.slice(0, Address.SIZE)),
+          Bytes32.wrap(key.slice(Address.SIZE, Bytes32.SIZE)),
+          Boolean.TRUE);
+    }
+    return table;
   }
 
   /**
@@ -1695,8 +1705,8 @@ public class MessageFrame {
             new TxValues(
                 blockHashLookup,
                 maxStackSize,
-                UndoSet.of(new BytesTrieSet<>(Address.SIZE)),
-                UndoTable.of(HashBasedTable.create()),
+                new UndoBytesSet(Address.SIZE),
+                new UndoBytesSet(Address.SIZE + Bytes32.SIZE),
                 originator,
                 gasPrice,
                 blobGasPrice,
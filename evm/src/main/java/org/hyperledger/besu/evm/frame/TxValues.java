@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.evm.frame;
 
+import org.hyperledger.besu.collections.undo.UndoBytesSet;
 import org.hyperledger.besu.collections.undo.UndoScalar;
 import org.hyperledger.besu.collections.undo.UndoSet;
 import org.hyperledger.besu.collections.undo.UndoTable;
@@ -36,7 +37,7 @@ import org.apache.tuweni.bytes.Bytes32;
  * @param blockHashLookup The block hash lookup function
  * @param maxStackSize The maximum stack size
  * @param warmedUpAddresses The warmed-up addresses
- * @param warmedUpStorage The warmed-up storage
+ * @param warmedUpStorage The warmed-up storage, keyed by address and slot
  * @param originator The originator address
  * @param gasPrice The gas price
  * @param blobGasPrice The blob gas price
@@ -52,8 +53,8 @@ import org.apache.tuweni.bytes.Bytes32;
 public record TxValues(
     BlockHashLookup blockHashLookup,
     int maxStackSize,
-    UndoSet<Address> warmedUpAddresses,
-    UndoTable<Address, Bytes32, Boolean> warmedUpStorage,
+    UndoBytesSet warmedUpAddresses,
+    UndoBytesSet warmedUpStorage,
     Address originator,
     Wei gasPrice,
     Wei blobGasPrice,
@@ -0,0 +1,42 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+/**
+ * CodeAnalysisStore is an interface for keeping the analysis of code, such as its valid jump
+ * destinations, beyond the life of the code in a {@link CodeCache}, for instance on disk. It allows
+ * retrieval and storage of the analysis based on the hash of the code.
+ */
+public interface CodeAnalysisStore {
+  /**
+   * Gets the stored jump destination bit mask of code.
+   *
+   * @param codeHash the hash of the code
+   * @return the jump destination bit mask if stored and intact, otherwise null
+   */
+  long[] getJumpDestBitMask(final Hash codeHash);
+
+  /**
+   * Stores the jump destination bit mask of code. The store may write it asynchronously.
+   *
+   * @param codeHash the hash of the code
+   * @param jumpDestBitMask the jump destination bit mask of the code
+   * @param analysisNanos the time it took to analyze the code, in nanoseconds
+   */
+  void putJumpDestBitMask(
+      final Hash codeHash, final long[] jumpDestBitMask, final long analysisNanos);
+}
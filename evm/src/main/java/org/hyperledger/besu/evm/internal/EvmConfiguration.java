@@ -29,6 +29,10 @@ import java.util.OptionalInt;
  * @param maxCodeSizeOverride An optional override of the maximum code size set by the EVM fork
  * @param maxInitcodeSizeOverride An optional override of the maximum initcode size set by the EVM
  *     fork
+ * @param enableBasicBlocks check gas and stack bounds once per basic block of static operations of
+ *     legacy code, instead of once per operation
+ * @param compilationThreshold the number of executions after which legacy code is compiled, or 0
+ *     to never compile it
  */
 public record EvmConfiguration(
     long jumpDestCacheWeightKB,
@@ -36,7 +40,9 @@ public record EvmConfiguration(
     boolean enableOptimizedOpcodes,
     Integer evmStackSize,
     Optional<Integer> maxCodeSizeOverride,
-    Optional<Integer> maxInitcodeSizeOverride) {
+    Optional<Integer> maxInitcodeSizeOverride,
+    boolean enableBasicBlocks,
+    int compilationThreshold) {
 
   /** How should the world state update be handled within transactions? */
   public enum WorldUpdaterMode {
@@ -63,13 +69,54 @@ public record EvmConfiguration(
       final Long jumpDestCacheWeightKilobytes,
       final WorldUpdaterMode worldstateUpdateMode,
       final boolean enableOptimizedOpcodes) {
+    this(jumpDestCacheWeightKilobytes, worldstateUpdateMode, enableOptimizedOpcodes, false);
+  }
+
+  /**
+   * Create an EVM Configuration without any overrides
+   *
+   * @param jumpDestCacheWeightKilobytes the jump dest cache weight (in kibibytes)
+   * @param worldstateUpdateMode the world update mode
+   * @param enableOptimizedOpcodes enabled opcode optimizations
+   * @param enableBasicBlocks enabled gas and stack checks per basic block
+   */
+  public EvmConfiguration(
+      final Long jumpDestCacheWeightKilobytes,
+      final WorldUpdaterMode worldstateUpdateMode,
+      final boolean enableOptimizedOpcodes,
+      final boolean enableBasicBlocks) {
+    this(
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        enableOptimizedOpcodes,
+        enableBasicBlocks,
+        0);
+  }
+
+  /**
+   * Create an EVM Configuration without any overrides
+   *
+   * @param jumpDestCacheWeightKilobytes the jump dest cache weight (in kibibytes)
+   * @param worldstateUpdateMode the world update mode
+   * @param enableOptimizedOpcodes enabled opcode optimizations
+   * @param enableBasicBlocks enabled gas and stack checks per basic block
+   * @param compilationThreshold the executions before compiling legacy code, 0 to disable
+   */
+  public EvmConfiguration(
+      final Long jumpDestCacheWeightKilobytes,
+      final WorldUpdaterMode worldstateUpdateMode,
+      final boolean enableOptimizedOpcodes,
+      final boolean enableBasicBlocks,
+      final int compilationThreshold) {
     this(
         jumpDestCacheWeightKilobytes,
         worldstateUpdateMode,
         enableOptimizedOpcodes,
         MessageFrame.DEFAULT_MAX_STACK_SIZE,
         Optional.empty(),
-        Optional.empty());
+        Optional.empty(),
+        enableBasicBlocks,
+        compilationThreshold);
   }
 
   /**
@@ -102,6 +149,8 @@ public record EvmConfiguration(
         newMaxCodeSize.isPresent() ? Optional.of(newMaxCodeSize.getAsInt()) : Optional.empty(),
         newMaxInitcodeSize.isPresent()
             ? Optional.of(newMaxInitcodeSize.getAsInt())
-            : Optional.empty());
+            : Optional.empty(),
+        enableBasicBlocks,
+        compilationThreshold);
   }
 }
@@ -21,6 +21,8 @@ import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.internal.OverflowException;
 import org.hyperledger.besu.evm.internal.UnderflowException;
 
+import java.util.OptionalLong;
+
 /** The Abstract fixed cost operation. */
 abstract class AbstractFixedCostOperation extends AbstractOperation {
 
@@ -62,6 +64,11 @@ abstract class AbstractFixedCostOperation extends AbstractOperation {
     overflowResponse = new OperationResult(gasCost, ExceptionalHaltReason.TOO_MANY_STACK_ITEMS);
   }
 
+  @Override
+  public OptionalLong getConstantGasCost() {
+    return OptionalLong.of(gasCost);
+  }
+
   @Override
   public final OperationResult execute(final MessageFrame frame, final EVM evm) {
     try {
@@ -20,6 +20,7 @@ import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.frame.SoftFailureReason;
 
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /** The interface Operation. */
 public interface Operation {
@@ -157,6 +158,16 @@ public interface Operation {
    */
   int getStackItemsProduced();
 
+  /**
+   * Gets the gas cost of the operation, when it is constant, not depending on the operation inputs
+   * nor on the state.
+   *
+   * @return the constant gas cost, or empty if the gas cost is not constant
+   */
+  default OptionalLong getConstantGasCost() {
+    return OptionalLong.empty();
+  }
+
   /**
    * Determines whether this operation has been virtually added to the contract code. For instance
    * if the contract is not ended by a STOP opcode the {@link EVM} adds an explicit end of script
@@ -15,7 +15,6 @@
 package org.hyperledger.besu.evm.precompile;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static org.hyperledger.besu.evm.precompile.AbstractPrecompiledContract.cacheEventConsumer;
 
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -23,7 +22,6 @@ import org.hyperledger.besu.nativelib.gnark.LibGnarkEIP2537;
 
 import java.util.Optional;
 
-import com.github.benmanes.caffeine.cache.Cache;
 import com.sun.jna.ptr.IntByReference;
 import jakarta.validation.constraints.NotNull;
 import org.apache.tuweni.bytes.Bytes;
@@ -35,14 +33,6 @@ public abstract class AbstractBLS12PrecompiledContract implements PrecompiledCon
 
   private static final Logger LOG = LoggerFactory.getLogger(AbstractBLS12PrecompiledContract.class);
 
-  static {
-    // set parallel 1 for testing.  Remove this for prod code (or set a rational limit)
-    // LibGnarkEIP2537.setDegreeOfMSMParallelism(1);
-  }
-
-  /** Default result caching to false unless otherwise set. */
-  protected static Boolean enableResultCaching = Boolean.FALSE;
-
   /** The Discount table. */
   static final int[] G1_DISCOUNT_TABLE =
       new int[] {
@@ -90,6 +80,20 @@ public abstract class AbstractBLS12PrecompiledContract implements PrecompiledCon
     this.inputLimit = inputLen + 1;
   }
 
+  /**
+   * Sets how many tasks the native library splits the bucket method (Pippenger) of a G1 or G2
+   * multi-scalar multiplication across. The library uses all available cores until this is set.
+   *
+   * @param parallelism the number of tasks, 1 to compute multi-scalar multiplications on the
+   *     calling thread only
+   */
+  public static void setMSMParallelism(final int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("MSM parallelism must be at least 1: " + parallelism);
+    }
+    LibGnarkEIP2537.setDegreeOfMSMParallelism(parallelism);
+  }
+
   /**
    * Is bls12 supported on this platform
    *
@@ -114,39 +118,12 @@ public abstract class AbstractBLS12PrecompiledContract implements PrecompiledCon
   public PrecompileContractResult computePrecompile(
       final Bytes input, @NotNull final MessageFrame messageFrame) {
 
-    PrecompileInputResultTuple res = null;
-
-    Integer cacheKey = null;
-
-    if (enableResultCaching) {
-      cacheKey = AbstractPrecompiledContract.getCacheKey(input);
-      res = getCache().getIfPresent(cacheKey);
-      if (res != null) {
-        if (res.cachedInput().equals(input)) {
-          cacheEventConsumer.accept(
-              new AbstractPrecompiledContract.CacheEvent(
-                  name, AbstractPrecompiledContract.CacheMetric.HIT));
-          return res.cachedResult();
-        } else {
-          LOG.debug(
-              "false positive {} {}, cache key {}, cached input: {}, input: {}",
-              name,
-              input.getClass().getSimpleName(),
-              cacheKey,
-              res.cachedInput().toHexString(),
-              input.toHexString());
-
-          cacheEventConsumer.accept(
-              new AbstractPrecompiledContract.CacheEvent(
-                  name, AbstractPrecompiledContract.CacheMetric.FALSE_POSITIVE));
-        }
-      } else {
-        cacheEventConsumer.accept(
-            new AbstractPrecompiledContract.CacheEvent(
-                name, AbstractPrecompiledContract.CacheMetric.MISS));
-      }
-    }
+    return AbstractPrecompiledContract.cachedResult(
+        name, input, in -> performOperation(in, messageFrame));
+  }
 
+  private PrecompileContractResult performOperation(
+      final Bytes input, final MessageFrame messageFrame) {
     final byte[] result = new byte[LibGnarkEIP2537.EIP2537_PREALLOCATE_FOR_RESULT_BYTES];
     final byte[] error = new byte[LibGnarkEIP2537.EIP2537_PREALLOCATE_FOR_ERROR_BYTES];
 
@@ -167,25 +144,14 @@ public abstract class AbstractBLS12PrecompiledContract implements PrecompiledCon
             err_len);
 
     if (errorNo == 0) {
-      res =
-          new PrecompileInputResultTuple(
-              enableResultCaching ? input.copy() : input,
-              PrecompileContractResult.success(Bytes.wrap(result, 0, o_len.getValue())));
+      return PrecompileContractResult.success(Bytes.wrap(result, 0, o_len.getValue()));
     } else {
       final String errorMessage = new String(error, 0, err_len.getValue(), UTF_8);
       messageFrame.setRevertReason(Bytes.wrap(error, 0, err_len.getValue()));
       LOG.trace("Error executing precompiled contract {}: '{}'", name, errorMessage);
-      res =
-          new PrecompileInputResultTuple(
-              enableResultCaching ? input.copy() : input,
-              PrecompileContractResult.halt(
-                  null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR)));
+      return PrecompileContractResult.halt(
+          null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR));
     }
-
-    if (enableResultCaching && cacheKey != null) {
-      getCache().put(cacheKey, res);
-    }
-    return res.cachedResult();
   }
 
   /**
@@ -225,20 +191,4 @@ public abstract class AbstractBLS12PrecompiledContract implements PrecompiledCon
     }
     return G2_DISCOUNT_TABLE[k];
   }
-
-  /**
-   * Enable or disable precompile result caching.
-   *
-   * @param enablePrecompileCaching boolean indicating whether to cache precompile results
-   */
-  public static void setPrecompileCaching(final boolean enablePrecompileCaching) {
-    enableResultCaching = enablePrecompileCaching;
-  }
-
-  /**
-   * get the presompile-specific cache.
-   *
-   * @return precompile cache.
-   */
-  protected abstract Cache<Integer, PrecompileInputResultTuple> getCache();
 }
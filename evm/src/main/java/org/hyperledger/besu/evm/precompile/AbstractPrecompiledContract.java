@@ -14,12 +14,20 @@
  */
 package org.hyperledger.besu.evm.precompile;
 
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 
-import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,9 +66,34 @@ public abstract class AbstractPrecompiledContract implements PrecompiledContract
     return name;
   }
 
+  /** The default maximum size of the precompile result cache, in bytes. */
+  public static final long DEFAULT_RESULT_CACHE_WEIGHT = 64_000_000L;
+
+  // the input digest, the key and the result objects, beside the output bytes
+  private static final int RESULT_CACHE_ENTRY_OVERHEAD = 160;
+
+  /**
+   * The key of a cached result: the precompile and the SHA-256 digest of its input, so that inputs
+   * do not need to be kept, nor compared, to tell results apart.
+   */
+  private record ResultCacheKey(String precompile, Bytes32 inputDigest) {}
+
+  /** The results of all precompiles, shared so that their total size is bounded. */
+  private static final Cache<ResultCacheKey, PrecompileContractResult> resultCache =
+      Caffeine.newBuilder()
+          .maximumWeight(DEFAULT_RESULT_CACHE_WEIGHT)
+          .weigher(
+              (ResultCacheKey key, PrecompileContractResult result) ->
+                  RESULT_CACHE_ENTRY_OVERHEAD + result.output().size())
+          .expireAfterWrite(15, TimeUnit.MINUTES) // Evict 15 minutes after each entry is written
+          .build();
+
   /** Default result caching to false unless otherwise set. */
   protected static Boolean enableResultCaching = Boolean.FALSE;
 
+  /** The names of the precompiles whose results are cached, all of them if empty. */
+  private static volatile Set<String> cachedPrecompiles = Set.of();
+
   /**
    * Enable or disable precompile result caching.
    *
@@ -70,13 +103,43 @@ public abstract class AbstractPrecompiledContract implements PrecompiledContract
     enableResultCaching = enablePrecompileCaching;
   }
 
+  /**
+   * Restrict result caching, when enabled, to some precompiles.
+   *
+   * @param precompileNames the names of the precompiles whose results are cached, all of them if
+   *     empty
+   */
+  public static void setCachedPrecompiles(final Set<String> precompileNames) {
+    cachedPrecompiles = Set.copyOf(precompileNames);
+  }
+
+  /**
+   * Set the maximum size of the precompile result cache.
+   *
+   * @param maxBytes the maximum size of the cached results, in bytes
+   */
+  public static void setResultCacheWeight(final long maxBytes) {
+    resultCache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maxBytes));
+  }
+
+  /**
+   * Is result caching enabled for a precompile.
+   *
+   * @param precompile the precompile name
+   * @return true if the results of the precompile are cached
+   */
+  public static boolean isResultCachingEnabled(final String precompile) {
+    return enableResultCaching
+        && (cachedPrecompiles.isEmpty() || cachedPrecompiles.contains(precompile));
+  }
+
   /** enum for precompile cache metric */
   public enum CacheMetric {
     /** a successful cache hit metric */
     HIT,
     /** a cache miss metric */
     MISS,
-    /** a false positive cache hit metric */
+    /** a false positive cache hit metric, not reported since cache keys are collision safe */
     FALSE_POSITIVE
   }
 
@@ -100,12 +163,39 @@ public abstract class AbstractPrecompiledContract implements PrecompiledContract
   }
 
   /**
-   * calculate a cache key based on input bytes
+   * Returns the result of a precompile from the shared result cache, computing it on a miss, if
+   * result caching is enabled for the precompile. Only successful results are cached, as halting
+   * may also set the revert reason of the frame.
    *
-   * @param input bytes
-   * @return integer cache key
+   * @param precompile the precompile name
+   * @param input the precompile input
+   * @param computation computes the result of the precompile for the input
+   * @return the result of the precompile for the input
    */
-  public static Integer getCacheKey(final Bytes input) {
-    return Arrays.hashCode(input.toArrayUnsafe());
+  static PrecompileContractResult cachedResult(
+      final String precompile,
+      final Bytes input,
+      final Function<Bytes, PrecompileContractResult> computation) {
+    if (!isResultCachingEnabled(precompile)) {
+      return computation.apply(input);
+    }
+    final ResultCacheKey key = new ResultCacheKey(precompile, Hash.sha256(input));
+    final PrecompileContractResult cached = resultCache.getIfPresent(key);
+    if (cached != null) {
+      cacheEventConsumer.accept(new CacheEvent(precompile, CacheMetric.HIT));
+      return cached;
+    }
+    cacheEventConsumer.accept(new CacheEvent(precompile, CacheMetric.MISS));
+    final PrecompileContractResult result = computation.apply(input);
+    if (result.state() == MessageFrame.State.COMPLETED_SUCCESS && result.output() != null) {
+      resultCache.put(key, result);
+    }
+    return result;
+  }
+
+  /** Discard the cached precompile results. */
+  @VisibleForTesting
+  public static void clearResultCache() {
+    resultCache.invalidateAll();
   }
 }
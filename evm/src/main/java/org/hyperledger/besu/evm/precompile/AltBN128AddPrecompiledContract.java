@@ -25,23 +25,16 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Optional;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.validation.constraints.NotNull;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.MutableBytes;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /** The AltBN128Add precompiled contract. */
 public class AltBN128AddPrecompiledContract extends AbstractAltBnPrecompiledContract {
-  private static final Logger LOG = LoggerFactory.getLogger(AltBN128AddPrecompiledContract.class);
   private static final int PARAMETER_LENGTH = 128;
   private static final String PRECOMPILE_NAME = "BN254_ADD";
 
   private final long gasCost;
-  private static final Cache<Integer, PrecompileInputResultTuple> bnAddCache =
-      Caffeine.newBuilder().maximumSize(1000).build();
 
   AltBN128AddPrecompiledContract(final GasCalculator gasCalculator, final long gasCost) {
     super(
@@ -62,43 +55,10 @@ public class AltBN128AddPrecompiledContract extends AbstractAltBnPrecompiledCont
   public PrecompileContractResult computePrecompile(
       final Bytes input, @NotNull final MessageFrame messageFrame) {
 
-    PrecompileInputResultTuple res;
-    Integer cacheKey = null;
-
-    if (enableResultCaching) {
-      cacheKey = getCacheKey(input);
-      res = bnAddCache.getIfPresent(cacheKey);
-      if (res != null) {
-        if (res.cachedInput().equals(input)) {
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.HIT));
-          return res.cachedResult();
-        } else {
-          LOG.debug(
-              "false positive altbn128Add {}, cache key {}, cached input: {}, input: {}",
-              input.getClass().getSimpleName(),
-              cacheKey,
-              res.cachedInput().toHexString(),
-              input.toHexString());
-
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.FALSE_POSITIVE));
-        }
-      } else {
-        cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.MISS));
-      }
-    }
-    if (useNative) {
-      res =
-          new PrecompileInputResultTuple(
-              enableResultCaching ? input.copy() : input, computeNative(input, messageFrame));
-    } else {
-      res =
-          new PrecompileInputResultTuple(
-              enableResultCaching ? input.copy() : input, computeDefault(input));
-    }
-    if (cacheKey != null) {
-      bnAddCache.put(cacheKey, res);
-    }
-    return res.cachedResult();
+    return cachedResult(
+        PRECOMPILE_NAME,
+        input,
+        in -> useNative ? computeNative(in, messageFrame) : computeDefault(in));
   }
 
   private static PrecompileContractResult computeDefault(final Bytes input) {
@@ -25,17 +25,12 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Optional;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.validation.constraints.NotNull;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.MutableBytes;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /** The AltBN128Mul precompiled contract. */
 public class AltBN128MulPrecompiledContract extends AbstractAltBnPrecompiledContract {
-  private static final Logger LOG = LoggerFactory.getLogger(AltBN128MulPrecompiledContract.class);
 
   private static final int PARAMETER_LENGTH = 96;
   private static final String PRECOMPILE_NAME = "BN254_MUL";
@@ -46,8 +41,6 @@ public class AltBN128MulPrecompiledContract extends AbstractAltBnPrecompiledCont
 
   private static final Bytes POINT_AT_INFINITY = Bytes.repeat((byte) 0, 64);
   private final long gasCost;
-  private static final Cache<Integer, PrecompileInputResultTuple> bnMulCache =
-      Caffeine.newBuilder().maximumSize(1000).build();
 
   AltBN128MulPrecompiledContract(final GasCalculator gasCalculator, final long gasCost) {
     super(
@@ -73,43 +66,10 @@ public class AltBN128MulPrecompiledContract extends AbstractAltBnPrecompiledCont
           POINT_AT_INFINITY, false, MessageFrame.State.COMPLETED_SUCCESS, Optional.empty());
     }
 
-    PrecompileInputResultTuple res;
-    Integer cacheKey = null;
-    if (enableResultCaching) {
-      cacheKey = getCacheKey(input);
-      res = bnMulCache.getIfPresent(cacheKey);
-      if (res != null) {
-        if (res.cachedInput().equals(input)) {
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.HIT));
-          return res.cachedResult();
-        } else {
-          LOG.debug(
-              "false positive altbn128Mul {}, cache key {}, cached input: {}, input: {}",
-              input.getClass().getSimpleName(),
-              cacheKey,
-              res.cachedInput().toHexString(),
-              input.toHexString());
-
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.FALSE_POSITIVE));
-        }
-      } else {
-        cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.MISS));
-      }
-    }
-
-    if (useNative) {
-      res =
-          new PrecompileInputResultTuple(
-              enableResultCaching ? input.copy() : input, computeNative(input, messageFrame));
-    } else {
-      res =
-          new PrecompileInputResultTuple(
-              enableResultCaching ? input.copy() : input, computeDefault(input));
-    }
-    if (cacheKey != null) {
-      bnMulCache.put(cacheKey, res);
-    }
-    return res.cachedResult();
+    return cachedResult(
+        PRECOMPILE_NAME,
+        input,
+        in -> useNative ? computeNative(in, messageFrame) : computeDefault(in));
   }
 
   @NotNull
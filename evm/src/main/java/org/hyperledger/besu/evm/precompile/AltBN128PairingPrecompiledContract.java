@@ -30,29 +30,23 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.validation.constraints.NotNull;
 import org.apache.tuweni.bytes.Bytes;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /** The AltBN128Pairing precompiled contract. */
 public class AltBN128PairingPrecompiledContract extends AbstractAltBnPrecompiledContract {
-  private static final Logger LOG =
-      LoggerFactory.getLogger(AltBN128PairingPrecompiledContract.class);
   private static final int FIELD_LENGTH = 32;
   private static final int PARAMETER_LENGTH = 192;
   private static final String PRECOMPILE_NAME = "BN254_PAIRING";
 
-  private static final Cache<Integer, PrecompileInputResultTuple> bnPairingCache =
-      Caffeine.newBuilder()
-          .maximumWeight(16_000_000)
-          .weigher((k, v) -> ((PrecompileInputResultTuple) v).cachedInput().size())
-          .expireAfterWrite(15, TimeUnit.MINUTES) // Evict 15 minutes after each entry is written
-          .build();
+  /** The number of pairs from which the Java implementation runs its Miller loops in parallel. */
+  static final int PARALLEL_PAIRS_THRESHOLD = 2;
+
+  private static volatile ForkJoinPool millerLoopPool =
+      new ForkJoinPool(Runtime.getRuntime().availableProcessors());
 
   /** The constant FALSE. */
   static final Bytes FALSE =
@@ -86,6 +80,30 @@ public class AltBN128PairingPrecompiledContract extends AbstractAltBnPrecompiled
     return new AltBN128PairingPrecompiledContract(gasCalculator, 34_000L, 45_000L);
   }
 
+  /**
+   * Sets how many threads the Java implementation runs the Miller loops of a multi-pair pairing
+   * on. It uses as many threads as there are available processors until this is set. The native
+   * implementation is not affected.
+   *
+   * @param parallelism the number of threads, 1 to run the Miller loops on the calling thread
+   */
+  public static void setParallelism(final int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Pairing parallelism must be at least 1: " + parallelism);
+    }
+    // the idle workers of the previous pool time out on their own, so calls running on it finish
+    millerLoopPool = new ForkJoinPool(parallelism);
+  }
+
+  /**
+   * Gets how many threads the Java implementation runs the Miller loops of a pairing on.
+   *
+   * @return the number of threads
+   */
+  public static int getParallelism() {
+    return millerLoopPool.getParallelism();
+  }
+
   @Override
   public long gasRequirement(final Bytes input) {
     final int parameters = input.size() / PARAMETER_LENGTH;
@@ -103,42 +121,10 @@ public class AltBN128PairingPrecompiledContract extends AbstractAltBnPrecompiled
       return PrecompileContractResult.halt(
           null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR));
     }
-    PrecompileInputResultTuple res;
-    Integer cacheKey = null;
-    if (enableResultCaching) {
-      cacheKey = getCacheKey(input);
-      res = bnPairingCache.getIfPresent(cacheKey);
-      if (res != null) {
-        if (res.cachedInput().equals(input)) {
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.HIT));
-          return res.cachedResult();
-        } else {
-          LOG.debug(
-              "false positive altbn128Pairing {}, cache key {}, cached input: {}, input: {}",
-              input.getClass().getSimpleName(),
-              cacheKey,
-              res.cachedInput().toHexString(),
-              input.toHexString());
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.FALSE_POSITIVE));
-        }
-      } else {
-        cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.MISS));
-      }
-    }
-    if (useNative) {
-      res =
-          new PrecompileInputResultTuple(
-              enableResultCaching ? input.copy() : input, computeNative(input, messageFrame));
-    } else {
-      res =
-          new PrecompileInputResultTuple(
-              enableResultCaching ? input.copy() : input, computeDefault(input));
-    }
-    if (cacheKey != null) {
-      bnPairingCache.put(cacheKey, res);
-    }
-
-    return res.cachedResult();
+    return cachedResult(
+        PRECOMPILE_NAME,
+        input,
+        in -> useNative ? computeNative(in, messageFrame) : computeDefault(in));
   }
 
   @NotNull
@@ -170,11 +156,7 @@ public class AltBN128PairingPrecompiledContract extends AbstractAltBnPrecompiled
       b.add(p2);
     }
 
-    Fq12 exponent = Fq12.one();
-    for (int i = 0; i < parameters; ++i) {
-      exponent = exponent.multiply(AltBn128Fq12Pairer.pair(a.get(i), b.get(i)));
-    }
-
+    final Fq12 exponent = millerLoops(a, b);
     if (AltBn128Fq12Pairer.finalize(exponent).equals(Fq12.one())) {
       return PrecompileContractResult.success(TRUE);
     } else {
@@ -182,6 +164,33 @@ public class AltBN128PairingPrecompiledContract extends AbstractAltBnPrecompiled
     }
   }
 
+  /**
+   * The product of the Miller loops of all pairs, which are independent of each other until the
+   * final exponentiation. Each loop runs as its own task once there are enough pairs, and the
+   * results are multiplied in pair order either way.
+   */
+  private static Fq12 millerLoops(final List<AltBn128Point> a, final List<AltBn128Fq2Point> b) {
+    final ForkJoinPool pool = millerLoopPool;
+    Fq12 exponent = Fq12.one();
+    if (a.size() < PARALLEL_PAIRS_THRESHOLD || pool.getParallelism() == 1) {
+      for (int i = 0; i < a.size(); ++i) {
+        exponent = exponent.multiply(AltBn128Fq12Pairer.pair(a.get(i), b.get(i)));
+      }
+      return exponent;
+    }
+
+    final List<ForkJoinTask<Fq12>> loops = new ArrayList<>(a.size());
+    for (int i = 0; i < a.size(); ++i) {
+      final AltBn128Point p = a.get(i);
+      final AltBn128Fq2Point q = b.get(i);
+      loops.add(pool.submit(() -> AltBn128Fq12Pairer.pair(p, q)));
+    }
+    for (final ForkJoinTask<Fq12> loop : loops) {
+      exponent = exponent.multiply(loop.join());
+    }
+    return exponent;
+  }
+
   private static BigInteger extractParameter(
       final Bytes input, final int offset, final int length) {
     if (offset > input.size() || length == 0) {
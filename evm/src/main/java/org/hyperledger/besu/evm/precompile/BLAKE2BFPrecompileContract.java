@@ -25,8 +25,6 @@ import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import java.math.BigInteger;
 import java.util.Optional;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.validation.constraints.NotNull;
 import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
@@ -39,9 +37,6 @@ public class BLAKE2BFPrecompileContract extends AbstractPrecompiledContract {
   private static final Logger LOG = LoggerFactory.getLogger(BLAKE2BFPrecompileContract.class);
   private static final String PRECOMPILE_NAME = "BLAKE2F";
 
-  private static final Cache<Integer, PrecompileInputResultTuple> blakeCache =
-      Caffeine.newBuilder().maximumSize(1000).build();
-
   /**
    * Instantiates a new BLAKE2BF precompile contract.
    *
@@ -83,39 +78,7 @@ public class BLAKE2BFPrecompileContract extends AbstractPrecompiledContract {
       return PrecompileContractResult.halt(
           null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR));
     }
-    PrecompileInputResultTuple res = null;
-    Integer cacheKey = null;
-    if (enableResultCaching) {
-      cacheKey = getCacheKey(input);
-      res = blakeCache.getIfPresent(cacheKey);
-      if (res != null) {
-        if (res.cachedInput().equals(input)) {
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.HIT));
-          return res.cachedResult();
-        } else {
-          LOG.info(
-              "false positive blake2bf {}, cache key {}, cached input: {}, input: {}",
-              input.getClass().getSimpleName(),
-              cacheKey,
-              res.cachedInput().toHexString(),
-              input.toHexString());
-
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.FALSE_POSITIVE));
-        }
-      } else {
-        cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.MISS));
-      }
-    }
-
-    res =
-        new PrecompileInputResultTuple(
-            enableResultCaching ? input.copy() : input,
-            PrecompileContractResult.success(Hash.blake2bf(input)));
-
-    if (cacheKey != null) {
-      blakeCache.put(cacheKey, res);
-    }
-
-    return res.cachedResult();
+    return cachedResult(
+        PRECOMPILE_NAME, input, in -> PrecompileContractResult.success(Hash.blake2bf(in)));
   }
 }
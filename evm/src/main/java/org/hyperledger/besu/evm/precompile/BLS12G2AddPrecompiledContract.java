@@ -16,16 +16,12 @@ package org.hyperledger.besu.evm.precompile;
 
 import org.hyperledger.besu.nativelib.gnark.LibGnarkEIP2537;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.tuweni.bytes.Bytes;
 
 /** The BLS12_G2 Add precompiled contract. */
 public class BLS12G2AddPrecompiledContract extends AbstractBLS12PrecompiledContract {
 
   private static final int PARAMETER_LENGTH = 512;
-  private static final Cache<Integer, PrecompileInputResultTuple> g2AddCache =
-      Caffeine.newBuilder().maximumSize(1000).build();
 
   /** Instantiates a new BLS12_G2 Add precompiled contract. */
   BLS12G2AddPrecompiledContract() {
@@ -36,9 +32,4 @@ public class BLS12G2AddPrecompiledContract extends AbstractBLS12PrecompiledContr
   public long gasRequirement(final Bytes input) {
     return 600L;
   }
-
-  @Override
-  protected Cache<Integer, PrecompileInputResultTuple> getCache() {
-    return g2AddCache;
-  }
 }
@@ -16,22 +16,12 @@ package org.hyperledger.besu.evm.precompile;
 
 import org.hyperledger.besu.nativelib.gnark.LibGnarkEIP2537;
 
-import java.util.concurrent.TimeUnit;
-
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.tuweni.bytes.Bytes;
 
 /** The BLS12_G2 MultiExp precompiled contract. */
 public class BLS12G2MultiExpPrecompiledContract extends AbstractBLS12PrecompiledContract {
 
   private static final int PARAMETER_LENGTH = 288;
-  private static final Cache<Integer, PrecompileInputResultTuple> g2MSMCache =
-      Caffeine.newBuilder()
-          .maximumWeight(16_000_000)
-          .weigher((k, v) -> ((PrecompileInputResultTuple) v).cachedInput().size())
-          .expireAfterWrite(15, TimeUnit.MINUTES) // Evict 15 minutes after each entry is written
-          .build();
 
   /** Instantiates a new BLS12_G2 MultiExp precompiled contract. */
   BLS12G2MultiExpPrecompiledContract() {
@@ -46,9 +36,4 @@ public class BLS12G2MultiExpPrecompiledContract extends AbstractBLS12Precompiled
     final int k = input.size() / PARAMETER_LENGTH;
     return 22_500L * k * getG2Discount(k) / 1000L;
   }
-
-  @Override
-  protected Cache<Integer, PrecompileInputResultTuple> getCache() {
-    return g2MSMCache;
-  }
 }
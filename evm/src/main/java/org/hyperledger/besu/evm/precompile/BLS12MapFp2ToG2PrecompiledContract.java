@@ -16,16 +16,12 @@ package org.hyperledger.besu.evm.precompile;
 
 import org.hyperledger.besu.nativelib.gnark.LibGnarkEIP2537;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.tuweni.bytes.Bytes;
 
 /** The BLS12MapFp2ToG2 precompiled contract. */
 public class BLS12MapFp2ToG2PrecompiledContract extends AbstractBLS12PrecompiledContract {
 
   private static final int PARAMETER_LENGTH = 128;
-  private static final Cache<Integer, PrecompileInputResultTuple> mapfp2g2Cache =
-      Caffeine.newBuilder().maximumSize(1000).build();
 
   /** Instantiates a new BLS12MapFp2ToG2 precompiled contract. */
   BLS12MapFp2ToG2PrecompiledContract() {
@@ -39,9 +35,4 @@ public class BLS12MapFp2ToG2PrecompiledContract extends AbstractBLS12Precompiled
   public long gasRequirement(final Bytes input) {
     return 23_800L;
   }
-
-  @Override
-  protected Cache<Integer, PrecompileInputResultTuple> getCache() {
-    return mapfp2g2Cache;
-  }
 }
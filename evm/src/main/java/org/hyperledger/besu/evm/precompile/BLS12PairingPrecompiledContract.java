@@ -16,22 +16,12 @@ package org.hyperledger.besu.evm.precompile;
 
 import org.hyperledger.besu.nativelib.gnark.LibGnarkEIP2537;
 
-import java.util.concurrent.TimeUnit;
-
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.tuweni.bytes.Bytes;
 
 /** The BLS12Pairing precompiled contract. */
 public class BLS12PairingPrecompiledContract extends AbstractBLS12PrecompiledContract {
 
   private static final int PARAMETER_LENGTH = 384;
-  private static final Cache<Integer, PrecompileInputResultTuple> pairingCache =
-      Caffeine.newBuilder()
-          .maximumWeight(16_000_000)
-          .weigher((k, v) -> ((PrecompileInputResultTuple) v).cachedInput().size())
-          .expireAfterWrite(15, TimeUnit.MINUTES) // Evict 15 minutes after each entry is written
-          .build();
 
   /** Instantiates a new BLS12Pairing precompiled contract. */
   BLS12PairingPrecompiledContract() {
@@ -46,9 +36,4 @@ public class BLS12PairingPrecompiledContract extends AbstractBLS12PrecompiledCon
     final int k = input.size() / PARAMETER_LENGTH;
     return 32_600L * k + 37_700L;
   }
-
-  @Override
-  protected Cache<Integer, PrecompileInputResultTuple> getCache() {
-    return pairingCache;
-  }
 }
@@ -41,9 +41,14 @@ public class BigIntegerModularExponentiationPrecompiledContract
   private static final Logger LOG =
       LoggerFactory.getLogger(BigIntegerModularExponentiationPrecompiledContract.class);
 
+  private static final String PRECOMPILE_NAME = "MODEXP";
+
   /** Use native Arithmetic libraries. */
   private static boolean useNative;
 
+  /** Use the Montgomery engine rather than BigInteger for odd moduli, when not native. */
+  private static boolean useMontgomery;
+
   /** The constant BASE_OFFSET. */
   public static final int BASE_OFFSET = 96;
 
@@ -61,7 +66,7 @@ public class BigIntegerModularExponentiationPrecompiledContract
    */
   BigIntegerModularExponentiationPrecompiledContract(
       final GasCalculator gasCalculator, final long upperBound) {
-    super("MODEXP", gasCalculator);
+    super(PRECOMPILE_NAME, gasCalculator);
     this.upperBound = upperBound;
   }
 
@@ -94,6 +99,25 @@ public class BigIntegerModularExponentiationPrecompiledContract
     return useNative;
   }
 
+  /** Use the Montgomery engine rather than BigInteger for odd moduli, when not native. */
+  public static void enableMontgomery() {
+    useMontgomery = true;
+  }
+
+  /** Use BigInteger for all moduli, when not native. */
+  public static void disableMontgomery() {
+    useMontgomery = false;
+  }
+
+  /**
+   * Check if the Montgomery engine is enabled.
+   *
+   * @return the boolean
+   */
+  public static boolean isMontgomery() {
+    return useMontgomery;
+  }
+
   @Override
   public long gasRequirement(final Bytes input) {
     return gasCalculator().modExpGasCost(input);
@@ -117,6 +141,17 @@ public class BigIntegerModularExponentiationPrecompiledContract
           null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR));
     }
 
+    return cachedResult(
+        PRECOMPILE_NAME,
+        input,
+        in -> compute(in, length_of_BASE, length_of_EXPONENT, length_of_MODULUS));
+  }
+
+  private PrecompileContractResult compute(
+      final Bytes input,
+      final long length_of_BASE,
+      final long length_of_EXPONENT,
+      final long length_of_MODULUS) {
     // OPTIMIZATION: overwrite native setting for this case
     if (LibArithmetic.ENABLED) {
       final int baseOffset = clampedToInt(BASE_OFFSET);
@@ -149,6 +184,17 @@ public class BigIntegerModularExponentiationPrecompiledContract
     }
     final int exponentOffset = BASE_OFFSET + baseLength;
     final int modulusOffset = exponentOffset + exponentLength;
+    if (useMontgomery
+        && modulusLength > 0
+        && modulusLength <= MontgomeryModExp.MAX_MODULUS_LENGTH) {
+      final byte[] modulus = extractBytes(input, modulusOffset, modulusLength);
+      if ((modulus[modulusLength - 1] & 1) == 1) {
+        final byte[] base = extractBytes(input, BASE_OFFSET, baseLength);
+        final byte[] exp = extractBytes(input, exponentOffset, exponentLength);
+        return PrecompileContractResult.success(
+            Bytes.wrap(MontgomeryModExp.modExp(base, exp, modulus)));
+      }
+    }
     final BigInteger base = extractParameter(input, BASE_OFFSET, baseLength);
     final BigInteger exp = extractParameter(input, exponentOffset, exponentLength);
     final BigInteger mod = extractParameter(input, modulusOffset, modulusLength);
@@ -235,6 +281,16 @@ public class BigIntegerModularExponentiationPrecompiledContract
     }
   }
 
+  private static byte[] extractBytes(final Bytes input, final int offset, final int length) {
+    // input past its end reads as zeros, as with extractParameter
+    final byte[] raw = new byte[length];
+    if (offset < input.size()) {
+      final int available = Math.min(length, input.size() - offset);
+      input.slice(offset, available).copyTo(MutableBytes.wrap(raw), 0);
+    }
+    return raw;
+  }
+
   private static byte extractLastByte(final Bytes input, final int offset, final int length) {
     if (offset >= input.size() || length == 0) {
       return 0;
@@ -29,8 +29,6 @@ import java.math.BigInteger;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.validation.constraints.NotNull;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -46,8 +44,6 @@ public class ECRECPrecompiledContract extends AbstractPrecompiledContract {
   private static final int V_BASE = 27;
   final SignatureAlgorithm signatureAlgorithm;
   private static final String PRECOMPILE_NAME = "ECREC";
-  private static final Cache<Integer, PrecompileInputResultTuple> ecrecCache =
-      Caffeine.newBuilder().maximumSize(1000).build();
 
   /**
    * Instantiates a new ECREC precompiled contract with the default signature algorithm.
@@ -90,45 +86,16 @@ public class ECRECPrecompiledContract extends AbstractPrecompiledContract {
       return PrecompileContractResult.success(Bytes.EMPTY);
     }
 
-    PrecompileInputResultTuple res;
-    Integer cacheKey = null;
-    if (enableResultCaching) {
-      cacheKey = getCacheKey(input);
-      res = ecrecCache.getIfPresent(cacheKey);
-
-      if (res != null) {
-        if (res.cachedInput().equals(input)) {
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.HIT));
-          return res.cachedResult();
-        } else {
-          LOG.debug(
-              "false positive ecrecover {}, cache key {}, cached input: {}, input: {}",
-              input.getClass().getSimpleName(),
-              cacheKey,
-              res.cachedInput().toHexString(),
-              input.toHexString());
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.FALSE_POSITIVE));
-        }
-      } else {
-        cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.MISS));
-      }
-    }
+    return cachedResult(
+        PRECOMPILE_NAME, input, __ -> PrecompileContractResult.success(recover(safeInput)));
+  }
 
-    Bytes resultBytes;
+  private Bytes recover(final Bytes safeInput) {
     if (signatureAlgorithm.isNative() && isK1PrecompileSpecificNativeAvailable()) {
-      resultBytes = computeK1Native(safeInput);
+      return computeK1Native(safeInput);
     } else {
-      resultBytes = computeDefault(safeInput);
-    }
-    res =
-        new PrecompileInputResultTuple(
-            enableResultCaching ? input.copy() : input,
-            PrecompileContractResult.success(resultBytes));
-
-    if (enableResultCaching) {
-      ecrecCache.put(cacheKey, res);
+      return computeDefault(safeInput);
     }
-    return res.cachedResult();
   }
 
   private boolean isK1PrecompileSpecificNativeAvailable() {
@@ -14,8 +14,6 @@
  */
 package org.hyperledger.besu.evm.precompile;
 
-import static org.hyperledger.besu.evm.precompile.AbstractPrecompiledContract.cacheEventConsumer;
-
 import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -25,8 +23,6 @@ import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
 import ethereum.ckzg4844.CKZG4844JNI;
 import jakarta.validation.constraints.NotNull;
@@ -40,11 +36,6 @@ public class KZGPointEvalPrecompiledContract implements PrecompiledContract {
   private static final AtomicBoolean loaded = new AtomicBoolean(false);
 
   private static final String PRECOMPILE_NAME = "KZGPointEval";
-  private static final Cache<Integer, PrecompileInputResultTuple> kzgCache =
-      Caffeine.newBuilder().maximumSize(1000).build();
-
-  /** Default result caching to false unless otherwise set. */
-  protected static Boolean enableResultCaching = Boolean.FALSE;
 
   private static final Logger LOG = LoggerFactory.getLogger(KZGPointEvalPrecompiledContract.class);
 
@@ -100,15 +91,6 @@ public class KZGPointEvalPrecompiledContract implements PrecompiledContract {
     loaded.set(false);
   }
 
-  /**
-   * Enable or disable precompile result caching.
-   *
-   * @param enablePrecompileCaching boolean indicating whether to cache precompile results
-   */
-  public static void setPrecompileCaching(final boolean enablePrecompileCaching) {
-    enableResultCaching = enablePrecompileCaching;
-  }
-
   /** Default constructor. */
   KZGPointEvalPrecompiledContract() {}
 
@@ -133,37 +115,11 @@ public class KZGPointEvalPrecompiledContract implements PrecompiledContract {
           null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR));
     }
 
-    PrecompileInputResultTuple res;
-    Integer cacheKey = null;
-
-    if (enableResultCaching) {
-      cacheKey = AbstractPrecompiledContract.getCacheKey(input);
-      res = kzgCache.getIfPresent(cacheKey);
-      if (res != null) {
-        if (res.cachedInput().equals(input)) {
-          cacheEventConsumer.accept(
-              new AbstractPrecompiledContract.CacheEvent(
-                  PRECOMPILE_NAME, AbstractPrecompiledContract.CacheMetric.HIT));
-          return res.cachedResult();
-        } else {
-          LOG.debug(
-              "false positive kzgPointEval {}, cache key {}, cached input: {}, input: {}",
-              input.getClass().getSimpleName(),
-              cacheKey,
-              res.cachedInput().toHexString(),
-              input.toHexString());
-
-          cacheEventConsumer.accept(
-              new AbstractPrecompiledContract.CacheEvent(
-                  PRECOMPILE_NAME, AbstractPrecompiledContract.CacheMetric.FALSE_POSITIVE));
-        }
-      } else {
-        cacheEventConsumer.accept(
-            new AbstractPrecompiledContract.CacheEvent(
-                PRECOMPILE_NAME, AbstractPrecompiledContract.CacheMetric.MISS));
-      }
-    }
+    return AbstractPrecompiledContract.cachedResult(
+        PRECOMPILE_NAME, input, KZGPointEvalPrecompiledContract::verifyKzgProof);
+  }
 
+  private static PrecompileContractResult verifyKzgProof(final Bytes input) {
     Bytes32 versionedHash = Bytes32.wrap(input.slice(0, 32));
     Bytes z = input.slice(32, 32);
     Bytes y = input.slice(64, 32);
@@ -186,32 +142,15 @@ public class KZGPointEvalPrecompiledContract implements PrecompiledContract {
               commitment.toArray(), z.toArray(), y.toArray(), proof.toArray());
 
       if (proved) {
-        res =
-            new PrecompileInputResultTuple(
-                enableResultCaching ? input.copy() : input,
-                PrecompileContractResult.success(successResult));
+        return PrecompileContractResult.success(successResult);
       } else {
-        res =
-            new PrecompileInputResultTuple(
-                enableResultCaching ? input.copy() : input,
-                PrecompileContractResult.halt(
-                    null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR)));
-      }
-      if (cacheKey != null) {
-        kzgCache.put(cacheKey, res);
+        return PrecompileContractResult.halt(
+            null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR));
       }
-      return res.cachedResult();
     } catch (RuntimeException kzgFailed) {
       LOG.debug("Native KZG failed", kzgFailed);
-      res =
-          new PrecompileInputResultTuple(
-              enableResultCaching ? input.copy() : input,
-              PrecompileContractResult.halt(
-                  null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR)));
-      if (cacheKey != null) {
-        kzgCache.put(cacheKey, res);
-      }
-      return res.cachedResult();
+      return PrecompileContractResult.halt(
+          null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR));
     }
   }
 }
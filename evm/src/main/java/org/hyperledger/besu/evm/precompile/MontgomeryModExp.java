@@ -0,0 +1,282 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.precompile;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Modular exponentiation for odd moduli, over little endian arrays of 64 bit limbs as wide as the
+ * modulus. Products are computed in Montgomery form (CIOS) and the exponent is scanned with sliding
+ * windows of odd powers of the base.
+ *
+ * <p>The limb arrays of each thread are kept between calls, so that an exponentiation allocates
+ * little more than its result. They grow up to the limbs of a {@link #MAX_MODULUS_LENGTH} bytes
+ * modulus, larger moduli are left to {@link BigInteger#modPow}.
+ */
+final class MontgomeryModExp {
+
+  /** The length in bytes of the largest modulus handled, as bounded by EIP-7823. */
+  static final int MAX_MODULUS_LENGTH = 1024;
+
+  // the exponent bit lengths above which the window grows by one bit, as BigInteger.modPow does
+  private static final int[] WINDOW_THRESHOLDS = {7, 25, 81, 241, 673, 1793};
+  private static final int MAX_WINDOW = WINDOW_THRESHOLDS.length + 1;
+
+  private static final ThreadLocal<MontgomeryModExp> SCRATCH =
+      ThreadLocal.withInitial(MontgomeryModExp::new);
+
+  private int capacity;
+  private int limbs;
+  private long m0Inv;
+  private long[] modulus = new long[0];
+  private long[] product = new long[2];
+  private long[] r2 = new long[0];
+  private long[] one = new long[0];
+  private long[] accumulator = new long[0];
+  private long[] square = new long[0];
+  // the odd powers of the base in Montgomery form: base, base^3, base^5...
+  private long[][] powers = new long[1 << (MAX_WINDOW - 1)][0];
+
+  private MontgomeryModExp() {}
+
+  /**
+   * Computes base^exponent mod modulus.
+   *
+   * @param base the base, big endian
+   * @param exponent the exponent, big endian
+   * @param modulus the modulus, big endian and odd, at most {@link #MAX_MODULUS_LENGTH} bytes long
+   * @return the result, big endian and as long as the modulus
+   */
+  static byte[] modExp(final byte[] base, final byte[] exponent, final byte[] modulus) {
+    if (modulus.length == 0 || modulus.length > MAX_MODULUS_LENGTH) {
+      throw new IllegalArgumentException("Unsupported modulus length " + modulus.length);
+    }
+    if ((modulus[modulus.length - 1] & 1) == 0) {
+      throw new IllegalArgumentException("Modulus must be odd");
+    }
+    return SCRATCH.get().compute(base, exponent, modulus);
+  }
+
+  private byte[] compute(final byte[] base, final byte[] exponent, final byte[] modulusBytes) {
+    final int n = (significantLength(modulusBytes) + 7) >>> 3;
+    ensureCapacity(n);
+    limbs = n;
+    toLimbs(modulusBytes, modulus, n);
+    m0Inv = -inverse(modulus[0]);
+
+    // R^2 mod m converts to Montgomery form, and bases wider than the modulus are reduced first
+    final BigInteger m = new BigInteger(1, modulusBytes);
+    toLimbs(BigInteger.ONE.shiftLeft(128 * n).mod(m).toByteArray(), r2, n);
+    Arrays.fill(one, 0, n, 0L);
+    one[0] = 1L;
+    if (significantLength(base) > 8 * n) {
+      toLimbs(new BigInteger(1, base).mod(m).toByteArray(), square, n);
+    } else {
+      toLimbs(base, square, n);
+    }
+    multiply(square, r2, powers[0]);
+
+    final int exponentBits = bitLength(exponent);
+    if (exponentBits == 0) {
+      // R mod m, that is one in Montgomery form
+      multiply(r2, one, accumulator);
+    } else {
+      exponentiate(exponent, exponentBits);
+    }
+    multiply(accumulator, one, accumulator);
+    return toBytes(accumulator, n, modulusBytes.length);
+  }
+
+  private void exponentiate(final byte[] exponent, final int exponentBits) {
+    int window = 1;
+    while (window < MAX_WINDOW && exponentBits > WINDOW_THRESHOLDS[window - 1]) {
+      window++;
+    }
+    final int tableSize = 1 << (window - 1);
+    if (tableSize > 1) {
+      multiply(powers[0], powers[0], square);
+      for (int i = 1; i < tableSize; i++) {
+        multiply(powers[i - 1], square, powers[i]);
+      }
+    }
+
+    boolean started = false;
+    int i = exponentBits - 1;
+    while (i >= 0) {
+      if (!testBit(exponent, i)) {
+        multiply(accumulator, accumulator, accumulator);
+        i--;
+        continue;
+      }
+      // the window runs from bit i down to its lowest set bit j
+      int j = Math.max(i - window + 1, 0);
+      while (!testBit(exponent, j)) {
+        j++;
+      }
+      int value = 0;
+      for (int k = i; k >= j; k--) {
+        value = (value << 1) | (testBit(exponent, k) ? 1 : 0);
+      }
+      if (started) {
+        for (int k = i; k >= j; k--) {
+          multiply(accumulator, accumulator, accumulator);
+        }
+        multiply(accumulator, powers[value >>> 1], accumulator);
+      } else {
+        System.arraycopy(powers[value >>> 1], 0, accumulator, 0, limbs);
+        started = true;
+      }
+      i = j - 1;
+    }
+  }
+
+  /**
+   * Montgomery product of a and b, a * b / R mod m, by coarsely integrated operand scanning. The
+   * result may be a or b, as it is only written once the product is complete.
+   */
+  private void multiply(final long[] a, final long[] b, final long[] result) {
+    final int n = limbs;
+    final long[] m = modulus;
+    final long[] t = product;
+    Arrays.fill(t, 0, n + 2, 0L);
+    for (int i = 0; i < n; i++) {
+      // t += a * b[i]
+      final long bi = b[i];
+      long carry = 0;
+      for (int j = 0; j < n; j++) {
+        final long aj = a[j];
+        final long lo = aj * bi;
+        final long tj = t[j];
+        final long sum1 = lo + tj;
+        final long sum2 = sum1 + carry;
+        t[j] = sum2;
+        carry = Math.unsignedMultiplyHigh(aj, bi) + carryOut(lo, sum1) + carryOut(sum1, sum2);
+      }
+      long sum = t[n] + carry;
+      t[n + 1] = carryOut(t[n], sum);
+      t[n] = sum;
+
+      // t = (t + q * m) / 2^64, where q makes the lowest limb zero
+      final long q = t[0] * m0Inv;
+      final long low = q * m[0];
+      carry = Math.unsignedMultiplyHigh(q, m[0]) + carryOut(low, low + t[0]);
+      for (int j = 1; j < n; j++) {
+        final long mj = m[j];
+        final long lo = q * mj;
+        final long tj = t[j];
+        final long sum1 = lo + tj;
+        final long sum2 = sum1 + carry;
+        t[j - 1] = sum2;
+        carry = Math.unsignedMultiplyHigh(q, mj) + carryOut(lo, sum1) + carryOut(sum1, sum2);
+      }
+      sum = t[n] + carry;
+      t[n - 1] = sum;
+      t[n] = t[n + 1] + carryOut(t[n], sum);
+    }
+
+    // t < 2m, so one subtraction brings it below m
+    if (t[n] != 0 || compare(t, m, n) >= 0) {
+      long borrow = 0;
+      for (int j = 0; j < n; j++) {
+        final long x = t[j];
+        final long y = m[j];
+        final long d = x - y - borrow;
+        borrow = ((~x & y) | (~(x ^ y) & d)) >>> 63;
+        result[j] = d;
+      }
+    } else {
+      System.arraycopy(t, 0, result, 0, n);
+    }
+  }
+
+  private void ensureCapacity(final int n) {
+    if (n <= capacity) {
+      return;
+    }
+    capacity = n;
+    modulus = new long[n];
+    product = new long[n + 2];
+    r2 = new long[n];
+    one = new long[n];
+    accumulator = new long[n];
+    square = new long[n];
+    for (int i = 0; i < powers.length; i++) {
+      powers[i] = new long[n];
+    }
+  }
+
+  // the carry out of adding a number to x into sum, as a value since carries are unpredictable
+  private static long carryOut(final long x, final long sum) {
+    return Long.compareUnsigned(sum, x) < 0 ? 1 : 0;
+  }
+
+  private static int compare(final long[] a, final long[] b, final int n) {
+    for (int i = n - 1; i >= 0; i--) {
+      if (a[i] != b[i]) {
+        return Long.compareUnsigned(a[i], b[i]);
+      }
+    }
+    return 0;
+  }
+
+  // the inverse of an odd x modulo 2^64, by Newton iterations each doubling the correct low bits
+  private static long inverse(final long x) {
+    long inverse = x;
+    for (int i = 0; i < 5; i++) {
+      inverse *= 2 - x * inverse;
+    }
+    return inverse;
+  }
+
+  private static int significantLength(final byte[] bytes) {
+    int i = 0;
+    while (i < bytes.length && bytes[i] == 0) {
+      i++;
+    }
+    return bytes.length - i;
+  }
+
+  private static int bitLength(final byte[] bytes) {
+    for (int i = 0; i < bytes.length; i++) {
+      if (bytes[i] != 0) {
+        return (bytes.length - i - 1) * 8 + 32 - Integer.numberOfLeadingZeros(bytes[i] & 0xff);
+      }
+    }
+    return 0;
+  }
+
+  private static boolean testBit(final byte[] bytes, final int bit) {
+    return (bytes[bytes.length - 1 - (bit >>> 3)] & (1 << (bit & 7))) != 0;
+  }
+
+  // reads the low n limbs of a big endian number, whose significant bytes must fit in them
+  private static void toLimbs(final byte[] bytes, final long[] limbs, final int n) {
+    Arrays.fill(limbs, 0, n, 0L);
+    final int length = Math.min(bytes.length, n * 8);
+    for (int i = 0; i < length; i++) {
+      limbs[i >>> 3] |= (bytes[bytes.length - 1 - i] & 0xffL) << ((i & 7) << 3);
+    }
+  }
+
+  private static byte[] toBytes(final long[] limbs, final int n, final int length) {
+    final byte[] bytes = new byte[length];
+    final int significant = Math.min(length, n * 8);
+    for (int i = 0; i < significant; i++) {
+      bytes[length - 1 - i] = (byte) (limbs[i >>> 3] >>> ((i & 7) << 3));
+    }
+    return bytes;
+  }
+}
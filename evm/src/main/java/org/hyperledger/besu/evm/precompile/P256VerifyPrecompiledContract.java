@@ -26,8 +26,6 @@ import org.hyperledger.besu.nativelib.boringssl.BoringSSLPrecompiles;
 
 import java.math.BigInteger;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.validation.constraints.NotNull;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -94,9 +92,6 @@ public class P256VerifyPrecompiledContract extends AbstractPrecompiledContract {
   private final GasCalculator gasCalculator;
   private final SignatureAlgorithm signatureAlgorithm;
 
-  private static final Cache<Integer, PrecompileInputResultTuple> p256VerifyCache =
-      Caffeine.newBuilder().maximumSize(1000).build();
-
   /**
    * Instantiates a new Abstract precompiled contract.
    *
@@ -134,42 +129,11 @@ public class P256VerifyPrecompiledContract extends AbstractPrecompiledContract {
           input.size());
       return PrecompileContractResult.success(INVALID);
     }
-    PrecompileInputResultTuple res = null;
-    Integer cacheKey = null;
-    if (enableResultCaching) {
-      cacheKey = getCacheKey(input);
-      res = p256VerifyCache.getIfPresent(cacheKey);
-
-      if (res != null) {
-        if (res.cachedInput().equals(input)) {
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.HIT));
-          return res.cachedResult();
-        } else {
-          LOG.debug(
-              "false positive p256verify {}, cache key {}, cached input: {}, input: {}",
-              input.getClass().getSimpleName(),
-              cacheKey,
-              res.cachedInput().toHexString(),
-              input.toHexString());
-          cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.FALSE_POSITIVE));
-        }
-      } else {
-        cacheEventConsumer.accept(new CacheEvent(PRECOMPILE_NAME, CacheMetric.MISS));
-      }
-    }
-
     try {
-      if (useNativeBoringSSL) {
-        res = computeNative(input);
-      } else {
-        res = computeDefault(input);
-      }
-
-      if (enableResultCaching) {
-        p256VerifyCache.put(cacheKey, res);
-      }
-      return res.cachedResult();
-
+      return cachedResult(
+          PRECOMPILE_NAME,
+          input,
+          in -> (useNativeBoringSSL ? computeNative(in) : computeDefault(in)).cachedResult());
     } catch (Exception e) {
       LOG.warn("P256VERIFY verification failed: {}", e.getMessage());
       System.err.println("P256VERIFY verification failed: " + e.getMessage());
@@ -188,8 +152,7 @@ public class P256VerifyPrecompiledContract extends AbstractPrecompiledContract {
     }
     res =
         new PrecompileInputResultTuple(
-            enableResultCaching ? input.copy() : input,
-            PrecompileContractResult.success(result.status == 0 ? VALID : INVALID));
+            input, PrecompileContractResult.success(result.status == 0 ? VALID : INVALID));
     return res;
   }
 
@@ -210,30 +173,26 @@ public class P256VerifyPrecompiledContract extends AbstractPrecompiledContract {
     // Check r, s in (0, n)
     if (r.signum() <= 0 || r.compareTo(N) >= 0 || s.signum() <= 0 || s.compareTo(N) >= 0) {
       LOG.trace("Invalid r or s: must satisfy 0 < r,s < n");
-      return new PrecompileInputResultTuple(
-          enableResultCaching ? input.copy() : input, PrecompileContractResult.success(INVALID));
+      return new PrecompileInputResultTuple(input, PrecompileContractResult.success(INVALID));
     }
 
     // Check qx, qy in [0, p)
     if (qx.signum() < 0 || qx.compareTo(P) >= 0 || qy.signum() < 0 || qy.compareTo(P) >= 0) {
       LOG.trace("Invalid qx or qy: must satisfy 0 <= qx,qy < p");
-      return new PrecompileInputResultTuple(
-          enableResultCaching ? input.copy() : input, PrecompileContractResult.success(INVALID));
+      return new PrecompileInputResultTuple(input, PrecompileContractResult.success(INVALID));
     }
 
     // Check point not at infinity (qx, qy ≠ 0,0), and non-trivial infinity encoding
     if ((qx.signum() == 0 && qy.signum() == 0)) {
       LOG.trace("Invalid public key: point at infinity");
-      return new PrecompileInputResultTuple(
-          enableResultCaching ? input.copy() : input, PrecompileContractResult.success(INVALID));
+      return new PrecompileInputResultTuple(input, PrecompileContractResult.success(INVALID));
     }
     try {
       final org.bouncycastle.math.ec.ECPoint ecPoint = R1_PARAMS.getCurve().createPoint(qx, qy);
       signatureAlgorithm.getCurve().validatePublicPoint(ecPoint);
     } catch (IllegalArgumentException e) {
       LOG.trace("Public key not on curve: {}", e.getMessage());
-      return new PrecompileInputResultTuple(
-          enableResultCaching ? input.copy() : input, PrecompileContractResult.success(INVALID));
+      return new PrecompileInputResultTuple(input, PrecompileContractResult.success(INVALID));
     }
     // Create the signature; recID is not used in verification - use 0
     final SECPSignature signature = signatureAlgorithm.createSignature(r, s, (byte) 0);
@@ -242,7 +201,6 @@ public class P256VerifyPrecompiledContract extends AbstractPrecompiledContract {
     final boolean isValid = signatureAlgorithm.verifyMalleable(messageHash, signature, publicKey);
 
     return new PrecompileInputResultTuple(
-        enableResultCaching ? input.copy() : input,
-        PrecompileContractResult.success(isValid ? VALID : INVALID));
+        input, PrecompileContractResult.success(isValid ? VALID : INVALID));
   }
 }
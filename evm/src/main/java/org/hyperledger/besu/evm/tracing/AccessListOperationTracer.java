@@ -28,7 +28,8 @@ import org.apache.tuweni.bytes.Bytes32;
 /** The Access List Operation Tracer. */
 public class AccessListOperationTracer implements OperationTracer {
 
-  private Table<Address, Bytes32, Boolean> warmedUpStorage;
+  // the frames of a transaction share the warmed up storage, so any frame gives it
+  private MessageFrame frame;
 
   /** Default constructor. */
   private AccessListOperationTracer() {
@@ -37,7 +38,7 @@ public class AccessListOperationTracer implements OperationTracer {
 
   @Override
   public void tracePostExecution(final MessageFrame frame, final OperationResult operationResult) {
-    warmedUpStorage = frame.getWarmedUpStorage();
+    this.frame = frame;
   }
 
   /**
@@ -46,6 +47,8 @@ public class AccessListOperationTracer implements OperationTracer {
    * @return the access list
    */
   public List<AccessListEntry> getAccessList() {
+    final Table<Address, Bytes32, Boolean> warmedUpStorage =
+        frame == null ? null : frame.getWarmedUpStorage();
     if (warmedUpStorage != null && !warmedUpStorage.isEmpty()) {
       final List<AccessListEntry> list = new ArrayList<>(warmedUpStorage.size());
       warmedUpStorage
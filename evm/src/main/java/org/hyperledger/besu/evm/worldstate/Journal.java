@@ -0,0 +1,143 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.worldstate;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The undo journal of the changes made by a journaled updater and the updaters nested in it.
+ *
+ * <p>Every change appends one entry, made of its kind, its target, the key changed in the target if
+ * any, and the value it replaced, to flat arrays. A checkpoint is the number of entries, and
+ * reverting to a checkpoint undoes the entries after it in the reverse order they were made, so
+ * that nested calls revert in proportion to the changes they made rather than to the accounts
+ * touched by the transaction. This class is not thread safe.
+ */
+final class Journal {
+  /** An account put in the accounts of an updater, keyed by address. */
+  static final byte UPDATER_ACCOUNT = 0;
+
+  /** An address added to the deleted addresses of an updater. */
+  static final byte UPDATER_DELETION = 1;
+
+  /** The nonce of an account, replaced by the previous long. */
+  static final byte NONCE = 2;
+
+  /** The balance of an account. */
+  static final byte BALANCE = 3;
+
+  /** The code of an account, keyed by the previous code hash. */
+  static final byte CODE = 4;
+
+  /** The deleted flag of an account, replaced by the previous long, 1 if deleted. */
+  static final byte DELETED = 5;
+
+  /** A storage slot of an account, keyed by slot, the previous value null if it was not set. */
+  static final byte STORAGE = 6;
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private byte[] kinds = new byte[INITIAL_CAPACITY];
+  private Object[] targets = new Object[INITIAL_CAPACITY];
+  private Object[] keys = new Object[INITIAL_CAPACITY];
+  private Object[] previousValues = new Object[INITIAL_CAPACITY];
+  private long[] previousLongs = new long[INITIAL_CAPACITY];
+  private int size;
+  // counts every change ever recorded, so that it never goes back when changes are reverted
+  private long clock;
+
+  /**
+   * Returns a checkpoint the journal can be reverted to.
+   *
+   * @return the number of entries of the journal
+   */
+  int checkpoint() {
+    return size;
+  }
+
+  /**
+   * Returns the clock of the journal, which every change advances.
+   *
+   * @return the number of changes recorded
+   */
+  long clock() {
+    return clock;
+  }
+
+  /**
+   * Records a change.
+   *
+   * @param kind the kind of the change
+   * @param target the updater collection or account state changed
+   * @param key the key changed in the target, if any
+   * @param previousValue the value replaced, if it is an object
+   * @param previousLong the value replaced, if it is a long
+   * @return the clock of the change
+   */
+  long record(
+      final byte kind,
+      final Object target,
+      final Object key,
+      final Object previousValue,
+      final long previousLong) {
+    if (size == kinds.length) {
+      final int capacity = size * 2;
+      kinds = Arrays.copyOf(kinds, capacity);
+      targets = Arrays.copyOf(targets, capacity);
+      keys = Arrays.copyOf(keys, capacity);
+      previousValues = Arrays.copyOf(previousValues, capacity);
+      previousLongs = Arrays.copyOf(previousLongs, capacity);
+    }
+    kinds[size] = kind;
+    targets[size] = target;
+    keys[size] = key;
+    previousValues[size] = previousValue;
+    previousLongs[size] = previousLong;
+    size++;
+    return ++clock;
+  }
+
+  /**
+   * Undoes the changes recorded after a checkpoint, most recent first.
+   *
+   * @param checkpoint the checkpoint to revert to
+   */
+  @SuppressWarnings("unchecked")
+  void revert(final int checkpoint) {
+    for (int i = size - 1; i >= checkpoint; i--) {
+      final Object target = targets[i];
+      switch (kinds[i]) {
+        case UPDATER_ACCOUNT -> {
+          final Map<Object, Object> accounts = (Map<Object, Object>) target;
+          if (previousValues[i] == null) {
+            accounts.remove(keys[i]);
+          } else {
+            accounts.put(keys[i], previousValues[i]);
+          }
+        }
+        case UPDATER_DELETION -> ((Set<Object>) target).remove(keys[i]);
+        default ->
+            ((JournaledAccount.State) target)
+                .revert(kinds[i], keys[i], previousValues[i], previousLongs[i]);
+      }
+      targets[i] = null;
+      keys[i] = null;
+      previousValues[i] = null;
+    }
+    size = Math.min(size, checkpoint);
+  }
+}
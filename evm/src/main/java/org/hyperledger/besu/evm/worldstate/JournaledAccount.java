@@ -16,9 +16,6 @@ package org.hyperledger.besu.evm.worldstate;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import org.hyperledger.besu.collections.undo.UndoNavigableMap;
-import org.hyperledger.besu.collections.undo.UndoScalar;
-import org.hyperledger.besu.collections.undo.Undoable;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
@@ -26,6 +23,7 @@ import org.hyperledger.besu.evm.ModificationNotAllowedException;
 import org.hyperledger.besu.evm.account.AccountStorageEntry;
 import org.hyperledger.besu.evm.account.MutableAccount;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
@@ -43,46 +41,90 @@ import org.apache.tuweni.units.bigints.UInt256;
  * remind if those were modified or not (the reason being that any modification of an account imply
  * the underlying trie node will have to be updated, and so knowing if the nonce and balance where
  * updated or not doesn't matter, we just need their new value).
+ *
+ * <p>Changes are recorded in the {@link Journal} of the updater the account belongs to, which
+ * reverts them.
  */
-public class JournaledAccount implements MutableAccount, Undoable {
+public class JournaledAccount implements MutableAccount {
   private final Address address;
   private final Hash addressHash;
+  private final Journal journal;
+  // shared with the journaled accounts wrapping this one
+  private final State state;
 
   @Nullable private MutableAccount account;
 
   private long transactionBoundaryMark;
-  private final UndoScalar<Long> nonce;
-  private final UndoScalar<Wei> balance;
-  private final UndoScalar<Bytes> code;
-  private final UndoScalar<Hash> codeHash;
-  private final UndoScalar<Boolean> deleted;
-
-  // Only contains updated storage entries, but may contain entry with a value of 0 to signify
-  // deletion.
-  private final UndoNavigableMap<UInt256, UInt256> updatedStorage;
   private boolean storageWasCleared = false;
 
   boolean immutable;
 
+  /** The values of an account, which its journal entries change and revert. */
+  static final class State {
+    private long nonce;
+    private Wei balance;
+    private Bytes code;
+    private Hash codeHash;
+    private boolean deleted;
+    // the clock of the journal when the code was last set, 0 if it was not
+    private long codeUpdate;
+
+    // Only contains updated storage entries, but may contain entry with a value of 0 to signify
+    // deletion.
+    private final NavigableMap<UInt256, UInt256> updatedStorage = new TreeMap<>();
+
+    private State(final long nonce, final Wei balance, final Bytes code, final Hash codeHash) {
+      this.nonce = nonce;
+      this.balance = balance;
+      this.code = code;
+      this.codeHash = codeHash;
+    }
+
+    /**
+     * Undoes a change recorded in the journal.
+     *
+     * @param kind the kind of the change
+     * @param key the key of the change
+     * @param previousValue the value replaced, if it is an object
+     * @param previousLong the value replaced, if it is a long
+     */
+    void revert(
+        final byte kind, final Object key, final Object previousValue, final long previousLong) {
+      switch (kind) {
+        case Journal.NONCE -> nonce = previousLong;
+        case Journal.BALANCE -> balance = (Wei) previousValue;
+        case Journal.CODE -> {
+          code = (Bytes) previousValue;
+          codeHash = (Hash) key;
+          codeUpdate = previousLong;
+        }
+        case Journal.DELETED -> deleted = previousLong != 0;
+        case Journal.STORAGE -> {
+          if (previousValue == null) {
+            updatedStorage.remove(key);
+          } else {
+            updatedStorage.put((UInt256) key, (UInt256) previousValue);
+          }
+        }
+        default -> throw new IllegalStateException("Unexpected journal entry kind " + kind);
+      }
+    }
+  }
+
   /**
    * Instantiates a new Update tracking account.
    *
    * @param address the address
+   * @param journal the journal recording the changes to the account
    */
-  JournaledAccount(final Address address) {
+  JournaledAccount(final Address address, final Journal journal) {
     checkNotNull(address);
     this.address = address;
     this.addressHash = this.address.addressHash();
     this.account = null;
-
-    this.nonce = UndoScalar.of(0L);
-    this.balance = UndoScalar.of(Wei.ZERO);
-
-    this.code = UndoScalar.of(Bytes.EMPTY);
-    this.codeHash = UndoScalar.of(Hash.EMPTY);
-    this.deleted = UndoScalar.of(Boolean.FALSE);
-    this.updatedStorage = UndoNavigableMap.of(new TreeMap<>());
-    this.transactionBoundaryMark = mark();
+    this.journal = journal;
+    this.state = new State(0L, Wei.ZERO, Bytes.EMPTY, Hash.EMPTY);
+    this.transactionBoundaryMark = journal.clock();
   }
 
   /**
@@ -91,37 +133,37 @@ public class JournaledAccount implements MutableAccount, Undoable {
    * @param account the account
    */
   public JournaledAccount(final MutableAccount account) {
+    this(
+        account,
+        account instanceof JournaledAccount journaledAccount
+            ? journaledAccount.journal
+            : new Journal());
+  }
+
+  /**
+   * Instantiates a new Update tracking account.
+   *
+   * @param account the account
+   * @param journal the journal recording the changes to the account, the one of the account if it
+   *     is a journaled account
+   */
+  JournaledAccount(final MutableAccount account, final Journal journal) {
     checkNotNull(account);
 
     this.address = account.getAddress();
-    this.addressHash =
-        (account instanceof JournaledAccount journaledAccount)
-            ? journaledAccount.addressHash
-            : this.address.addressHash();
     this.account = account;
+    this.journal = journal;
 
     if (account instanceof JournaledAccount that) {
-      this.nonce = that.nonce;
-      this.balance = that.balance;
-
-      this.code = that.code;
-      this.codeHash = that.codeHash;
-
-      this.deleted = that.deleted;
-
-      this.updatedStorage = that.updatedStorage;
+      this.addressHash = that.addressHash;
+      this.state = that.state;
     } else {
-      this.nonce = UndoScalar.of(account.getNonce());
-      this.balance = UndoScalar.of(account.getBalance());
-
-      this.code = UndoScalar.of(account.getCode());
-      this.codeHash = UndoScalar.of(account.getCodeHash());
-
-      this.deleted = UndoScalar.of(Boolean.FALSE);
-
-      this.updatedStorage = UndoNavigableMap.of(new TreeMap<>());
+      this.addressHash = this.address.addressHash();
+      this.state =
+          new State(
+              account.getNonce(), account.getBalance(), account.getCode(), account.getCodeHash());
     }
-    transactionBoundaryMark = mark();
+    transactionBoundaryMark = journal.clock();
   }
 
   /**
@@ -154,7 +196,7 @@ public class JournaledAccount implements MutableAccount, Undoable {
    * @return {@code true} if the code was updated.
    */
   public boolean codeWasUpdated() {
-    return code.lastUpdate() >= transactionBoundaryMark;
+    return state.codeUpdate > transactionBoundaryMark;
   }
 
   /**
@@ -165,7 +207,7 @@ public class JournaledAccount implements MutableAccount, Undoable {
    */
   @Override
   public Map<UInt256, UInt256> getUpdatedStorage() {
-    return updatedStorage;
+    return Collections.unmodifiableMap(state.updatedStorage);
   }
 
   @Override
@@ -185,7 +227,7 @@ public class JournaledAccount implements MutableAccount, Undoable {
 
   @Override
   public long getNonce() {
-    return nonce.get();
+    return state.nonce;
   }
 
   @Override
@@ -193,12 +235,15 @@ public class JournaledAccount implements MutableAccount, Undoable {
     if (immutable) {
       throw new ModificationNotAllowedException();
     }
-    nonce.set(value);
+    if (state.nonce != value) {
+      journal.record(Journal.NONCE, state, null, null, state.nonce);
+      state.nonce = value;
+    }
   }
 
   @Override
   public Wei getBalance() {
-    return balance.get();
+    return state.balance;
   }
 
   @Override
@@ -206,22 +251,25 @@ public class JournaledAccount implements MutableAccount, Undoable {
     if (immutable) {
       throw new ModificationNotAllowedException();
     }
-    balance.set(value);
+    if (!state.balance.equals(value)) {
+      journal.record(Journal.BALANCE, state, null, state.balance, 0L);
+      state.balance = value;
+    }
   }
 
   @Override
   public Bytes getCode() {
-    return code.get();
+    return state.code;
   }
 
   @Override
   public Hash getCodeHash() {
-    return codeHash.get();
+    return state.codeHash;
   }
 
   @Override
   public boolean hasCode() {
-    return !code.get().isEmpty();
+    return !state.code.isEmpty();
   }
 
   /**
@@ -233,7 +281,10 @@ public class JournaledAccount implements MutableAccount, Undoable {
     if (immutable) {
       throw new ModificationNotAllowedException();
     }
-    deleted.set(accountDeleted);
+    if (state.deleted != accountDeleted) {
+      journal.record(Journal.DELETED, state, null, null, state.deleted ? 1L : 0L);
+      state.deleted = accountDeleted;
+    }
   }
 
   /**
@@ -242,7 +293,7 @@ public class JournaledAccount implements MutableAccount, Undoable {
    * @return is the account deleted?
    */
   public Boolean getDeleted() {
-    return deleted.get();
+    return state.deleted;
   }
 
   @Override
@@ -250,18 +301,23 @@ public class JournaledAccount implements MutableAccount, Undoable {
     if (immutable) {
       throw new ModificationNotAllowedException();
     }
-    this.code.set(code == null ? Bytes.EMPTY : code);
-    this.codeHash.set(code == null ? Hash.EMPTY : Hash.hash(code));
+    final Bytes newCode = code == null ? Bytes.EMPTY : code;
+    if (!state.code.equals(newCode)) {
+      state.codeUpdate =
+          journal.record(Journal.CODE, state, state.codeHash, state.code, state.codeUpdate);
+      state.code = newCode;
+      state.codeHash = code == null ? Hash.EMPTY : Hash.hash(code);
+    }
   }
 
   /** Mark transaction boundary. */
   void markTransactionBoundary() {
-    transactionBoundaryMark = mark();
+    transactionBoundaryMark = journal.clock();
   }
 
   @Override
   public UInt256 getStorageValue(final UInt256 key) {
-    final UInt256 value = updatedStorage.get(key);
+    final UInt256 value = state.updatedStorage.get(key);
     if (value != null) {
       return value;
     }
@@ -291,7 +347,7 @@ public class JournaledAccount implements MutableAccount, Undoable {
     } else {
       entries = new TreeMap<>();
     }
-    updatedStorage.entrySet().stream()
+    state.updatedStorage.entrySet().stream()
         .map(entry -> AccountStorageEntry.forKeyAndValue(entry.getKey(), entry.getValue()))
         .filter(entry -> entry.getKeyHash().compareTo(startKeyHash) >= 0)
         .forEach(entry -> entries.put(entry.getKeyHash(), entry));
@@ -307,7 +363,10 @@ public class JournaledAccount implements MutableAccount, Undoable {
     if (immutable) {
       throw new ModificationNotAllowedException();
     }
-    updatedStorage.put(key, value);
+    final UInt256 previousValue = state.updatedStorage.put(key, value);
+    if (!value.equals(previousValue)) {
+      journal.record(Journal.STORAGE, state, key, previousValue, 0L);
+    }
   }
 
   @Override
@@ -316,7 +375,9 @@ public class JournaledAccount implements MutableAccount, Undoable {
       throw new ModificationNotAllowedException();
     }
     storageWasCleared = true;
-    updatedStorage.clear();
+    state.updatedStorage.forEach(
+        (key, value) -> journal.record(Journal.STORAGE, state, key, value, 0L));
+    state.updatedStorage.clear();
   }
 
   /**
@@ -327,7 +388,7 @@ public class JournaledAccount implements MutableAccount, Undoable {
    */
   @Override
   public boolean isStorageEmpty() {
-    return updatedStorage.isEmpty()
+    return state.updatedStorage.isEmpty()
         && (storageWasCleared || account == null || account.isStorageEmpty());
   }
 
@@ -354,54 +415,33 @@ public class JournaledAccount implements MutableAccount, Undoable {
 
   @Override
   public String toString() {
-    String storage = updatedStorage.isEmpty() ? "[not updated]" : updatedStorage.toString();
-    if (updatedStorage.isEmpty() && storageWasCleared) {
+    String storage =
+        state.updatedStorage.isEmpty() ? "[not updated]" : state.updatedStorage.toString();
+    if (state.updatedStorage.isEmpty() && storageWasCleared) {
       storage = "[cleared]";
     }
     return String.format(
         "%s -> {nonce: %s, balance:%s, code:%s, storage:%s }",
         address,
-        nonce,
-        balance,
-        code.mark() >= transactionBoundaryMark ? "[not updated]" : code.get(),
+        state.nonce,
+        state.balance,
+        codeWasUpdated() ? state.code : "[not updated]",
         storage);
   }
 
-  @Override
-  public long lastUpdate() {
-    return Math.max(
-        nonce.lastUpdate(),
-        Math.max(
-            balance.lastUpdate(),
-            Math.max(
-                code.lastUpdate(), Math.max(codeHash.lastUpdate(), updatedStorage.lastUpdate()))));
-  }
-
-  @Override
-  public void undo(final long mark) {
-    nonce.undo(mark);
-    balance.undo(mark);
-    code.undo(mark);
-    codeHash.undo(mark);
-    deleted.undo(mark);
-    updatedStorage.undo(mark);
-  }
-
   /** Commit this journaled account entry to the parent, if it is not a journaled account. */
   public void commit() {
     if (!(account instanceof JournaledAccount)) {
-      if (nonce.updated()) {
-        account.setNonce(nonce.get());
-      }
-      if (balance.updated()) {
-        account.setBalance(balance.get());
+      if (state.nonce != account.getNonce()) {
+        account.setNonce(state.nonce);
       }
-      if (code.updated()) {
-        account.setCode(code.get() == null ? Bytes.EMPTY : code.get());
+      if (!state.balance.equals(account.getBalance())) {
+        account.setBalance(state.balance);
       }
-      if (updatedStorage.updated()) {
-        updatedStorage.forEach(account::setStorageValue);
+      if (!state.codeHash.equals(account.getCodeHash())) {
+        account.setCode(state.code);
       }
+      state.updatedStorage.forEach(account::setStorageValue);
     }
   }
 }
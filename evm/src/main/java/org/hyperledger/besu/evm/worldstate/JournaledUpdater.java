@@ -14,8 +14,6 @@
  */
 package org.hyperledger.besu.evm.worldstate;
 
-import org.hyperledger.besu.collections.undo.UndoMap;
-import org.hyperledger.besu.collections.undo.UndoSet;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.evm.account.Account;
@@ -26,11 +24,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * The Journaled updater.
  *
+ * <p>The updaters nested in a journaled updater share its accounts and the {@link Journal} of their
+ * changes, so that an updater is reverted by reverting the journal to the checkpoint taken when it
+ * was created, and committed by keeping the changes.
+ *
  * @param <W> the WorldView type parameter
  */
 public class JournaledUpdater<W extends WorldView> implements WorldUpdater {
@@ -38,9 +42,10 @@ public class JournaledUpdater<W extends WorldView> implements WorldUpdater {
   final EvmConfiguration evmConfiguration;
   final WorldUpdater parentWorld;
   final AbstractWorldUpdater<W, ? extends MutableAccount> rootWorld;
-  final UndoMap<Address, JournaledAccount> accounts;
-  final UndoSet<Address> deleted;
-  final long undoMark;
+  final Map<Address, JournaledAccount> accounts;
+  final Set<Address> deleted;
+  final Journal journal;
+  final int checkpoint;
 
   /**
    * Instantiates a new Stacked updater.
@@ -56,16 +61,18 @@ public class JournaledUpdater<W extends WorldView> implements WorldUpdater {
       JournaledUpdater<W> journaledUpdater = (JournaledUpdater<W>) world;
       accounts = journaledUpdater.accounts;
       deleted = journaledUpdater.deleted;
+      journal = journaledUpdater.journal;
       rootWorld = journaledUpdater.rootWorld;
     } else if (world instanceof AbstractWorldUpdater<?, ?>) {
-      accounts = new UndoMap<>(new HashMap<>());
-      deleted = UndoSet.of(new HashSet<>());
+      accounts = new HashMap<>();
+      deleted = new HashSet<>();
+      journal = new Journal();
       rootWorld = (AbstractWorldUpdater<W, ? extends MutableAccount>) world;
     } else {
       throw new IllegalArgumentException(
           "WorldUpdater must be a JournaledWorldUpdater or an AbstractWorldUpdater");
     }
-    undoMark = accounts.mark();
+    checkpoint = journal.checkpoint();
   }
 
   /**
@@ -97,9 +104,7 @@ public class JournaledUpdater<W extends WorldView> implements WorldUpdater {
    * Remove all changes done by this layer. Rollback to the state prior to the updater's changes.
    */
   protected void reset() {
-    accounts.values().forEach(a -> a.undo(undoMark));
-    accounts.undo(undoMark);
-    deleted.undo(undoMark);
+    journal.revert(checkpoint);
   }
 
   @Override
@@ -129,8 +134,8 @@ public class JournaledUpdater<W extends WorldView> implements WorldUpdater {
   @Override
   public MutableAccount createAccount(final Address address, final long nonce, final Wei balance) {
     JournaledAccount journaledAccount =
-        new JournaledAccount(rootWorld.createAccount(address, nonce, balance));
-    accounts.put(address, journaledAccount);
+        new JournaledAccount(rootWorld.createAccount(address, nonce, balance), journal);
+    putAccount(address, journaledAccount);
     return new JournaledAccount(journaledAccount);
   }
 
@@ -150,21 +155,27 @@ public class JournaledUpdater<W extends WorldView> implements WorldUpdater {
     if (origin == null) {
       return null;
     } else {
-      var newAccount = new JournaledAccount(origin);
-      accounts.put(address, newAccount);
+      var newAccount = new JournaledAccount(origin, journal);
+      putAccount(address, newAccount);
       return newAccount;
     }
   }
 
   @Override
   public void deleteAccount(final Address address) {
-    deleted.add(address);
+    if (deleted.add(address)) {
+      journal.record(Journal.UPDATER_DELETION, deleted, address, null, 0L);
+    }
     var account = accounts.get(address);
     if (account != null) {
       account.setDeleted(true);
     }
   }
 
+  private void putAccount(final Address address, final JournaledAccount account) {
+    journal.record(Journal.UPDATER_ACCOUNT, accounts, address, accounts.put(address, account), 0L);
+  }
+
   @Override
   public Account get(final Address address) {
     final MutableAccount existing = accounts.get(address);
@@ -0,0 +1,99 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.collections.undo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+class UndoBytesSetTest {
+  private static final Bytes ADDRESS =
+      Bytes.fromHexString("0x1234567890123456789012345678901234567890");
+
+  private final UndoBytesSet subject = new UndoBytesSet(20 + 32);
+
+  @Test
+  void addsKeysOnce() {
+    assertThat(subject.add(ADDRESS, slot(1))).isTrue();
+    assertThat(subject.add(ADDRESS, slot(1))).isFalse();
+    assertThat(subject.add(Bytes.concatenate(ADDRESS, slot(1)))).isFalse();
+
+    assertThat(subject.contains(ADDRESS, slot(1))).isTrue();
+    assertThat(subject.contains(ADDRESS, slot(2))).isFalse();
+    assertThat(subject.size()).isEqualTo(1);
+    assertThat(subject.get(0)).isEqualTo(Bytes.concatenate(ADDRESS, slot(1)));
+  }
+
+  @Test
+  void findsKeysBeyondTheInlineKeys() {
+    for (int i = 0; i < 1000; i++) {
+      assertThat(subject.add(ADDRESS, slot(i))).isTrue();
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      assertThat(subject.contains(ADDRESS, slot(i))).isTrue();
+      assertThat(subject.add(ADDRESS, slot(i))).isFalse();
+    }
+    assertThat(subject.contains(ADDRESS, slot(1000))).isFalse();
+    assertThat(subject.size()).isEqualTo(1000);
+  }
+
+  @Test
+  void undoesAdditionsAfterTheMark() {
+    for (int i = 0; i < 10; i++) {
+      subject.add(ADDRESS, slot(i));
+    }
+    final long mark = subject.mark();
+    for (int i = 10; i < 100; i++) {
+      subject.add(ADDRESS, slot(i));
+    }
+    // adding a key already in the set does not move the mark
+    subject.add(ADDRESS, slot(5));
+
+    subject.undo(mark);
+
+    assertThat(subject.size()).isEqualTo(10);
+    assertThat(subject.lastUpdate()).isLessThanOrEqualTo(mark);
+    for (int i = 0; i < 100; i++) {
+      assertThat(subject.contains(ADDRESS, slot(i))).isEqualTo(i < 10);
+    }
+    // undone keys can be added again
+    assertThat(subject.add(ADDRESS, slot(50))).isTrue();
+    assertThat(subject.contains(ADDRESS, slot(50))).isTrue();
+  }
+
+  @Test
+  void undoesAllAdditions() {
+    final long mark = subject.mark();
+    subject.add(ADDRESS, slot(1));
+
+    subject.undo(mark);
+
+    assertThat(subject.isEmpty()).isTrue();
+    assertThat(subject.lastUpdate()).isZero();
+  }
+
+  @Test
+  void rejectsKeysOfAnotherLength() {
+    assertThatThrownBy(() -> subject.add(ADDRESS)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Bytes32 slot(final int slot) {
+    return Bytes32.leftPad(Bytes.ofUnsignedInt(slot));
+  }
+}
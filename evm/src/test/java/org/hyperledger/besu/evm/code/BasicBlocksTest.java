@@ -0,0 +1,192 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.evm.frame.MessageFrame.Type.MESSAGE_CALL;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.frame.BlockValues;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BasicBlocksTest {
+  // PUSH1 10, JUMPDEST, PUSH1 1, SWAP1, SUB, DUP1, PUSH1 2, JUMPI, STOP
+  private static final String COUNTDOWN_LOOP = "0x600a5b600190038060025700";
+
+  private final EVM evm =
+      MainnetEVMs.futureEips(new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, true, false));
+  private final EVM basicBlocksEvm =
+      MainnetEVMs.futureEips(new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, true, true));
+
+  @Test
+  void shouldSplitCodeIntoBlocksOfStaticOperations() {
+    final BasicBlocks blocks =
+        BasicBlocks.analyze(Bytes.fromHexString(COUNTDOWN_LOOP).toArray(), staticOperations());
+
+    // the first PUSH1 is alone before the JUMPDEST, so it is not a block
+    assertThat(blocks.size()).isEqualTo(1);
+    assertThat(blocks.blockAt(0)).isEqualTo(-1);
+    final int block = blocks.blockAt(2);
+    assertThat(block).isZero();
+    assertThat(blocks.end(block)).isEqualTo(10);
+    assertThat(blocks.gasCost(block)).isEqualTo(1 + 3 + 3 + 3 + 3 + 3);
+    assertThat(blocks.minStackHeight(block)).isEqualTo(1);
+    assertThat(blocks.maxStackGrowth(block)).isEqualTo(2);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        COUNTDOWN_LOOP,
+        // stack underflow in the middle of a block: PUSH1 1, ADD, ADD
+        "0x60010101",
+        // PUSH1 1, PUSH1 2, ADD, PUSH1 3, MUL, DUP1, EXP, PUSH1 5, SWAP1, POP
+        "0x600160020160030280600a6005905000",
+        // truncated PUSH at the end of the code
+        "0x6001600261ff",
+        // JUMPDEST in push data is not a block start: PUSH2 0x5b5b, PUSH1 1, ADD, JUMPDEST, POP
+        "0x615b5b6001015b50"
+      })
+  void shouldRunLikeOneOperationAtATime(final String code) {
+    for (long gas = 0; gas < 400; gas++) {
+      final MessageFrame expected = run(evm, code, gas);
+      final MessageFrame actual = run(basicBlocksEvm, code, gas);
+
+      assertThat(actual.getState()).as("state with gas %s", gas).isEqualTo(expected.getState());
+      assertThat(actual.getExceptionalHaltReason())
+          .as("halt reason with gas %s", gas)
+          .isEqualTo(expected.getExceptionalHaltReason());
+      assertThat(actual.getRemainingGas())
+          .as("remaining gas with gas %s", gas)
+          .isEqualTo(expected.getRemainingGas());
+      assertThat(actual.getPC()).as("pc with gas %s", gas).isEqualTo(expected.getPC());
+      assertThat(stack(actual)).as("stack with gas %s", gas).isEqualTo(stack(expected));
+    }
+  }
+
+  @Test
+  void shouldKeepStackBoundsAboveTheDefaultStackSize() {
+    // 1101 times PUSH1 0, then 1101 times POP
+    final String code = "0x" + "6000".repeat(1101) + "50".repeat(1101);
+    final BasicBlocks blocks =
+        BasicBlocks.analyze(Bytes.fromHexString(code).toArray(), staticOperations());
+
+    assertThat(blocks.size()).isEqualTo(1);
+    assertThat(blocks.maxStackGrowth(0)).isEqualTo(1101);
+
+    // with a larger configured stack, the block still overflows it like one operation at a time
+    final MessageFrame expected = run(evm, code, 100_000, 1100);
+    final MessageFrame actual = run(basicBlocksEvm, code, 100_000, 1100);
+
+    assertThat(expected.getExceptionalHaltReason())
+        .contains(ExceptionalHaltReason.TOO_MANY_STACK_ITEMS);
+    assertThat(actual.getExceptionalHaltReason()).isEqualTo(expected.getExceptionalHaltReason());
+    assertThat(actual.getPC()).isEqualTo(expected.getPC());
+    assertThat(actual.getRemainingGas()).isEqualTo(expected.getRemainingGas());
+  }
+
+  @Test
+  void shouldCacheBlocksWithTheCode() {
+    final CodeV0 code = (CodeV0) evm.wrapCode(Bytes.fromHexString(COUNTDOWN_LOOP));
+    final BasicBlocks.StaticOperations staticOperations = staticOperations();
+
+    assertThat(code.getBasicBlocks(staticOperations))
+        .isSameAs(code.getBasicBlocks(staticOperations));
+  }
+
+  /** The static operations used by the tests: ADD, SUB, POP, JUMPDEST, PUSHs, DUPs and SWAPs. */
+  private BasicBlocks.StaticOperations staticOperations() {
+    final long[] gasCosts = new long[256];
+    final int[] stackItemsConsumed = new int[256];
+    final int[] stackItemsProduced = new int[256];
+    Arrays.fill(gasCosts, -1);
+    final Operation[] operations = evm.getOperationsUnsafe();
+    for (int opcode = 0; opcode < 256; opcode++) {
+      final Operation operation = operations[opcode];
+      if (opcode == 0x01
+          || opcode == 0x03
+          || opcode == 0x50
+          || opcode == 0x5b
+          || (opcode >= 0x60 && opcode <= 0x9f)) {
+        gasCosts[opcode] = operation.getConstantGasCost().orElseThrow();
+        stackItemsConsumed[opcode] = operation.getStackItemsConsumed();
+        stackItemsProduced[opcode] = operation.getStackItemsProduced();
+      }
+    }
+    return new BasicBlocks.StaticOperations(gasCosts, stackItemsConsumed, stackItemsProduced);
+  }
+
+  private static MessageFrame run(final EVM evm, final String code, final long gas) {
+    return run(evm, code, gas, MessageFrame.DEFAULT_MAX_STACK_SIZE);
+  }
+
+  private static MessageFrame run(
+      final EVM evm, final String code, final long gas, final int maxStackSize) {
+    final MessageFrame frame = frame(evm.wrapCode(Bytes.fromHexString(code)), gas, maxStackSize);
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    return frame;
+  }
+
+  private static List<Bytes> stack(final MessageFrame frame) {
+    final List<Bytes> items = new ArrayList<>();
+    for (int i = 0; i < frame.stackSize(); i++) {
+      items.add(frame.getStackItem(i));
+    }
+    return items;
+  }
+
+  private static MessageFrame frame(final Code code, final long gas, final int maxStackSize) {
+    return MessageFrame.builder()
+        .type(MESSAGE_CALL)
+        .worldUpdater(mock(WorldUpdater.class))
+        .initialGas(gas)
+        .address(Address.ZERO)
+        .originator(Address.ZERO)
+        .contract(Address.ZERO)
+        .gasPrice(Wei.ZERO)
+        .inputData(Bytes.EMPTY)
+        .sender(Address.ZERO)
+        .value(Wei.ZERO)
+        .apparentValue(Wei.ZERO)
+        .code(code)
+        .blockValues(mock(BlockValues.class))
+        .completer(f -> {})
+        .miningBeneficiary(Address.ZERO)
+        .blockHashLookup((__, ___) -> Hash.EMPTY)
+        .maxStackSize(maxStackSize)
+        .build();
+  }
+}
@@ -15,10 +15,18 @@
 package org.hyperledger.besu.evm.code;
 
 import static org.hyperledger.besu.evm.frame.MessageFrame.Type.MESSAGE_CALL;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
@@ -27,6 +35,7 @@ import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.MainnetEVMs;
 import org.hyperledger.besu.evm.frame.BlockValues;
 import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.CodeAnalysisStore;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.evm.operation.JumpOperation;
 import org.hyperledger.besu.evm.operation.Operation.OperationResult;
@@ -69,6 +78,32 @@ class CodeV0Test {
     Mockito.verify(getsCached, times(1)).calculateJumpDestBitMask();
   }
 
+  @Test
+  void shouldReadJumpDestMapFromAnalysisStore() {
+    final CodeV0 code = (CodeV0) spy(evm.wrapCode(Bytes.fromHexString("0x6003565b00")));
+    final CodeAnalysisStore store = mock(CodeAnalysisStore.class);
+    when(store.getJumpDestBitMask(code.getCodeHash())).thenReturn(new long[] {1L << 3});
+    code.setAnalysisStore(store);
+
+    assertFalse(code.isJumpDestInvalid(3));
+    assertTrue(code.isJumpDestInvalid(2));
+    Mockito.verify(code, never()).calculateJumpDestBitMask();
+    Mockito.verify(store, never()).putJumpDestBitMask(any(), any(), anyLong());
+  }
+
+  @Test
+  void shouldWriteJumpDestMapMissingFromAnalysisStore() {
+    final CodeV0 code = (CodeV0) spy(evm.wrapCode(Bytes.fromHexString("0x6003565b00")));
+    final CodeAnalysisStore store = mock(CodeAnalysisStore.class);
+    code.setAnalysisStore(store);
+
+    assertFalse(code.isJumpDestInvalid(3));
+    assertFalse(code.isJumpDestInvalid(3));
+    Mockito.verify(code, times(1)).calculateJumpDestBitMask();
+    Mockito.verify(store, times(1))
+        .putJumpDestBitMask(eq(code.getCodeHash()), aryEq(new long[] {1L << 3}), anyLong());
+  }
+
   @NotNull
   private MessageFrame createJumpFrame(final CodeV0 getsCached) {
     final MessageFrame frame =
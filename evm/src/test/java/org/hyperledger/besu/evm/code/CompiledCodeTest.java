@@ -0,0 +1,217 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.evm.frame.MessageFrame.Type.MESSAGE_CALL;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.frame.BlockValues;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompiledCodeTest {
+  // PUSH1 10, JUMPDEST, PUSH1 1, SWAP1, SUB, DUP1, PUSH1 2, JUMPI, STOP
+  private static final String COUNTDOWN_LOOP = "0x600a5b600190038060025700";
+
+  private final EVM evm =
+      MainnetEVMs.futureEips(new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, true, false));
+  private final EVM compilingEvm =
+      MainnetEVMs.futureEips(
+          new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, true, false, 1));
+
+  @Test
+  void shouldCompileBlocksWithTheirJumps() {
+    final CodeV0 code = (CodeV0) evm.wrapCode(Bytes.fromHexString(COUNTDOWN_LOOP));
+    final CompiledCode compiled =
+        CompiledCode.compile(code, code.getBasicBlocks(staticOperations()), 8, 10);
+
+    final int block = compiled.blockAt(2);
+    assertThat(block).isZero();
+    // the JUMPDEST and the PUSH of the jump destination are not run
+    assertThat(compiled.endOperation(block) - compiled.firstOperation(block)).isEqualTo(4);
+    assertThat(compiled.pushValue(compiled.firstOperation(block)))
+        .isEqualTo(Bytes.fromHexString("0x01"));
+    assertThat(compiled.gasCost(block)).isEqualTo(1 + 3 + 3 + 3 + 3 + 3 + 10);
+    assertThat(compiled.minStackHeight(block)).isEqualTo(1);
+    assertThat(compiled.maxStackGrowth(block)).isEqualTo(1);
+    assertThat(compiled.exit(block)).isEqualTo(CompiledCode.JUMPI);
+    assertThat(compiled.jumpTarget(block)).isEqualTo(2);
+    assertThat(compiled.jumpTargetBlock(block)).isEqualTo(block);
+    assertThat(compiled.exitPc(block)).isEqualTo(11);
+  }
+
+  @Test
+  void shouldNotCompileJumpsToInvalidDestinations() {
+    // JUMPDEST, PUSH1 0, POP, PUSH1 1, JUMP
+    final CodeV0 code = (CodeV0) evm.wrapCode(Bytes.fromHexString("0x5b6000506001565b"));
+    final CompiledCode compiled =
+        CompiledCode.compile(code, code.getBasicBlocks(staticOperations()), 8, 10);
+
+    assertThat(compiled.exit(0)).isEqualTo(CompiledCode.FALL_THROUGH);
+    assertThat(compiled.exitPc(0)).isEqualTo(6);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        COUNTDOWN_LOOP,
+        // stack underflow in the middle of a block: PUSH1 1, ADD, ADD
+        "0x60010101",
+        // PUSH1 1, PUSH1 2, ADD, PUSH1 3, MUL, DUP1, EXP, PUSH1 5, SWAP1, POP
+        "0x600160020160030280600a6005905000",
+        // truncated PUSH at the end of the code
+        "0x6001600261ff",
+        // jump to an invalid destination: PUSH1 1, PUSH1 4, JUMP, JUMPDEST
+        "0x60016004565b",
+        // missing condition of a compiled jump: JUMPDEST, PUSH1 0, JUMPI
+        "0x5b600057",
+        // jump to the end of a loop: PUSH1 3, PUSH1 9, JUMP, JUMPDEST, PUSH1 1, ADD, JUMPDEST, STOP
+        "0x60036009565b6001015b00",
+        // JUMPDEST in push data is not a block start: PUSH2 0x5b5b, PUSH1 1, ADD, JUMPDEST, POP
+        "0x615b5b6001015b50"
+      })
+  void shouldRunLikeOneOperationAtATime(final String code) {
+    for (long gas = 0; gas < 400; gas++) {
+      final MessageFrame expected = run(evm, code, gas);
+      final MessageFrame actual = run(compilingEvm, code, gas);
+
+      assertThat(actual.getState()).as("state with gas %s", gas).isEqualTo(expected.getState());
+      assertThat(actual.getExceptionalHaltReason())
+          .as("halt reason with gas %s", gas)
+          .isEqualTo(expected.getExceptionalHaltReason());
+      assertThat(actual.getRemainingGas())
+          .as("remaining gas with gas %s", gas)
+          .isEqualTo(expected.getRemainingGas());
+      assertThat(actual.getPC()).as("pc with gas %s", gas).isEqualTo(expected.getPC());
+      assertThat(stack(actual)).as("stack with gas %s", gas).isEqualTo(stack(expected));
+    }
+  }
+
+  @Test
+  void shouldOverflowOnTheDestinationOfACompiledJumpLikeOneOperationAtATime() {
+    // 1024 times PUSH1 0, then JUMPDEST, PUSH2 0x0804, JUMP, JUMPDEST, STOP
+    final String code = "0x" + "6000".repeat(1024) + "5b610804565b00";
+    final CodeV0 compiledCode = (CodeV0) evm.wrapCode(Bytes.fromHexString(code));
+    final CompiledCode compiled =
+        CompiledCode.compile(compiledCode, compiledCode.getBasicBlocks(staticOperations()), 8, 10);
+    final int jumpBlock = compiled.blockAt(2048);
+    assertThat(compiled.exit(jumpBlock)).isEqualTo(CompiledCode.JUMP);
+    assertThat(compiled.maxStackGrowth(jumpBlock)).isEqualTo(1);
+
+    final MessageFrame expected = run(evm, code, 10_000);
+    final MessageFrame actual = run(compilingEvm, code, 10_000);
+
+    assertThat(expected.getExceptionalHaltReason())
+        .contains(ExceptionalHaltReason.TOO_MANY_STACK_ITEMS);
+    assertThat(actual.getExceptionalHaltReason()).isEqualTo(expected.getExceptionalHaltReason());
+    assertThat(actual.getPC()).isEqualTo(expected.getPC());
+    assertThat(actual.getRemainingGas()).isEqualTo(expected.getRemainingGas());
+  }
+
+  @Test
+  void shouldCountExecutions() {
+    final CodeV0 code = (CodeV0) evm.wrapCode(Bytes.fromHexString(COUNTDOWN_LOOP));
+
+    assertThat(code.recordExecution()).isEqualTo(1);
+    assertThat(code.recordExecution()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldCacheCompiledCodeWithTheCode() {
+    final CodeV0 code = (CodeV0) evm.wrapCode(Bytes.fromHexString(COUNTDOWN_LOOP));
+    final BasicBlocks.StaticOperations staticOperations = staticOperations();
+
+    assertThat(code.getCompiledCode(staticOperations, 8, 10))
+        .isSameAs(code.getCompiledCode(staticOperations, 8, 10));
+  }
+
+  /** The static operations used by the tests: ADD, SUB, POP, JUMPDEST, PUSHs, DUPs and SWAPs. */
+  private BasicBlocks.StaticOperations staticOperations() {
+    final long[] gasCosts = new long[256];
+    final int[] stackItemsConsumed = new int[256];
+    final int[] stackItemsProduced = new int[256];
+    Arrays.fill(gasCosts, -1);
+    final Operation[] operations = evm.getOperationsUnsafe();
+    for (int opcode = 0; opcode < 256; opcode++) {
+      final Operation operation = operations[opcode];
+      if (opcode == 0x01
+          || opcode == 0x03
+          || opcode == 0x50
+          || opcode == 0x5b
+          || (opcode >= 0x60 && opcode <= 0x9f)) {
+        gasCosts[opcode] = operation.getConstantGasCost().orElseThrow();
+        stackItemsConsumed[opcode] = operation.getStackItemsConsumed();
+        stackItemsProduced[opcode] = operation.getStackItemsProduced();
+      }
+    }
+    return new BasicBlocks.StaticOperations(gasCosts, stackItemsConsumed, stackItemsProduced);
+  }
+
+  private static MessageFrame run(final EVM evm, final String code, final long gas) {
+    final MessageFrame frame = frame(evm.wrapCode(Bytes.fromHexString(code)), gas);
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    return frame;
+  }
+
+  private static List<Bytes> stack(final MessageFrame frame) {
+    final List<Bytes> items = new ArrayList<>();
+    for (int i = 0; i < frame.stackSize(); i++) {
+      items.add(frame.getStackItem(i));
+    }
+    return items;
+  }
+
+  private static MessageFrame frame(final Code code, final long gas) {
+    return MessageFrame.builder()
+        .type(MESSAGE_CALL)
+        .worldUpdater(mock(WorldUpdater.class))
+        .initialGas(gas)
+        .address(Address.ZERO)
+        .originator(Address.ZERO)
+        .contract(Address.ZERO)
+        .gasPrice(Wei.ZERO)
+        .inputData(Bytes.EMPTY)
+        .sender(Address.ZERO)
+        .value(Wei.ZERO)
+        .apparentValue(Wei.ZERO)
+        .code(code)
+        .blockValues(mock(BlockValues.class))
+        .completer(f -> {})
+        .miningBeneficiary(Address.ZERO)
+        .blockHashLookup((__, ___) -> Hash.EMPTY)
+        .build();
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.precompile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.precompile.AbstractPrecompiledContract.CacheEvent;
+import org.hyperledger.besu.evm.precompile.AbstractPrecompiledContract.CacheMetric;
+import org.hyperledger.besu.evm.precompile.PrecompiledContract.PrecompileContractResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AbstractPrecompiledContractTest {
+  private static final Bytes INPUT = Bytes.fromHexString("0x0102030405");
+
+  private final List<CacheEvent> events = new ArrayList<>();
+  private final AtomicInteger computations = new AtomicInteger();
+  private final Function<Bytes, PrecompileContractResult> reverse =
+      input -> {
+        computations.incrementAndGet();
+        return PrecompileContractResult.success(input.reverse());
+      };
+
+  @BeforeEach
+  void setUp() {
+    AbstractPrecompiledContract.clearResultCache();
+    AbstractPrecompiledContract.setCacheEventConsumer(events::add);
+    AbstractPrecompiledContract.setPrecompileCaching(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    AbstractPrecompiledContract.setPrecompileCaching(false);
+    AbstractPrecompiledContract.setCachedPrecompiles(Set.of());
+    AbstractPrecompiledContract.setCacheEventConsumer(__ -> {});
+    AbstractPrecompiledContract.clearResultCache();
+  }
+
+  @Test
+  void shouldComputeResultOnceAndReportMissThenHit() {
+    final PrecompileContractResult first =
+        AbstractPrecompiledContract.cachedResult("TEST", INPUT, reverse);
+    final PrecompileContractResult second =
+        AbstractPrecompiledContract.cachedResult("TEST", INPUT.copy(), reverse);
+
+    assertThat(first.output()).isEqualTo(INPUT.reverse());
+    assertThat(second).isEqualTo(first);
+    assertThat(computations).hasValue(1);
+    assertThat(events)
+        .extracting(CacheEvent::cacheMetric)
+        .containsExactly(CacheMetric.MISS, CacheMetric.HIT);
+  }
+
+  @Test
+  void shouldKeepResultsOfPrecompilesApart() {
+    AbstractPrecompiledContract.cachedResult("TEST", INPUT, reverse);
+    AbstractPrecompiledContract.cachedResult("OTHER", INPUT, reverse);
+
+    assertThat(computations).hasValue(2);
+  }
+
+  @Test
+  void shouldOnlyCacheEnabledPrecompiles() {
+    AbstractPrecompiledContract.setCachedPrecompiles(Set.of("OTHER"));
+
+    AbstractPrecompiledContract.cachedResult("TEST", INPUT, reverse);
+    AbstractPrecompiledContract.cachedResult("TEST", INPUT, reverse);
+
+    assertThat(AbstractPrecompiledContract.isResultCachingEnabled("TEST")).isFalse();
+    assertThat(AbstractPrecompiledContract.isResultCachingEnabled("OTHER")).isTrue();
+    assertThat(computations).hasValue(2);
+    assertThat(events).isEmpty();
+  }
+
+  @Test
+  void shouldNotCacheWhenCachingIsDisabled() {
+    AbstractPrecompiledContract.setPrecompileCaching(false);
+
+    AbstractPrecompiledContract.cachedResult("TEST", INPUT, reverse);
+    AbstractPrecompiledContract.cachedResult("TEST", INPUT, reverse);
+
+    assertThat(computations).hasValue(2);
+    assertThat(events).isEmpty();
+  }
+
+  @Test
+  void shouldNotCacheHalts() {
+    final Function<Bytes, PrecompileContractResult> halt =
+        input -> {
+          computations.incrementAndGet();
+          return PrecompileContractResult.halt(
+              null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR));
+        };
+
+    AbstractPrecompiledContract.cachedResult("TEST", INPUT, halt);
+    AbstractPrecompiledContract.cachedResult("TEST", INPUT, halt);
+
+    assertThat(computations).hasValue(2);
+    assertThat(events)
+        .extracting(CacheEvent::cacheMetric)
+        .containsExactly(CacheMetric.MISS, CacheMetric.MISS);
+  }
+}
@@ -56,6 +56,33 @@ class AltBN128PairingPrecompiledContractTest {
     assertThat(result).isEqualTo(AltBN128PairingPrecompiledContract.TRUE);
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  void compute_javaMillerLoopsOfManyPairs(final int parallelism) {
+    AbstractAltBnPrecompiledContract.disableNative();
+    final int defaultParallelism = AltBN128PairingPrecompiledContract.getParallelism();
+    AltBN128PairingPrecompiledContract.setParallelism(parallelism);
+    try {
+      final Bytes validPoints = validPointBytes();
+      // e(P, Q) alone is not one, while each copy of the valid points cancels itself out
+      final Bytes generators = validPoints.slice(0, 192);
+      assertThat(
+              byzantiumContract
+                  .computePrecompile(
+                      Bytes.concatenate(validPoints, validPoints, validPoints), messageFrame)
+                  .output())
+          .isEqualTo(AltBN128PairingPrecompiledContract.TRUE);
+      assertThat(
+              byzantiumContract
+                  .computePrecompile(
+                      Bytes.concatenate(validPoints, generators, validPoints), messageFrame)
+                  .output())
+          .isEqualTo(AltBN128PairingPrecompiledContract.FALSE);
+    } finally {
+      AltBN128PairingPrecompiledContract.setParallelism(defaultParallelism);
+    }
+  }
+
   Bytes validPointBytes() {
     final Bytes g1Point0 =
         Bytes.concatenate(
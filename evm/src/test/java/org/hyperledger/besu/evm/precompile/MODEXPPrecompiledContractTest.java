@@ -176,6 +176,22 @@ class MODEXPPrecompiledContractTest {
     testComputation(inputString, precompiledResult);
   }
 
+  @ParameterizedTest
+  @MethodSource("parameters")
+  void testPrecompiledContractJavaMontgomery(
+      final String inputString,
+      final String precompiledResult,
+      final Long eip198Gas,
+      final Long eip2565Gas) {
+    BigIntegerModularExponentiationPrecompiledContract.disableNative();
+    BigIntegerModularExponentiationPrecompiledContract.enableMontgomery();
+    try {
+      testComputation(inputString, precompiledResult);
+    } finally {
+      BigIntegerModularExponentiationPrecompiledContract.disableMontgomery();
+    }
+  }
+
   private void testComputation(final String inputString, final String precompiledResult) {
     assumeThat(precompiledResult).isNotNull();
     final Bytes input = Bytes.fromHexString(inputString);
@@ -0,0 +1,88 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.precompile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MontgomeryModExpTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 8, 9, 32, 64, 128, 256, 512, 1024})
+  void shouldMatchBigIntegerForRandomOperands(final int modulusLength) {
+    final Random random = new Random(modulusLength);
+    for (int i = 0; i < 20; i++) {
+      final byte[] modulus = randomBytes(random, modulusLength);
+      modulus[modulusLength - 1] |= 1;
+      assertMatchesBigInteger(
+          randomBytes(random, random.nextInt(modulusLength + 16)),
+          randomBytes(random, random.nextInt(40)),
+          modulus);
+    }
+  }
+
+  @Test
+  void shouldMatchBigIntegerForEdgeCases() {
+    final byte[] allOnes = new byte[64];
+    Arrays.fill(allOnes, (byte) 0xff);
+    final byte[] one = {0, 0, 1};
+
+    // modulus of one, zero exponent, zero base, base wider than the modulus, leading zeros
+    assertMatchesBigInteger(allOnes, allOnes, one);
+    assertMatchesBigInteger(allOnes, new byte[4], allOnes);
+    assertMatchesBigInteger(new byte[0], allOnes, allOnes);
+    assertMatchesBigInteger(allOnes, allOnes, new byte[] {0, 0, 0, 0, 0, 0, 0, 0, 0, 0x35});
+    assertMatchesBigInteger(allOnes, new byte[] {2}, Arrays.copyOf(allOnes, 33));
+  }
+
+  @Test
+  void shouldRejectUnsupportedModulus() {
+    final byte[] base = {2};
+    final byte[] exponent = {3};
+    final byte[] evenModulus = {4};
+    final byte[] wideModulus = new byte[MontgomeryModExp.MAX_MODULUS_LENGTH + 1];
+    wideModulus[wideModulus.length - 1] = 1;
+
+    assertThatThrownBy(() -> MontgomeryModExp.modExp(base, exponent, evenModulus))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> MontgomeryModExp.modExp(base, exponent, wideModulus))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static void assertMatchesBigInteger(
+      final byte[] base, final byte[] exponent, final byte[] modulus) {
+    final BigInteger expected =
+        new BigInteger(1, base).modPow(new BigInteger(1, exponent), new BigInteger(1, modulus));
+
+    final byte[] result = MontgomeryModExp.modExp(base, exponent, modulus);
+
+    assertThat(result).hasSize(modulus.length);
+    assertThat(new BigInteger(1, result)).isEqualTo(expected);
+  }
+
+  private static byte[] randomBytes(final Random random, final int length) {
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -70,6 +70,7 @@ public class RocksDBColumnarKeyValueSnapshot
   private final RocksDBMetrics metrics;
   private final Function<SegmentIdentifier, ColumnFamilyHandle> columnFamilyMapper;
   private final ReadOptions readOptions;
+  private final ReadOptions rangeScanReadOptions;
 
   /**
    * Instantiates a new RocksDb columnar key value snapshot.
@@ -89,6 +90,11 @@ public class RocksDBColumnarKeyValueSnapshot
     this.snapshot = new RocksDBSnapshot(db);
     this.readOptions =
         new ReadOptions().setVerifyChecksums(false).setSnapshot(snapshot.getSnapshot());
+    this.rangeScanReadOptions =
+        new ReadOptions()
+            .setVerifyChecksums(false)
+            .setSnapshot(snapshot.getSnapshot())
+            .setReadaheadSize(RocksDBColumnarKeyValueStorage.RANGE_SCAN_READAHEAD_SIZE);
     if (isReadCacheEnabledForSnapshots) {
       maybeCache =
           Optional.of(
@@ -178,7 +184,7 @@ public class RocksDBColumnarKeyValueSnapshot
     throwIfClosed();
 
     final RocksIterator rocksIterator =
-        db.newIterator(columnFamilyMapper.apply(segment), readOptions);
+        db.newIterator(columnFamilyMapper.apply(segment), rangeScanReadOptions);
     rocksIterator.seek(startKey);
     return RocksDbIterator.create(rocksIterator).toStream();
   }
@@ -190,7 +196,7 @@ public class RocksDBColumnarKeyValueSnapshot
     final Bytes endKeyBytes = Bytes.wrap(endKey);
 
     final RocksIterator rocksIterator =
-        db.newIterator(columnFamilyMapper.apply(segment), readOptions);
+        db.newIterator(columnFamilyMapper.apply(segment), rangeScanReadOptions);
     rocksIterator.seek(startKey);
     return RocksDbIterator.create(rocksIterator)
         .toStream()
@@ -257,6 +263,7 @@ public class RocksDBColumnarKeyValueSnapshot
     if (closed.compareAndSet(false, true)) {
       closed.set(true);
       readOptions.close();
+      rangeScanReadOptions.close();
       snapshot.close();
     }
   }
@@ -0,0 +1,97 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.testfuzz;
+
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.EvmSpecVersion;
+import org.hyperledger.besu.evm.fluent.EvmSpec;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.precompile.BigIntegerModularExponentiationPrecompiledContract;
+import org.hyperledger.besu.evm.precompile.PrecompiledContract;
+import org.hyperledger.besu.evm.precompile.PrecompiledContract.PrecompileContractResult;
+import org.hyperledger.besu.testfuzz.javafuzz.FuzzTarget;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * ModExp fuzz target, comparing the Montgomery engine of the modexp precompile to its BigInteger
+ * implementation.
+ *
+ * <p>The first six bytes of the fuzz data are the base, exponent and modulus lengths, two bytes
+ * each and bounded by EIP-7823, and the rest is the base, exponent and modulus themselves. The
+ * precompile reads past the end of short data as zeros, so truncated parameters are covered too.
+ *
+ * <p><b>THREAD SAFETY:</b> This class toggles the engine of the precompile with static methods, so
+ * it is designed for single-threaded use, as the javafuzz framework executes fuzz() calls
+ * sequentially.
+ */
+public class ModExpFuzzTarget implements FuzzTarget {
+
+  private static final int MAX_LENGTH = 1024;
+  // bounds the exponent more tightly, so that each run stays short
+  private static final int MAX_EXPONENT_LENGTH = 128;
+
+  private final PrecompiledContract modExp =
+      EvmSpec.evmSpec(EvmSpecVersion.OSAKA).getPrecompileContractRegistry().get(Address.MODEXP);
+  private final MessageFrame messageFrame = mock(MessageFrame.class);
+
+  /** Instantiates the fuzz target, using the Java implementations of the precompile. */
+  public ModExpFuzzTarget() {
+    BigIntegerModularExponentiationPrecompiledContract.disableNative();
+  }
+
+  @Override
+  public void fuzz(final byte[] data) {
+    if (data.length < 6) {
+      return;
+    }
+    final int baseLength = length(data, 0) % (MAX_LENGTH + 1);
+    final int exponentLength = length(data, 2) % (MAX_EXPONENT_LENGTH + 1);
+    final int modulusLength = length(data, 4) % (MAX_LENGTH + 1);
+    final Bytes input =
+        Bytes.concatenate(
+            Bytes32.leftPad(Bytes.ofUnsignedInt(baseLength)),
+            Bytes32.leftPad(Bytes.ofUnsignedInt(exponentLength)),
+            Bytes32.leftPad(Bytes.ofUnsignedInt(modulusLength)),
+            Bytes.wrap(data, 6, data.length - 6));
+
+    final PrecompileContractResult expected;
+    final PrecompileContractResult actual;
+    try {
+      BigIntegerModularExponentiationPrecompiledContract.disableMontgomery();
+      expected = modExp.computePrecompile(input, messageFrame);
+      BigIntegerModularExponentiationPrecompiledContract.enableMontgomery();
+      actual = modExp.computePrecompile(input, messageFrame);
+    } finally {
+      BigIntegerModularExponentiationPrecompiledContract.disableMontgomery();
+    }
+
+    if (!expected.output().equals(actual.output())) {
+      throw new IllegalStateException(
+          String.format(
+              "MODEXP DISCREPANCY! BigInteger: %s, Montgomery: %s, Input: %s",
+              expected.output().toHexString(),
+              actual.output().toHexString(),
+              input.toHexString()));
+    }
+  }
+
+  private static int length(final byte[] data, final int offset) {
+    return ((data[offset] & 0xff) << 8) | (data[offset + 1] & 0xff);
+  }
+}
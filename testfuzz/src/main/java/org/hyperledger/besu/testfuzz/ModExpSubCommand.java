@@ -0,0 +1,79 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.testfuzz;
+
+import org.hyperledger.besu.testfuzz.javafuzz.Fuzzer;
+
+import java.io.File;
+
+import picocli.CommandLine;
+
+/** ModExp precompiled contract fuzzer subcommand */
+@CommandLine.Command(
+    name = "modexp",
+    description = "Fuzz the Montgomery engine of the ModExp precompiled contract",
+    mixinStandardHelpOptions = true,
+    versionProvider = VersionProvider.class)
+@SuppressWarnings({"java:S106", "java:S108"}) // we use lots the console, on purpose
+public class ModExpSubCommand implements Runnable {
+
+  /** Default constructor for ModExpSubCommand. */
+  public ModExpSubCommand() {
+    // Default constructor
+  }
+
+  @CommandLine.Option(
+      names = {"--corpus-dir"},
+      description = "Directory to store corpus files (fuzzer inputs that found new coverage)")
+  private File corpusDir = new File("corpus");
+
+  @CommandLine.Option(
+      names = {"--new-corpus-dir"},
+      description = "Directory to store new corpus files discovered during fuzzing")
+  private File newCorpusDir = new File("new-corpus");
+
+  @CommandLine.Option(
+      names = {"--guidance-regexp"},
+      description = "Regular expression to match class names for coverage guidance")
+  private String guidanceRegexp = "org/hyperledger/besu/evm/precompile";
+
+  @Override
+  public void run() {
+    System.out.println("Starting ModExp precompiled contract fuzzer...");
+    System.out.printf("Corpus directory: %s%n", corpusDir.getAbsolutePath());
+    System.out.printf("New corpus directory: %s%n", newCorpusDir.getAbsolutePath());
+    System.out.printf("Guidance regexp: %s%n", guidanceRegexp);
+
+    corpusDir.mkdirs();
+    newCorpusDir.mkdirs();
+
+    try {
+      new Fuzzer(
+              new ModExpFuzzTarget(),
+              corpusDir.getAbsolutePath(),
+              () -> "",
+              guidanceRegexp,
+              newCorpusDir)
+          .start();
+    } catch (ClassNotFoundException e) {
+      System.err.println("JaCoCo agent not found. Make sure jacocoagent.jar is in the classpath.");
+      System.exit(1);
+    } catch (Exception e) {
+      System.err.printf("Error starting fuzzer: %s%n", e.getMessage());
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+}